@@ -1,7 +1,10 @@
 package com.beassolution.rule.components;
 
+import com.beassolution.rule.engine.SyncReport;
 import org.springframework.scheduling.annotation.Async;
 
+import java.util.Optional;
+
 /**
  * Interface for cache management operations in the Beas Rule Engine.
  * 
@@ -13,6 +16,9 @@ import org.springframework.scheduling.annotation.Async;
  * <ul>
  *   <li>Asynchronous cache synchronization</li>
  *   <li>Complete cache refresh capabilities</li>
+ *   <li>Incremental refresh of changed entries</li>
+ *   <li>Blocking incremental refresh for scheduled callers</li>
+ *   <li>Blocking initial synchronization on startup</li>
  * </ul>
  * 
  * @author Beas Solution Team
@@ -30,4 +36,44 @@ public interface CacheController {
      */
     @Async
     void syncCache();
+
+    /**
+     * Synchronizes only the changes since the last synchronization asynchronously.
+     * 
+     * <p>This method fetches helpers, functions and rules modified after the
+     * watermark of the current snapshot, together with tombstones of deleted
+     * entities, and recompiles only the affected rules. It falls back to a
+     * complete refresh when no synchronization has completed yet.
+     */
+    @Async
+    void syncChanges();
+
+    /**
+     * Synchronizes only the changes since the last synchronization on the
+     * calling thread.
+     * 
+     * <p>Runs the same synchronization as {@link #syncChanges()} but returns
+     * only once it has completed, and lets its failure propagate. Callers
+     * that schedule syncs themselves use it so their syncs never pile up on
+     * the asynchronous executor.
+     */
+    void syncChangesBlocking();
+
+    /**
+     * Runs the initial synchronization of the node on the calling thread.
+     * 
+     * <p>A complete refresh is run unless a snapshot has already been
+     * published, for example by a concurrent call. Failures are logged and
+     * reported through the return value so the caller can retry.
+     * 
+     * @return true if a snapshot is published when the method returns
+     */
+    boolean syncInitial();
+
+    /**
+     * Returns the timing report of the last completed synchronization.
+     * 
+     * @return Optional containing the report if a synchronization has completed
+     */
+    Optional<SyncReport> getLastReport();
 }
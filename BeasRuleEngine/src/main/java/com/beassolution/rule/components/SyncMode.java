@@ -0,0 +1,28 @@
+package com.beassolution.rule.components;
+
+/**
+ * Synchronization modes supported by the cache controller.
+ * 
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+public enum SyncMode {
+
+    /**
+     * Reloads and recompiles the whole catalog of the container.
+     */
+    FULL,
+
+    /**
+     * Reloads only documents changed or deleted since the last synchronization
+     * and recompiles the rules that depend on them.
+     */
+    DELTA,
+
+    /**
+     * Full synchronization after a restart, restoring the helpers and rules
+     * that are unchanged since the catalog was persisted.
+     */
+    RESTORE
+}
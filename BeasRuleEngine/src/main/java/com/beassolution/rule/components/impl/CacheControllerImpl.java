@@ -1,31 +1,50 @@
 package com.beassolution.rule.components.impl;
 
 import com.beassolution.rule.components.CacheController;
+import com.beassolution.rule.components.SyncMode;
 import com.beassolution.rule.engine.RuleEngineManager;
+import com.beassolution.rule.engine.SyncReport;
+import com.beassolution.rule.engine.persistence.CatalogSnapshotStore;
+import com.beassolution.rule.engine.persistence.RestoredCatalog;
+import com.beassolution.rule.engine.snapshot.EngineSnapshot;
+import com.beassolution.rule.engine.snapshot.EngineSnapshotHolder;
+import com.beassolution.rule.model.CatalogTombstone;
 import com.beassolution.rule.model.FunctionLibrary;
 import com.beassolution.rule.model.RuleHelper;
 import com.beassolution.rule.model.RuleLibrary;
+import com.beassolution.rule.model.RuleSet;
+import com.beassolution.rule.repository.CatalogTombstoneRepository;
 import com.beassolution.rule.repository.FunctionLibraryRepository;
 import com.beassolution.rule.repository.RuleHelperRepository;
 import com.beassolution.rule.repository.RuleLibraryRepository;
+import com.beassolution.rule.repository.RuleSetRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import java.util.Date;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Implementation of cache controller for the Beas Rule Engine.
  * 
  * <p>This class provides the implementation for cache synchronization operations
  * in the rule engine. It coordinates the refresh of all caches including rules,
- * functions, and helpers based on the configured container name.
+ * rule sets, functions, and helpers based on the configured container name.
  * 
  * <p>Key features include:
  * <ul>
  *   <li>Complete cache synchronization</li>
+ *   <li>Incremental synchronization based on modification watermarks</li>
+ *   <li>Full synchronization after a failed one, so staging is rebuilt</li>
  *   <li>Container-based filtering</li>
+ *   <li>Per-stage timing reports</li>
+ *   <li>Persisted catalog restored on the first synchronization</li>
+ *   <li>Blocking initial synchronization for the startup sync</li>
+ *   <li>Blocking incremental synchronization for the change listener</li>
  *   <li>Asynchronous operation support</li>
  *   <li>Comprehensive logging</li>
  * </ul>
@@ -58,6 +77,26 @@ public class CacheControllerImpl implements CacheController {
      * Manager for rule engine operations.
      */
     private final RuleEngineManager ruleEngineManager;
+
+    /**
+     * Repository for rule set operations.
+     */
+    private final RuleSetRepository ruleSetRepository;
+
+    /**
+     * Repository for deletion tombstones.
+     */
+    private final CatalogTombstoneRepository catalogTombstoneRepository;
+
+    /**
+     * Holder of the published engine snapshot.
+     */
+    private final EngineSnapshotHolder snapshotHolder;
+
+    /**
+     * Store persisting the compiled catalog for fast restarts.
+     */
+    private final CatalogSnapshotStore catalogSnapshotStore;
     
     /**
      * Container name for filtering entities.
@@ -65,37 +104,223 @@ public class CacheControllerImpl implements CacheController {
     @Value("${rule.container.name}")
     private String containerName;
 
+    /**
+     * Overlap subtracted from the watermark on incremental syncs, absorbing
+     * clock skew between the nodes that write catalog documents.
+     */
+    @Value("${rule.sync.delta-overlap-ms:5000}")
+    private long deltaOverlapMs;
+
+    /**
+     * Report of the last completed synchronization.
+     */
+    private final AtomicReference<SyncReport> lastReport = new AtomicReference<>();
+
+    /**
+     * Whether the staging caches may differ from the published snapshot
+     * because a synchronization failed before publishing. Guarded by the
+     * synchronized sync methods.
+     */
+    private boolean stagingDirty;
+
     /**
      * Synchronizes all rule engine caches.
      * 
      * <p>This method performs a complete refresh of all caches in the rule engine.
      * It loads entities from the database based on the configured container name
      * and updates the respective caches through the rule engine manager.
+     * Rules are streamed from a database cursor into the parallel compilation
+     * pipeline rather than loaded into memory first.
+     * The result only becomes visible to evaluations when the new snapshot is
+     * published at the end; syncs are serialized so staging is never shared.
+     * 
+     * <p>The first synchronization of a node restores the helpers and rules
+     * that are unchanged since the catalog was persisted instead of
+     * downloading and compiling them. Later synchronizations reload
+     * everything, so a JAR replaced behind an unchanged URL is still picked up.
+     * 
+     * <p>The staging caches are cleared before they are rebuilt, so a sync
+     * failing on the way leaves them incomplete. The published snapshot is
+     * unaffected, and the next synchronization is a full one again.
      */
     @Override
-    public void syncCache() {
+    public synchronized void syncCache() {
+        stagingDirty = true;
+        Date watermark = new Date();
+        RestoredCatalog restored = snapshotHolder.current().getWatermark() == null
+                ? catalogSnapshotStore.load()
+                : RestoredCatalog.EMPTY;
+        SyncReport report = new SyncReport(restored.isEmpty() ? SyncMode.FULL : SyncMode.RESTORE);
         log.info("Sync started...");
         log.info("Helpers caching...");
-        List<RuleHelper> helpers = ruleHelperRepository.findByContainerName(containerName);
-        if (!helpers.isEmpty())
-            ruleEngineManager.cacheHelpers(helpers);
-        else
-            log.info("There is no helpers.");
+        List<RuleHelper> helpers = report.time("helpers", () -> {
+            List<RuleHelper> found = ruleHelperRepository.findByContainerName(containerName);
+            if (found.isEmpty())
+                log.info("There is no helpers.");
+            ruleEngineManager.cacheHelpers(found, restored, report);
+            return found;
+        });
 
         log.info("Functions caching...");
-        List<FunctionLibrary> functions = functionLibraryRepository.findByContainerName(containerName);
-        if (!functions.isEmpty())
-            ruleEngineManager.cacheFunctions(functions);
-        else
-            log.info("There is no functions.");
+        List<FunctionLibrary> functions = report.time("functions", () -> {
+            List<FunctionLibrary> found = functionLibraryRepository.findByContainerName(containerName);
+            if (found.isEmpty())
+                log.info("There is no functions.");
+            ruleEngineManager.cacheFunctions(found);
+            return found;
+        });
 
         log.info("Rule caching...");
-        List<RuleLibrary> rules = ruleLibraryRepository.findByContainerName(containerName);
-        if (!rules.isEmpty())
-            ruleEngineManager.cacheRules(rules);
-        else
+        int rules = report.time("rules", () ->
+                ruleEngineManager.cacheRules(ruleLibraryRepository.streamByContainerName(containerName), report, restored));
+        if (rules == 0)
             log.info("There is no rules.");
 
-        log.info("Sync completed.");
+        log.info("Rule sets caching...");
+        report.time("ruleSets", () -> {
+            List<RuleSet> found = ruleSetRepository.findByContainerName(containerName);
+            if (found.isEmpty())
+                log.info("There is no rule sets.");
+            ruleEngineManager.cacheRuleSets(found);
+            return found;
+        });
+
+        EngineSnapshot snapshot = report.time("publish", () -> ruleEngineManager.publishSnapshot(watermark, report));
+        stagingDirty = false;
+        persist(report, snapshot);
+        complete(report, snapshot.getVersion());
+        log.info("Sync completed. Snapshot version {} is live with {} helpers, {} functions and {} rules.",
+                snapshot.getVersion(), helpers.size(), functions.size(), rules);
+    }
+
+    /**
+     * Synchronizes the changes since the last synchronization.
+     * 
+     * <p>This method loads only the entities whose last modification date is
+     * after the watermark of the current snapshot, minus a small overlap, and
+     * the tombstones of the container recorded in the same window. A new snapshot is published
+     * only when something changed.
+     * 
+     * <p>Changes are only applied on top of complete staging caches. After a
+     * synchronization failed before publishing, a full sync runs instead.
+     */
+    @Override
+    public synchronized void syncChanges() {
+        Date previousWatermark = snapshotHolder.current().getWatermark();
+        if (previousWatermark == null) {
+            log.info("There is no synchronized snapshot, full sync required.");
+            syncCache();
+            return;
+        }
+        if (stagingDirty) {
+            log.warn("The last sync failed before publishing, full sync required.");
+            syncCache();
+            return;
+        }
+
+        Date watermark = new Date();
+        Date since = new Date(previousWatermark.getTime() - deltaOverlapMs);
+        SyncReport report = new SyncReport(SyncMode.DELTA);
+        log.info("Delta sync started, changes since {}...", since);
+
+        List<RuleHelper> helpers = report.time("helpers", () ->
+                ruleHelperRepository.findByContainerNameAndLastModifiedDateAfter(containerName, since));
+        List<FunctionLibrary> functions = report.time("functions", () ->
+                functionLibraryRepository.findByContainerNameAndLastModifiedDateAfter(containerName, since));
+        List<RuleLibrary> rules = report.time("rules", () ->
+                ruleLibraryRepository.findByContainerNameAndLastModifiedDateAfter(containerName, since));
+        List<RuleSet> ruleSets = report.time("ruleSets", () ->
+                ruleSetRepository.findByContainerNameAndLastModifiedDateAfter(containerName, since));
+        List<CatalogTombstone> tombstones = report.time("tombstones", () ->
+                catalogTombstoneRepository.findByContainerNameAndLastModifiedDateAfter(containerName, since));
+        log.info("Changed helpers: {}, functions: {}, rules: {}, rule sets: {}, tombstones: {}",
+                helpers.size(), functions.size(), rules.size(), ruleSets.size(), tombstones.size());
+
+        stagingDirty = true;
+        boolean changed = report.time("apply", () ->
+                ruleEngineManager.applyChanges(helpers, functions, rules, ruleSets, tombstones, report));
+        if (!changed) {
+            stagingDirty = false;
+            complete(report, 0L);
+            log.info("Delta sync completed, there is no changes.");
+            return;
+        }
+
+        EngineSnapshot snapshot = report.time("publish", () -> ruleEngineManager.publishSnapshot(watermark, report));
+        stagingDirty = false;
+        persist(report, snapshot);
+        complete(report, snapshot.getVersion());
+        log.info("Delta sync completed. Snapshot version {} is live.", snapshot.getVersion());
+    }
+
+    /**
+     * Synchronizes the changes since the last synchronization on the calling thread.
+     * 
+     * <p>Calls {@link #syncChanges()} directly rather than through the
+     * asynchronous proxy.
+     */
+    @Override
+    public void syncChangesBlocking() {
+        syncChanges();
+    }
+
+    /**
+     * Runs the initial synchronization of the node on the calling thread.
+     * 
+     * <p>Calls are serialized with the other synchronizations; a call that
+     * finds a snapshot already published returns without syncing.
+     * 
+     * @return true if a snapshot is published when the method returns
+     */
+    @Override
+    public synchronized boolean syncInitial() {
+        if (snapshotHolder.current().getWatermark() != null) {
+            return true;
+        }
+        try {
+            syncCache();
+            return true;
+        } catch (RuntimeException e) {
+            log.error("Initial sync failed.", e);
+            return false;
+        }
+    }
+
+    /**
+     * Returns the report of the last completed synchronization.
+     * 
+     * @return Optional containing the report if a synchronization has completed
+     */
+    @Override
+    public Optional<SyncReport> getLastReport() {
+        return Optional.ofNullable(lastReport.get());
+    }
+
+    /**
+     * Persists the compiled catalog of a published snapshot.
+     * 
+     * <p>The snapshot is already live; persisting only prepares the next restart.
+     * 
+     * @param report The report receiving the persist timing
+     * @param snapshot The published snapshot
+     */
+    private void persist(SyncReport report, EngineSnapshot snapshot) {
+        if (catalogSnapshotStore.isEnabled()) {
+            report.time("persist", () -> {
+                ruleEngineManager.persistCatalog(snapshot);
+                return snapshot;
+            });
+        }
+    }
+
+    /**
+     * Completes a report and makes it the last report.
+     * 
+     * @param report The report to complete
+     * @param snapshotVersion Version of the published snapshot, 0 if none
+     */
+    private void complete(SyncReport report, long snapshotVersion) {
+        lastReport.set(report.complete(snapshotVersion));
+        log.info("Sync report: {}", report);
     }
 }
@@ -0,0 +1,140 @@
+package com.beassolution.rule.config;
+
+import com.beassolution.rule.controller.AsyncEvaluateServlet;
+import com.beassolution.rule.engine.RuleEvaluator;
+import com.beassolution.rule.engine.VirtualThreadEvaluationExecutor;
+import com.beassolution.rule.engine.payload.LazyPayloadReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.web.servlet.ServletRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Configuration of the executor running rule evaluations and of the
+ * non-blocking evaluation endpoint.
+ *
+ * <p>The threading model follows {@code spring.threads.virtual.enabled}, the
+ * switch that also moves Tomcat request handling and {@code @Async} tasks
+ * (the cache synchronization) onto virtual threads:
+ * <ul>
+ *   <li>Platform threads (default): a fixed pool sized to the cores with a
+ *       bounded queue</li>
+ *   <li>Virtual threads (Java 21+): one virtual thread per evaluation, capped
+ *       by {@code rule.evaluation.virtual.max-concurrency}</li>
+ * </ul>
+ *
+ * <p>Virtual threads pay off when helpers block on I/O; CPU-bound rules gain
+ * nothing from them. On Java 17 the switch is ignored and platform threads
+ * are used.
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Configuration
+@Slf4j
+public class EvaluationConfig {
+
+    /**
+     * Name of the rule evaluation executor bean.
+     */
+    public static final String EVALUATION_EXECUTOR = "ruleEvaluationExecutor";
+
+    /**
+     * Creates the platform thread pool running rule evaluations.
+     *
+     * <p>When the queue of the pool is full, new evaluations are rejected
+     * rather than run on the request thread, where no deadline could be
+     * enforced.
+     *
+     * @param threads Number of evaluation threads, 0 for one per core
+     * @param queueCapacity Number of evaluations that may wait for a thread
+     * @param virtualThreadsRequested Whether virtual threads were requested
+     * @return The evaluation pool
+     */
+    @Bean(name = EVALUATION_EXECUTOR, destroyMethod = "shutdownNow")
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public ThreadPoolExecutor platformEvaluationExecutor(
+            @Value("${rule.evaluation.threads:0}") int threads,
+            @Value("${rule.evaluation.queue-capacity:10000}") int queueCapacity,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreadsRequested) {
+        if (virtualThreadsRequested) {
+            log.warn("Virtual threads requested but not available on Java {}, using platform threads.",
+                    Runtime.version().feature());
+        }
+        return newPlatformExecutor(threads, queueCapacity);
+    }
+
+    /**
+     * Creates the virtual thread executor running rule evaluations.
+     *
+     * @param maxConcurrency Maximum number of evaluations in flight
+     * @return The evaluation executor
+     */
+    @Bean(name = EVALUATION_EXECUTOR)
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public Executor virtualEvaluationExecutor(
+            @Value("${rule.evaluation.virtual.max-concurrency:10000}") int maxConcurrency) {
+        log.info("Rule evaluations run on virtual threads, at most {} in flight.", maxConcurrency);
+        return new VirtualThreadEvaluationExecutor("rule-evaluator-", maxConcurrency);
+    }
+
+    /**
+     * Registers the non-blocking evaluation endpoint.
+     *
+     * <p>The endpoint is a plain asynchronous servlet rather than a
+     * controller, since Spring MVC reads request bodies with blocking I/O.
+     *
+     * @param ruleEvaluator Evaluator executing rules
+     * @param objectMapper Mapper encoding responses
+     * @param lazyPayloadReader Reader decoding requests, binding large payloads lazily
+     * @param maxBodyBytes Largest accepted request body in bytes
+     * @param requestTimeoutMillis Time after which an unfinished request is abandoned
+     * @return The servlet registration
+     */
+    @Bean
+    public ServletRegistrationBean<AsyncEvaluateServlet> asyncEvaluateServlet(
+            RuleEvaluator ruleEvaluator,
+            ObjectMapper objectMapper,
+            LazyPayloadReader lazyPayloadReader,
+            @Value("${rule.evaluation.async.max-body-bytes:16777216}") int maxBodyBytes,
+            @Value("${rule.evaluation.async.request-timeout-ms:30000}") long requestTimeoutMillis) {
+        var registration = new ServletRegistrationBean<>(
+                new AsyncEvaluateServlet(ruleEvaluator, objectMapper, lazyPayloadReader, maxBodyBytes, requestTimeoutMillis),
+                "/rule-engine/evaluate/async");
+        registration.setName("asyncEvaluateServlet");
+        registration.setAsyncSupported(true);
+        registration.setLoadOnStartup(1);
+        return registration;
+    }
+
+    /**
+     * Creates a fixed platform thread pool for rule evaluations.
+     *
+     * @param threads Number of evaluation threads, 0 for one per core
+     * @param queueCapacity Number of evaluations that may wait for a thread
+     * @return The evaluation pool
+     */
+    public static ThreadPoolExecutor newPlatformExecutor(int threads, int queueCapacity) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadIndex = new AtomicInteger();
+        return new ThreadPoolExecutor(poolSize, poolSize, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "rule-evaluator-" + threadIndex.getAndIncrement());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+}
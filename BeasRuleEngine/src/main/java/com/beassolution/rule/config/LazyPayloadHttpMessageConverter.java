@@ -0,0 +1,92 @@
+package com.beassolution.rule.config;
+
+import com.beassolution.rule.dto.request.RuleBatchEvaluateRequest;
+import com.beassolution.rule.dto.request.RuleEvaluateRequest;
+import com.beassolution.rule.dto.request.RuleSetEvaluateRequest;
+import com.beassolution.rule.engine.payload.LazyPayloadReader;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.util.Set;
+
+/**
+ * Message converter reading JSON evaluation requests with lazy payloads.
+ *
+ * <p>The converter reads the body of evaluation, batch and rule set
+ * requests into a byte array and hands it to {@link LazyPayloadReader}, so
+ * large payloads are bound as lazy payloads over the body instead of map
+ * trees. It only reads, and only when lazy payloads are enabled; all other
+ * bodies are left to the Jackson converter.
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class LazyPayloadHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    /**
+     * Request types carrying a payload.
+     */
+    private static final Set<Class<?>> REQUEST_TYPES = Set.of(
+            RuleEvaluateRequest.class, RuleBatchEvaluateRequest.class, RuleSetEvaluateRequest.class);
+
+    /**
+     * Reader binding large payloads lazily.
+     */
+    private final LazyPayloadReader lazyPayloadReader;
+
+    /**
+     * Creates the converter.
+     *
+     * @param lazyPayloadReader Reader binding large payloads lazily
+     */
+    public LazyPayloadHttpMessageConverter(LazyPayloadReader lazyPayloadReader) {
+        super(MediaType.APPLICATION_JSON);
+        this.lazyPayloadReader = lazyPayloadReader;
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return REQUEST_TYPES.contains(clazz);
+    }
+
+    @Override
+    public boolean canRead(Class<?> clazz, MediaType mediaType) {
+        return lazyPayloadReader.isEnabled() && super.canRead(clazz, mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Class<?> clazz, MediaType mediaType) {
+        return false;
+    }
+
+    /**
+     * Reads the whole body and binds the request.
+     *
+     * @param clazz The request type
+     * @param inputMessage The HTTP input message
+     * @return The request
+     * @throws IOException if the body cannot be read
+     * @throws HttpMessageNotReadableException if the body is malformed
+     */
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        byte[] body = StreamUtils.copyToByteArray(inputMessage.getBody());
+        try {
+            return lazyPayloadReader.read(body, clazz);
+        } catch (IOException e) {
+            throw new HttpMessageNotReadableException("JSON parse error: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected void writeInternal(Object o, HttpOutputMessage outputMessage) {
+        throw new HttpMessageNotWritableException("Evaluation requests are not written");
+    }
+}
@@ -4,7 +4,9 @@ import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.core.JsonGenerator;
 import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.databind.*;
+import com.fasterxml.jackson.databind.cfg.MapperBuilder;
 import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -28,6 +30,9 @@ import java.time.format.DateTimeFormatter;
  *   <li>Custom serializers and deserializers</li>
  * </ul>
  * 
+ * <p>The same settings back the Smile binary format offered to clients by
+ * content negotiation, see {@link #smileMapper()}.
+ * 
  * <p>The configuration ensures consistent JSON handling across the application
  * with proper date/time formatting and error handling.
  * 
@@ -56,8 +61,32 @@ public class ObjectMapperConfig {
      */
     @Bean(name = "objectMapper")
     public ObjectMapper objectMapper() {
-        ObjectMapper objectMapper = JsonMapper
-                .builder()
+        return configure(JsonMapper.builder());
+    }
+
+    /**
+     * Creates the mapper of the Smile binary format.
+     * 
+     * <p>Smile encodes the same data model as JSON, so the mapper applies the
+     * same settings as {@link #objectMapper()} and a client may switch between
+     * both formats without any change in the exchanged values.
+     * 
+     * @return Configured SmileMapper instance
+     */
+    public static SmileMapper smileMapper() {
+        return configure(SmileMapper.builder());
+    }
+
+    /**
+     * Applies the rule engine settings to a mapper of any Jackson format.
+     * 
+     * @param builder The builder of the format's mapper
+     * @param <M> The mapper type
+     * @param <B> The builder type
+     * @return Configured mapper
+     */
+    private static <M extends ObjectMapper, B extends MapperBuilder<M, B>> M configure(B builder) {
+        M objectMapper = builder
                 .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
                 .configure(SerializationFeature.FAIL_ON_EMPTY_BEANS, false)
                 .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
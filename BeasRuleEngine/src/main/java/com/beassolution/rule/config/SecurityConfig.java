@@ -51,7 +51,7 @@ public class SecurityConfig {
      *   <li>Endpoint authorization rules</li>
      * </ul>
      * 
-     * <p>Public endpoints include Swagger UI and API documentation paths.
+     * <p>Public endpoints include Swagger UI, API documentation and health probe paths.
      * All other endpoints require valid JWT authentication.
      * 
      * @param http HttpSecurity object to configure
@@ -66,6 +66,7 @@ public class SecurityConfig {
                 .authorizeHttpRequests(authorize ->
                         authorize
                                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-ui.html","/test").permitAll()
+                                .requestMatchers("/actuator/health/**").permitAll()
                                 .anyRequest().authenticated()
                 )
                 .oauth2ResourceServer(oauth2 ->
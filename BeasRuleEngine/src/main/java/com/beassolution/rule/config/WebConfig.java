@@ -1,11 +1,17 @@
 package com.beassolution.rule.config;
 
+import com.beassolution.rule.engine.payload.LazyPayloadReader;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
+import java.util.List;
+
 /**
  * Web configuration class for the Beas Rule Engine.
  * 
@@ -14,6 +20,8 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
  *   <li>Static resource handling</li>
  *   <li>CORS configuration for web requests</li>
  *   <li>Web MVC settings</li>
+ *   <li>Lazy payload binding of evaluation requests</li>
+ *   <li>Smile binary encoding of requests and responses</li>
  * </ul>
  * 
  * <p>The configuration enables proper handling of static resources and
@@ -25,8 +33,14 @@ import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
  */
 @Configuration
 @EnableWebMvc
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
 
+    /**
+     * Reader binding large evaluation payloads lazily.
+     */
+    private final LazyPayloadReader lazyPayloadReader;
+
     /**
      * Configures static resource handlers.
      * 
@@ -58,4 +72,26 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedHeaders("*")
                 .allowCredentials(false);
     }
+
+    /**
+     * Registers the converters of evaluation requests and binary bodies.
+     * 
+     * <p>The converter reading evaluation requests with lazy payloads is
+     * consulted before the Jackson converter and only reads evaluation
+     * requests while lazy payloads are enabled.
+     * 
+     * <p>The default Smile converter is replaced by one applying the
+     * settings of {@link ObjectMapperConfig}, so clients sending or accepting
+     * {@code application/x-jackson-smile} get the same dates, null handling
+     * and property matching as the application's mapper, while JSON stays
+     * the default for all other clients.
+     * 
+     * @param converters The configured message converters
+     */
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new LazyPayloadHttpMessageConverter(lazyPayloadReader));
+        converters.removeIf(MappingJackson2SmileHttpMessageConverter.class::isInstance);
+        converters.add(new MappingJackson2SmileHttpMessageConverter(ObjectMapperConfig.smileMapper()));
+    }
 }
@@ -0,0 +1,328 @@
+package com.beassolution.rule.controller;
+
+import com.beassolution.rule.advice.GeneralAdvice;
+import com.beassolution.rule.dto.request.RuleEvaluateRequest;
+import com.beassolution.rule.dto.response.RuleEvaluateResponse;
+import com.beassolution.rule.dto.response.base.BaseResponse;
+import com.beassolution.rule.engine.Deadline;
+import com.beassolution.rule.engine.RuleEvaluator;
+import com.beassolution.rule.engine.payload.LazyPayloadReader;
+import com.beassolution.rule.exception.OperationException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Non-blocking variant of the rule evaluation endpoint.
+ *
+ * <p>The servlet accepts the same request as {@code POST /rule-engine/evaluate}
+ * and returns the same response, but never holds a container thread while
+ * waiting: the body is read with a {@link ReadListener} as bytes arrive, the
+ * rule runs on the evaluation executor and the response is written with a
+ * {@link WriteListener}. Slow clients and slow rules therefore cost a
+ * connection, not a thread. Authentication is handled by the same security
+ * filter chain as the controllers.
+ *
+ * <p>Errors follow the controller: an {@link OperationException} is returned
+ * with status 400 and its error code in the body, any other failure of the
+ * rule is returned as the response with status 200.
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+public class AsyncEvaluateServlet extends HttpServlet {
+
+    /**
+     * Size of the chunks the body is read in.
+     */
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    /**
+     * Evaluator executing rules against the published snapshot.
+     */
+    private final transient RuleEvaluator ruleEvaluator;
+
+    /**
+     * Mapper encoding responses.
+     */
+    private final transient ObjectMapper objectMapper;
+
+    /**
+     * Reader decoding requests, binding large payloads lazily.
+     */
+    private final transient LazyPayloadReader lazyPayloadReader;
+
+    /**
+     * Largest accepted request body in bytes.
+     */
+    private final int maxBodyBytes;
+
+    /**
+     * Time after which an unfinished request is abandoned, in milliseconds.
+     */
+    private final long requestTimeoutMillis;
+
+    /**
+     * Creates the servlet.
+     *
+     * @param ruleEvaluator Evaluator executing rules
+     * @param objectMapper Mapper encoding responses
+     * @param lazyPayloadReader Reader decoding requests, binding large payloads lazily
+     * @param maxBodyBytes Largest accepted request body in bytes
+     * @param requestTimeoutMillis Time after which an unfinished request is abandoned
+     */
+    public AsyncEvaluateServlet(RuleEvaluator ruleEvaluator,
+                                ObjectMapper objectMapper,
+                                LazyPayloadReader lazyPayloadReader,
+                                int maxBodyBytes,
+                                long requestTimeoutMillis) {
+        this.ruleEvaluator = ruleEvaluator;
+        this.objectMapper = objectMapper;
+        this.lazyPayloadReader = lazyPayloadReader;
+        this.maxBodyBytes = maxBodyBytes;
+        this.requestTimeoutMillis = requestTimeoutMillis;
+    }
+
+    /**
+     * Starts the asynchronous evaluation of a rule.
+     *
+     * @param request The HTTP request
+     * @param response The HTTP response
+     * @throws IOException if the request body cannot be opened
+     */
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Deadline deadline;
+        try {
+            deadline = Deadline.ofMillis(parseDeadline(request.getHeader(RuleEngine.DEADLINE_HEADER)));
+        } catch (NumberFormatException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(), "Invalid " + RuleEngine.DEADLINE_HEADER + " header");
+            return;
+        }
+        if (request.getContentLengthLong() > maxBodyBytes) {
+            response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value());
+            return;
+        }
+
+        AsyncContext asyncContext = request.startAsync();
+        asyncContext.setTimeout(requestTimeoutMillis);
+        Exchange exchange = new Exchange(asyncContext, queryParameters(request), deadline);
+        asyncContext.addListener(exchange);
+        request.getInputStream().setReadListener(exchange);
+    }
+
+    /**
+     * Parses the deadline header.
+     *
+     * @param header The header value, may be null
+     * @return The budget in milliseconds, null if the header is absent
+     * @throws NumberFormatException if the header is not a number
+     */
+    private static Long parseDeadline(String header) {
+        return header == null || header.isBlank() ? null : Long.valueOf(header.trim());
+    }
+
+    /**
+     * Collects the query parameters the way {@code @RequestParam Map} does.
+     *
+     * @param request The HTTP request
+     * @return The first value of every query parameter
+     */
+    private static Map<String, Object> queryParameters(HttpServletRequest request) {
+        Map<String, Object> params = new HashMap<>();
+        request.getParameterMap().forEach((name, values) -> {
+            if (values.length > 0) {
+                params.put(name, values[0]);
+            }
+        });
+        return params;
+    }
+
+    /**
+     * State of a single request, from reading the body to writing the response.
+     */
+    private final class Exchange implements ReadListener, WriteListener, AsyncListener {
+
+        private final AsyncContext asyncContext;
+        private final Map<String, Object> params;
+        private final Deadline deadline;
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        private final byte[] buffer = new byte[READ_BUFFER_SIZE];
+
+        /**
+         * Set once a response has been chosen, so a late evaluation result
+         * cannot race an error or a timeout.
+         */
+        private final AtomicBoolean responded = new AtomicBoolean();
+
+        private byte[] responseBody;
+        private boolean written;
+
+        private Exchange(AsyncContext asyncContext, Map<String, Object> params, Deadline deadline) {
+            this.asyncContext = asyncContext;
+            this.params = params;
+            this.deadline = deadline;
+        }
+
+        @Override
+        public void onDataAvailable() throws IOException {
+            ServletInputStream input = asyncContext.getRequest().getInputStream();
+            int read;
+            while (input.isReady() && (read = input.read(buffer)) != -1) {
+                body.write(buffer, 0, read);
+                if (body.size() > maxBodyBytes) {
+                    respond(HttpStatus.PAYLOAD_TOO_LARGE, null);
+                    return;
+                }
+            }
+        }
+
+        @Override
+        public void onAllDataRead() {
+            if (responded.get()) {
+                return;
+            }
+            RuleEvaluateRequest request;
+            try {
+                request = lazyPayloadReader.read(body.toByteArray(), RuleEvaluateRequest.class);
+            } catch (IOException e) {
+                fail(new OperationException("Request body couldn't be read: " + e.getMessage(),
+                        HttpStatus.BAD_REQUEST));
+                return;
+            }
+            if (request.getRuleName() == null) {
+                fail(new OperationException("ruleName cannot be null!", HttpStatus.BAD_REQUEST));
+                return;
+            }
+
+            ruleEvaluator.evaluateAsync(params, request, deadline).whenComplete((result, throwable) -> {
+                if (throwable == null) {
+                    succeed(result);
+                    return;
+                }
+                Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                        ? throwable.getCause()
+                        : throwable;
+                if (cause instanceof OperationException operationException) {
+                    fail(operationException);
+                } else {
+                    // Same as the blocking endpoint: the failure message is the response
+                    log.error(cause.getMessage(), cause);
+                    succeed(cause.getMessage());
+                }
+            });
+        }
+
+        @Override
+        public void onWritePossible() throws IOException {
+            ServletOutputStream output = asyncContext.getResponse().getOutputStream();
+            while (output.isReady()) {
+                if (written) {
+                    asyncContext.complete();
+                    return;
+                }
+                output.write(responseBody);
+                written = true;
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            log.warn("Asynchronous evaluation request failed: {}", throwable.getMessage());
+            if (responded.compareAndSet(false, true)) {
+                asyncContext.complete();
+            }
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            if (responded.compareAndSet(false, true)) {
+                ((HttpServletResponse) asyncContext.getResponse()).setStatus(HttpStatus.REQUEST_TIMEOUT.value());
+                asyncContext.complete();
+            }
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            // Nothing to release
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            onError(event.getThrowable());
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            // Not restarted
+        }
+
+        /**
+         * Responds with the result of the rule.
+         *
+         * @param result The result of the rule
+         */
+        private void succeed(Object result) {
+            var resp = new RuleEvaluateResponse();
+            resp.setResponse(result);
+            resp.setStatus(new BaseResponse(HttpStatus.OK.getReasonPhrase(), "Validation Executed"));
+            respond(HttpStatus.OK, resp);
+        }
+
+        /**
+         * Responds with an operation error.
+         *
+         * @param exception The error
+         */
+        private void fail(OperationException exception) {
+            respond(HttpStatus.BAD_REQUEST, GeneralAdvice.generateOperationMessage(exception));
+        }
+
+        /**
+         * Encodes the response and starts writing it, unless a response was
+         * already chosen.
+         *
+         * @param status The HTTP status
+         * @param payload The response body, null for none
+         */
+        private void respond(HttpStatus status, Object payload) {
+            if (!responded.compareAndSet(false, true)) {
+                return;
+            }
+            HttpServletResponse response = (HttpServletResponse) asyncContext.getResponse();
+            try {
+                responseBody = payload == null ? new byte[0] : objectMapper.writeValueAsBytes(payload);
+                response.setStatus(status.value());
+                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+                response.setContentLength(responseBody.length);
+                response.getOutputStream().setWriteListener(this);
+            } catch (IOException | RuntimeException e) {
+                log.error("Asynchronous evaluation response couldn't be written.", e);
+                if (!response.isCommitted()) {
+                    response.setStatus(HttpStatus.INTERNAL_SERVER_ERROR.value());
+                }
+                asyncContext.complete();
+            }
+        }
+    }
+}
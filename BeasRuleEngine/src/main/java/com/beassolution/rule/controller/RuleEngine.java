@@ -1,12 +1,26 @@
 package com.beassolution.rule.controller;
 
 import com.beassolution.rule.components.CacheController;
+import com.beassolution.rule.components.SyncMode;
+import com.beassolution.rule.dto.request.RuleBatchEvaluateRequest;
 import com.beassolution.rule.dto.request.RuleEvaluateRequest;
+import com.beassolution.rule.dto.request.RuleSetEvaluateRequest;
+import com.beassolution.rule.dto.response.RuleBatchEvaluateResponse;
 import com.beassolution.rule.dto.response.RuleEvaluateResponse;
+import com.beassolution.rule.dto.response.RuleSetEvaluateResponse;
+import com.beassolution.rule.dto.response.RuleStreamItemResponse;
 import com.beassolution.rule.dto.response.base.BaseResponse;
-import com.beassolution.rule.engine.cache.RuleCache;
-import com.beassolution.rule.engine.cache.VariableCache;
+import com.beassolution.rule.engine.Deadline;
+import com.beassolution.rule.engine.SyncReport;
+import com.beassolution.rule.engine.RuleEvaluator;
+import com.beassolution.rule.engine.cache.ResultCache;
 import com.beassolution.rule.exception.OperationException;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -14,18 +28,26 @@ import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.mvel2.MVEL;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.HashMap;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * REST controller for rule engine operations.
@@ -37,7 +59,12 @@ import java.util.concurrent.CompletableFuture;
  * <p>Key operations include:
  * <ul>
  *   <li>Rule evaluation with parameters and payload</li>
+ *   <li>Parallel batch evaluation</li>
+ *   <li>Streaming NDJSON evaluation</li>
+ *   <li>Rule set evaluation</li>
  *   <li>Cache synchronization</li>
+ *   <li>Synchronization timing reports</li>
+ *   <li>Result cache statistics</li>
  * </ul>
  *
  * @author Beas Solution Team
@@ -53,28 +80,46 @@ import java.util.concurrent.CompletableFuture;
 @Slf4j
 public class RuleEngine {
 
+    /**
+     * Header carrying the remaining time budget of the caller in milliseconds.
+     */
+    public static final String DEADLINE_HEADER = "X-Rule-Deadline-Ms";
+
     /**
      * Cache controller for managing rule engine caches.
      */
     private final CacheController cacheController;
 
     /**
-     * Cache for compiled rule expressions.
+     * Evaluator executing rules against the published snapshot.
+     */
+    private final RuleEvaluator ruleEvaluator;
+
+    /**
+     * Cache of the results of deterministic rules.
      */
-    private final RuleCache ruleCache;
+    private final ResultCache resultCache;
 
     /**
-     * Cache for rule variables and context.
+     * Mapper reading and writing NDJSON records.
      */
-    private final VariableCache variableCache;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Maximum number of records of a stream evaluated at the same time.
+     */
+    @Value("${rule.evaluation.stream.max-in-flight:256}")
+    private int streamMaxInFlight;
 
     /**
      * Synchronizes all rule engine caches.
      *
      * <p>This endpoint triggers a synchronization of all caches including
      * rules, functions, helpers, and variables. The operation is performed
-     * asynchronously to avoid blocking the request.
+     * asynchronously to avoid blocking the request. In {@link SyncMode#DELTA}
+     * mode only the entries changed since the last synchronization are reloaded.
      *
+     * @param mode The synchronization mode
      * @return CompletableFuture containing the HTTP status response
      */
     @GetMapping("/sync")
@@ -82,11 +127,50 @@ public class RuleEngine {
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Cache sync initiated successfully")
     })
-    public CompletableFuture<ResponseEntity<HttpStatus>> sync() {
-        cacheController.syncCache();
+    public CompletableFuture<ResponseEntity<HttpStatus>> sync(
+            @Parameter(description = "FULL reloads the whole catalog, DELTA only the changes since the last sync")
+            @RequestParam(name = "mode", defaultValue = "FULL") SyncMode mode) {
+        if (mode == SyncMode.DELTA) {
+            cacheController.syncChanges();
+        } else {
+            cacheController.syncCache();
+        }
         return CompletableFuture.completedFuture(ResponseEntity.ok(HttpStatus.OK));
     }
 
+    /**
+     * Returns the timing report of the last completed synchronization.
+     *
+     * @return ResponseEntity containing the per-stage timings
+     * @throws OperationException if no synchronization has completed yet
+     */
+    @GetMapping("/sync/report")
+    @Operation(summary = "Sync report", description = "Returns the per-stage timings of the last completed synchronization")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Sync report returned successfully",
+                    content = @Content(schema = @Schema(implementation = SyncReport.class))),
+            @ApiResponse(responseCode = "404", description = "No synchronization has completed yet")
+    })
+    public ResponseEntity<SyncReport> syncReport() {
+        return cacheController.getLastReport()
+                .map(ResponseEntity::ok)
+                .orElseThrow(() -> new OperationException("No synchronization has completed yet", HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * Returns the statistics of the result cache.
+     *
+     * @return ResponseEntity containing size, hit, miss and eviction statistics
+     */
+    @GetMapping("/result-cache/stats")
+    @Operation(summary = "Result cache statistics", description = "Returns the statistics of the cache of deterministic rule results")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Statistics returned successfully")
+    })
+    public ResponseEntity<Map<String, Object>> resultCacheStats() {
+        return ResponseEntity.ok(resultCache.getStats());
+    }
+
     /**
      * Evaluates a rule with the provided parameters and payload.
      *
@@ -96,50 +180,34 @@ public class RuleEngine {
      *
      * @param params         Query parameters to include in the rule context
      * @param requestPayload The rule evaluation request containing rule name and data
+     * @param deadlineMs     Remaining time budget of the caller in milliseconds, optional
      * @return ResponseEntity containing the rule evaluation result
-     * @throws OperationException if the rule is not found
+     * @throws OperationException if the rule is not found, exceeds its deadline
+     *         or the evaluation capacity is exhausted
      */
     @PostMapping("/evaluate")
     @Operation(summary = "Evaluate rule", description = "Evaluates a rule with the provided parameters and payload")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Rule evaluated successfully",
                     content = @Content(schema = @Schema(implementation = RuleEvaluateResponse.class))),
-            @ApiResponse(responseCode = "400", description = "Invalid request or rule not found"),
+            @ApiResponse(responseCode = "400", description = "Invalid request, rule not found, deadline exceeded (error code 504) "
+                    + "or evaluation capacity exhausted (error code 503)"),
             @ApiResponse(responseCode = "500", description = "Internal server error during rule execution")
     })
     public ResponseEntity<RuleEvaluateResponse> evaluate(
             @Parameter(description = "Query parameters to include in rule context")
             @RequestParam Map<String, Object> params,
             @Parameter(description = "Rule evaluation request containing rule name and data")
-            @RequestBody @Valid RuleEvaluateRequest requestPayload) {
-
-        String ruleName = requestPayload.getRuleName();
-        var compiled = ruleCache.get(ruleName)
-                .orElseThrow(() -> new OperationException("Rule not found: " + ruleName, HttpStatus.NOT_FOUND));
-
-        // Use pattern matching for instanceof (Java 16+)
-        Map<String, Object> vars = new HashMap<>();
-        variableCache.get(ruleName)
-                .filter(cachedVars -> cachedVars instanceof Map<?, ?>)
-                .ifPresent(cachedVars -> vars.putAll((Map<? extends String, ?>) cachedVars));
-
-        // Add query parameters
-        if (!params.isEmpty()) {
-            vars.putAll(params);
-        }
-
-        // Add payload and parameters from request
-        if (requestPayload.getPayload() != null) {
-            vars.put("payload", requestPayload.getPayload());
-            vars.putAll(requestPayload.getParameters());
-        }
+            @RequestBody @Valid RuleEvaluateRequest requestPayload,
+            @Parameter(description = "Remaining time budget of the caller in milliseconds")
+            @RequestHeader(name = DEADLINE_HEADER, required = false) Long deadlineMs) {
 
         // Execute rule with context
         Object response = null;
         try {
-            response = vars.isEmpty()
-                    ? MVEL.executeExpression(compiled)
-                    : MVEL.executeExpression(compiled, vars);
+            response = ruleEvaluator.evaluate(params, requestPayload, Deadline.ofMillis(deadlineMs));
+        } catch (OperationException e) {
+            throw e;
         } catch (Exception e) {
             log.error(e.getMessage(), e);
             response = e.getMessage();
@@ -151,4 +219,216 @@ public class RuleEngine {
 
         return ResponseEntity.ok(resp);
     }
+
+    /**
+     * Evaluates a batch of rules with the provided parameters and payloads.
+     *
+     * <p>This endpoint evaluates many rule requests, possibly for different
+     * rules, in parallel in a single round trip. Results are returned in
+     * request order and every item carries its own status, so an unknown
+     * rule or a failing expression only fails its own item.
+     *
+     * @param params         Query parameters to include in the context of every item
+     * @param requestPayload The batch of rule evaluation requests
+     * @param deadlineMs     Remaining time budget of the caller in milliseconds, optional
+     * @return ResponseEntity containing the per-item evaluation results
+     */
+    @PostMapping("/evaluate/batch")
+    @Operation(summary = "Evaluate rules in batch", description = "Evaluates many rule requests in parallel and returns the results in order")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Batch evaluated, see the status of each item",
+                    content = @Content(schema = @Schema(implementation = RuleBatchEvaluateResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid batch request")
+    })
+    public ResponseEntity<RuleBatchEvaluateResponse> evaluateBatch(
+            @Parameter(description = "Query parameters to include in the context of every item")
+            @RequestParam Map<String, Object> params,
+            @Parameter(description = "Batch of rule evaluation requests")
+            @RequestBody @Valid RuleBatchEvaluateRequest requestPayload,
+            @Parameter(description = "Remaining time budget of the caller in milliseconds")
+            @RequestHeader(name = DEADLINE_HEADER, required = false) Long deadlineMs) {
+
+        var resp = new RuleBatchEvaluateResponse();
+        resp.setResponse(ruleEvaluator.evaluateBatch(params, requestPayload.getRequests(),
+                Deadline.ofMillis(deadlineMs)));
+        resp.setStatus(new BaseResponse(HttpStatus.OK.getReasonPhrase(), "Batch Executed"));
+
+        return ResponseEntity.ok(resp);
+    }
+
+    /**
+     * Evaluates one rule against a stream of NDJSON records.
+     *
+     * <p>This endpoint reads the request body as newline-delimited JSON, one
+     * payload per record, and parses it incrementally. At most
+     * {@code rule.evaluation.stream.max-in-flight} records are evaluated at
+     * the same time and the results are written back as NDJSON as soon as
+     * they complete, so memory use does not depend on the size of the input.
+     * Each result line carries the index of its record and its own status.
+     *
+     * <p>A malformed record ends the stream: the records before it are still
+     * answered and a final line with index -1 reports the parse error. A
+     * result that cannot be serialized is a server error and ends the
+     * response without such a line.
+     *
+     * @param ruleName The rule to evaluate
+     * @param params   Query parameters to include in the context of every record
+     * @param request  The HTTP request carrying the records
+     * @param response The HTTP response the results are streamed to
+     * @throws IOException if the request cannot be read or a result cannot be written
+     * @throws OperationException if the rule is not found
+     */
+    @PostMapping(path = "/evaluate/stream/{ruleName}", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Evaluate rule on a record stream", description = "Evaluates a rule for every record of an NDJSON stream and streams the results back as they complete")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Records evaluated, one NDJSON line per record",
+                    content = @Content(mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                            schema = @Schema(implementation = RuleStreamItemResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Rule not found (error code 404)")
+    })
+    public void evaluateStream(
+            @Parameter(description = "Name of the rule to evaluate")
+            @PathVariable String ruleName,
+            @Parameter(description = "Query parameters to include in the context of every record")
+            @RequestParam Map<String, Object> params,
+            HttpServletRequest request,
+            HttpServletResponse response) throws IOException {
+
+        JsonParser parser = objectMapper.createParser(request.getInputStream());
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        JsonGenerator generator = objectMapper.createGenerator(response.getOutputStream());
+        // Records are terminated by a newline instead of separated by a space
+        generator.setRootValueSeparator(null);
+
+        Consumer<RuleStreamItemResponse> sink = item -> {
+            try {
+                writer.writeValue(generator, item);
+                generator.writeRaw('\n');
+                generator.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+
+        try (parser) {
+            long count = ruleEvaluator.evaluateStream(params, ruleName, new NdjsonRecords(parser),
+                    streamMaxInFlight, sink);
+            log.debug("Streamed {} records through rule '{}'", count, ruleName);
+        } catch (OperationException e) {
+            // Nothing written yet for an unknown rule; let the advice answer with JSON
+            if (!response.isCommitted()) {
+                response.reset();
+            }
+            throw e;
+        } catch (MalformedRecordException e) {
+            var item = new RuleStreamItemResponse();
+            item.setIndex(-1);
+            item.setStatus(new BaseResponse(HttpStatus.BAD_REQUEST.value(), HttpStatus.BAD_REQUEST.getReasonPhrase(),
+                    "Malformed record: " + e.getCause().getOriginalMessage(), List.of()));
+            sink.accept(item);
+        } catch (UncheckedIOException e) {
+            // Reading the request or writing a result failed; not the caller's input
+            throw e.getCause();
+        }
+        generator.flush();
+    }
+
+    /**
+     * Evaluates every rule of a rule set against the same payload.
+     *
+     * <p>This endpoint binds the payload and parameters once and runs the
+     * rules of the set in parallel. Depending on the strategy of the set it
+     * stops at the first matching rule, stops at the first non-matching rule
+     * or collects the results of all rules.
+     *
+     * @param params         Query parameters to include in the rule context
+     * @param requestPayload The rule set evaluation request
+     * @param deadlineMs     Remaining time budget of the caller in milliseconds, optional
+     * @return ResponseEntity containing the rule set evaluation
+     * @throws OperationException if the rule set is not found
+     */
+    @PostMapping("/evaluate/rule-set")
+    @Operation(summary = "Evaluate rule set", description = "Evaluates all rules of a rule set against the same payload")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Rule set evaluated successfully",
+                    content = @Content(schema = @Schema(implementation = RuleSetEvaluateResponse.class))),
+            @ApiResponse(responseCode = "400", description = "Invalid request or rule set not found")
+    })
+    public ResponseEntity<RuleSetEvaluateResponse> evaluateRuleSet(
+            @Parameter(description = "Query parameters to include in rule context")
+            @RequestParam Map<String, Object> params,
+            @Parameter(description = "Rule set evaluation request containing rule set name and data")
+            @RequestBody @Valid RuleSetEvaluateRequest requestPayload,
+            @Parameter(description = "Remaining time budget of the caller in milliseconds")
+            @RequestHeader(name = DEADLINE_HEADER, required = false) Long deadlineMs) {
+
+        var resp = new RuleSetEvaluateResponse();
+        resp.setResponse(ruleEvaluator.evaluateRuleSet(params, requestPayload, Deadline.ofMillis(deadlineMs)));
+        resp.setStatus(new BaseResponse(HttpStatus.OK.getReasonPhrase(), "Rule Set Executed"));
+
+        return ResponseEntity.ok(resp);
+    }
+
+    /**
+     * Iterator over the root-level values of an NDJSON stream.
+     *
+     * <p>Each value is bound only when requested, so the stream is never
+     * read further ahead than the record being handed out. Parse errors are
+     * thrown as {@link MalformedRecordException}, other read errors as
+     * {@link UncheckedIOException}.
+     */
+    private final class NdjsonRecords implements Iterator<Object> {
+
+        private final JsonParser parser;
+
+        private NdjsonRecords(JsonParser parser) {
+            this.parser = parser;
+        }
+
+        @Override
+        public boolean hasNext() {
+            try {
+                return parser.hasCurrentToken() || parser.nextToken() != null;
+            } catch (JsonProcessingException e) {
+                throw new MalformedRecordException(e);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                Object record = objectMapper.readValue(parser, Object.class);
+                parser.clearCurrentToken();
+                return record;
+            } catch (JsonProcessingException e) {
+                throw new MalformedRecordException(e);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Thrown when a record of an NDJSON stream is not valid JSON.
+     *
+     * <p>Only the record reader throws it, so failures writing the results
+     * are never reported to the caller as malformed input.
+     */
+    private static final class MalformedRecordException extends RuntimeException {
+
+        private MalformedRecordException(JsonProcessingException cause) {
+            super(cause);
+        }
+
+        @Override
+        public synchronized JsonProcessingException getCause() {
+            return (JsonProcessingException) super.getCause();
+        }
+    }
 }
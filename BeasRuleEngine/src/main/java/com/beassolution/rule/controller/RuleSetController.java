@@ -0,0 +1,119 @@
+package com.beassolution.rule.controller;
+
+import com.beassolution.rule.controller.base.CreateController;
+import com.beassolution.rule.controller.base.DeleteController;
+import com.beassolution.rule.controller.base.ReadController;
+import com.beassolution.rule.controller.base.UpdateController;
+import com.beassolution.rule.exception.OperationException;
+import com.beassolution.rule.model.RuleSet;
+import com.beassolution.rule.service.RuleSetService;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.net.http.HttpResponse;
+import java.util.UUID;
+
+/**
+ * REST controller for rule set operations.
+ * 
+ * <p>This controller provides CRUD operations for rule sets in the
+ * Beas Rule Engine. It manages the creation, reading, updating, and deletion
+ * of rule set entities.
+ * 
+ * <p>Key operations include:
+ * <ul>
+ *   <li>Create new rule sets</li>
+ *   <li>Retrieve rule sets with pagination and filtering</li>
+ *   <li>Update existing rule sets</li>
+ *   <li>Delete rule sets</li>
+ * </ul>
+ * 
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Validated
+@RestController("ruleset")
+@RequestMapping(name = "ruleset", path = "/rule-set")
+@RequiredArgsConstructor
+@CrossOrigin(origins = {"*"}, methods = {RequestMethod.OPTIONS, RequestMethod.GET, RequestMethod.PUT, RequestMethod.DELETE, RequestMethod.POST, RequestMethod.PATCH})
+@Tag(name = "Rule Set", description = "Endpoints for managing rule sets")
+public class RuleSetController implements CreateController<RuleSet>, ReadController<RuleSet>, UpdateController<RuleSet>, DeleteController<RuleSet> {
+    
+    /**
+     * Service for rule set operations.
+     */
+    private final RuleSetService service;
+
+    /**
+     * Creates a new rule set.
+     * 
+     * @param obj The rule set to create
+     * @return ResponseEntity containing the created rule set
+     * @throws OperationException if creation fails
+     */
+    @Override
+    public ResponseEntity<RuleSet> create(RuleSet obj) throws OperationException {
+        return new ResponseEntity<>(service.create(obj), HttpStatus.CREATED);
+    }
+
+    /**
+     * Retrieves a paginated list of rule sets with optional filtering.
+     * 
+     * @param rsql RSQL query string for filtering and sorting
+     * @param pageable Pagination parameters
+     * @return ResponseEntity containing a page of rule sets
+     * @throws OperationException if retrieval fails
+     */
+    @Override
+    public ResponseEntity<Page<RuleSet>> read(String rsql, Pageable pageable) throws OperationException {
+        return new ResponseEntity<>(service.read(rsql, pageable), HttpStatus.OK);
+    }
+
+    /**
+     * Retrieves a single rule set by its ID.
+     * 
+     * @param id The unique identifier of the rule set
+     * @return ResponseEntity containing the found rule set
+     * @throws OperationException if rule set is not found or retrieval fails
+     */
+    @Override
+    public ResponseEntity<RuleSet> read(String id) throws OperationException {
+        return new ResponseEntity<>(service.findById(UUID.fromString(id)), HttpStatus.OK);
+    }
+
+    /**
+     * Updates an existing rule set.
+     * 
+     * @param obj The rule set with updated values
+     * @return ResponseEntity containing the updated rule set
+     * @throws OperationException if update fails or rule set not found
+     */
+    @Override
+    public ResponseEntity<RuleSet> update(RuleSet obj) throws OperationException {
+        return new ResponseEntity<>(service.update(obj), HttpStatus.OK);
+    }
+
+    /**
+     * Deletes a rule set by its ID.
+     * 
+     * @param obj The unique identifier of the rule set to delete
+     * @return ResponseEntity containing the HTTP status response
+     * @throws OperationException if deletion fails or rule set not found
+     */
+    @Override
+    public ResponseEntity<HttpResponse<HttpStatus>> delete(String obj) throws OperationException {
+        UUID ruleSetId=UUID.fromString(obj);
+        service.delete(ruleSetId);
+        return new ResponseEntity<>(HttpStatus.OK);
+    }
+}
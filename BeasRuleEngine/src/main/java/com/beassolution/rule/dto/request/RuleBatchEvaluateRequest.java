@@ -0,0 +1,45 @@
+package com.beassolution.rule.dto.request;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Request DTO for batch rule evaluation operations.
+ * 
+ * <p>This class carries many rule evaluation requests in a single call so
+ * that high-volume clients pay the HTTP, authentication and serialization
+ * overhead once per batch rather than once per decision. The items may
+ * target different rules.
+ * 
+ * <p>Key components include:
+ * <ul>
+ *   <li>Ordered list of rule evaluation requests (required)</li>
+ * </ul>
+ * 
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+public class RuleBatchEvaluateRequest {
+
+    /**
+     * Maximum number of items accepted in a single batch.
+     */
+    public static final int MAX_ITEMS = 1000;
+
+    /**
+     * Rule evaluation requests of the batch.
+     * 
+     * <p>This field is required and must contain between one and
+     * {@value #MAX_ITEMS} items. Results are returned in the same order.
+     */
+    @Valid
+    @NotEmpty(message = "requests cannot be empty!")
+    @Size(max = MAX_ITEMS, message = "requests cannot contain more than " + MAX_ITEMS + " items!")
+    private List<RuleEvaluateRequest> requests;
+}
@@ -1,5 +1,9 @@
 package com.beassolution.rule.dto.request;
 
+import com.beassolution.rule.engine.payload.LazyPayload;
+import com.beassolution.rule.engine.payload.LazyPayloadDeserializer;
+import com.beassolution.rule.engine.payload.LazyPayloadReader;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
@@ -49,7 +53,9 @@ public class RuleEvaluateRequest {
      * 
      * <p>This field contains the main data object that will be processed
      * by the rule. The payload is made available as a variable named "payload"
-     * during rule execution.
+     * during rule execution. Large payloads may be bound as a
+     * {@link LazyPayload} decoded on demand; see {@link LazyPayloadReader}.
      */
+    @JsonDeserialize(using = LazyPayloadDeserializer.class)
     private Object payload;
 }
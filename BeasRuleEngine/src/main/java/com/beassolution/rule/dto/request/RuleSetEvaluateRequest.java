@@ -0,0 +1,59 @@
+package com.beassolution.rule.dto.request;
+
+import com.beassolution.rule.engine.payload.LazyPayload;
+import com.beassolution.rule.engine.payload.LazyPayloadDeserializer;
+import com.beassolution.rule.engine.payload.LazyPayloadReader;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.util.Map;
+
+/**
+ * Request DTO for rule set evaluation operations.
+ * 
+ * <p>This class represents the request payload for evaluating every rule
+ * of a rule set against the same data. The payload and parameters are bound
+ * once and shared by all rules of the set.
+ * 
+ * <p>Key components include:
+ * <ul>
+ *   <li>Rule set name (required)</li>
+ *   <li>Optional parameters map</li>
+ *   <li>Optional payload object</li>
+ * </ul>
+ * 
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+public class RuleSetEvaluateRequest {
+
+    /**
+     * Name of the rule set to evaluate.
+     * 
+     * <p>This field is required and specifies which rule set should be executed.
+     * The name must correspond to an existing rule set in the system.
+     */
+    @NotNull(message = "ruleSetName cannot be null!")
+    private String ruleSetName;
+
+    /**
+     * Optional parameters to pass to every rule of the set.
+     * 
+     * <p>This field contains key-value pairs that will be made available
+     * as variables during the execution of each rule.
+     */
+    private Map<String, Object> parameters;
+
+    /**
+     * Optional payload object for the rules of the set.
+     * 
+     * <p>The payload is made available as a variable named "payload"
+     * during the execution of each rule. Large payloads may be bound as a
+     * {@link LazyPayload} decoded on demand; see {@link LazyPayloadReader}.
+     */
+    @JsonDeserialize(using = LazyPayloadDeserializer.class)
+    private Object payload;
+}
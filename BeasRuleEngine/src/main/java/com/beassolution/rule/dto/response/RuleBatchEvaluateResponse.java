@@ -0,0 +1,27 @@
+package com.beassolution.rule.dto.response;
+
+import com.beassolution.rule.dto.response.base.BaseResponseModel;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+import java.util.List;
+
+/**
+ * Response DTO for batch rule evaluation operations.
+ * 
+ * <p>This class represents the response payload for batch rule evaluations
+ * in the Beas Rule Engine. It extends BaseResponseModel to provide a standardized
+ * response structure with one {@link RuleEvaluateResponse} per request item.
+ * 
+ * <p>The items are returned in request order. Each item carries its own
+ * status, so a failing item is reported without failing the batch.
+ * 
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class RuleBatchEvaluateResponse extends BaseResponseModel<List<RuleEvaluateResponse>> {
+
+}
@@ -0,0 +1,22 @@
+package com.beassolution.rule.dto.response;
+
+import com.beassolution.rule.dto.response.base.BaseResponseModel;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Response DTO for rule set evaluation operations.
+ * 
+ * <p>This class represents the response payload for rule set evaluations
+ * in the Beas Rule Engine. It extends BaseResponseModel to provide a standardized
+ * response structure with the {@link RuleSetEvaluation} of the set.
+ * 
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class RuleSetEvaluateResponse extends BaseResponseModel<RuleSetEvaluation> {
+
+}
@@ -0,0 +1,63 @@
+package com.beassolution.rule.dto.response;
+
+import com.beassolution.rule.model.RuleSetStrategy;
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Outcome of a rule set evaluation.
+ * 
+ * <p>This class carries the results of the rules that were evaluated, in
+ * declaration order, together with the decision of the strategy. Rules
+ * skipped after the outcome was decided do not appear in the results.
+ * 
+ * <p>Key components include:
+ * <ul>
+ *   <li>Rule set name and strategy</li>
+ *   <li>Match decision and matching rule</li>
+ *   <li>Results and errors per rule</li>
+ * </ul>
+ * 
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+public class RuleSetEvaluation {
+
+    /**
+     * Name of the evaluated rule set.
+     */
+    private String ruleSetName;
+
+    /**
+     * Strategy the rule set was evaluated with.
+     */
+    private RuleSetStrategy strategy;
+
+    /**
+     * Decision of the strategy.
+     * 
+     * <p>For {@link RuleSetStrategy#FIRST_MATCH} whether any rule matched,
+     * for {@link RuleSetStrategy#ALL_MATCH} whether every rule matched.
+     * Null for {@link RuleSetStrategy#COLLECT_ALL}.
+     */
+    private Boolean matched;
+
+    /**
+     * Name of the first matching rule for {@link RuleSetStrategy#FIRST_MATCH}.
+     */
+    private String matchedRule;
+
+    /**
+     * Results of the evaluated rules keyed by rule name, in declaration order.
+     */
+    private Map<String, Object> results = new LinkedHashMap<>();
+
+    /**
+     * Error messages of the failed rules keyed by rule name.
+     */
+    private Map<String, String> errors = new LinkedHashMap<>();
+}
@@ -0,0 +1,29 @@
+package com.beassolution.rule.dto.response;
+
+import com.beassolution.rule.dto.response.base.BaseResponseModel;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+
+/**
+ * Response DTO for one record of a streaming rule evaluation.
+ * 
+ * <p>This class represents one line of the NDJSON response of a streaming
+ * evaluation. Lines are written as records complete, not in input order, so
+ * each line carries the zero-based index of its input record.
+ * 
+ * <p>Like batch items, each line carries its own status, so a failing record
+ * is reported without failing the stream.
+ * 
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Data
+@EqualsAndHashCode(callSuper = true)
+public class RuleStreamItemResponse extends BaseResponseModel<Object> {
+
+    /**
+     * Zero-based position of the record in the input stream.
+     */
+    private long index;
+}
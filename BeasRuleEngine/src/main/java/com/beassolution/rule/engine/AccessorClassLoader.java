@@ -0,0 +1,35 @@
+package com.beassolution.rule.engine;
+
+/**
+ * Class loader owning the accessor classes MVEL generates for one promoted rule.
+ *
+ * <p>MVEL defines each accessor class it generates in a new loader whose
+ * parent is the class loader of the expression's parser context. Compiling
+ * and executing a promoted rule against a loader of its own keeps those
+ * classes out of MVEL's process-wide loader: they are only reachable from
+ * the rule's optimized expression, so they are unloaded once the rule is
+ * demoted or retired with its snapshot.
+ *
+ * <p>The loader defines no classes itself and delegates every lookup to
+ * its parent.
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+final class AccessorClassLoader extends ClassLoader {
+
+    static {
+        registerAsParallelCapable();
+    }
+
+    /**
+     * Creates the loader of a rule.
+     *
+     * @param ruleName The name of the promoted rule
+     * @param parent The loader resolving the classes the rule accesses
+     */
+    AccessorClassLoader(String ruleName, ClassLoader parent) {
+        super("rule-accessors-" + ruleName, parent);
+    }
+}
@@ -0,0 +1,179 @@
+package com.beassolution.rule.engine;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Instances of a helper whose classes are not shared between evaluations.
+ *
+ * <p>Each class of the helper is backed by a source of instances instead of
+ * a single instance: a {@link ThreadLocal} for thread-confined helpers, which
+ * hands every thread its own instance, or a {@link HelperPool} for pooled
+ * helpers. Pooled instances are only handed out through the view an
+ * evaluation creates with {@link #scopedTo(HelperLeases)}, which records the
+ * borrowed instances so they are given back when the evaluation completes.
+ *
+ * <p>The map never enumerates instances: {@link #entrySet()} returns the
+ * sources, and equality is identity.
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class ConfinedHelperInstances extends AbstractMap<String, Object> {
+
+    /**
+     * Instance sources keyed by variable name.
+     */
+    private final Map<String, Object> sources;
+
+    /**
+     * Creates the instances of a helper from the sources of its classes.
+     *
+     * @param sources Thread-local instances or pools keyed by variable name,
+     *                may be created lazily
+     */
+    public ConfinedHelperInstances(Map<String, Object> sources) {
+        this.sources = Collections.unmodifiableMap(sources);
+    }
+
+    /**
+     * Returns the instance of a thread-confined class for the calling thread.
+     *
+     * @param key The variable name of the class
+     * @return The instance, null if the helper has no such class
+     * @throws IllegalStateException if the class is pooled, as pooled
+     *         instances are only handed out to evaluations
+     */
+    @Override
+    public Object get(Object key) {
+        Object source = sources.get(key);
+        if (source instanceof HelperPool) {
+            throw new IllegalStateException("Pooled helper class '" + key + "' is only available to evaluations");
+        }
+        return source instanceof ThreadLocal<?> local ? local.get() : source;
+    }
+
+    /**
+     * Creates the view of the instances seen by a single evaluation.
+     *
+     * @param leases The leases of the evaluation, receiving pooled instances
+     * @return Read-only view handing out the evaluation's instances
+     */
+    public Map<String, Object> scopedTo(HelperLeases leases) {
+        return new Scoped(leases);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return sources.containsKey(key);
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return sources.keySet();
+    }
+
+    @Override
+    public int size() {
+        return sources.size();
+    }
+
+    /**
+     * Returns the instance sources, without creating or borrowing instances.
+     *
+     * @return The sources keyed by variable name
+     */
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return sources.entrySet();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o;
+    }
+
+    @Override
+    public int hashCode() {
+        return System.identityHashCode(this);
+    }
+
+    /**
+     * Returns a string representation without creating any instance.
+     *
+     * @return String containing the number of classes
+     */
+    @Override
+    public String toString() {
+        return "ConfinedHelperInstances{" +
+                "classes=" + sources.size() +
+                '}';
+    }
+
+    /**
+     * View of the instances seen by a single evaluation.
+     */
+    private final class Scoped extends AbstractMap<String, Object> {
+
+        /**
+         * Leases of the evaluation.
+         */
+        private final HelperLeases leases;
+
+        /**
+         * Creates the view of an evaluation.
+         *
+         * @param leases The leases of the evaluation
+         */
+        private Scoped(HelperLeases leases) {
+            this.leases = leases;
+        }
+
+        @Override
+        public Object get(Object key) {
+            Object source = sources.get(key);
+            if (source instanceof HelperPool pool) {
+                return leases.borrow(pool);
+            }
+            return source instanceof ThreadLocal<?> local ? local.get() : source;
+        }
+
+        @Override
+        public boolean containsKey(Object key) {
+            return sources.containsKey(key);
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return sources.keySet();
+        }
+
+        @Override
+        public int size() {
+            return sources.size();
+        }
+
+        @Override
+        public Set<Entry<String, Object>> entrySet() {
+            return sources.entrySet();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return this == o;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(this);
+        }
+
+        @Override
+        public String toString() {
+            return ConfinedHelperInstances.this.toString();
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.beassolution.rule.engine;
+
+import com.beassolution.rule.exception.OperationException;
+import org.springframework.http.HttpStatus;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Point in time by which an evaluation has to complete.
+ *
+ * <p>Deadlines are measured on the monotonic {@link System#nanoTime()} clock.
+ * A deadline is either bounded or {@link #NONE}; combining deadlines with
+ * {@link #min(Deadline)} keeps the earlier one, so a rule's own timeout and
+ * the remaining budget sent by the caller can be enforced together.
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class Deadline {
+
+    /**
+     * Deadline that never expires.
+     */
+    public static final Deadline NONE = new Deadline(0L, false);
+
+    /**
+     * Longest budget accepted, keeping expiry arithmetic clear of overflow.
+     */
+    private static final long MAX_BUDGET_NANOS = Long.MAX_VALUE / 4;
+
+    /**
+     * Expiry on the {@link System#nanoTime()} clock, only meaningful if bounded.
+     */
+    private final long expiresAtNanos;
+
+    /**
+     * Whether the deadline expires at all.
+     */
+    private final boolean bounded;
+
+    /**
+     * Creates a deadline.
+     *
+     * @param expiresAtNanos Expiry on the nano time clock
+     * @param bounded Whether the deadline expires at all
+     */
+    private Deadline(long expiresAtNanos, boolean bounded) {
+        this.expiresAtNanos = expiresAtNanos;
+        this.bounded = bounded;
+    }
+
+    /**
+     * Creates a deadline expiring after the given number of milliseconds.
+     *
+     * @param millis The budget in milliseconds; 0 or less expires immediately
+     * @return The deadline
+     */
+    public static Deadline afterMillis(long millis) {
+        long budget = Math.min(TimeUnit.MILLISECONDS.toNanos(Math.max(0L, millis)), MAX_BUDGET_NANOS);
+        return new Deadline(System.nanoTime() + budget, true);
+    }
+
+    /**
+     * Creates a deadline from an optional budget.
+     *
+     * @param millis The budget in milliseconds, null for no deadline
+     * @return The deadline, {@link #NONE} if no budget is given
+     */
+    public static Deadline ofMillis(Long millis) {
+        return millis == null ? NONE : afterMillis(millis);
+    }
+
+    /**
+     * Returns the earlier of this and another deadline.
+     *
+     * @param other The other deadline
+     * @return The deadline expiring first
+     */
+    public Deadline min(Deadline other) {
+        if (!bounded) {
+            return other;
+        }
+        if (!other.bounded) {
+            return this;
+        }
+        return expiresAtNanos - other.expiresAtNanos <= 0 ? this : other;
+    }
+
+    /**
+     * Checks whether the deadline expires at all.
+     *
+     * @return true if the deadline is bounded
+     */
+    public boolean isBounded() {
+        return bounded;
+    }
+
+    /**
+     * Checks whether the deadline has passed.
+     *
+     * @return true if the deadline is bounded and has passed
+     */
+    public boolean isExpired() {
+        return bounded && System.nanoTime() - expiresAtNanos >= 0;
+    }
+
+    /**
+     * Returns the time left until the deadline.
+     *
+     * @return Remaining nanoseconds, 0 if expired, {@link Long#MAX_VALUE} if unbounded
+     */
+    public long remainingNanos() {
+        return bounded ? Math.max(0L, expiresAtNanos - System.nanoTime()) : Long.MAX_VALUE;
+    }
+
+    /**
+     * Aborts the current evaluation if the deadline has passed.
+     *
+     * @throws OperationException if the deadline has passed
+     */
+    public void check() {
+        if (isExpired()) {
+            throw new OperationException("Evaluation deadline exceeded", HttpStatus.GATEWAY_TIMEOUT);
+        }
+    }
+
+    /**
+     * Returns a string representation of the deadline.
+     *
+     * @return String containing the remaining time
+     */
+    @Override
+    public String toString() {
+        return bounded
+                ? "Deadline{remainingMillis=" + TimeUnit.NANOSECONDS.toMillis(remainingNanos()) + '}'
+                : "Deadline{none}";
+    }
+}
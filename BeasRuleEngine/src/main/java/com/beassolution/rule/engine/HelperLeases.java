@@ -0,0 +1,74 @@
+package com.beassolution.rule.engine;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * Instances of pooled helper classes borrowed by a single evaluation.
+ *
+ * <p>An evaluation borrows at most one instance per pooled class, the first
+ * time it resolves the class, and keeps using it until it completes. Closing
+ * the leases gives every borrowed instance back to its pool. An evaluation
+ * runs on one thread at a time, so the leases are not thread-safe.
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class HelperLeases implements AutoCloseable {
+
+    /**
+     * Deadline of the evaluation, bounding the wait for a pooled instance.
+     */
+    private final Deadline deadline;
+
+    /**
+     * Borrowed instances keyed by their pool.
+     */
+    private final Map<HelperPool, Object> borrowed = new IdentityHashMap<>();
+
+    /**
+     * Creates the leases of an evaluation.
+     *
+     * @param deadline The deadline of the evaluation
+     */
+    public HelperLeases(Deadline deadline) {
+        this.deadline = deadline;
+    }
+
+    /**
+     * Returns the instance the evaluation borrowed from a pool, borrowing it
+     * on first use.
+     *
+     * @param pool The pool of the helper class
+     * @return The borrowed instance
+     * @throws com.beassolution.rule.exception.OperationException if no instance
+     *         is available before the deadline
+     */
+    public Object borrow(HelperPool pool) {
+        Object instance = borrowed.get(pool);
+        if (instance == null) {
+            instance = pool.borrow(deadline);
+            borrowed.put(pool, instance);
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the number of instances borrowed.
+     *
+     * @return The number of borrowed instances
+     */
+    public int getBorrowedCount() {
+        return borrowed.size();
+    }
+
+    /**
+     * Gives every borrowed instance back to its pool.
+     */
+    @Override
+    public void close() {
+        borrowed.forEach(HelperPool::giveBack);
+        borrowed.clear();
+    }
+}
@@ -0,0 +1,188 @@
+package com.beassolution.rule.engine;
+
+import com.beassolution.rule.engine.snapshot.EngineSnapshotHolder;
+import com.beassolution.rule.model.RuleHelper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of the class loaders of the staged helpers.
+ *
+ * <p>Synchronization looks up the loaded version of each helper before
+ * loading it: a helper that resolves to the same cached JAR and package is
+ * reused, everything else is loaded into a fresh class loader. Loaders of
+ * replaced and removed helpers are retired and handed to the next publish,
+ * which closes them through {@link EngineSnapshotHolder} once no evaluation
+ * that could call their instances is running anymore.
+ *
+ * <p>The registry publishes the following metrics:
+ * <ul>
+ *   <li>{@code rule.helper.class-loaders} with {@code state=active}: loaders of staged helpers</li>
+ *   <li>{@code rule.helper.class-loaders} with {@code state=retired}: retired loaders not closed yet</li>
+ *   <li>{@code rule.helper.class-loaders.closed}: loaders closed so far</li>
+ * </ul>
+ * Metaspace use is reported by the JVM metrics as {@code jvm.memory.used}
+ * with {@code id=Metaspace}, next to {@code jvm.classes.loaded}.
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@Slf4j
+public class HelperLoaderRegistry {
+
+    /**
+     * Loaded helpers keyed by helper name.
+     */
+    private final ConcurrentMap<String, LoadedHelper> loaded = new ConcurrentHashMap<>();
+
+    /**
+     * Retired helpers waiting for the next publish.
+     */
+    private final List<LoadedHelper> pending = new ArrayList<>();
+
+    /**
+     * Retired helpers whose class loader is not closed yet.
+     */
+    private final Set<LoadedHelper> retired = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Counter of closed class loaders.
+     */
+    private final Counter closed;
+
+    /**
+     * Creates the registry and registers its metrics.
+     *
+     * @param meterRegistry Registry receiving the class loader metrics
+     */
+    public HelperLoaderRegistry(MeterRegistry meterRegistry) {
+        Gauge.builder("rule.helper.class-loaders", loaded, ConcurrentMap::size)
+                .description("Class loaders of helpers")
+                .tag("state", "active")
+                .register(meterRegistry);
+        Gauge.builder("rule.helper.class-loaders", retired, Set::size)
+                .description("Class loaders of helpers")
+                .tag("state", "retired")
+                .register(meterRegistry);
+        this.closed = Counter.builder("rule.helper.class-loaders.closed")
+                .description("Class loaders of retired helpers closed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Finds a loaded helper that can be reused as is.
+     *
+     * @param helper The helper document
+     * @param jar URL of the cached JAR the helper resolves to
+     * @return Optional containing the loaded helper if it is unchanged
+     */
+    public Optional<LoadedHelper> findUnchanged(RuleHelper helper, URL jar) {
+        return Optional.ofNullable(loaded.get(helper.getName()))
+                .filter(loadedHelper -> loadedHelper.isLoadedFrom(jar, helper));
+    }
+
+    /**
+     * Registers a freshly loaded helper, retiring the version it replaces.
+     *
+     * @param helper The loaded helper
+     */
+    public void register(LoadedHelper helper) {
+        LoadedHelper previous = loaded.put(helper.getName(), helper);
+        if (previous != null && previous != helper) {
+            retire(previous);
+        }
+    }
+
+    /**
+     * Retires the loaded version of a helper.
+     *
+     * @param name The helper name
+     */
+    public void retire(String name) {
+        LoadedHelper previous = loaded.remove(name);
+        if (previous != null) {
+            retire(previous);
+        }
+    }
+
+    /**
+     * Retires every loaded helper not in the given names.
+     *
+     * @param names Names of the helpers still staged
+     */
+    public void retainOnly(Collection<String> names) {
+        for (String name : List.copyOf(loaded.keySet())) {
+            if (!names.contains(name)) {
+                retire(name);
+            }
+        }
+    }
+
+    /**
+     * Hands the helpers retired since the last publish over for closing.
+     *
+     * @return Resources closing the class loaders of the retired helpers
+     */
+    public synchronized List<AutoCloseable> drainRetired() {
+        List<AutoCloseable> resources = new ArrayList<>(pending.size());
+        for (LoadedHelper helper : pending) {
+            resources.add(() -> close(helper));
+        }
+        pending.clear();
+        return resources;
+    }
+
+    /**
+     * Returns the number of loaded helpers.
+     *
+     * @return The number of active class loaders
+     */
+    public int getLoadedCount() {
+        return loaded.size();
+    }
+
+    /**
+     * Returns the number of retired helpers not closed yet.
+     *
+     * @return The number of retired class loaders
+     */
+    public int getRetiredCount() {
+        return retired.size();
+    }
+
+    /**
+     * Queues a loaded helper for closing after the next publish.
+     *
+     * @param helper The retired helper
+     */
+    private synchronized void retire(LoadedHelper helper) {
+        retired.add(helper);
+        pending.add(helper);
+        log.info("Helper '{}' retired, its class loader is closed once no evaluation uses it.", helper.getName());
+    }
+
+    /**
+     * Closes the class loader of a retired helper.
+     *
+     * @param helper The retired helper
+     */
+    private void close(LoadedHelper helper) {
+        helper.close();
+        retired.remove(helper);
+        closed.increment();
+    }
+}
@@ -0,0 +1,202 @@
+package com.beassolution.rule.engine;
+
+import com.beassolution.rule.exception.OperationException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.http.HttpStatus;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pool of the instances of a pooled helper class.
+ *
+ * <p>An evaluation borrows an instance the first time it resolves the class
+ * and gives it back once it completes, see {@link HelperLeases}. Instances
+ * are created on demand up to the maximum size and reused afterwards. The
+ * pool has no lock of its own: a borrow that finds a free permit takes it
+ * with a single compare-and-set, only borrows beyond the maximum size wait,
+ * and at most until the deadline of their evaluation.
+ *
+ * <p>Borrows that had to wait are recorded by the {@code rule.helper.pool.wait}
+ * timer and borrows that gave up at the deadline by the
+ * {@code rule.helper.pool.exhausted} counter, both tagged with the helper
+ * and class name.
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class HelperPool {
+
+    /**
+     * Fully qualified name of the pooled class.
+     */
+    private final String className;
+
+    /**
+     * Creates a new instance of the class.
+     */
+    private final Supplier<Object> factory;
+
+    /**
+     * Maximum number of instances.
+     */
+    private final int maxSize;
+
+    /**
+     * Permits for the instances not borrowed.
+     */
+    private final Semaphore permits;
+
+    /**
+     * Instances created and not borrowed.
+     */
+    private final Queue<Object> idle = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Timer of the borrows that had to wait for an instance.
+     */
+    private final Timer waits;
+
+    /**
+     * Counter of the borrows that gave up at their deadline.
+     */
+    private final Counter exhausted;
+
+    /**
+     * Creates an empty pool.
+     *
+     * @param className Fully qualified name of the pooled class
+     * @param factory Creates a new instance of the class
+     * @param maxSize Maximum number of instances
+     * @param waits Timer of the borrows that had to wait for an instance
+     * @param exhausted Counter of the borrows that gave up at their deadline
+     */
+    public HelperPool(String className, Supplier<Object> factory, int maxSize, Timer waits, Counter exhausted) {
+        this.className = className;
+        this.factory = factory;
+        this.maxSize = maxSize;
+        this.permits = new Semaphore(maxSize);
+        this.waits = waits;
+        this.exhausted = exhausted;
+    }
+
+    /**
+     * Adds an already created instance to the pool.
+     *
+     * @param instance The instance
+     */
+    void seed(Object instance) {
+        idle.offer(instance);
+    }
+
+    /**
+     * Borrows an instance, waiting up to the deadline if all are borrowed.
+     *
+     * @param deadline The deadline of the borrowing evaluation
+     * @return The instance, to be given back with {@link #giveBack(Object)}
+     * @throws OperationException if no instance is given back before the
+     *         deadline or a new instance cannot be created
+     */
+    public Object borrow(Deadline deadline) {
+        if (!permits.tryAcquire()) {
+            await(deadline);
+        }
+        Object instance = idle.poll();
+        if (instance != null) {
+            return instance;
+        }
+        try {
+            return factory.get();
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Gives a borrowed instance back to the pool.
+     *
+     * @param instance The borrowed instance
+     */
+    public void giveBack(Object instance) {
+        idle.offer(instance);
+        permits.release();
+    }
+
+    /**
+     * Returns the number of instances currently borrowed.
+     *
+     * @return The number of borrowed instances
+     */
+    public int getBorrowedCount() {
+        return maxSize - permits.availablePermits();
+    }
+
+    /**
+     * Returns the number of instances created and not borrowed.
+     *
+     * @return The number of idle instances
+     */
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    /**
+     * Returns the maximum number of instances.
+     *
+     * @return The maximum pool size
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Waits for a permit until the deadline.
+     *
+     * @param deadline The deadline of the borrowing evaluation
+     * @throws OperationException if no permit is released before the deadline
+     */
+    private void await(Deadline deadline) {
+        long start = System.nanoTime();
+        boolean acquired;
+        try {
+            if (deadline.isBounded()) {
+                acquired = permits.tryAcquire(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+            } else {
+                permits.acquire();
+                acquired = true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OperationException("Interrupted waiting for an instance of " + className,
+                    HttpStatus.SERVICE_UNAVAILABLE, e);
+        } finally {
+            waits.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        if (!acquired) {
+            exhausted.increment();
+            throw new OperationException("All " + maxSize + " instances of " + className + " are in use",
+                    HttpStatus.SERVICE_UNAVAILABLE);
+        }
+    }
+
+    /**
+     * Returns a string representation of the pool.
+     *
+     * @return String containing the pool statistics
+     */
+    @Override
+    public String toString() {
+        return "HelperPool{" +
+                "className='" + className + '\'' +
+                ", maxSize=" + maxSize +
+                ", borrowed=" + getBorrowedCount() +
+                ", idle=" + getIdleCount() +
+                '}';
+    }
+}
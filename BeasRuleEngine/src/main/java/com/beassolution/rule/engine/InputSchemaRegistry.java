@@ -0,0 +1,258 @@
+package com.beassolution.rule.engine;
+
+import com.beassolution.rule.engine.snapshot.InputSchema;
+import com.beassolution.rule.exception.OperationException;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.mvel2.asm.AnnotationVisitor;
+import org.mvel2.asm.ClassWriter;
+import org.mvel2.asm.MethodVisitor;
+import org.mvel2.asm.Opcodes;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.MethodHandles;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of the input schemas declared by rules.
+ *
+ * <p>For each distinct schema a payload class with one public field per
+ * schema entry is generated with MVEL's bundled ASM and defined next to this
+ * class, so the bytecode accessors of the optimized tier can link against
+ * it. Schemas are keyed by their canonical form, so rules declaring the same
+ * fields share one class, and a class is generated once per process.
+ *
+ * <p>Field types are declared by name:
+ * <ul>
+ *   <li>{@code string}, {@code decimal}, {@code date}, {@code datetime}</li>
+ *   <li>{@code int}, {@code long}, {@code double}, {@code boolean}, read as
+ *       0 or false when the payload lacks the field</li>
+ *   <li>{@code list}, {@code map} and {@code object}, kept as deserialized</li>
+ * </ul>
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class InputSchemaRegistry {
+
+    /**
+     * Java types keyed by schema type name.
+     */
+    private static final Map<String, Class<?>> TYPES = Map.ofEntries(
+            Map.entry("string", String.class),
+            Map.entry("int", int.class),
+            Map.entry("long", long.class),
+            Map.entry("double", double.class),
+            Map.entry("boolean", boolean.class),
+            Map.entry("decimal", BigDecimal.class),
+            Map.entry("date", LocalDate.class),
+            Map.entry("datetime", OffsetDateTime.class),
+            Map.entry("list", List.class),
+            Map.entry("map", Map.class),
+            Map.entry("object", Object.class));
+
+    /**
+     * Prefix of the names of the generated payload classes.
+     */
+    private static final String CLASS_PREFIX = InputSchemaRegistry.class.getPackageName() + ".TypedPayload_";
+
+    /**
+     * Mapper deserializing payloads into the generated classes.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Schemas keyed by canonical form.
+     */
+    private final ConcurrentMap<String, InputSchema> schemas = new ConcurrentHashMap<>();
+
+    /**
+     * Resolves the schema declared by a rule, generating its payload class
+     * on first use.
+     *
+     * @param declared Type names keyed by payload field name, may be null
+     * @return Optional containing the schema, empty if none is declared
+     * @throws OperationException if a field name or type is not supported
+     */
+    public Optional<InputSchema> resolve(Map<String, String> declared) {
+        if (declared == null || declared.isEmpty()) {
+            return Optional.empty();
+        }
+        Map<String, Class<?>> fields = new TreeMap<>();
+        declared.forEach((name, type) -> fields.put(validName(name), typeOf(name, type)));
+        String canonical = canonical(fields);
+        return Optional.of(schemas.computeIfAbsent(canonical, key -> new InputSchema(
+                Collections.unmodifiableMap(new LinkedHashMap<>(fields)), define(key, fields), objectMapper)));
+    }
+
+    /**
+     * Returns the number of distinct schemas resolved so far.
+     *
+     * @return The number of generated payload classes
+     */
+    public int size() {
+        return schemas.size();
+    }
+
+    /**
+     * Checks a payload field name.
+     *
+     * @param name The field name
+     * @return The field name
+     * @throws OperationException if the name is not a Java identifier
+     */
+    private static String validName(String name) {
+        boolean valid = name != null && !name.isEmpty() && Character.isJavaIdentifierStart(name.charAt(0))
+                && name.chars().allMatch(Character::isJavaIdentifierPart);
+        if (!valid) {
+            throw new OperationException("Input schema field '" + name + "' is not a valid identifier.");
+        }
+        return name;
+    }
+
+    /**
+     * Resolves the Java type of a schema field.
+     *
+     * @param name The field name
+     * @param type The declared type name
+     * @return The Java type
+     * @throws OperationException if the type is not supported
+     */
+    private static Class<?> typeOf(String name, String type) {
+        Class<?> resolved = type == null ? null : TYPES.get(type.trim().toLowerCase(Locale.ROOT));
+        if (resolved == null) {
+            throw new OperationException("Input schema field '" + name + "' has unsupported type '" + type
+                    + "', expected one of " + new TreeMap<>(TYPES).keySet() + ".");
+        }
+        return resolved;
+    }
+
+    /**
+     * Builds the canonical form of a schema.
+     *
+     * @param fields Field types in field name order
+     * @return The fields and types as {@code name:type} pairs
+     */
+    private static String canonical(Map<String, Class<?>> fields) {
+        StringBuilder canonical = new StringBuilder();
+        fields.forEach((name, type) -> canonical.append(name).append(':').append(type.getName()).append(';'));
+        return canonical.toString();
+    }
+
+    /**
+     * Generates and defines the payload class of a schema.
+     *
+     * @param canonical The canonical form of the schema
+     * @param fields Field types in field name order
+     * @return The defined class
+     */
+    private static Class<?> define(String canonical, Map<String, Class<?>> fields) {
+        String className = CLASS_PREFIX + hash(canonical);
+        byte[] bytecode = generate(className.replace('.', '/'), fields);
+        try {
+            Class<?> defined = MethodHandles.lookup().defineClass(bytecode);
+            log.info("Payload class {} generated for input schema {}.", defined.getSimpleName(), fields.keySet());
+            return defined;
+        } catch (LinkageError e) {
+            // Already defined for the same schema, e.g. by another registry instance
+            try {
+                return Class.forName(className, false, InputSchemaRegistry.class.getClassLoader());
+            } catch (ClassNotFoundException notFound) {
+                throw e;
+            }
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Generates the bytecode of a payload class with a public no-argument
+     * constructor and one public field per schema entry.
+     *
+     * <p>The class ignores unknown properties, so payloads may carry fields
+     * the rule doesn't read.
+     *
+     * @param internalName The internal name of the class
+     * @param fields Field types in field name order
+     * @return The class file
+     */
+    static byte[] generate(String internalName, Map<String, Class<?>> fields) {
+        ClassWriter writer = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        writer.visit(Opcodes.V1_6, Opcodes.ACC_PUBLIC + Opcodes.ACC_FINAL + Opcodes.ACC_SUPER,
+                internalName, null, "java/lang/Object", null);
+        AnnotationVisitor ignoreUnknown = writer.visitAnnotation(descriptor(JsonIgnoreProperties.class), true);
+        ignoreUnknown.visit("ignoreUnknown", Boolean.TRUE);
+        ignoreUnknown.visitEnd();
+        fields.forEach((name, type) ->
+                writer.visitField(Opcodes.ACC_PUBLIC, name, descriptor(type), null, null).visitEnd());
+
+        MethodVisitor constructor = writer.visitMethod(Opcodes.ACC_PUBLIC, "<init>", "()V", null, null);
+        constructor.visitCode();
+        constructor.visitVarInsn(Opcodes.ALOAD, 0);
+        constructor.visitMethodInsn(Opcodes.INVOKESPECIAL, "java/lang/Object", "<init>", "()V");
+        constructor.visitInsn(Opcodes.RETURN);
+        constructor.visitMaxs(0, 0);
+        constructor.visitEnd();
+
+        writer.visitEnd();
+        return writer.toByteArray();
+    }
+
+    /**
+     * Returns the field descriptor of a type.
+     *
+     * @param type The field type
+     * @return The JVM descriptor
+     */
+    private static String descriptor(Class<?> type) {
+        if (type == int.class) {
+            return "I";
+        }
+        if (type == long.class) {
+            return "J";
+        }
+        if (type == double.class) {
+            return "D";
+        }
+        if (type == boolean.class) {
+            return "Z";
+        }
+        return "L" + type.getName().replace('.', '/') + ";";
+    }
+
+    /**
+     * Hashes the canonical form of a schema.
+     *
+     * @param canonical The canonical form
+     * @return The first 16 hex digits of its SHA-256 hash
+     */
+    private static String hash(String canonical) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(canonical.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest, 0, 8);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,33 +1,60 @@
 package com.beassolution.rule.engine;
 
 import com.beassolution.rule.exception.OperationException;
+import com.beassolution.rule.model.HelperConcurrency;
 import com.beassolution.rule.model.RuleHelper;
 import io.github.classgraph.ClassGraph;
 import io.github.classgraph.ClassInfo;
 import io.github.classgraph.ClassInfoList;
 import io.github.classgraph.ScanResult;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
 
 /**
  * Component for dynamically loading and instantiating helper classes.
  * 
  * <p>This class is responsible for loading helper classes from JAR files
  * and creating instances of them for use in rule execution. It uses
- * ClassGraph to scan JAR files and dynamically load classes.
+ * ClassGraph to scan JAR files and dynamically load classes. JARs are
+ * always loaded from their local copy in the helper JAR cache.
+ * 
+ * <p>With {@code rule.helper.lazy} enabled, no helper class is loaded while
+ * a helper is loaded: only the class names are indexed, read from the
+ * {@value #HELPER_CLASSES_ATTRIBUTE} attribute of the JAR manifest if
+ * present, or else from the class file headers. Each class is loaded and
+ * instantiated the first time a rule resolves it; see {@link LazyHelperInstances}.
+ * 
+ * <p>Helpers declaring a {@link HelperConcurrency} other than
+ * {@code SHARED} get a source of instances per class instead of a single
+ * instance: a thread-local instance, or a {@link HelperPool} of at most
+ * {@code poolSize} instances; see {@link ConfinedHelperInstances}.
  * 
  * <p>Key features include:
  * <ul>
  *   <li>Dynamic JAR file loading</li>
  *   <li>Class scanning and instantiation</li>
  *   <li>Package-based class filtering</li>
+ *   <li>Lazy instantiation on first use</li>
+ *   <li>Thread-confined and pooled instances</li>
  *   <li>Error handling for instantiation failures</li>
  * </ul>
  * 
@@ -36,50 +63,102 @@ import java.util.Objects;
  * @since 1.0
  */
 @Component
+@RequiredArgsConstructor
 @Slf4j
 public class InstanceInitiator {
+
+    /**
+     * Registry receiving the helper pool metrics.
+     */
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Manifest attribute listing the fully qualified names of the helper
+     * classes, separated by commas or whitespace.
+     */
+    public static final String HELPER_CLASSES_ATTRIBUTE = "Helper-Classes";
+
+    /**
+     * Whether helper classes are only instantiated on first use.
+     */
+    @Value("${rule.helper.lazy:false}")
+    private boolean lazy;
+
+    /**
+     * Maximum pool size of pooled helpers that do not declare one.
+     */
+    @Value("${rule.helper.pool.default-size:8}")
+    private int defaultPoolSize;
     
     /**
-     * Creates instances of helper classes from a JAR file.
+     * Creates instances of helper classes from a local copy of the helper JAR.
      * 
-     * <p>This method loads a JAR file from the specified URL and creates
-     * instances of all concrete classes in the specified package path.
-     * The instances are returned as a map with class names as keys.
+     * <p>This method loads the JAR file fetched into the
+     * {@link com.beassolution.rule.engine.cache.HelperJarCache} and creates
+     * instances of all concrete classes in the package path of the helper,
+     * right away or, in lazy mode, on first use. The instances are returned
+     * together with the class loader that owns them, keyed by class name;
+     * the class loader is closed again if the helper cannot be loaded.
      * 
-     * @param helper The rule helper configuration containing JAR URL and package path
-     * @return Map of class names to instantiated objects
+     * @param helper The rule helper configuration containing the package path
+     * @param jarUrl The URL of the local JAR file to load
+     * @return The loaded helper
      * @throws OperationException if loading or instantiation fails
      */
-    public Map<String, Object> create(RuleHelper helper) {
+    public LoadedHelper create(RuleHelper helper, URL jarUrl) {
+        URLClassLoader loader = null;
         try {
-            log.info("{} jar file loading...", helper.getPackageUrl());
-            URLClassLoader loader = new URLClassLoader(new URL[]{new URL(helper.getPackageUrl())}, getClass().getClassLoader());
-            Map<String, Object> objects = initialize(loader, helper.getPackagePath());
-            log.info("{} jar file loaded.", helper.getPackageUrl());
-            return objects;
+            log.info("{} jar file loading...", jarUrl);
+            loader = new URLClassLoader(new URL[]{jarUrl}, getClass().getClassLoader());
+            Map<String, Object> objects = lazy
+                    ? initializeLazily(loader, jarUrl, helper)
+                    : initialize(loader, helper);
+            log.info("{} jar file loaded.", jarUrl);
+            return new LoadedHelper(helper.getName(), jarUrl, helper.getPackagePath(), loader, objects,
+                    LoadedHelper.concurrencyOf(helper), LoadedHelper.poolSizeOf(helper));
         } catch (Exception e) {
             log.error("Helper instance error!", e);
+            closeQuietly(loader);
             throw new OperationException(e);
         }
     }
 
+    /**
+     * Closes the class loader of a helper that could not be loaded.
+     * 
+     * @param loader The class loader, may be null
+     */
+    private void closeQuietly(URLClassLoader loader) {
+        if (loader == null) {
+            return;
+        }
+        try {
+            loader.close();
+        } catch (IOException e) {
+            log.warn("Class loader couldn't be closed: {}", e.getMessage());
+        }
+    }
+
     /**
      * Initializes helper class instances from a class loader.
      * 
      * <p>This method scans the specified package path within the class loader
      * and creates instances of all concrete, non-abstract classes. The classes
-     * must have a no-argument constructor for instantiation.
+     * must have a no-argument constructor for instantiation. Helpers that are
+     * not shared get the sources of their instances, each checked by
+     * creating a first instance.
      * 
      * @param classLoader The class loader containing the helper classes
-     * @param packagePath The package path to scan for classes
+     * @param helper The helper configuration containing the package path
      * @return Map of class names to instantiated objects
      * @throws OperationException if no classes are found or instantiation fails
      */
-    private Map<String, Object> initialize(ClassLoader classLoader, String packagePath) {
+    private Map<String, Object> initialize(ClassLoader classLoader, RuleHelper helper) {
+        String packagePath = helper.getPackagePath();
+        HelperConcurrency concurrency = LoadedHelper.concurrencyOf(helper);
 
         try (ScanResult scanResult =
                      new ClassGraph()
-                             .enableRemoteJarScanning()
                              .enableAllInfo()
                              .addClassLoader(classLoader)
                              .acceptPackages(packagePath)
@@ -95,7 +174,9 @@ public class InstanceInitiator {
                     try {
                         log.info("Class initialization... {} / {}", clazz.getPackageName(), clazz.getName());
                         Object instance = clazz.getDeclaredConstructor().newInstance();
-                        vars.put(StringUtils.uncapitalize(clazz.getSimpleName()), instance);
+                        vars.put(variableName(clazz.getSimpleName()), concurrency == HelperConcurrency.SHARED
+                                ? instance
+                                : seed(newSource(classLoader, helper, clazz.getName()), instance));
                         log.info("Class initialized. {} / {}", clazz.getPackageName(), clazz.getName());
                     } catch (Exception e) {
                         log.error("Helper init err!", e);
@@ -103,7 +184,159 @@ public class InstanceInitiator {
                     }
                 }
             }
-            return vars;
+            return concurrency == HelperConcurrency.SHARED ? vars : new ConfinedHelperInstances(vars);
+        }
+    }
+
+    /**
+     * Indexes the helper classes of a class loader without loading them.
+     * 
+     * <p>The class names are taken from the manifest index of the JAR if it
+     * has one, or else from a scan that only reads the class file headers.
+     * 
+     * @param classLoader The class loader containing the helper classes
+     * @param jarUrl The URL of the local JAR file
+     * @param helper The helper configuration containing the package path
+     * @return Instances created on first access, keyed by class name
+     * @throws OperationException if no classes are found
+     */
+    private Map<String, Object> initializeLazily(ClassLoader classLoader, URL jarUrl, RuleHelper helper) {
+        String packagePath = helper.getPackagePath();
+        Map<String, String> classNames = readManifestIndex(jarUrl, packagePath)
+                .orElseGet(() -> scanClassNames(classLoader, packagePath));
+        if (classNames.isEmpty()) {
+            throw new OperationException(packagePath + " there is no any class");
+        }
+        log.info("{} classes of {} indexed for lazy initialization.", classNames.size(), packagePath);
+        if (LoadedHelper.concurrencyOf(helper) == HelperConcurrency.SHARED) {
+            return new LazyHelperInstances(classNames, className -> instantiate(classLoader, className));
+        }
+        return new ConfinedHelperInstances(
+                new LazyHelperInstances(classNames, className -> newSource(classLoader, helper, className)));
+    }
+
+    /**
+     * Creates the source of the instances of a class that is not shared.
+     * 
+     * @param classLoader The class loader containing the helper class
+     * @param helper The helper configuration declaring the concurrency model
+     * @param className The fully qualified class name
+     * @return A thread-local instance or a pool, without any instance yet
+     */
+    private Object newSource(ClassLoader classLoader, RuleHelper helper, String className) {
+        if (LoadedHelper.concurrencyOf(helper) == HelperConcurrency.THREAD_CONFINED) {
+            return ThreadLocal.withInitial(() -> instantiate(classLoader, className));
         }
+        int poolSize = LoadedHelper.poolSizeOf(helper) > 0 ? LoadedHelper.poolSizeOf(helper) : defaultPoolSize;
+        Timer waits = Timer.builder("rule.helper.pool.wait")
+                .description("Borrows of pooled helper instances that had to wait")
+                .tag("helper", helper.getName())
+                .tag("class", className)
+                .register(meterRegistry);
+        Counter exhausted = Counter.builder("rule.helper.pool.exhausted")
+                .description("Borrows of pooled helper instances that gave up at the deadline")
+                .tag("helper", helper.getName())
+                .tag("class", className)
+                .register(meterRegistry);
+        return new HelperPool(className, () -> instantiate(classLoader, className), poolSize, waits, exhausted);
+    }
+
+    /**
+     * Hands the instance created to check a class to its source.
+     * 
+     * @param source A thread-local instance or a pool
+     * @param instance The first instance of the class
+     * @return The source
+     */
+    private static Object seed(Object source, Object instance) {
+        if (source instanceof HelperPool pool) {
+            pool.seed(instance);
+        }
+        return source;
+    }
+
+    /**
+     * Reads the class index from the manifest of the JAR.
+     * 
+     * @param jarUrl The URL of the local JAR file
+     * @param packagePath The package path of the helper classes
+     * @return Optional containing the class names in the package keyed by
+     *         variable name, empty if the manifest has no index
+     */
+    private Optional<Map<String, String>> readManifestIndex(URL jarUrl, String packagePath) {
+        try (JarFile jar = new JarFile(new File(jarUrl.toURI()))) {
+            Manifest manifest = jar.getManifest();
+            String index = manifest != null
+                    ? manifest.getMainAttributes().getValue(new Attributes.Name(HELPER_CLASSES_ATTRIBUTE))
+                    : null;
+            if (index == null || index.isBlank()) {
+                return Optional.empty();
+            }
+            Map<String, String> classNames = new HashMap<>();
+            for (String className : index.trim().split("[,\\s]+")) {
+                int separator = className.lastIndexOf('.');
+                if (separator > 0 && className.substring(0, separator).equals(packagePath)) {
+                    classNames.put(variableName(className.substring(separator + 1)), className);
+                }
+            }
+            return Optional.of(classNames);
+        } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+            log.warn("Manifest of {} couldn't be read, scanning classes: {}", jarUrl, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Scans the names of the concrete classes in a package without loading them.
+     * 
+     * @param classLoader The class loader containing the helper classes
+     * @param packagePath The package path to scan for classes
+     * @return The class names keyed by variable name
+     */
+    private Map<String, String> scanClassNames(ClassLoader classLoader, String packagePath) {
+        try (ScanResult scanResult =
+                     new ClassGraph()
+                             .addClassLoader(classLoader)
+                             .acceptPackages(packagePath)
+                             .scan()) {
+            Map<String, String> classNames = new HashMap<>();
+            for (ClassInfo classInfo : scanResult.getAllClasses()) {
+                if (!classInfo.isInterface() && !classInfo.isAbstract() &&
+                        Objects.equals(classInfo.getPackageName(), packagePath)) {
+                    classNames.put(variableName(classInfo.getSimpleName()), classInfo.getName());
+                }
+            }
+            return classNames;
+        }
+    }
+
+    /**
+     * Loads and instantiates a helper class.
+     * 
+     * @param classLoader The class loader containing the helper class
+     * @param className The fully qualified class name
+     * @return The instance
+     * @throws OperationException if the class cannot be loaded or instantiated
+     */
+    private Object instantiate(ClassLoader classLoader, String className) {
+        try {
+            log.info("Class initialization... {}", className);
+            Object instance = Class.forName(className, true, classLoader).getDeclaredConstructor().newInstance();
+            log.info("Class initialized. {}", className);
+            return instance;
+        } catch (Exception | LinkageError e) {
+            log.error("Helper init err!", e);
+            throw new OperationException(className + "->" + e.getMessage() + " initialization error!");
+        }
+    }
+
+    /**
+     * Returns the variable name rules use for a helper class.
+     * 
+     * @param simpleName The simple class name
+     * @return The uncapitalized simple name
+     */
+    private static String variableName(String simpleName) {
+        return StringUtils.uncapitalize(simpleName);
     }
 }
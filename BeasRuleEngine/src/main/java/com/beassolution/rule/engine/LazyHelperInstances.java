@@ -0,0 +1,140 @@
+package com.beassolution.rule.engine;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Function;
+
+/**
+ * Helper instances created on first access.
+ *
+ * <p>Rules reach a helper class as a property of the helper variable, for
+ * example {@code myHelper.dateUtils.today()}, which MVEL resolves with
+ * {@link #containsKey(Object)} and {@link #get(Object)} on this map. The map
+ * knows the variable and class names from the helper's class index up
+ * front, but only loads and instantiates a class the first time a rule
+ * resolves it; classes no rule calls are never loaded. Each class is
+ * instantiated at most once, also under concurrent first accesses.
+ *
+ * <p>The map is read-only. Operations that need every value, such as
+ * {@link #entrySet()} or {@link #equals(Object)}, instantiate all classes.
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class LazyHelperInstances extends AbstractMap<String, Object> {
+
+    /**
+     * Fully qualified class names keyed by variable name.
+     */
+    private final Map<String, String> classNames;
+
+    /**
+     * Loads and instantiates a class by its fully qualified name.
+     */
+    private final Function<String, Object> factory;
+
+    /**
+     * Instances created so far keyed by variable name.
+     */
+    private final ConcurrentMap<String, Object> instances = new ConcurrentHashMap<>();
+
+    /**
+     * Creates the lazy instances of a helper.
+     *
+     * @param classNames Fully qualified class names keyed by variable name
+     * @param factory Loads and instantiates a class by its fully qualified name
+     */
+    public LazyHelperInstances(Map<String, String> classNames, Function<String, Object> factory) {
+        this.classNames = Map.copyOf(classNames);
+        this.factory = factory;
+    }
+
+    /**
+     * Returns the instance of a helper class, creating it on first access.
+     *
+     * @param key The variable name of the class
+     * @return The instance, null if the helper has no such class
+     * @throws com.beassolution.rule.exception.OperationException if the class cannot be instantiated
+     */
+    @Override
+    public Object get(Object key) {
+        String className = classNames.get(key);
+        if (className == null) {
+            return null;
+        }
+        return instances.computeIfAbsent((String) key, name -> factory.apply(className));
+    }
+
+    /**
+     * Checks whether the helper has a class for a variable name, without
+     * instantiating it.
+     *
+     * @param key The variable name
+     * @return true if the helper has such a class
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        return classNames.containsKey(key);
+    }
+
+    /**
+     * Returns the variable names of the helper classes, without
+     * instantiating them.
+     *
+     * @return The variable names
+     */
+    @Override
+    public Set<String> keySet() {
+        return classNames.keySet();
+    }
+
+    /**
+     * Returns the number of helper classes.
+     *
+     * @return The number of classes, instantiated or not
+     */
+    @Override
+    public int size() {
+        return classNames.size();
+    }
+
+    /**
+     * Returns all instances, instantiating every class not created yet.
+     *
+     * @return The instances keyed by variable name
+     */
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        Map<String, Object> all = new HashMap<>();
+        classNames.keySet().forEach(name -> all.put(name, get(name)));
+        return Collections.unmodifiableMap(all).entrySet();
+    }
+
+    /**
+     * Returns the number of classes instantiated so far.
+     *
+     * @return The number of instances created
+     */
+    public int getInstantiatedCount() {
+        return instances.size();
+    }
+
+    /**
+     * Returns a string representation without instantiating any class.
+     *
+     * @return String containing the class and instance counts
+     */
+    @Override
+    public String toString() {
+        return "LazyHelperInstances{" +
+                "classes=" + classNames.size() +
+                ", instantiated=" + instances.size() +
+                '}';
+    }
+}
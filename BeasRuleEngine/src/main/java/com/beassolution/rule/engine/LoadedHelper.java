@@ -0,0 +1,169 @@
+package com.beassolution.rule.engine;
+
+import com.beassolution.rule.model.HelperConcurrency;
+import com.beassolution.rule.model.RuleHelper;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Helper loaded into its own class loader.
+ *
+ * <p>A loaded helper is identified by the cached JAR it was loaded from,
+ * which is content addressed, and the package its instances were created
+ * from. A helper document that still resolves to both is served by the
+ * same class loader and instances, so their classes stay loaded and keep
+ * their JIT profile across syncs. Closing the helper closes its class loader
+ * and releases the JAR file; it must only happen once no evaluation can
+ * call the instances anymore.
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Getter
+@Slf4j
+public final class LoadedHelper implements AutoCloseable {
+
+    /**
+     * Name of the helper.
+     */
+    private final String name;
+
+    /**
+     * URL of the cached JAR the helper was loaded from.
+     */
+    private final String jar;
+
+    /**
+     * Package the instances were created from.
+     */
+    private final String packagePath;
+
+    /**
+     * Class loader owning the helper classes.
+     */
+    private final URLClassLoader classLoader;
+
+    /**
+     * Helper instances keyed by variable name, created on first access in
+     * lazy mode.
+     */
+    private final Map<String, Object> instances;
+
+    /**
+     * Concurrency model the instances were created for.
+     */
+    private final HelperConcurrency concurrency;
+
+    /**
+     * Pool size the helper document asked for, 0 if not set.
+     */
+    private final int poolSize;
+
+    /**
+     * Creates a loaded helper with shared instances.
+     *
+     * @param name Name of the helper
+     * @param jar URL of the cached JAR the helper was loaded from
+     * @param packagePath Package the instances were created from
+     * @param classLoader Class loader owning the helper classes
+     * @param instances Helper instances keyed by variable name
+     */
+    public LoadedHelper(String name, URL jar, String packagePath, URLClassLoader classLoader,
+                        Map<String, Object> instances) {
+        this(name, jar, packagePath, classLoader, instances, HelperConcurrency.SHARED, 0);
+    }
+
+    /**
+     * Creates a loaded helper.
+     *
+     * @param name Name of the helper
+     * @param jar URL of the cached JAR the helper was loaded from
+     * @param packagePath Package the instances were created from
+     * @param classLoader Class loader owning the helper classes
+     * @param instances Helper instances keyed by variable name
+     * @param concurrency Concurrency model the instances were created for
+     * @param poolSize Pool size the helper document asked for, 0 if not set
+     */
+    public LoadedHelper(String name, URL jar, String packagePath, URLClassLoader classLoader,
+                        Map<String, Object> instances, HelperConcurrency concurrency, int poolSize) {
+        this.name = name;
+        this.jar = jar.toExternalForm();
+        this.packagePath = packagePath;
+        this.classLoader = classLoader;
+        // Confined instances are read-only and must stay recognizable to the evaluations
+        this.instances = instances instanceof ConfinedHelperInstances
+                ? instances
+                : Collections.unmodifiableMap(instances);
+        this.concurrency = concurrency;
+        this.poolSize = poolSize;
+    }
+
+    /**
+     * Returns the concurrency model a helper document declares.
+     *
+     * @param helper The helper document
+     * @return The declared model, {@link HelperConcurrency#SHARED} if not set
+     */
+    public static HelperConcurrency concurrencyOf(RuleHelper helper) {
+        return helper.getConcurrency() != null ? helper.getConcurrency() : HelperConcurrency.SHARED;
+    }
+
+    /**
+     * Returns the pool size a helper document declares.
+     *
+     * @param helper The helper document
+     * @return The declared pool size, 0 if not set
+     */
+    public static int poolSizeOf(RuleHelper helper) {
+        return helper.getPoolSize() != null ? helper.getPoolSize() : 0;
+    }
+
+    /**
+     * Checks whether the helper was loaded from the given JAR with the
+     * package and concurrency model of a helper document.
+     *
+     * @param jar URL of the cached JAR
+     * @param helper The helper document
+     * @return true if the loaded helper can be reused as is
+     */
+    public boolean isLoadedFrom(URL jar, RuleHelper helper) {
+        return jar != null && this.jar.equals(jar.toExternalForm())
+                && Objects.equals(this.packagePath, helper.getPackagePath())
+                && concurrency == concurrencyOf(helper)
+                && poolSize == poolSizeOf(helper);
+    }
+
+    /**
+     * Closes the class loader of the helper.
+     */
+    @Override
+    public void close() {
+        try {
+            classLoader.close();
+            log.info("Class loader of helper '{}' closed.", name);
+        } catch (IOException e) {
+            log.warn("Class loader of helper '{}' couldn't be closed: {}", name, e.getMessage());
+        }
+    }
+
+    /**
+     * Returns a string representation of the loaded helper.
+     *
+     * @return String containing the helper name and JAR
+     */
+    @Override
+    public String toString() {
+        return "LoadedHelper{" +
+                "name='" + name + '\'' +
+                ", jar='" + jar + '\'' +
+                '}';
+    }
+}
@@ -1,24 +1,60 @@
 package com.beassolution.rule.engine;
 
+import com.beassolution.rule.components.SyncMode;
+import com.beassolution.rule.engine.cache.DefinitionCache;
 import com.beassolution.rule.engine.cache.FunctionCache;
+import com.beassolution.rule.engine.cache.HelperJarCache;
 import com.beassolution.rule.engine.cache.InstanceCache;
+import com.beassolution.rule.engine.cache.ResultCache;
 import com.beassolution.rule.engine.cache.RuleCache;
 import com.beassolution.rule.engine.cache.VariableCache;
+import com.beassolution.rule.engine.persistence.CatalogSnapshotStore;
+import com.beassolution.rule.engine.persistence.RestoredCatalog;
+import com.beassolution.rule.engine.snapshot.BindingPlan;
+import com.beassolution.rule.engine.snapshot.CompiledRule;
+import com.beassolution.rule.engine.snapshot.CompiledRuleSet;
+import com.beassolution.rule.engine.snapshot.EngineSnapshot;
+import com.beassolution.rule.engine.snapshot.EngineSnapshotHolder;
+import com.beassolution.rule.engine.snapshot.InputSchema;
 import com.beassolution.rule.exception.OperationException;
+import com.beassolution.rule.model.CatalogTombstone;
+import com.beassolution.rule.model.CatalogType;
 import com.beassolution.rule.model.FunctionLibrary;
 import com.beassolution.rule.model.RuleHelper;
 import com.beassolution.rule.model.RuleLibrary;
+import com.beassolution.rule.model.RuleSet;
+import com.beassolution.rule.model.base.BaseModel;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.mvel2.CompileException;
 import org.mvel2.MVEL;
 import org.mvel2.ParserContext;
+import org.mvel2.ast.Function;
+import org.mvel2.integration.impl.MapVariableResolverFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import java.io.Serializable;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Stream;
 
 /**
  * Manager class for rule engine operations and caching.
@@ -27,12 +63,23 @@ import java.util.Objects;
  * rules, functions, and helpers in the Beas Rule Engine. It coordinates
  * the loading and caching of all components needed for rule execution.
  * 
+ * <p>The caches act as a staging area that is only written by the sync
+ * thread. Evaluations never read them directly; once staging is complete,
+ * {@link #publishSnapshot(Date, SyncReport)} copies them into an immutable
+ * {@link EngineSnapshot} and swaps it in atomically.
+ * 
  * <p>Key responsibilities include:
  * <ul>
  *   <li>Caching helper class instances</li>
- *   <li>Caching function library code</li>
- *   <li>Compiling and caching rule expressions</li>
+ *   <li>Compiling function libraries once into shared function definitions</li>
+ *   <li>Compiling and caching rule expressions in parallel</li>
+ *   <li>Compiling rules with a typed input schema against their payload class</li>
+ *   <li>Caching rule set definitions</li>
  *   <li>Managing rule execution context</li>
+ *   <li>Applying incremental catalog changes</li>
+ *   <li>Warming up freshly compiled rules</li>
+ *   <li>Publishing versioned engine snapshots</li>
+ *   <li>Persisting the compiled catalog and restoring it after a restart</li>
  * </ul>
  * 
  * @author Beas Solution Team
@@ -44,6 +91,11 @@ import java.util.Objects;
 @Slf4j
 public class RuleEngineManager {
 
+    /**
+     * Number of rules that may be queued or compiling per compilation worker.
+     */
+    private static final int IN_FLIGHT_PER_WORKER = 4;
+
     /**
      * Cache for helper class instances.
      */
@@ -64,57 +116,159 @@ public class RuleEngineManager {
      */
     private final VariableCache variableCache;
 
+    /**
+     * Cache for the source definitions of helpers, functions and rules.
+     */
+    private final DefinitionCache definitionCache;
+
     /**
      * Component for creating helper instances.
      */
     private final InstanceInitiator instanceInitiator;
 
+    /**
+     * Registry of the class loaders of the staged helpers.
+     */
+    private final HelperLoaderRegistry helperLoaderRegistry;
+
+    /**
+     * Local cache of the helper JARs.
+     */
+    private final HelperJarCache helperJarCache;
+
+    /**
+     * Registry of the input schemas declared by rules.
+     */
+    private final InputSchemaRegistry inputSchemaRegistry;
+
+    /**
+     * Holder of the published engine snapshot.
+     */
+    private final EngineSnapshotHolder snapshotHolder;
+
+    /**
+     * Cache of the results of deterministic rules.
+     */
+    private final ResultCache resultCache;
+
+    /**
+     * Component warming up freshly compiled rules.
+     */
+    private final RuleWarmer ruleWarmer;
+
+    /**
+     * Store persisting the compiled catalog for fast restarts.
+     */
+    private final CatalogSnapshotStore catalogSnapshotStore;
+
+    /**
+     * Executor of compiled rules, releasing the accessors of replaced rules.
+     */
+    private final TieredRuleExecutor tieredRuleExecutor;
+
+    /**
+     * Number of workers compiling and warming up rules, 0 for one per available core.
+     */
+    @Value("${rule.sync.parallelism:0}")
+    private int parallelism;
+
+    /**
+     * Whether a rule with an input schema that cannot be compiled with
+     * strong typing is rejected instead of compiled dynamically.
+     */
+    @Value("${rule.input-schema.require-strong-typing:false}")
+    private boolean requireStrongTyping;
+
+    /**
+     * Pool compiling and warming up rules, created on first use.
+     */
+    private ForkJoinPool compilePool;
+
     /**
      * Caches helper class instances for rule execution.
      * 
      * <p>This method loads and caches helper class instances from JAR files.
      * The helpers are instantiated and made available for use during rule
-     * execution. The cache is cleared before loading new helpers.
+     * execution. The cache is cleared before loading new helpers, so an
+     * empty list removes every helper.
      * 
      * @param ruleHelpers List of rule helper configurations
-     * @throws OperationException if helpers list is null or empty
+     * @throws OperationException if helpers list is null
      */
     public void cacheHelpers(List<RuleHelper> ruleHelpers) {
-        if (ruleHelpers == null || ruleHelpers.isEmpty()) {
-            throw new OperationException("Rule Helpers cannot be null or empty!");
+        cacheHelpers(ruleHelpers, RestoredCatalog.EMPTY, new SyncReport(SyncMode.FULL));
+    }
+
+    /**
+     * Caches helper class instances, loading unchanged helpers from the
+     * persisted catalog.
+     * 
+     * <p>The JARs of all helpers are fetched into the helper JAR cache in
+     * parallel before any helper is instantiated. A helper whose document is
+     * unchanged since the catalog was persisted is loaded from its cached JAR
+     * without even revalidating its package URL. Cached JARs no helper uses
+     * anymore are deleted.
+     * 
+     * <p>A helper that resolves to the same cached JAR and package as its
+     * loaded version keeps its class loader and instances. The class loaders
+     * of changed and removed helpers are retired and closed after the next
+     * publish, once no evaluation uses them anymore.
+     * 
+     * @param ruleHelpers List of rule helper configurations
+     * @param restored The persisted catalog, {@link RestoredCatalog#EMPTY} to fetch every helper
+     * @param report Report counting the restored helpers
+     * @throws OperationException if helpers list is null
+     */
+    public void cacheHelpers(List<RuleHelper> ruleHelpers, RestoredCatalog restored, SyncReport report) {
+        if (ruleHelpers == null) {
+            throw new OperationException("Rule Helpers cannot be null!");
         }
 
         helperCache.clear();
+        definitionCache.clear(CatalogType.HELPER);
 
+        Map<String, URL> jars = new HashMap<>();
+        List<RuleHelper> toFetch = new ArrayList<>();
         for (RuleHelper helper : ruleHelpers) {
-            log.info("Helper '{}' initializing...", helper.getName());
-            Map<String, Object> instances = instanceInitiator.create(helper);
-            helperCache.put(helper.getName(), instances);
-            log.info("Helper '{}' initialized.", helper.getName());
+            Optional<URL> storedJar = restored.helperJar(helper);
+            if (storedJar.isPresent()) {
+                jars.put(helper.getName(), storedJar.get());
+                report.recordRestoredHelper();
+            } else {
+                toFetch.add(helper);
+            }
         }
+        jars.putAll(helperJarCache.prefetch(toFetch));
+
+        for (RuleHelper helper : ruleHelpers) {
+            stageHelper(helper, jars.get(helper.getName()), report);
+        }
+        helperLoaderRegistry.retainOnly(ruleHelpers.stream().map(RuleHelper::getName).toList());
+        helperJarCache.retain(ruleHelpers);
     }
 
     /**
-     * Caches function library code for rule execution.
+     * Compiles and caches function libraries for rule execution.
      * 
-     * <p>This method caches MVEL function code from function libraries.
-     * The functions are stored as strings and will be included in rule
-     * compilation. The cache is cleared before loading new functions.
+     * <p>Each function library is compiled once and the functions it
+     * declares are cached next to its code. Rules referencing the library
+     * are bound to these shared definitions instead of compiling its source
+     * again. The cache is cleared before loading new functions, so an empty
+     * list removes every function library.
      * 
      * @param functions List of function library configurations
-     * @throws OperationException if functions list is null or empty
+     * @throws OperationException if functions list is null
      */
     public void cacheFunctions(List<FunctionLibrary> functions) {
-        if (functions == null || functions.isEmpty()) {
-            throw new OperationException("Function Library cannot be null or empty!");
+        if (functions == null) {
+            throw new OperationException("Function Library cannot be null!");
         }
 
         functionCache.clear();
+        definitionCache.clear(CatalogType.FUNCTION);
 
         for (FunctionLibrary function : functions) {
-            log.info("Function '{}' caching...", function.getName());
-            functionCache.put(function.getName(), function.getMvlCode());
-            log.info("Function '{}' cached.", function.getName());
+            stageFunction(function);
         }
     }
 
@@ -122,8 +276,8 @@ public class RuleEngineManager {
      * Compiles and caches rules for execution.
      * 
      * <p>This method compiles rule libraries into executable MVEL expressions.
-     * The compilation process includes helper instances and function code
-     * to create a complete execution context for each rule.
+     * The helper instances and the compiled functions a rule references are
+     * bound to it to create a complete execution context for each rule.
      * 
      * @param rules List of rule library configurations
      * @throws OperationException if rules list is null or empty
@@ -133,27 +287,635 @@ public class RuleEngineManager {
             throw new OperationException("Rules cannot be null or empty!");
         }
 
+        cacheRules(rules.stream(), new SyncReport(SyncMode.FULL));
+    }
+
+    /**
+     * Compiles and caches rules streamed from the catalog.
+     * 
+     * <p>Rules are pulled from the stream one by one and handed to the
+     * compilation pool as soon as they arrive, so reading the database
+     * cursor overlaps with compiling the rules already read. The number of
+     * rules in flight is bounded, which keeps memory flat regardless of the
+     * catalog size. The stream is closed once it is drained.
+     * 
+     * @param rules Stream of rule library configurations
+     * @param report Report receiving the fetch and compile timings
+     * @return Number of compiled rules
+     */
+    public int cacheRules(Stream<RuleLibrary> rules, SyncReport report) {
+        return cacheRules(rules, report, RestoredCatalog.EMPTY);
+    }
+
+    /**
+     * Compiles and caches rules streamed from the catalog, restoring the
+     * expressions of unchanged rules from the persisted catalog.
+     * 
+     * <p>A rule whose MVEL source is unchanged since the catalog was
+     * persisted gets its stored expression instead of being compiled again.
+     * 
+     * @param rules Stream of rule library configurations
+     * @param report Report receiving the fetch and compile timings
+     * @param restored The persisted catalog, {@link RestoredCatalog#EMPTY} to compile every rule
+     * @return Number of compiled rules
+     */
+    public int cacheRules(Stream<RuleLibrary> rules, SyncReport report, RestoredCatalog restored) {
         ruleCache.clear();
+        definitionCache.clear(CatalogType.RULE);
 
-        Map<String, Object> vars = new HashMap<>();
-        
+        try (rules) {
+            return compileRules(rules.iterator(), report, restored);
+        }
+    }
+
+    /**
+     * Caches rule set definitions for evaluation.
+     * 
+     * <p>Rule sets need no compilation; they are staged as definitions and
+     * resolved against the compiled rules when the snapshot is published.
+     * The cache is cleared before loading new rule sets, so an empty list
+     * removes every rule set.
+     * 
+     * @param ruleSets List of rule set configurations
+     * @throws OperationException if rule sets list is null
+     */
+    public void cacheRuleSets(List<RuleSet> ruleSets) {
+        if (ruleSets == null) {
+            throw new OperationException("Rule Sets cannot be null!");
+        }
+
+        definitionCache.clear(CatalogType.RULE_SET);
+
+        for (RuleSet ruleSet : ruleSets) {
+            definitionCache.put(CatalogType.RULE_SET, ruleSet.getName(), ruleSet);
+            log.info("Rule set '{}' cached.", ruleSet.getName());
+        }
+    }
+
+    /**
+     * Applies an incremental set of catalog changes to the staged caches.
+     * 
+     * <p>Deleted entities are resolved through their tombstones and evicted,
+     * changed helpers and functions are reloaded, and changed rules are
+     * recompiled together with every cached rule that depends on a changed or
+     * deleted helper or function. Entities renamed since the last sync are
+     * evicted under their previous name. Changed rule sets are restaged.
+     * Other cache entries are left untouched. Entities staged with the same
+     * identifier and last modification date are skipped, since the overlap
+     * window of consecutive delta syncs returns them again. The JARs of changed helpers
+     * are fetched in parallel before they are reloaded.
+     * 
+     * @param helpers Helpers modified since the last sync
+     * @param functions Function libraries modified since the last sync
+     * @param rules Rules modified since the last sync
+     * @param ruleSets Rule sets modified since the last sync
+     * @param tombstones Tombstones of entities deleted since the last sync
+     * @param report Report receiving the compile timings
+     * @return true if any cache entry was changed
+     */
+    public boolean applyChanges(List<RuleHelper> helpers,
+                                List<FunctionLibrary> functions,
+                                List<RuleLibrary> rules,
+                                List<RuleSet> ruleSets,
+                                List<CatalogTombstone> tombstones,
+                                SyncReport report) {
+        Set<String> changedHelpers = new HashSet<>();
+        Set<String> changedFunctions = new HashSet<>();
+        Map<String, RuleLibrary> rulesToCompile = new LinkedHashMap<>();
+        int deletedRules = 0;
+        int changedRuleSets = 0;
+
+        for (CatalogTombstone tombstone : tombstones) {
+            Optional<String> name = definitionCache.findName(tombstone.getCatalogType(), tombstone.getEntityId());
+            if (name.isEmpty()) {
+                continue;
+            }
+            evict(tombstone.getCatalogType(), name.get());
+            switch (tombstone.getCatalogType()) {
+                case HELPER -> changedHelpers.add(name.get());
+                case FUNCTION -> changedFunctions.add(name.get());
+                case RULE -> deletedRules++;
+                case RULE_SET -> changedRuleSets++;
+            }
+        }
+
+        helpers = unstaged(CatalogType.HELPER, helpers, RuleHelper::getName);
+        functions = unstaged(CatalogType.FUNCTION, functions, FunctionLibrary::getName);
+        rules = unstaged(CatalogType.RULE, rules, RuleLibrary::getName);
+        ruleSets = unstaged(CatalogType.RULE_SET, ruleSets, RuleSet::getName);
+
+        Map<String, URL> jars = helperJarCache.prefetch(helpers);
+        for (RuleHelper helper : helpers) {
+            evictRenamed(CatalogType.HELPER, helper.getId(), helper.getName()).ifPresent(changedHelpers::add);
+            stageHelper(helper, jars.get(helper.getName()), report);
+            changedHelpers.add(helper.getName());
+        }
+        if (!changedHelpers.isEmpty()) {
+            helperJarCache.retain(stagedHelpers());
+        }
+
+        for (FunctionLibrary function : functions) {
+            evictRenamed(CatalogType.FUNCTION, function.getId(), function.getName()).ifPresent(changedFunctions::add);
+            stageFunction(function);
+            changedFunctions.add(function.getName());
+        }
+
+        for (RuleLibrary rule : definitionCache.findDependentRules(changedHelpers, changedFunctions)) {
+            rulesToCompile.put(rule.getName(), rule);
+        }
         for (RuleLibrary rule : rules) {
-            // Process helpers
-            processHelpers(rule, vars);
-            
-            // Build MVEL code using text blocks (Java 15+)
-            String mvelCode = buildMvelCode(rule);
-            
-            log.info("MVEL initializing {}", rule.getName());
-            log.debug("Generated MVEL code: {}", mvelCode);
+            if (evictRenamed(CatalogType.RULE, rule.getId(), rule.getName()).isPresent()) {
+                deletedRules++;
+            }
+            rulesToCompile.put(rule.getName(), rule);
+        }
 
-            // Compile and cache the rule
-            Serializable compiled = compileRule(mvelCode);
-            ruleCache.put(rule.getName(), compiled);
-            variableCache.put(rule.getName(), vars);
-            
-            log.info("MVEL initialized {}", rule.getName());
+        compileRules(rulesToCompile.values().iterator(), report, RestoredCatalog.EMPTY);
+
+        for (RuleSet ruleSet : ruleSets) {
+            evictRenamed(CatalogType.RULE_SET, ruleSet.getId(), ruleSet.getName());
+            definitionCache.put(CatalogType.RULE_SET, ruleSet.getName(), ruleSet);
+            changedRuleSets++;
+        }
+
+        log.info("Changes applied. Helpers: {}, functions: {}, recompiled rules: {}, removed rules: {}, rule sets: {}",
+                changedHelpers.size(), changedFunctions.size(), rulesToCompile.size(), deletedRules, changedRuleSets);
+        return !changedHelpers.isEmpty() || !changedFunctions.isEmpty() || !rulesToCompile.isEmpty()
+                || deletedRules > 0 || changedRuleSets > 0;
+    }
+
+    /**
+     * Drops the entities that are staged unchanged.
+     * 
+     * <p>An entity counts as unchanged when its staged definition has the
+     * same identifier and last modification date. Entities without a last
+     * modification date are always kept.
+     * 
+     * @param type The catalog type of the entities
+     * @param entities The entities returned by the delta query
+     * @param name Function returning the name of an entity
+     * @param <T> The entity type
+     * @return The entities that differ from their staged definition
+     */
+    private <T extends BaseModel> List<T> unstaged(CatalogType type, List<T> entities,
+                                                 java.util.function.Function<T, String> name) {
+        List<T> changed = new ArrayList<>(entities.size());
+        for (T entity : entities) {
+            Optional<BaseModel> staged = definitionCache.get(type, name.apply(entity));
+            boolean unchanged = entity.getLastModifiedDate() != null && staged
+                    .filter(definition -> Objects.equals(definition.getId(), entity.getId()))
+                    .filter(definition -> entity.getLastModifiedDate().equals(definition.getLastModifiedDate()))
+                    .isPresent();
+            if (unchanged) {
+                log.debug("{} '{}' is staged unchanged, skipping.", type, name.apply(entity));
+            } else {
+                changed.add(entity);
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Compiles rules on the compilation pool.
+     * 
+     * <p>The calling thread pulls the next rule and submits it while up to
+     * {@link #IN_FLIGHT_PER_WORKER} rules per worker are queued or compiling;
+     * once that bound is reached it waits for a worker to finish. Each rule
+     * gets its own variable map, so workers never share mutable state. After
+     * the first failure no further rules are submitted and the failure is
+     * rethrown once the submitted rules have finished.
+     * 
+     * @param rules Iterator over the rules to compile
+     * @param report Report receiving the fetch and compile timings
+     * @param restored The persisted catalog consulted before compiling a rule
+     * @return Number of compiled rules
+     */
+    private int compileRules(Iterator<RuleLibrary> rules, SyncReport report, RestoredCatalog restored) {
+        ForkJoinPool pool = compilePool();
+        int maxInFlight = pool.getParallelism() * IN_FLIGHT_PER_WORKER;
+        Semaphore inFlight = new Semaphore(maxInFlight);
+        AtomicReference<RuntimeException> failure = new AtomicReference<>();
+        AtomicInteger compiled = new AtomicInteger();
+        report.setParallelism(pool.getParallelism());
+
+        while (failure.get() == null) {
+            long fetchStart = System.nanoTime();
+            if (!rules.hasNext()) {
+                break;
+            }
+            RuleLibrary rule = rules.next();
+            report.recordFetch(System.nanoTime() - fetchStart);
+
+            inFlight.acquireUninterruptibly();
+            pool.execute(() -> {
+                try {
+                    long compileStart = System.nanoTime();
+                    Map<String, Object> vars = new HashMap<>();
+                    processHelpers(rule, vars);
+                    processFunctions(rule, vars);
+                    stageRule(rule, vars, restored, report);
+                    report.recordCompile(System.nanoTime() - compileStart);
+                    compiled.incrementAndGet();
+                } catch (RuntimeException e) {
+                    log.error("Rule '{}' couldn't be compiled.", rule.getName(), e);
+                    failure.compareAndSet(null, e);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        }
+
+        // Waits for the rules still compiling
+        inFlight.acquireUninterruptibly(maxInFlight);
+
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+        return compiled.get();
+    }
+
+    /**
+     * Returns the compilation pool, creating it on first use.
+     * 
+     * <p>The pool is bounded to {@code rule.sync.parallelism} workers, so a
+     * sync, including the one run on startup, never takes more cores than
+     * configured away from evaluations.
+     * 
+     * @return The compilation pool
+     */
+    private synchronized ForkJoinPool compilePool() {
+        if (compilePool == null) {
+            int workers = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+            compilePool = new ForkJoinPool(workers, pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("rule-compiler-" + thread.getPoolIndex());
+                // Resolves classes the way the sync thread does
+                thread.setContextClassLoader(RuleEngineManager.class.getClassLoader());
+                return thread;
+            }, null, false);
+        }
+        return compilePool;
+    }
+
+    /**
+     * Shuts down the compilation pool.
+     */
+    @PreDestroy
+    public synchronized void shutdown() {
+        if (compilePool != null) {
+            compilePool.shutdownNow();
+        }
+    }
+
+    /**
+     * Publishes the staged caches as a new engine snapshot.
+     * 
+     * <p>The compiled rules, their variables, the rule sets, the helpers and
+     * the functions are copied into an immutable {@link EngineSnapshot} with the next
+     * version number and published with a single atomic swap. Evaluations
+     * running against the previous snapshot complete undisturbed; class
+     * loaders of helpers retired since the last publish, and the accessors
+     * MVEL generated for replaced rules, are only released once they are done.
+     * 
+     * <p>A rule that was not recompiled since the previous snapshot is
+     * carried over as is, keeping its revision and execution tier; cached
+     * results of recompiled and removed rules are invalidated.
+     * 
+     * <p>Freshly compiled rules that carry warmup payloads are warmed up in
+     * parallel before the snapshot is published; see {@link RuleWarmer}.
+     * 
+     * @param watermark Time up to which catalog changes are included
+     * @param report Report receiving the warmup timings
+     * @return The published snapshot
+     */
+    public EngineSnapshot publishSnapshot(Date watermark, SyncReport report) {
+        EngineSnapshot previous = snapshotHolder.current();
+        long version = previous.getVersion() + 1;
+        Map<String, Object> variables = variableCache.getAll();
+        Map<String, CompiledRule> rules = new HashMap<>();
+        Set<String> changedRules = new HashSet<>(previous.getRules().keySet());
+        Map<CompiledRule, List<Object>> warmups = new HashMap<>();
+
+        ruleCache.getAll().forEach((name, expression) -> {
+            // Recompiling always produces a new expression instance
+            Optional<CompiledRule> unchanged = previous.getRule(name)
+                    .filter(rule -> rule.getExpression() == expression);
+            if (unchanged.isPresent()) {
+                // Keeps the revision, the invocation count and the execution tier
+                changedRules.remove(name);
+                rules.put(name, unchanged.get());
+                return;
+            }
+            Optional<RuleLibrary> definition = definitionCache.get(CatalogType.RULE, name);
+            boolean deterministic = definition.map(RuleLibrary::isDeterministic).orElse(false);
+            long timeoutMillis = definition.map(RuleLibrary::getTimeoutMillis).orElse(0L);
+            CompiledRule compiled = CompiledRule.builder()
+                    .name(name)
+                    .expression(expression)
+                    .variables(toVariableMap(variables.get(name)))
+                    .revision(version)
+                    .deterministic(deterministic)
+                    .timeoutMillis(timeoutMillis)
+                    .source(ruleCache.getSource(name).orElse(null))
+                    .plan(ruleCache.getPlan(name))
+                    .inputSchema(ruleCache.getSchema(name).orElse(null))
+                    .build();
+            rules.put(name, compiled);
+            List<Object> payloads = definition.map(RuleLibrary::getWarmupPayloads).orElse(null);
+            if (ruleWarmer.isApplicable(payloads)) {
+                warmups.put(compiled, payloads);
+            }
+        });
+
+        if (!warmups.isEmpty()) {
+            report.time("warmup", () -> warmup(warmups, report));
+        }
+
+        Map<String, CompiledRuleSet> ruleSets = new HashMap<>();
+        definitionCache.getAll(CatalogType.RULE_SET).forEach((name, definition) -> {
+            RuleSet ruleSet = (RuleSet) definition;
+            ruleSets.put(name, new CompiledRuleSet(name, ruleSet.getStrategy(), ruleSet.getRules()));
+        });
+
+        EngineSnapshot snapshot = new EngineSnapshot(version, watermark,
+                rules, ruleSets, helperCache.getAll(), functionCache.getAll());
+        List<AutoCloseable> retired = helperLoaderRegistry.drainRetired();
+        if (!changedRules.isEmpty()) {
+            retired.add(tieredRuleExecutor::releaseRetiredAccessors);
+        }
+        snapshotHolder.publish(snapshot, retired);
+        resultCache.invalidate(changedRules);
+        return snapshot;
+    }
+
+    /**
+     * Persists the compiled catalog of a published snapshot.
+     * 
+     * <p>Does nothing unless catalog persistence is enabled; see
+     * {@link CatalogSnapshotStore}. Only entries not stored yet are compiled
+     * or downloaded again, so persisting after a small change is cheap.
+     * Rules with an input schema are not persisted, as their expressions
+     * refer to payload classes generated at runtime.
+     * 
+     * @param snapshot The published snapshot
+     */
+    public void persistCatalog(EngineSnapshot snapshot) {
+        if (!catalogSnapshotStore.isEnabled()) {
+            return;
+        }
+        List<String> sources = ruleCache.getAll().keySet().stream()
+                .filter(name -> ruleCache.getSchema(name).isEmpty())
+                .map(ruleCache::getSource)
+                .flatMap(Optional::stream)
+                .toList();
+        catalogSnapshotStore.save(snapshot.getWatermark(), stagedHelpers(), sources, RuleEngineManager::compileRule);
+    }
+
+    /**
+     * Warms up rules in parallel on the compilation pool.
+     * 
+     * @param warmups The rules to warm up with their warmup payloads
+     * @param report Report receiving the warmup time per rule
+     * @return Number of warmed up rules
+     */
+    private int warmup(Map<CompiledRule, List<Object>> warmups, SyncReport report) {
+        compilePool().submit(() -> warmups.entrySet().parallelStream().forEach(entry -> {
+            long start = System.nanoTime();
+            int runs = ruleWarmer.warmup(entry.getKey(), entry.getValue());
+            report.recordWarmup(entry.getKey().getName(), runs, System.nanoTime() - start);
+        })).join();
+        log.info("{} rules warmed up.", warmups.size());
+        return warmups.size();
+    }
+
+    /**
+     * Converts a cached variable entry into a variable map.
+     * 
+     * @param cachedVars The cached variables of a rule
+     * @return The variables as a map, empty if none are cached
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> toVariableMap(Object cachedVars) {
+        return cachedVars instanceof Map<?, ?> map ? (Map<String, Object>) map : Map.of();
+    }
+
+    /**
+     * Returns the helper documents currently staged.
+     * 
+     * @return The staged helpers
+     */
+    private List<RuleHelper> stagedHelpers() {
+        return definitionCache.getAll(CatalogType.HELPER).values().stream()
+                .map(RuleHelper.class::cast)
+                .toList();
+    }
+
+    /**
+     * Loads a helper and stages its instances.
+     * 
+     * <p>A helper whose loaded version came from the same cached JAR,
+     * package and concurrency model is not loaded again; its instances are
+     * staged as they are.
+     * 
+     * @param helper The helper to load
+     * @param jar The URL of the cached JAR of the helper
+     * @param report Report counting the reused helpers
+     */
+    private void stageHelper(RuleHelper helper, URL jar, SyncReport report) {
+        Optional<LoadedHelper> unchanged = helperLoaderRegistry.findUnchanged(helper, jar);
+        LoadedHelper loaded;
+        if (unchanged.isPresent()) {
+            loaded = unchanged.get();
+            report.recordReusedHelper();
+            log.info("Helper '{}' unchanged, its class loader is reused.", helper.getName());
+        } else {
+            log.info("Helper '{}' initializing...", helper.getName());
+            loaded = instanceInitiator.create(helper, jar);
+            helperLoaderRegistry.register(loaded);
+            log.info("Helper '{}' initialized.", helper.getName());
         }
+        helperCache.put(helper.getName(), loaded.getInstances());
+        definitionCache.put(CatalogType.HELPER, helper.getName(), helper);
+    }
+
+    /**
+     * Compiles a function library and stages its code and functions.
+     * 
+     * @param function The function library to stage
+     */
+    private void stageFunction(FunctionLibrary function) {
+        log.info("Function '{}' caching...", function.getName());
+        Map<String, Object> functions = compileFunctions(function);
+        functionCache.put(function.getName(), function.getMvlCode());
+        functionCache.putDefinitions(function.getName(), functions);
+        definitionCache.put(CatalogType.FUNCTION, function.getName(), function);
+        log.info("Function '{}' cached with {} functions.", function.getName(), functions.size());
+    }
+
+    /**
+     * Compiles a function library into its function definitions.
+     * 
+     * <p>The library is compiled and run once against an empty variable
+     * factory, which declares its functions the same way a rule declares
+     * inline functions. Only the declared functions are kept; other
+     * top-level statements of the library have no effect on rules.
+     * 
+     * @param function The function library to compile
+     * @return The declared functions keyed by function name
+     * @throws OperationException if the library cannot be compiled
+     */
+    private Map<String, Object> compileFunctions(FunctionLibrary function) {
+        ParserContext context = newParserContext();
+        Map<String, Object> declared = new HashMap<>();
+        try {
+            Serializable compiled = MVEL.compileExpression(function.getMvlCode(), context);
+            MVEL.executeExpression(compiled, new MapVariableResolverFactory(declared));
+        } catch (RuntimeException e) {
+            throw new OperationException("Function library '" + function.getName() + "' couldn't be compiled: "
+                    + e.getMessage());
+        }
+
+        Map<String, Function> functions = context.getFunctions();
+        Map<String, Object> definitions = new HashMap<>();
+        if (functions != null) {
+            for (String name : functions.keySet()) {
+                Object definition = declared.get(name);
+                if (definition != null) {
+                    definitions.put(name, definition);
+                }
+            }
+        }
+        return definitions;
+    }
+
+    /**
+     * Compiles a rule and stages it with its variables.
+     * 
+     * <p>Only the helpers and functions the rule can reference, in its own
+     * source or in the code of its function libraries, stay bound; see
+     * {@link BindingPlan}. A rule with an input schema is always compiled
+     * against the payload class of its schema; see {@link #compileTyped}.
+     * 
+     * @param rule The rule to compile
+     * @param vars The variables bound to the rule
+     * @param restored The persisted catalog, consulted for a stored expression
+     * @param report Report counting the restored rules
+     */
+    private void stageRule(RuleLibrary rule, Map<String, Object> vars, RestoredCatalog restored, SyncReport report) {
+        // Build MVEL code using text blocks (Java 15+)
+        String mvelCode = buildMvelCode(rule);
+
+        log.info("MVEL initializing {}", rule.getName());
+        log.debug("Generated MVEL code: {}", mvelCode);
+
+        InputSchema schema = inputSchemaRegistry.resolve(rule.getInputSchema()).orElse(null);
+        Serializable compiled;
+        if (schema != null) {
+            compiled = compileTyped(rule, mvelCode, schema);
+        } else {
+            // Compile and cache the rule, unless it is unchanged since the catalog was persisted
+            Optional<Serializable> stored = restored.expression(mvelCode);
+            stored.ifPresent(expression -> report.recordRestoredRule());
+            compiled = stored.orElseGet(() -> compileRule(mvelCode));
+        }
+        BindingPlan plan = planBindings(rule, mvelCode);
+        vars.keySet().removeIf(name -> !plan.references(name));
+        ruleCache.put(rule.getName(), compiled);
+        ruleCache.putSource(rule.getName(), mvelCode);
+        ruleCache.putPlan(rule.getName(), plan);
+        ruleCache.putSchema(rule.getName(), schema);
+        variableCache.put(rule.getName(), vars);
+        definitionCache.put(CatalogType.RULE, rule.getName(), rule);
+
+        log.info("MVEL initialized {}", rule.getName());
+    }
+
+    /**
+     * Compiles a rule against the payload class of its input schema.
+     * 
+     * <p>The rule is compiled with strong typing first, which resolves every
+     * payload field access at compile time and reports unknown fields and
+     * mismatching types as compile errors. Strong typing requires every
+     * variable to be typed, so it only succeeds for rules that read nothing
+     * but the payload; other rules are compiled dynamically, still reading
+     * the fields of the payload class, unless
+     * {@code rule.input-schema.require-strong-typing} is enabled.
+     * 
+     * @param rule The rule
+     * @param mvelCode The MVEL source of the rule
+     * @param schema The input schema of the rule
+     * @return The compiled expression
+     * @throws OperationException if strong typing is required and fails
+     */
+    private Serializable compileTyped(RuleLibrary rule, String mvelCode, InputSchema schema) {
+        try {
+            return MVEL.compileExpression(mvelCode, newParserContext(schema, true));
+        } catch (CompileException e) {
+            if (requireStrongTyping) {
+                throw new OperationException("Rule '" + rule.getName()
+                        + "' doesn't compile against its input schema: " + e.getMessage());
+            }
+            log.info("Rule '{}' is compiled dynamically against its input schema: {}", rule.getName(), e.getMessage());
+            return MVEL.compileExpression(mvelCode, newParserContext(schema, false));
+        }
+    }
+
+    /**
+     * Creates the binding plan of a rule.
+     * 
+     * <p>Functions run against the evaluation's variables, so the code of
+     * every function library the rule is bound to counts as well.
+     * 
+     * @param rule The rule
+     * @param mvelCode The MVEL source of the rule
+     * @return The variables the rule can reference
+     */
+    private BindingPlan planBindings(RuleLibrary rule, String mvelCode) {
+        List<String> sources = new ArrayList<>();
+        sources.add(mvelCode);
+        for (String functionName : rule.getFunctions()) {
+            functionCache.get(functionName).ifPresent(sources::add);
+        }
+        return BindingPlan.of(sources);
+    }
+
+    /**
+     * Evicts a staged entity of the given type.
+     * 
+     * @param type The catalog type
+     * @param name The entity name
+     */
+    private void evict(CatalogType type, String name) {
+        switch (type) {
+            case HELPER -> {
+                helperCache.remove(name);
+                helperLoaderRegistry.retire(name);
+            }
+            case FUNCTION -> functionCache.remove(name);
+            case RULE -> {
+                ruleCache.remove(name);
+                variableCache.remove(name);
+            }
+            case RULE_SET -> {
+                // Rule sets only live in the definition cache
+            }
+        }
+        definitionCache.remove(type, name);
+        log.info("{} '{}' evicted.", type, name);
+    }
+
+    /**
+     * Evicts an entity that is cached under a different name than its current one.
+     * 
+     * @param type The catalog type
+     * @param id The entity identifier
+     * @param name The current entity name
+     * @return Optional containing the previous name if the entity was renamed
+     */
+    private Optional<String> evictRenamed(CatalogType type, UUID id, String name) {
+        Optional<String> previous = definitionCache.findName(type, id).filter(cached -> !cached.equals(name));
+        previous.ifPresent(cached -> evict(type, cached));
+        return previous;
     }
 
     /**
@@ -186,6 +948,35 @@ public class RuleEngineManager {
         }
     }
 
+    /**
+     * Binds the compiled functions of the function libraries a rule references.
+     * 
+     * <p>Only references to the shared function definitions are added; the
+     * library source is not compiled again. Functions take precedence over
+     * helpers of the same name, as inline function declarations did.
+     * 
+     * @param rule The rule to process functions for
+     * @param vars The variables map to populate
+     */
+    private void processFunctions(RuleLibrary rule, Map<String, Object> vars) {
+        if (rule.getFunctions().isEmpty()) {
+            return;
+        }
+
+        for (String functionName : rule.getFunctions()) {
+            log.info("{} Function adding...", functionName);
+            var functions = functionCache.getDefinitions(functionName);
+
+            if (functions.isEmpty()) {
+                log.warn("Function couldn't find {}, skipping...", functionName);
+                continue;
+            }
+
+            vars.putAll(functions.get());
+            log.info("{} Function added.", functionName);
+        }
+    }
+
     /**
      * Builds MVEL code for a rule using text blocks.
      * 
@@ -193,45 +984,107 @@ public class RuleEngineManager {
      * @return The complete MVEL code string
      */
     private String buildMvelCode(RuleLibrary rule) {
-        StringBuilder functionsCode = new StringBuilder();
-        
-        // Process functions
-        if (!rule.getFunctions().isEmpty()) {
-            for (String functionName : rule.getFunctions()) {
-                log.info("{} Function adding...", functionName);
-                var function = functionCache.get(functionName);
-                
-                if (function.isEmpty()) {
-                    log.warn("Function couldn't find {}, skipping...", functionName);
-                    continue;
-                }
-                
-                functionsCode.append(function.get()).append("\n");
-                log.debug("Function code: {}", function.get());
-                log.info("{} Function added.", functionName);
-            }
-        }
-
         // Use text blocks for better readability (Java 15+)
         return """
             (
             %s
-            %s
             )
-            """.formatted(functionsCode.toString(), rule.getMvlCode());
+            """.formatted(rule.getMvlCode());
     }
 
     /**
      * Compiles a rule expression.
      * 
+     * <p>Accessors are not built at compile time but on the first execution
+     * of each node, by the optimizer active on the executing thread.
+     * 
      * @param mvelCode The MVEL code to compile
      * @return The compiled Serializable expression
      */
-    private Serializable compileRule(String mvelCode) {
+    static Serializable compileRule(String mvelCode) {
+        return MVEL.compileExpression(mvelCode, newParserContext());
+    }
+
+    /**
+     * Compiles a rule expression against the payload class of an input schema.
+     * 
+     * <p>Uses strong typing whenever the rule compiles with it, the way
+     * staging does.
+     * 
+     * @param mvelCode The MVEL code to compile
+     * @param schema The input schema of the rule, null if it declares none
+     * @return The compiled Serializable expression
+     */
+    static Serializable compileRule(String mvelCode, InputSchema schema) {
+        if (schema == null) {
+            return compileRule(mvelCode);
+        }
+        try {
+            return MVEL.compileExpression(mvelCode, newParserContext(schema, true));
+        } catch (CompileException e) {
+            return MVEL.compileExpression(mvelCode, newParserContext(schema, false));
+        }
+    }
+
+    /**
+     * Compiles a rule expression whose generated accessors are defined below
+     * the given class loader.
+     * 
+     * <p>MVEL defines every accessor class it generates for the expression
+     * in a new loader whose parent is the loader of the parser context.
+     * 
+     * @param mvelCode The MVEL code to compile
+     * @param schema The input schema of the rule, null if it declares none
+     * @param classLoader The class loader the expression resolves classes with
+     * @return The compiled Serializable expression
+     */
+    static Serializable compileRule(String mvelCode, InputSchema schema, ClassLoader classLoader) {
+        if (schema == null) {
+            return MVEL.compileExpression(mvelCode, withClassLoader(newParserContext(), classLoader));
+        }
+        try {
+            return MVEL.compileExpression(mvelCode, withClassLoader(newParserContext(schema, true), classLoader));
+        } catch (CompileException e) {
+            return MVEL.compileExpression(mvelCode, withClassLoader(newParserContext(schema, false), classLoader));
+        }
+    }
+
+    /**
+     * Sets the class loader of a parser context.
+     * 
+     * @param context The parser context
+     * @param classLoader The class loader the context resolves classes with
+     * @return The parser context
+     */
+    private static ParserContext withClassLoader(ParserContext context, ClassLoader classLoader) {
+        context.getParserConfiguration().setClassLoader(classLoader);
+        return context;
+    }
+
+    /**
+     * Creates the parser context rules and function libraries are compiled with.
+     * 
+     * @return A new parser context
+     */
+    private static ParserContext newParserContext() {
         ParserContext context = new ParserContext();
         context.setStrongTyping(false);
         context.setRetainParserState(true);
+        return context;
+    }
 
-        return MVEL.compileExpression(mvelCode, context);
+    /**
+     * Creates the parser context of a rule with an input schema.
+     * 
+     * @param schema The input schema of the rule
+     * @param strongTyping Whether every variable and property has to be typed
+     * @return A new parser context declaring the payload as an instance of
+     *         the payload class
+     */
+    private static ParserContext newParserContext(InputSchema schema, boolean strongTyping) {
+        ParserContext context = newParserContext();
+        context.setStrongTyping(strongTyping);
+        context.addInput(InputSchema.PAYLOAD, schema.getPayloadClass());
+        return context;
     }
 }
@@ -0,0 +1,725 @@
+package com.beassolution.rule.engine;
+
+import com.beassolution.rule.config.EvaluationConfig;
+import com.beassolution.rule.dto.request.RuleEvaluateRequest;
+import com.beassolution.rule.dto.request.RuleSetEvaluateRequest;
+import com.beassolution.rule.dto.response.RuleEvaluateResponse;
+import com.beassolution.rule.dto.response.RuleSetEvaluation;
+import com.beassolution.rule.dto.response.RuleStreamItemResponse;
+import com.beassolution.rule.dto.response.base.BaseResponse;
+import com.beassolution.rule.dto.response.base.BaseResponseModel;
+import com.beassolution.rule.engine.cache.ResultCache;
+import com.beassolution.rule.engine.snapshot.CompiledRule;
+import com.beassolution.rule.engine.snapshot.CompiledRuleSet;
+import com.beassolution.rule.engine.snapshot.EngineSnapshot;
+import com.beassolution.rule.engine.snapshot.EngineSnapshotHolder;
+import com.beassolution.rule.exception.OperationException;
+import com.beassolution.rule.model.RuleSetStrategy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * Component executing compiled rules against request data.
+ *
+ * <p>This class resolves rules from the published {@link EngineSnapshot},
+ * binds the request variables on top of the rule's helper bindings and runs
+ * the compiled MVEL expression. Every execution runs on the bounded
+ * evaluation executor (platform or virtual threads), never on the request
+ * thread, and has a deadline: the rule's own timeout
+ * (or the engine default), capped by the remaining budget sent by the
+ * caller. Batches and rule sets are evaluated in parallel against a single
+ * snapshot, so every item of a batch and every rule of a set sees the same
+ * catalog version. Every execution holds a lease on its snapshot until it
+ * has actually finished, even if its caller gave up on it earlier, so the
+ * class loaders of replaced helpers are never closed under a running rule.
+ *
+ * <p>Key features include:
+ * <ul>
+ *   <li>Single rule evaluation, blocking or asynchronous</li>
+ *   <li>Parallel batch evaluation with ordered results</li>
+ *   <li>Per-item error reporting for batches</li>
+ *   <li>Streaming evaluation of one rule with bounded parallelism</li>
+ *   <li>Rule set evaluation with short-circuiting strategies</li>
+ *   <li>Cached results for deterministic rules</li>
+ *   <li>Per-rule and per-request execution deadlines</li>
+ *   <li>Tiered execution, hot rules with bytecode-generated accessors</li>
+ * </ul>
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@Slf4j
+public class RuleEvaluator {
+
+    /**
+     * Holder of the published engine snapshot.
+     */
+    private final EngineSnapshotHolder snapshotHolder;
+
+    /**
+     * Cache of the results of deterministic rules.
+     */
+    private final ResultCache resultCache;
+
+    /**
+     * Executor running rule evaluations, see {@link EvaluationConfig}.
+     */
+    private final Executor evaluationExecutor;
+
+    /**
+     * Executor of compiled rules selecting their execution tier.
+     */
+    private final TieredRuleExecutor tieredRuleExecutor;
+
+    /**
+     * Timeout applied to rules without their own, 0 for none.
+     */
+    private final long defaultTimeoutMillis;
+
+    /**
+     * Creates the evaluator.
+     *
+     * @param snapshotHolder Holder of the published engine snapshot
+     * @param resultCache Cache of the results of deterministic rules
+     * @param evaluationExecutor Executor running rule evaluations
+     * @param tieredRuleExecutor Executor of compiled rules selecting their execution tier
+     * @param defaultTimeoutMillis Timeout of rules without their own, 0 for none
+     */
+    public RuleEvaluator(EngineSnapshotHolder snapshotHolder,
+                         ResultCache resultCache,
+                         @Qualifier(EvaluationConfig.EVALUATION_EXECUTOR) Executor evaluationExecutor,
+                         TieredRuleExecutor tieredRuleExecutor,
+                         @Value("${rule.evaluation.default-timeout-ms:5000}") long defaultTimeoutMillis) {
+        this.snapshotHolder = snapshotHolder;
+        this.resultCache = resultCache;
+        this.evaluationExecutor = evaluationExecutor;
+        this.tieredRuleExecutor = tieredRuleExecutor;
+        this.defaultTimeoutMillis = defaultTimeoutMillis;
+    }
+
+    /**
+     * Evaluates a single rule against the current snapshot.
+     *
+     * @param params Query parameters to include in the rule context
+     * @param request The rule evaluation request
+     * @return The result of the rule
+     * @throws OperationException if the rule is not found or times out
+     */
+    public Object evaluate(Map<String, Object> params, RuleEvaluateRequest request) {
+        return evaluate(params, request, Deadline.NONE);
+    }
+
+    /**
+     * Evaluates a single rule against the current snapshot within a deadline.
+     *
+     * @param params Query parameters to include in the rule context
+     * @param request The rule evaluation request
+     * @param deadline The deadline of the caller
+     * @return The result of the rule
+     * @throws OperationException if the rule is not found, times out or
+     *         the evaluation pool is saturated
+     */
+    public Object evaluate(Map<String, Object> params, RuleEvaluateRequest request, Deadline deadline) {
+        String ruleName = request.getRuleName();
+        EngineSnapshot snapshot = snapshotHolder.acquire();
+        try {
+            return await(ruleName, submit(snapshot, ruleName,
+                    bind(params, request.getPayload(), request.getParameters()), deadline));
+        } finally {
+            snapshotHolder.release(snapshot);
+        }
+    }
+
+    /**
+     * Evaluates a single rule without blocking the calling thread.
+     *
+     * <p>The returned future completes on the evaluation executor, or fails
+     * with the same exceptions {@link #evaluate(Map, RuleEvaluateRequest, Deadline)}
+     * throws, wrapped in a {@link CompletionException}.
+     *
+     * @param params Query parameters to include in the rule context
+     * @param request The rule evaluation request
+     * @param deadline The deadline of the caller
+     * @return The pending result of the rule
+     */
+    public CompletableFuture<Object> evaluateAsync(Map<String, Object> params,
+                                                   RuleEvaluateRequest request,
+                                                   Deadline deadline) {
+        String ruleName = request.getRuleName();
+        EngineSnapshot snapshot = snapshotHolder.acquire();
+        try {
+            return submit(snapshot, ruleName,
+                    bind(params, request.getPayload(), request.getParameters()), deadline)
+                    .handle((result, throwable) -> {
+                        if (throwable != null) {
+                            throw failure(ruleName, throwable);
+                        }
+                        return result;
+                    });
+        } finally {
+            snapshotHolder.release(snapshot);
+        }
+    }
+
+    /**
+     * Evaluates a batch of rules in parallel.
+     *
+     * <p>All items are evaluated against the snapshot current when the batch
+     * starts. Results are returned in request order; an item that fails or
+     * times out carries its error in its status and does not affect the
+     * other items.
+     *
+     * @param params Query parameters to include in the context of every item
+     * @param requests The rule evaluation requests
+     * @return The evaluation responses in request order
+     */
+    public List<RuleEvaluateResponse> evaluateBatch(Map<String, Object> params, List<RuleEvaluateRequest> requests) {
+        return evaluateBatch(params, requests, Deadline.NONE);
+    }
+
+    /**
+     * Evaluates a batch of rules in parallel within a deadline.
+     *
+     * @param params Query parameters to include in the context of every item
+     * @param requests The rule evaluation requests
+     * @param deadline The deadline of the caller, shared by all items
+     * @return The evaluation responses in request order
+     */
+    public List<RuleEvaluateResponse> evaluateBatch(Map<String, Object> params,
+                                                    List<RuleEvaluateRequest> requests,
+                                                    Deadline deadline) {
+        EngineSnapshot snapshot = snapshotHolder.acquire();
+        List<CompletableFuture<Object>> futures = new ArrayList<>(requests.size());
+        try {
+            for (RuleEvaluateRequest request : requests) {
+                futures.add(submit(snapshot, request.getRuleName(),
+                        bind(params, request.getPayload(), request.getParameters()), deadline));
+            }
+        } finally {
+            snapshotHolder.release(snapshot);
+        }
+
+        List<RuleEvaluateResponse> responses = new ArrayList<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            responses.add(toResponse(requests.get(i).getRuleName(), futures.get(i)));
+        }
+        return responses;
+    }
+
+    /**
+     * Evaluates one rule against a stream of payloads.
+     *
+     * <p>Payloads are pulled from the iterator only while fewer than
+     * {@code maxInFlight} records are pending, so memory stays bounded
+     * whatever the length of the stream. All records are evaluated against
+     * the snapshot current when the stream starts. Results are handed to the
+     * sink as they complete, not in input order; each carries the index of
+     * its record and, like batch items, its own status. Completed records are
+     * queued by the evaluation threads and handed to the sink on the calling
+     * thread, so a blocking sink never holds an evaluation thread.
+     *
+     * <p>Returns once every record pulled has been handed to the sink. If
+     * the iterator or the sink fails, no further records are pulled and the
+     * failure is rethrown after the records in flight have completed; after
+     * a sink failure they are no longer handed to the sink.
+     *
+     * @param params Query parameters to include in the context of every record
+     * @param ruleName The rule to evaluate
+     * @param payloads The payloads, bound as "payload"
+     * @param maxInFlight Maximum number of records evaluated or waiting for the sink at the same time
+     * @param sink Receiver of the per-record results
+     * @return The number of records evaluated
+     * @throws OperationException if the rule is not found or the stream is interrupted
+     */
+    public long evaluateStream(Map<String, Object> params,
+                               String ruleName,
+                               Iterator<?> payloads,
+                               int maxInFlight,
+                               Consumer<RuleStreamItemResponse> sink) {
+        EngineSnapshot snapshot = snapshotHolder.acquire();
+        try {
+            if (snapshot.getRule(ruleName).isEmpty()) {
+                throw new OperationException("Rule not found: " + ruleName, HttpStatus.NOT_FOUND);
+            }
+
+            // Never full: a record is only submitted while fewer than maxInFlight are pending
+            BlockingQueue<RuleStreamItemResponse> completed = new ArrayBlockingQueue<>(maxInFlight);
+            StreamSink stream = new StreamSink(sink);
+            long count = 0;
+            int pending = 0;
+            try {
+                while (!stream.failed()) {
+                    while (pending >= maxInFlight) {
+                        stream.accept(completed.take());
+                        pending--;
+                    }
+                    for (RuleStreamItemResponse item; (item = completed.poll()) != null; pending--) {
+                        stream.accept(item);
+                    }
+                    if (stream.failed() || !payloads.hasNext()) {
+                        break;
+                    }
+                    var item = new RuleStreamItemResponse();
+                    item.setIndex(count);
+                    CompletableFuture<Object> future = submit(snapshot, ruleName,
+                            bind(params, payloads.next(), null), Deadline.NONE);
+                    count++;
+                    pending++;
+                    future.whenComplete((result, throwable) -> {
+                        try {
+                            toResponse(item, ruleName, future);
+                        } finally {
+                            completed.add(item);
+                        }
+                    });
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new OperationException("Stream evaluation interrupted", HttpStatus.SERVICE_UNAVAILABLE, e);
+            } finally {
+                // Records already submitted still complete, at the latest at their deadline
+                awaitUninterruptibly(completed, pending, stream);
+            }
+
+            stream.rethrow();
+            return count;
+        } finally {
+            snapshotHolder.release(snapshot);
+        }
+    }
+
+    /**
+     * Waits for the pending records of a stream, handing them to the sink
+     * unless it has failed. An interrupt is only restored once every record
+     * has been taken.
+     *
+     * @param completed Queue receiving the completed records
+     * @param pending Number of records not taken from the queue yet
+     * @param stream Sink of the stream
+     */
+    private static void awaitUninterruptibly(BlockingQueue<RuleStreamItemResponse> completed,
+                                             int pending,
+                                             StreamSink stream) {
+        boolean interrupted = Thread.interrupted();
+        while (pending > 0) {
+            try {
+                stream.accept(completed.take());
+                pending--;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Sink of a stream remembering its first failure.
+     *
+     * <p>Only used by the thread consuming the stream.
+     */
+    private static final class StreamSink {
+
+        private final Consumer<RuleStreamItemResponse> sink;
+        private RuntimeException failure;
+
+        /**
+         * Creates the stream sink.
+         *
+         * @param sink Receiver of the per-record results
+         */
+        StreamSink(Consumer<RuleStreamItemResponse> sink) {
+            this.sink = sink;
+        }
+
+        /**
+         * Hands a record to the sink unless it has failed before.
+         *
+         * @param item The completed record
+         */
+        void accept(RuleStreamItemResponse item) {
+            if (failure != null) {
+                return;
+            }
+            try {
+                sink.accept(item);
+            } catch (RuntimeException e) {
+                failure = e;
+            }
+        }
+
+        /**
+         * Returns whether the sink has failed.
+         *
+         * @return true after a failure of the sink
+         */
+        boolean failed() {
+            return failure != null;
+        }
+
+        /**
+         * Rethrows the failure of the sink, if any.
+         */
+        void rethrow() {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    /**
+     * Evaluates the rules of a rule set against the same payload.
+     *
+     * <p>The request data is bound once and every rule of the set runs in
+     * parallel against the snapshot current when the evaluation starts.
+     * Results are consumed in declaration order; as soon as the strategy
+     * has decided, the remaining rules are cancelled, so rules that have not
+     * started yet are skipped. A failing rule counts as not matching and is
+     * reported in the errors of the evaluation; so does a rule that times out.
+     *
+     * @param params Query parameters to include in the rule context
+     * @param request The rule set evaluation request
+     * @return The evaluation of the rule set
+     * @throws OperationException if the rule set is not found
+     */
+    public RuleSetEvaluation evaluateRuleSet(Map<String, Object> params, RuleSetEvaluateRequest request) {
+        return evaluateRuleSet(params, request, Deadline.NONE);
+    }
+
+    /**
+     * Evaluates the rules of a rule set within a deadline.
+     *
+     * @param params Query parameters to include in the rule context
+     * @param request The rule set evaluation request
+     * @param deadline The deadline of the caller, shared by all rules
+     * @return The evaluation of the rule set
+     * @throws OperationException if the rule set is not found
+     */
+    public RuleSetEvaluation evaluateRuleSet(Map<String, Object> params,
+                                             RuleSetEvaluateRequest request,
+                                             Deadline deadline) {
+        EngineSnapshot snapshot = snapshotHolder.acquire();
+        try {
+            String ruleSetName = request.getRuleSetName();
+            CompiledRuleSet ruleSet = snapshot.getRuleSet(ruleSetName)
+                    .orElseThrow(() -> new OperationException("Rule set not found: " + ruleSetName, HttpStatus.NOT_FOUND));
+            RuleSetStrategy strategy = ruleSet.getStrategy();
+
+            // Bound once; each rule only gets its own copy of the bindings it references, not of the payload
+            Map<String, Object> vars = bind(params, request.getPayload(), request.getParameters());
+
+            List<String> ruleNames = ruleSet.getRules();
+            List<CompletableFuture<Object>> futures = new ArrayList<>(ruleNames.size());
+            for (String ruleName : ruleNames) {
+                futures.add(submit(snapshot, ruleName, vars, deadline));
+            }
+
+            var evaluation = new RuleSetEvaluation();
+            evaluation.setRuleSetName(ruleSet.getName());
+            evaluation.setStrategy(strategy);
+            boolean decided = false;
+
+            for (int i = 0; i < futures.size(); i++) {
+                if (decided) {
+                    futures.get(i).cancel(false);
+                    continue;
+                }
+
+                String ruleName = ruleNames.get(i);
+                boolean match;
+                try {
+                    Object result = await(ruleName, futures.get(i));
+                    evaluation.getResults().put(ruleName, result);
+                    match = isMatch(result);
+                } catch (Exception e) {
+                    log.error("Rule '{}' of rule set '{}' failed: {}", ruleName, ruleSetName, e.getMessage(), e);
+                    evaluation.getErrors().put(ruleName, e.getMessage());
+                    match = false;
+                }
+
+                if (strategy == RuleSetStrategy.FIRST_MATCH && match) {
+                    evaluation.setMatchedRule(ruleName);
+                    decided = true;
+                } else if (strategy == RuleSetStrategy.ALL_MATCH && !match) {
+                    decided = true;
+                }
+            }
+
+            switch (strategy) {
+                case FIRST_MATCH -> evaluation.setMatched(evaluation.getMatchedRule() != null);
+                case ALL_MATCH -> evaluation.setMatched(!decided);
+                case COLLECT_ALL -> evaluation.setMatched(null);
+            }
+            return evaluation;
+        } finally {
+            snapshotHolder.release(snapshot);
+        }
+    }
+
+    /**
+     * Waits for a batch item and converts its outcome into a response.
+     *
+     * @param ruleName The rule name of the item
+     * @param future The pending execution of the item
+     * @return The response carrying the result or the error of the item
+     */
+    private RuleEvaluateResponse toResponse(String ruleName, CompletableFuture<Object> future) {
+        return toResponse(new RuleEvaluateResponse(), ruleName, future);
+    }
+
+    /**
+     * Waits for an item and records its outcome in a response.
+     *
+     * @param resp The response to fill
+     * @param ruleName The rule name of the item
+     * @param future The pending execution of the item
+     * @param <R> The response type
+     * @return The response carrying the result or the error of the item
+     */
+    private <R extends BaseResponseModel<Object>> R toResponse(R resp, String ruleName,
+                                                               CompletableFuture<Object> future) {
+        try {
+            resp.setResponse(await(ruleName, future));
+            resp.setStatus(new BaseResponse(HttpStatus.OK.getReasonPhrase(), "Validation Executed"));
+        } catch (OperationException e) {
+            resp.setStatus(new BaseResponse(e.getErrorCode(), e.getReason(), e.getMessage(), List.of()));
+        } catch (Exception e) {
+            log.error("Rule '{}' failed: {}", ruleName, e.getMessage(), e);
+            resp.setStatus(new BaseResponse(HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                    HttpStatus.INTERNAL_SERVER_ERROR.getReasonPhrase(), e.getMessage(), List.of()));
+        }
+        return resp;
+    }
+
+    /**
+     * Schedules a rule execution on the evaluation pool.
+     *
+     * <p>The execution gets the earlier of the caller's deadline and the
+     * rule's own timeout, counted from now, so time spent queueing counts
+     * against it. Once the deadline passes the returned future fails with a
+     * timeout; the execution itself stops the next time the rule touches a
+     * variable. Failures to schedule are returned as a failed future.
+     *
+     * <p>The execution takes its own lease on the snapshot and returns it
+     * once it has run, or has been skipped because its future was already
+     * completed by a timeout or a cancellation.
+     *
+     * <p>The execution gets its own copy of the request variables the rule
+     * can reference, so rules of a rule set can share the same bindings and
+     * results are cached by the inputs the rule actually reads.
+     *
+     * @param snapshot The snapshot to resolve the rule from, leased by the caller
+     * @param ruleName The rule name
+     * @param vars The request variables, not modified
+     * @param deadline The deadline of the caller
+     * @return The pending result of the rule
+     */
+    private CompletableFuture<Object> submit(EngineSnapshot snapshot,
+                                             String ruleName,
+                                             Map<String, Object> vars,
+                                             Deadline deadline) {
+        try {
+            CompiledRule rule = snapshot.getRule(ruleName)
+                    .orElseThrow(() -> new OperationException("Rule not found: " + ruleName, HttpStatus.NOT_FOUND));
+            Deadline ruleDeadline = deadline.min(timeoutOf(rule));
+            Map<String, Object> inputs = rule.bindInputs(vars);
+            CompletableFuture<Object> future = new CompletableFuture<>();
+            snapshotHolder.retain(snapshot);
+            try {
+                evaluationExecutor.execute(() -> run(future, rule, inputs, ruleDeadline, snapshot));
+            } catch (RuntimeException e) {
+                snapshotHolder.release(snapshot);
+                throw e;
+            }
+            return ruleDeadline.isBounded()
+                    ? future.orTimeout(ruleDeadline.remainingNanos(), TimeUnit.NANOSECONDS)
+                    : future;
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new OperationException(
+                    "Evaluation capacity exhausted, retry later", HttpStatus.SERVICE_UNAVAILABLE, e));
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Runs a scheduled execution and completes its future.
+     *
+     * @param future The future of the execution
+     * @param rule The compiled rule
+     * @param vars The request variables, owned by this execution
+     * @param deadline The deadline of the execution
+     * @param snapshot The snapshot leased by the execution
+     */
+    private void run(CompletableFuture<Object> future, CompiledRule rule, Map<String, Object> vars,
+                     Deadline deadline, EngineSnapshot snapshot) {
+        try {
+            if (!future.isDone()) {
+                future.complete(execute(rule, vars, deadline));
+            }
+        } catch (Throwable t) {
+            future.completeExceptionally(t);
+        } finally {
+            snapshotHolder.release(snapshot);
+        }
+    }
+
+    /**
+     * Executes a rule with already bound request variables.
+     *
+     * <p>Results of deterministic rules are served from the result cache;
+     * other executions run in the rule's current tier.
+     *
+     * @param rule The compiled rule
+     * @param vars The request variables, owned by this execution
+     * @param deadline The deadline of the execution
+     * @return The result of the rule
+     * @throws OperationException if the deadline passes
+     */
+    private Object execute(CompiledRule rule, Map<String, Object> vars, Deadline deadline) {
+        if (deadline.isExpired()) {
+            throw timeout(rule.getName(), null);
+        }
+        try {
+            return resultCache.get(rule, vars, () -> {
+                try (var factory = rule.newEvaluationFactory(vars, deadline)) {
+                    return tieredRuleExecutor.execute(rule, factory);
+                }
+            });
+        } catch (RuntimeException e) {
+            // MVEL wraps the deadline check in its own exceptions
+            if (deadline.isExpired()) {
+                throw timeout(rule.getName(), e);
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Waits for a rule execution and unwraps its failure.
+     *
+     * @param ruleName The rule name
+     * @param future The pending execution
+     * @return The result of the rule
+     * @throws OperationException if the rule timed out
+     */
+    private Object await(String ruleName, CompletableFuture<Object> future) {
+        try {
+            return future.join();
+        } catch (CompletionException | CancellationException e) {
+            throw failure(ruleName, e);
+        }
+    }
+
+    /**
+     * Converts the failure of a rule execution into the exception reported
+     * to the caller.
+     *
+     * @param ruleName The rule name
+     * @param throwable The failure of the execution future
+     * @return The exception to throw
+     */
+    private static RuntimeException failure(String ruleName, Throwable throwable) {
+        Throwable cause = unwrap(throwable);
+        if (cause instanceof TimeoutException) {
+            return timeout(ruleName, cause);
+        }
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new OperationException(cause);
+    }
+
+    /**
+     * Returns the deadline of a rule's own timeout, counted from now.
+     *
+     * @param rule The compiled rule
+     * @return The deadline, {@link Deadline#NONE} if no timeout applies
+     */
+    private Deadline timeoutOf(CompiledRule rule) {
+        long timeoutMillis = rule.getTimeoutMillis() > 0 ? rule.getTimeoutMillis() : defaultTimeoutMillis;
+        return timeoutMillis > 0 ? Deadline.afterMillis(timeoutMillis) : Deadline.NONE;
+    }
+
+    /**
+     * Creates the exception reported for a rule that missed its deadline.
+     *
+     * @param ruleName The rule name
+     * @param cause The failure observed at the deadline, may be null
+     * @return The exception to throw
+     */
+    private static OperationException timeout(String ruleName, Throwable cause) {
+        String message = "Rule '" + ruleName + "' exceeded its deadline";
+        return cause == null
+                ? new OperationException(message, HttpStatus.GATEWAY_TIMEOUT)
+                : new OperationException(message, HttpStatus.GATEWAY_TIMEOUT, cause);
+    }
+
+    /**
+     * Binds the request data into a variable map.
+     *
+     * <p>Helper bindings are not copied; they are resolved from the rule's
+     * shared layer.
+     *
+     * @param params Query parameters to include in the rule context
+     * @param payload The payload, bound as "payload"
+     * @param parameters The request parameters
+     * @return The request variables
+     */
+    private Map<String, Object> bind(Map<String, Object> params, Object payload, Map<String, Object> parameters) {
+        Map<String, Object> vars = new HashMap<>(params);
+
+        // Add payload and parameters from request
+        if (payload != null) {
+            vars.put("payload", payload);
+        }
+        if (parameters != null) {
+            vars.putAll(parameters);
+        }
+        return vars;
+    }
+
+    /**
+     * Checks whether a rule result counts as a match.
+     *
+     * @param result The rule result
+     * @return true if the rule returned true
+     */
+    private static boolean isMatch(Object result) {
+        return Boolean.TRUE.equals(result);
+    }
+
+    /**
+     * Returns the cause of a failed rule execution.
+     *
+     * @param throwable The exception thrown by the future
+     * @return The underlying exception
+     */
+    private static Throwable unwrap(Throwable throwable) {
+        return throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause()
+                : throwable;
+    }
+}
@@ -0,0 +1,254 @@
+package com.beassolution.rule.engine;
+
+import com.beassolution.rule.components.SyncMode;
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Timing report of a single cache synchronization.
+ *
+ * <p>The report records the wall time of every sync stage in the order the
+ * stages ran. Rule documents are streamed from the database into the
+ * compilation pipeline, so fetching and compiling overlap; the time spent
+ * waiting on the cursor and the compile time summed over all workers are
+ * recorded separately to show where the rule stage was bound.
+ *
+ * <p>Key components include:
+ * <ul>
+ *   <li>Wall time per stage</li>
+ *   <li>Cursor wait and cumulative compile time of the rule stage</li>
+ *   <li>Number of compiled rules and compilation parallelism</li>
+ *   <li>Warmup time per warmed up rule</li>
+ *   <li>Number of helpers and rules restored from the persisted catalog</li>
+ * </ul>
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Getter
+public class SyncReport {
+
+    /**
+     * Synchronization mode the report belongs to.
+     */
+    private final SyncMode mode;
+
+    /**
+     * Time at which the synchronization started.
+     */
+    private final Instant startedAt = Instant.now();
+
+    /**
+     * Wall time in milliseconds per stage, in execution order.
+     */
+    private final Map<String, Long> stageMillis = Collections.synchronizedMap(new LinkedHashMap<>());
+
+    /**
+     * Number of rules compiled during the synchronization.
+     */
+    private final AtomicInteger compiledRules = new AtomicInteger();
+
+    /**
+     * Time spent waiting on the rule cursor, in nanoseconds.
+     */
+    @Getter(AccessLevel.NONE)
+    private final LongAdder fetchNanos = new LongAdder();
+
+    /**
+     * Compile time summed over all compilation workers, in nanoseconds.
+     */
+    @Getter(AccessLevel.NONE)
+    private final LongAdder compileNanos = new LongAdder();
+
+    /**
+     * Warmup time in milliseconds per warmed up rule, sorted by rule name.
+     */
+    private final Map<String, Long> warmupMillis = Collections.synchronizedMap(new TreeMap<>());
+
+    /**
+     * Number of warmup runs completed over all rules.
+     */
+    private final AtomicInteger warmupRuns = new AtomicInteger();
+
+    /**
+     * Number of helpers loaded from a persisted JAR instead of being downloaded.
+     */
+    private final AtomicInteger restoredHelpers = new AtomicInteger();
+
+    /**
+     * Number of compiled rules restored from the persisted catalog instead of being compiled.
+     */
+    private final AtomicInteger restoredRules = new AtomicInteger();
+
+    /**
+     * Number of unchanged helpers whose class loader and instances were reused.
+     */
+    private final AtomicInteger reusedHelpers = new AtomicInteger();
+
+    /**
+     * Number of workers compiling rules.
+     */
+    private volatile int parallelism;
+
+    /**
+     * Version of the snapshot published by the synchronization, 0 if none.
+     */
+    private volatile long snapshotVersion;
+
+    /**
+     * Total wall time of the synchronization in milliseconds.
+     */
+    private volatile long totalMillis;
+
+    /**
+     * Creates an empty report.
+     *
+     * @param mode The synchronization mode
+     */
+    public SyncReport(SyncMode mode) {
+        this.mode = mode;
+    }
+
+    /**
+     * Runs a stage and records its wall time.
+     *
+     * @param stage The stage name
+     * @param action The stage to run
+     * @param <T> The result type of the stage
+     * @return The result of the stage
+     */
+    public <T> T time(String stage, Supplier<T> action) {
+        long start = System.nanoTime();
+        try {
+            return action.get();
+        } finally {
+            stageMillis.put(stage, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        }
+    }
+
+    /**
+     * Records the compilation of a rule.
+     *
+     * @param nanos The compile time of the rule
+     */
+    public void recordCompile(long nanos) {
+        compiledRules.incrementAndGet();
+        compileNanos.add(nanos);
+    }
+
+    /**
+     * Records time spent waiting for the next rule document.
+     *
+     * @param nanos The wait time
+     */
+    public void recordFetch(long nanos) {
+        fetchNanos.add(nanos);
+    }
+
+    /**
+     * Records the warmup of a rule.
+     *
+     * @param rule The rule name
+     * @param runs The number of completed warmup runs
+     * @param nanos The time spent warming up the rule
+     */
+    public void recordWarmup(String rule, int runs, long nanos) {
+        warmupMillis.put(rule, TimeUnit.NANOSECONDS.toMillis(nanos));
+        warmupRuns.addAndGet(runs);
+    }
+
+    /**
+     * Records a helper loaded from a persisted JAR.
+     */
+    public void recordRestoredHelper() {
+        restoredHelpers.incrementAndGet();
+    }
+
+    /**
+     * Records a rule restored from the persisted catalog.
+     */
+    public void recordRestoredRule() {
+        restoredRules.incrementAndGet();
+    }
+
+    /**
+     * Records an unchanged helper whose class loader was reused.
+     */
+    public void recordReusedHelper() {
+        reusedHelpers.incrementAndGet();
+    }
+
+    /**
+     * Sets the number of workers compiling rules.
+     *
+     * @param parallelism The compilation parallelism
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Completes the report.
+     *
+     * @param snapshotVersion Version of the published snapshot, 0 if none
+     * @return This report
+     */
+    public SyncReport complete(long snapshotVersion) {
+        this.snapshotVersion = snapshotVersion;
+        this.totalMillis = Duration.between(startedAt, Instant.now()).toMillis();
+        return this;
+    }
+
+    /**
+     * Returns the cursor wait time of the rule stage in milliseconds.
+     *
+     * @return The cursor wait time
+     */
+    public long getFetchMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(fetchNanos.sum());
+    }
+
+    /**
+     * Returns the compile time summed over all workers in milliseconds.
+     *
+     * @return The cumulative compile time
+     */
+    public long getCompileMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(compileNanos.sum());
+    }
+
+    /**
+     * Returns a string representation of the report.
+     *
+     * @return String containing the stage timings
+     */
+    @Override
+    public String toString() {
+        return "SyncReport{" +
+                "mode=" + mode +
+                ", totalMillis=" + totalMillis +
+                ", stageMillis=" + stageMillis +
+                ", compiledRules=" + compiledRules +
+                ", parallelism=" + parallelism +
+                ", fetchMillis=" + getFetchMillis() +
+                ", compileMillis=" + getCompileMillis() +
+                ", warmedRules=" + warmupMillis.size() +
+                ", warmupRuns=" + warmupRuns +
+                ", restoredHelpers=" + restoredHelpers +
+                ", restoredRules=" + restoredRules +
+                ", reusedHelpers=" + reusedHelpers +
+                '}';
+    }
+}
@@ -0,0 +1,210 @@
+package com.beassolution.rule.engine;
+
+import com.beassolution.rule.engine.snapshot.CompiledRule;
+import com.beassolution.rule.exception.OperationException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.mvel2.MVEL;
+import org.mvel2.integration.VariableResolverFactory;
+import org.mvel2.optimizers.OptimizerFactory;
+import org.mvel2.optimizers.dynamic.DynamicOptimizer;
+import org.mvel2.optimizers.impl.asm.ASMAccessorOptimizer;
+import org.mvel2.optimizers.impl.refl.ReflectiveAccessorOptimizer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import java.io.Serializable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Component executing compiled rules in one of two tiers.
+ *
+ * <p>Rules start in the reflective tier: their accessors are plain
+ * reflective calls, which are cheap to build and keep little memory. Each
+ * execution is counted, and the execution reaching
+ * {@code rule.evaluation.tiering.hot-threshold} schedules a background
+ * recompilation of the rule source. The fresh expression is then swapped into
+ * the rule and executed with MVEL's bytecode-generating (ASM) optimizer, so
+ * hot rules get direct accessors the JIT can inline. Evaluations never wait
+ * for a promotion; they keep running reflectively until the swap.
+ *
+ * <p>MVEL builds accessors on the first execution of each node with the
+ * optimizer of the executing thread, so the tier is selected per execution
+ * through MVEL's thread accessor optimizer; the process-wide default
+ * optimizer is never changed. A threshold of 0 disables tiering and leaves
+ * MVEL's default optimizer in place.
+ *
+ * <p>Accessor classes generated for a promoted rule are defined below an
+ * {@link AccessorClassLoader} of its own rather than in MVEL's process-wide
+ * loader: the rule is compiled against it and executes with it as context
+ * class loader. Its generated classes are unloaded once the rule is demoted
+ * or retired with its snapshot. Only
+ * rules bound to no helpers or functions are promoted, see
+ * {@link CompiledRule#isPromotable()}. MVEL's process-wide loader is only
+ * set up as a fallback for accessors built without a parser context.
+ *
+ * <p>MVEL's default dynamic optimizer keeps every accessor it builds, in
+ * either tier, in a process-wide registry it only clears once its own
+ * loader is full. Accessors it generates below a rule's loader never fill
+ * it, so the registry is reset whenever the snapshot replacing rules is
+ * retired, see {@link #releaseRetiredAccessors()}.
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@Slf4j
+public class TieredRuleExecutor {
+
+    /**
+     * Number of executions after which a rule is promoted, 0 to disable tiering.
+     */
+    private final long hotThreshold;
+
+    /**
+     * Single thread recompiling hot rules.
+     */
+    private final ExecutorService promotionExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "rule-promoter");
+        thread.setDaemon(true);
+        // Resolves classes the way the compilation pool does
+        thread.setContextClassLoader(TieredRuleExecutor.class.getClassLoader());
+        return thread;
+    });
+
+    /**
+     * Creates the executor.
+     *
+     * @param hotThreshold Number of executions after which a rule is promoted, 0 to disable tiering
+     */
+    public TieredRuleExecutor(@Value("${rule.evaluation.tiering.hot-threshold:1000}") long hotThreshold) {
+        this.hotThreshold = hotThreshold;
+        if (hotThreshold > 0) {
+            log.info("Tiered rule execution enabled, rules are optimized after {} executions.", hotThreshold);
+        }
+    }
+
+    /**
+     * Executes a rule in its current tier.
+     *
+     * <p>If the optimized expression cannot be linked against the classes it
+     * accesses, the rule is demoted for good and the execution fails. It is
+     * not repeated reflectively, since the failed execution may already have
+     * had side effects; the next execution runs reflectively.
+     *
+     * @param rule The compiled rule
+     * @param factory The variable resolver chain of the execution
+     * @return The result of the rule
+     * @throws OperationException if the optimized expression couldn't be linked
+     */
+    public Object execute(CompiledRule rule, VariableResolverFactory factory) {
+        Serializable optimized = rule.getOptimizedExpression();
+        if (optimized == null) {
+            if (hotThreshold <= 0) {
+                return MVEL.executeExpression(rule.getExpression(), factory);
+            }
+            if (rule.isPromotable() && rule.recordInvocation(hotThreshold)) {
+                schedulePromotion(rule);
+            }
+            // MVEL's default optimizer would otherwise switch single accessors to bytecode on its own
+            OptimizerFactory.setThreadAccessorOptimizer(ReflectiveAccessorOptimizer.class);
+            try {
+                return MVEL.executeExpression(rule.getExpression(), factory);
+            } finally {
+                OptimizerFactory.clearThreadAccessorOptimizer();
+            }
+        }
+
+        // Accessors built without the rule's parser context resolve the loader from the thread
+        Thread thread = Thread.currentThread();
+        ClassLoader contextLoader = thread.getContextClassLoader();
+        thread.setContextClassLoader(rule.getAccessorLoader());
+        OptimizerFactory.setThreadAccessorOptimizer(ASMAccessorOptimizer.class);
+        try {
+            return MVEL.executeExpression(optimized, factory);
+        } catch (LinkageError e) {
+            log.warn("Optimized rule '{}' couldn't be linked, returning it to the reflective tier.", rule.getName(), e);
+            rule.demote();
+            throw new OperationException("Rule '" + rule.getName() + "' couldn't be linked",
+                    HttpStatus.INTERNAL_SERVER_ERROR, e);
+        } finally {
+            OptimizerFactory.clearThreadAccessorOptimizer();
+            thread.setContextClassLoader(contextLoader);
+        }
+    }
+
+    /**
+     * Recompiles a hot rule in the background and swaps in the result.
+     *
+     * @param rule The rule that reached the threshold
+     */
+    private void schedulePromotion(CompiledRule rule) {
+        try {
+            promotionExecutor.execute(() -> {
+                try {
+                    initOptimizedTier();
+                    long start = System.nanoTime();
+                    ClassLoader accessorLoader = new AccessorClassLoader(rule.getName(),
+                            TieredRuleExecutor.class.getClassLoader());
+                    rule.promote(RuleEngineManager.compileRule(rule.getSource(), rule.getInputSchema(), accessorLoader),
+                            accessorLoader);
+                    log.info("Rule '{}' promoted to the optimized tier in {} ms.",
+                            rule.getName(), (System.nanoTime() - start) / 1_000_000);
+                } catch (RuntimeException e) {
+                    log.warn("Rule '{}' couldn't be promoted, it stays in the reflective tier.", rule.getName(), e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("Promotion of rule '{}' skipped, shutting down.", rule.getName());
+        }
+    }
+
+    /**
+     * Sets up MVEL's process-wide loader for accessors generated without a
+     * parser context, unless it already exists.
+     *
+     * <p>Runs on the promotion thread before the first rule is promoted, so
+     * the loader resolves classes the way the compilation pool does and no
+     * optimized expression runs without it.
+     */
+    private static synchronized void initOptimizedTier() {
+        if (ASMAccessorOptimizer.getMVELClassLoader() == null) {
+            new ASMAccessorOptimizer().init();
+        }
+    }
+
+    /**
+     * Releases the accessors MVEL built for rules that are no longer published.
+     *
+     * <p>Replaces the registry of MVEL's dynamic optimizer with an empty one.
+     * Accessors of published rules keep working as they are; accessors of
+     * retired rules become unreachable together with their generated
+     * classes. Called once no evaluation uses the replaced snapshot anymore.
+     */
+    public void releaseRetiredAccessors() {
+        if (OptimizerFactory.getDefaultAccessorCompiler() instanceof DynamicOptimizer optimizer) {
+            // The new registry resolves classes from the context loader, like the promotion thread
+            Thread thread = Thread.currentThread();
+            ClassLoader contextLoader = thread.getContextClassLoader();
+            thread.setContextClassLoader(TieredRuleExecutor.class.getClassLoader());
+            try {
+                optimizer.init();
+            } finally {
+                thread.setContextClassLoader(contextLoader);
+            }
+            log.debug("Accessors of retired rules released.");
+        }
+    }
+
+    /**
+     * Shuts down the promotion thread.
+     */
+    @PreDestroy
+    public void shutdown() {
+        promotionExecutor.shutdownNow();
+    }
+}
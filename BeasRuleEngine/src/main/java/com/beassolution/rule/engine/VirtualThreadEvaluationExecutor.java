@@ -0,0 +1,86 @@
+package com.beassolution.rule.engine;
+
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Executor running each rule evaluation on its own virtual thread.
+ *
+ * <p>Virtual threads make blocking helper calls cheap, but a rule that never
+ * terminates still keeps its thread alive. The number of evaluations in
+ * flight is therefore capped; beyond the cap new evaluations are rejected,
+ * the same way the platform pool rejects them once its queue is full.
+ *
+ * <p>Requires Java 21 or later at runtime.
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class VirtualThreadEvaluationExecutor implements Executor {
+
+    /**
+     * Executor starting a virtual thread per task.
+     */
+    private final VirtualThreadTaskExecutor delegate;
+
+    /**
+     * Permits for evaluations in flight.
+     */
+    private final Semaphore permits;
+
+    /**
+     * Maximum number of evaluations in flight.
+     */
+    private final int maxConcurrency;
+
+    /**
+     * Creates the executor.
+     *
+     * @param threadNamePrefix Prefix of the virtual thread names
+     * @param maxConcurrency Maximum number of evaluations in flight
+     * @throws UnsupportedOperationException if the runtime has no virtual threads
+     */
+    public VirtualThreadEvaluationExecutor(String threadNamePrefix, int maxConcurrency) {
+        this.delegate = new VirtualThreadTaskExecutor(threadNamePrefix);
+        this.permits = new Semaphore(maxConcurrency);
+        this.maxConcurrency = maxConcurrency;
+    }
+
+    /**
+     * Runs the task on a new virtual thread.
+     *
+     * @param task The task to run
+     * @throws RejectedExecutionException if the maximum number of evaluations is in flight
+     */
+    @Override
+    public void execute(Runnable task) {
+        if (!permits.tryAcquire()) {
+            throw new RejectedExecutionException("Maximum of " + maxConcurrency + " evaluations in flight reached");
+        }
+        try {
+            delegate.execute(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the number of evaluations in flight.
+     *
+     * @return Number of running evaluations
+     */
+    public int getActiveCount() {
+        return maxConcurrency - permits.availablePermits();
+    }
+}
@@ -0,0 +1,166 @@
+package com.beassolution.rule.engine.cache;
+
+import com.beassolution.rule.model.CatalogType;
+import com.beassolution.rule.model.RuleLibrary;
+import com.beassolution.rule.model.base.BaseModel;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Cache for the source definitions of compiled catalog entities.
+ *
+ * <p>This class keeps the helper, function library, rule and rule set
+ * documents that the other caches were built from. Rule sets are only kept
+ * here, as they need no compilation. Incremental synchronization uses it to
+ * map tombstones and renamed documents back to cache entries by identifier
+ * and to find the rules that depend on a changed helper or function.
+ *
+ * <p>Key features include:
+ * <ul>
+ *   <li>Thread-safe operations using ConcurrentHashMap</li>
+ *   <li>Definitions grouped by catalog type</li>
+ *   <li>Lookup by entity identifier</li>
+ *   <li>Dependent rule resolution</li>
+ * </ul>
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+public final class DefinitionCache {
+
+    /**
+     * Thread-safe maps for storing definitions, one per catalog type.
+     *
+     * <p>Each map stores entity names as keys and the source documents
+     * as values.
+     */
+    private final Map<CatalogType, ConcurrentMap<String, BaseModel>> cache = new EnumMap<>(CatalogType.class);
+
+    /**
+     * Creates the cache with an empty map for every catalog type.
+     */
+    public DefinitionCache() {
+        for (CatalogType type : CatalogType.values()) {
+            cache.put(type, new ConcurrentHashMap<>());
+        }
+    }
+
+    /**
+     * Stores a definition in the cache.
+     *
+     * @param type The catalog type
+     * @param key The entity name
+     * @param definition The source document
+     */
+    public void put(CatalogType type, String key, BaseModel definition) {
+        cache.get(type).put(key, definition);
+    }
+
+    /**
+     * Retrieves a definition from the cache.
+     *
+     * @param type The catalog type
+     * @param key The entity name
+     * @param <T> The domain class of the catalog type
+     * @return Optional containing the definition if found
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends BaseModel> Optional<T> get(CatalogType type, String key) {
+        return Optional.ofNullable((T) cache.get(type).get(key));
+    }
+
+    /**
+     * Finds the cached name of an entity by its identifier.
+     *
+     * @param type The catalog type
+     * @param id The entity identifier
+     * @return Optional containing the entity name if the entity is cached
+     */
+    public Optional<String> findName(CatalogType type, UUID id) {
+        return cache.get(type).entrySet().stream()
+                .filter(entry -> Objects.equals(entry.getValue().getId(), id))
+                .map(Map.Entry::getKey)
+                .findFirst();
+    }
+
+    /**
+     * Finds the cached rules that reference any of the given helpers or functions.
+     *
+     * @param helperNames Names of the helpers to look for
+     * @param functionNames Names of the function libraries to look for
+     * @return List of dependent rule definitions
+     */
+    public List<RuleLibrary> findDependentRules(Collection<String> helperNames, Collection<String> functionNames) {
+        return cache.get(CatalogType.RULE).values().stream()
+                .map(RuleLibrary.class::cast)
+                .filter(rule -> references(rule.getHelpers(), helperNames)
+                        || references(rule.getFunctions(), functionNames))
+                .toList();
+    }
+
+    /**
+     * Removes a definition from the cache.
+     *
+     * @param type The catalog type
+     * @param key The entity name to remove
+     */
+    public void remove(CatalogType type, String key) {
+        cache.get(type).remove(key);
+    }
+
+    /**
+     * Clears all definitions of a catalog type.
+     *
+     * @param type The catalog type to clear
+     */
+    public void clear(CatalogType type) {
+        cache.get(type).clear();
+    }
+
+    /**
+     * Retrieves all cached definitions of a catalog type.
+     *
+     * @param type The catalog type
+     * @return Immutable copy of the cached definitions
+     */
+    public Map<String, BaseModel> getAll(CatalogType type) {
+        return Map.copyOf(cache.get(type));
+    }
+
+    /**
+     * Checks whether a rule dependency list references any of the given names.
+     *
+     * @param dependencies The dependency names declared by a rule
+     * @param names The names to look for
+     * @return true if at least one name is referenced
+     */
+    private boolean references(List<String> dependencies, Collection<String> names) {
+        return dependencies != null && !names.isEmpty() && dependencies.stream().anyMatch(names::contains);
+    }
+
+    /**
+     * Returns a string representation of the cache.
+     *
+     * @return String containing cache statistics
+     */
+    @Override
+    public String toString() {
+        return "DefinitionCache{" +
+                "helpers=" + cache.get(CatalogType.HELPER).size() +
+                ", functions=" + cache.get(CatalogType.FUNCTION).size() +
+                ", rules=" + cache.get(CatalogType.RULE).size() +
+                ", ruleSets=" + cache.get(CatalogType.RULE_SET).size() +
+                '}';
+    }
+}
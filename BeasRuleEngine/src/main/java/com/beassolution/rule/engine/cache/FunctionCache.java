@@ -8,16 +8,18 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 
 /**
- * Cache for function library code.
+ * Cache for function library code and compiled function definitions.
  * 
  * <p>This class provides a thread-safe cache for storing MVEL function code
- * from function libraries. The cache improves performance by avoiding
- * repeated loading of function code during rule compilation.
+ * from function libraries together with the functions compiled from it.
+ * Each library is compiled once per sync; rules share its function
+ * definitions instead of compiling the library source themselves.
  * 
  * <p>Key features include:
  * <ul>
  *   <li>Thread-safe operations using ConcurrentHashMap</li>
  *   <li>MVEL function code storage</li>
+ *   <li>Compiled function definitions storage</li>
  *   <li>Bulk operations support</li>
  *   <li>Cache management operations</li>
  * </ul>
@@ -37,6 +39,14 @@ public final class FunctionCache {
      */
     private final ConcurrentMap<String, String> cache = new ConcurrentHashMap<>();
 
+    /**
+     * Thread-safe map for storing compiled function definitions.
+     * 
+     * <p>This map stores function library names as keys and the functions
+     * declared by the library, keyed by function name, as values.
+     */
+    private final ConcurrentMap<String, Map<String, Object>> definitions = new ConcurrentHashMap<>();
+
     /**
      * Stores function code in the cache.
      * 
@@ -47,6 +57,26 @@ public final class FunctionCache {
         cache.put(key, instance);
     }
 
+    /**
+     * Stores the functions compiled from a function library.
+     * 
+     * @param key The function library name
+     * @param functions The declared functions keyed by function name
+     */
+    public void putDefinitions(String key, Map<String, Object> functions) {
+        definitions.put(key, Map.copyOf(functions));
+    }
+
+    /**
+     * Retrieves the functions compiled from a function library.
+     * 
+     * @param key The function library name
+     * @return Optional containing the declared functions if found
+     */
+    public Optional<Map<String, Object>> getDefinitions(String key) {
+        return Optional.ofNullable(definitions.get(key));
+    }
+
     /**
      * Stores multiple function codes in the cache.
      * 
@@ -73,6 +103,7 @@ public final class FunctionCache {
      */
     public void remove(String key) {
         cache.remove(key);
+        definitions.remove(key);
     }
 
     /**
@@ -83,6 +114,7 @@ public final class FunctionCache {
      */
     public void clear() {
         cache.clear();
+        definitions.clear();
     }
 
     /**
@@ -0,0 +1,412 @@
+package com.beassolution.rule.engine.cache;
+
+import com.beassolution.rule.exception.OperationException;
+import com.beassolution.rule.model.RuleHelper;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed cache of helper JARs on local disk.
+ *
+ * <p>Every JAR is stored once under the SHA-256 hash of its contents in
+ * {@code rule.helper.jar-cache.directory}, and an index maps each package
+ * URL to the hash it last resolved to together with the HTTP validators of
+ * that response. Class loaders are always built on the local copy, never on
+ * the remote URL.
+ *
+ * <p>A JAR is fetched as follows:
+ * <ul>
+ *   <li>If the helper declares a checksum that is cached, nothing is requested</li>
+ *   <li>Otherwise the URL is revalidated with {@code If-None-Match} and
+ *       {@code If-Modified-Since}; an unchanged response reuses the cached copy</li>
+ *   <li>Otherwise the JAR is downloaded, hashed and checked against the
+ *       declared checksum</li>
+ * </ul>
+ * A cached copy is hashed again before it is used, so a corrupt file is
+ * downloaded again instead of being loaded. Prefetching fetches the JARs of
+ * all helpers of a sync in parallel on {@code rule.helper.jar-cache.prefetch-threads}
+ * threads.
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@Slf4j
+public class HelperJarCache {
+
+    /**
+     * Name of the index file within the cache directory.
+     */
+    private static final String INDEX_FILE = "index.json";
+
+    /**
+     * Mapper reading and writing the index file.
+     */
+    private static final ObjectMapper INDEX_MAPPER = JsonMapper.builder().build();
+
+    /**
+     * Format of a hex encoded SHA-256 hash.
+     */
+    private static final Pattern SHA256 = Pattern.compile("[0-9a-f]{64}");
+
+    /**
+     * Directory holding the cached JARs and the index.
+     */
+    private final Path directory;
+
+    /**
+     * Cached JAR per package URL.
+     */
+    private final ConcurrentMap<String, CachedJar> index = new ConcurrentHashMap<>();
+
+    /**
+     * Threads fetching JARs in parallel.
+     */
+    private final ExecutorService fetchExecutor;
+
+    /**
+     * Creates the cache and loads its index.
+     *
+     * @param directory Directory holding the cached JARs and the index
+     * @param prefetchThreads Number of JARs fetched in parallel
+     */
+    public HelperJarCache(@Value("${rule.helper.jar-cache.directory:helper-cache}") String directory,
+                          @Value("${rule.helper.jar-cache.prefetch-threads:4}") int prefetchThreads) {
+        this.directory = Path.of(directory);
+        AtomicInteger threads = new AtomicInteger();
+        this.fetchExecutor = Executors.newFixedThreadPool(Math.max(1, prefetchThreads), runnable -> {
+            Thread thread = new Thread(runnable, "helper-fetcher-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        loadIndex();
+    }
+
+    /**
+     * Fetches the JARs of the given helpers in parallel.
+     *
+     * @param helpers The helpers to fetch
+     * @return The URL of the local copy of each JAR keyed by helper name
+     * @throws OperationException if any JAR cannot be fetched
+     */
+    public Map<String, URL> prefetch(Collection<RuleHelper> helpers) {
+        if (helpers.isEmpty()) {
+            return Map.of();
+        }
+        Map<String, CompletableFuture<URL>> fetches = new HashMap<>();
+        for (RuleHelper helper : helpers) {
+            fetches.put(helper.getName(), CompletableFuture.supplyAsync(() -> fetch(helper), fetchExecutor));
+        }
+        try {
+            CompletableFuture.allOf(fetches.values().toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof OperationException operationException
+                    ? operationException
+                    : new OperationException(e.getCause());
+        } finally {
+            saveIndex();
+        }
+        return fetches.entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().join()));
+    }
+
+    /**
+     * Fetches the JAR of a helper into the cache.
+     *
+     * @param helper The helper to fetch
+     * @return The URL of the local copy of the JAR
+     * @throws OperationException if the JAR cannot be fetched or fails checksum verification
+     */
+    public URL fetch(RuleHelper helper) {
+        String checksum = normalize(helper);
+        if (checksum != null) {
+            Optional<URL> cached = find(checksum);
+            if (cached.isPresent()) {
+                log.debug("JAR of helper '{}' found in the cache by checksum.", helper.getName());
+                index.compute(helper.getPackageUrl(), (url, previous) ->
+                        previous != null && previous.sha256().equals(checksum) ? previous : new CachedJar(checksum, null, 0L));
+                return cached.get();
+            }
+        }
+
+        try {
+            URLConnection connection = new URL(helper.getPackageUrl()).openConnection();
+            CachedJar previous = index.get(helper.getPackageUrl());
+            Optional<URL> cached = previous != null ? find(previous.sha256()) : Optional.empty();
+            if (cached.isPresent() && (checksum == null || checksum.equals(previous.sha256()))
+                    && isUnchanged(connection, previous)) {
+                log.info("JAR of helper '{}' is unchanged, loaded from the cache.", helper.getName());
+                return cached.get();
+            }
+            return download(helper, connection, checksum);
+        } catch (IOException e) {
+            throw new OperationException("JAR of helper '" + helper.getName() + "' couldn't be fetched: "
+                    + e.getMessage());
+        }
+    }
+
+    /**
+     * Finds a cached JAR by its content hash.
+     *
+     * @param sha256 The hex encoded SHA-256 hash of the JAR
+     * @return Optional containing the URL of the local copy, empty if it is
+     *         not cached or its contents no longer match the hash
+     */
+    public Optional<URL> find(String sha256) {
+        if (sha256 == null || !SHA256.matcher(sha256).matches()) {
+            return Optional.empty();
+        }
+        Path jar = directory.resolve(sha256 + ".jar");
+        try {
+            if (!Files.isRegularFile(jar)) {
+                return Optional.empty();
+            }
+            if (!sha256.equals(hash(jar))) {
+                log.warn("Cached JAR {} is corrupt and is discarded.", jar.getFileName());
+                Files.deleteIfExists(jar);
+                return Optional.empty();
+            }
+            return Optional.of(jar.toUri().toURL());
+        } catch (IOException e) {
+            log.warn("Cached JAR {} couldn't be verified: {}", jar.getFileName(), e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns the content hash the package URL of a helper last resolved to.
+     *
+     * @param helper The helper
+     * @return Optional containing the hex encoded SHA-256 hash, empty if the JAR was never fetched
+     */
+    public Optional<String> hashOf(RuleHelper helper) {
+        return Optional.ofNullable(index.get(helper.getPackageUrl())).map(CachedJar::sha256);
+    }
+
+    /**
+     * Deletes the cached JARs and index entries the given helpers do not use.
+     *
+     * @param helpers All helpers in use
+     */
+    public void retain(Collection<RuleHelper> helpers) {
+        Set<String> urls = helpers.stream().map(RuleHelper::getPackageUrl).collect(Collectors.toSet());
+        index.keySet().retainAll(urls);
+        Set<String> hashes = index.values().stream().map(CachedJar::sha256).collect(Collectors.toSet());
+        try (Stream<Path> jars = Files.list(directory)) {
+            for (Path jar : jars.toList()) {
+                String name = jar.getFileName().toString();
+                if (name.endsWith(".jar") && !hashes.contains(name.substring(0, name.length() - 4))) {
+                    Files.deleteIfExists(jar);
+                    log.info("Unused cached JAR {} deleted.", name);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Unused cached JARs couldn't be deleted: {}", e.getMessage());
+        }
+        saveIndex();
+    }
+
+    /**
+     * Shuts down the fetch threads.
+     */
+    @PreDestroy
+    public void shutdown() {
+        fetchExecutor.shutdownNow();
+    }
+
+    /**
+     * Revalidates a cached JAR against its package URL.
+     *
+     * <p>HTTP URLs are requested conditionally; other URLs, such as local
+     * files, are compared by their last modification time. Without any
+     * validator the JAR is treated as changed.
+     *
+     * @param connection The unopened connection to the package URL
+     * @param previous The cached JAR of the URL
+     * @return true if the JAR at the URL is unchanged
+     * @throws IOException if the URL cannot be reached
+     */
+    private boolean isUnchanged(URLConnection connection, CachedJar previous) throws IOException {
+        if (connection instanceof HttpURLConnection http) {
+            if (previous.etag() == null && previous.lastModified() <= 0) {
+                return false;
+            }
+            if (previous.etag() != null) {
+                http.setRequestProperty("If-None-Match", previous.etag());
+            }
+            if (previous.lastModified() > 0) {
+                http.setIfModifiedSince(previous.lastModified());
+            }
+            if (http.getResponseCode() == HttpURLConnection.HTTP_NOT_MODIFIED) {
+                http.disconnect();
+                return true;
+            }
+            return false;
+        }
+        return previous.lastModified() > 0 && connection.getLastModified() == previous.lastModified();
+    }
+
+    /**
+     * Downloads a JAR into the cache.
+     *
+     * @param helper The helper the JAR belongs to
+     * @param connection The connection to the package URL
+     * @param checksum The declared checksum, null if none
+     * @return The URL of the local copy of the JAR
+     * @throws IOException if the JAR cannot be downloaded or stored
+     */
+    private URL download(RuleHelper helper, URLConnection connection, String checksum) throws IOException {
+        log.info("JAR of helper '{}' downloading from {}...", helper.getName(), helper.getPackageUrl());
+        Files.createDirectories(directory);
+        Path temp = Files.createTempFile(directory, "helper", ".tmp");
+        try {
+            MessageDigest digest = newDigest();
+            try (InputStream in = new DigestInputStream(connection.getInputStream(), digest)) {
+                Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            String sha256 = HexFormat.of().formatHex(digest.digest());
+            if (checksum != null && !checksum.equals(sha256)) {
+                throw new OperationException("JAR of helper '" + helper.getName() + "' has checksum " + sha256
+                        + ", expected " + checksum);
+            }
+            Path jar = directory.resolve(sha256 + ".jar");
+            Files.move(temp, jar, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            index.put(helper.getPackageUrl(), new CachedJar(sha256, connection.getHeaderField("ETag"),
+                    connection.getLastModified()));
+            log.info("JAR of helper '{}' cached as {}.", helper.getName(), jar.getFileName());
+            return jar.toUri().toURL();
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Loads the index file, starting empty if it is missing or unreadable.
+     */
+    private void loadIndex() {
+        Path file = directory.resolve(INDEX_FILE);
+        if (!Files.isRegularFile(file)) {
+            return;
+        }
+        try {
+            index.putAll(INDEX_MAPPER.readValue(file.toFile(), new TypeReference<Map<String, CachedJar>>() {}));
+            log.info("Helper JAR cache index loaded with {} entries.", index.size());
+        } catch (IOException e) {
+            log.warn("Helper JAR cache index couldn't be read, starting empty: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the index file atomically.
+     */
+    private synchronized void saveIndex() {
+        try {
+            Files.createDirectories(directory);
+            Path temp = Files.createTempFile(directory, INDEX_FILE, ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(temp)) {
+                    INDEX_MAPPER.writeValue(out, Map.copyOf(index));
+                }
+                Files.move(temp, directory.resolve(INDEX_FILE),
+                        StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            log.warn("Helper JAR cache index couldn't be written: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Normalizes the declared checksum of a helper.
+     *
+     * @param helper The helper
+     * @return The lower case checksum, null if none is declared
+     * @throws OperationException if the checksum is not a SHA-256 hash
+     */
+    private static String normalize(RuleHelper helper) {
+        String checksum = helper.getPackageChecksum();
+        if (checksum == null || checksum.isBlank()) {
+            return null;
+        }
+        String normalized = checksum.trim().toLowerCase(Locale.ROOT);
+        if (!SHA256.matcher(normalized).matches()) {
+            throw new OperationException("Checksum of helper '" + helper.getName() + "' is not a SHA-256 hash.");
+        }
+        return normalized;
+    }
+
+    /**
+     * Hashes the contents of a file.
+     *
+     * @param file The file
+     * @return The hex encoded SHA-256 hash
+     * @throws IOException if the file cannot be read
+     */
+    private static String hash(Path file) throws IOException {
+        MessageDigest digest = newDigest();
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Creates a SHA-256 digest.
+     *
+     * @return A new digest
+     */
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Index entry of a cached JAR.
+     *
+     * @param sha256 The hex encoded SHA-256 hash the JAR is stored under
+     * @param etag The ETag of the response the JAR was downloaded from, null if none
+     * @param lastModified The last modification time reported for the JAR, 0 if unknown
+     */
+    record CachedJar(String sha256, String etag, long lastModified) {
+    }
+}
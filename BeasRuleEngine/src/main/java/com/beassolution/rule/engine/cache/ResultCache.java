@@ -0,0 +1,387 @@
+package com.beassolution.rule.engine.cache;
+
+import com.beassolution.rule.engine.payload.LazyPayload;
+import com.beassolution.rule.engine.snapshot.BindingPlan;
+import com.beassolution.rule.engine.snapshot.CompiledRule;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Bounded cache for results of deterministic rules.
+ *
+ * <p>Results are keyed by rule name, rule revision and a SHA-256 hash of the
+ * canonical form of the request variables the rule's {@link BindingPlan}
+ * references (payload, parameters and query parameters). The canonical form
+ * sorts map keys and tags every scalar with its class, so {@code 1} and
+ * {@code 1.0}, an Integer and a Long, or a date and its string never share
+ * a result. Lazy payloads are hashed from their raw JSON, without decoding
+ * them. The revision only
+ * changes when a rule is recompiled, so a resynced rule can never be served a
+ * result computed by its previous version; its stale entries are also
+ * dropped when the new snapshot is published.
+ *
+ * <p>Key features include:
+ * <ul>
+ *   <li>Size and time based eviction</li>
+ *   <li>Hit and miss statistics</li>
+ *   <li>Invalidation per rule</li>
+ *   <li>Evaluations running outside the cache, so rules may evaluate rules</li>
+ * </ul>
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@Slf4j
+public final class ResultCache {
+
+    /**
+     * Mapper producing the canonical JSON form of values the canonical form
+     * has no encoding for, such as typed payloads.
+     */
+    private static final ObjectMapper CANONICAL_MAPPER = JsonMapper.builder()
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+            .build();
+
+    /**
+     * Cached results; null results are stored as empty optionals.
+     */
+    private final Cache<ResultKey, Optional<Object>> cache;
+
+    /**
+     * Creates the cache.
+     *
+     * @param maximumSize Maximum number of cached results
+     * @param timeToLive Time after which a cached result expires
+     */
+    public ResultCache(@Value("${rule.result-cache.maximum-size:10000}") long maximumSize,
+                       @Value("${rule.result-cache.time-to-live:10m}") Duration timeToLive) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached result of a rule or evaluates and caches it.
+     *
+     * <p>Rules that are not deterministic, and variables that cannot be
+     * serialized, bypass the cache. Failed evaluations are not cached.
+     *
+     * <p>The evaluation runs outside of any cache lock, since a rule may
+     * evaluate other rules through this cache. Concurrent misses of the same
+     * key may therefore each evaluate the rule; the last result stored wins,
+     * which is harmless for deterministic rules.
+     *
+     * @param rule The compiled rule
+     * @param vars The request variables, hashed before the evaluation runs
+     * @param evaluation The evaluation of the rule
+     * @return The result of the rule
+     */
+    public Object get(CompiledRule rule, Map<String, Object> vars, Supplier<Object> evaluation) {
+        if (!rule.isDeterministic()) {
+            return evaluation.get();
+        }
+
+        Optional<String> hash = hash(rule.getPlan(), vars);
+        if (hash.isEmpty()) {
+            return evaluation.get();
+        }
+
+        ResultKey key = new ResultKey(rule.getName(), rule.getRevision(), hash.get());
+        Optional<Object> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached.orElse(null);
+        }
+        Object result = evaluation.get();
+        cache.put(key, Optional.ofNullable(result));
+        return result;
+    }
+
+    /**
+     * Removes the cached results of the given rules.
+     *
+     * @param ruleNames The names of the rules to invalidate
+     */
+    public void invalidate(Collection<String> ruleNames) {
+        if (!ruleNames.isEmpty()) {
+            cache.asMap().keySet().removeIf(key -> ruleNames.contains(key.rule()));
+        }
+    }
+
+    /**
+     * Removes all cached results.
+     */
+    public void clear() {
+        cache.invalidateAll();
+    }
+
+    /**
+     * Returns the statistics of the cache.
+     *
+     * @return Map containing size, hit, miss and eviction statistics
+     */
+    public Map<String, Object> getStats() {
+        CacheStats stats = cache.stats();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("size", cache.estimatedSize());
+        result.put("hitCount", stats.hitCount());
+        result.put("missCount", stats.missCount());
+        result.put("hitRate", stats.hitRate());
+        result.put("evictionCount", stats.evictionCount());
+        return result;
+    }
+
+    /**
+     * Hashes the canonical form of the request variables a rule references.
+     *
+     * @param plan The variables the rule can reference
+     * @param vars The request variables
+     * @return Optional containing the hex encoded SHA-256 hash, empty if the
+     *         variables cannot be serialized
+     */
+    private Optional<String> hash(BindingPlan plan, Map<String, Object> vars) {
+        try {
+            MessageDigest digest = sha256();
+            try (DataOutputStream out = digestStream(digest)) {
+                for (Map.Entry<String, Object> variable : new TreeMap<>(vars).entrySet()) {
+                    if (plan.references(variable.getKey())) {
+                        writeString(out, variable.getKey());
+                        writeValue(out, variable.getValue());
+                    }
+                }
+            }
+            return Optional.of(HexFormat.of().formatHex(digest.digest()));
+        } catch (IOException e) {
+            log.debug("Request variables couldn't be hashed, result cache bypassed: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Writes the canonical form of a value.
+     *
+     * <p>Every value starts with a tag; scalars also carry their class name.
+     * Maps are written in key order, sets in the order of their element
+     * hashes. Values without an encoding of their own are written as their
+     * canonical JSON, tagged with their class.
+     *
+     * @param out The stream receiving the canonical form
+     * @param value The value
+     * @throws IOException if the value cannot be serialized
+     */
+    private static void writeValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeByte('N');
+        } else if (value instanceof String string) {
+            out.writeByte('S');
+            writeString(out, string);
+        } else if (value instanceof LazyPayload payload) {
+            // Hashing the raw JSON keeps the payload from being decoded; a
+            // JSON object delimits itself, so it needs no length prefix
+            out.writeByte('P');
+            payload.writeSource(out);
+        } else if (value instanceof Date date) {
+            out.writeByte('T');
+            writeString(out, date.getClass().getName());
+            out.writeLong(date.getTime());
+        } else if (value instanceof Number || value instanceof Boolean || value instanceof Character
+                || value instanceof Enum<?> || value instanceof UUID || value instanceof TemporalAccessor) {
+            out.writeByte('V');
+            writeString(out, value.getClass().getName());
+            writeString(out, value.toString());
+        } else if (value instanceof Map<?, ?> map) {
+            writeMap(out, map);
+        } else if (value instanceof Set<?> set) {
+            out.writeByte('U');
+            writeUnordered(out, set, ResultCache::writeValue);
+        } else if (value instanceof Collection<?> collection) {
+            out.writeByte('L');
+            out.writeInt(collection.size());
+            for (Object element : collection) {
+                writeValue(out, element);
+            }
+        } else if (value instanceof Object[] array) {
+            out.writeByte('A');
+            out.writeInt(array.length);
+            for (Object element : array) {
+                writeValue(out, element);
+            }
+        } else {
+            byte[] json = CANONICAL_MAPPER.writeValueAsBytes(value);
+            out.writeByte('J');
+            writeString(out, value.getClass().getName());
+            out.writeInt(json.length);
+            out.write(json);
+        }
+    }
+
+    /**
+     * Writes the canonical form of a map.
+     *
+     * <p>Maps with string keys are written in key order; other maps in the
+     * order of their entry hashes.
+     *
+     * @param out The stream receiving the canonical form
+     * @param map The map
+     * @throws IOException if a key or value cannot be serialized
+     */
+    private static void writeMap(DataOutputStream out, Map<?, ?> map) throws IOException {
+        out.writeByte('M');
+        if (map.keySet().stream().allMatch(String.class::isInstance)) {
+            out.writeInt(map.size());
+            @SuppressWarnings("unchecked")
+            Map<String, ?> sorted = new TreeMap<>((Map<String, ?>) map);
+            for (Map.Entry<String, ?> entry : sorted.entrySet()) {
+                writeString(out, entry.getKey());
+                writeValue(out, entry.getValue());
+            }
+        } else {
+            writeUnordered(out, map.entrySet(), (entryOut, entry) -> {
+                writeValue(entryOut, entry.getKey());
+                writeValue(entryOut, entry.getValue());
+            });
+        }
+    }
+
+    /**
+     * Writes elements whose iteration order is not significant.
+     *
+     * <p>Each element is hashed on its own and the hashes are written in
+     * sorted order, so equal collections have equal canonical forms.
+     *
+     * @param out The stream receiving the canonical form
+     * @param elements The elements
+     * @param writer Writer of the canonical form of a single element
+     * @param <T> The element type
+     * @throws IOException if an element cannot be serialized
+     */
+    private static <T> void writeUnordered(DataOutputStream out, Collection<T> elements,
+                                           ElementWriter<T> writer) throws IOException {
+        List<byte[]> hashes = new ArrayList<>(elements.size());
+        for (T element : elements) {
+            MessageDigest digest = sha256();
+            try (DataOutputStream elementOut = digestStream(digest)) {
+                writer.write(elementOut, element);
+            }
+            hashes.add(digest.digest());
+        }
+        hashes.sort(Arrays::compare);
+        out.writeInt(hashes.size());
+        for (byte[] hash : hashes) {
+            out.write(hash);
+        }
+    }
+
+    /**
+     * Writes a length-prefixed UTF-8 string.
+     *
+     * @param out The stream receiving the string
+     * @param string The string
+     * @throws IOException if the stream fails
+     */
+    private static void writeString(DataOutputStream out, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Creates a stream feeding a digest.
+     *
+     * @param digest The digest receiving the written bytes
+     * @return The stream
+     */
+    private static DataOutputStream digestStream(MessageDigest digest) {
+        return new DataOutputStream(new DigestOutputStream(OutputStream.nullOutputStream(), digest));
+    }
+
+    /**
+     * Creates a SHA-256 digest.
+     *
+     * @return The digest
+     */
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns a string representation of the cache.
+     *
+     * @return String containing cache statistics
+     */
+    @Override
+    public String toString() {
+        return "ResultCache{" +
+                "stats=" + getStats() +
+                '}';
+    }
+
+    /**
+     * Key of a cached result.
+     *
+     * @param rule The rule name
+     * @param revision The rule revision
+     * @param hash The hash of the request variables
+     */
+    private record ResultKey(String rule, long revision, String hash) {
+    }
+
+    /**
+     * Writer of the canonical form of a collection element.
+     *
+     * @param <T> The element type
+     */
+    @FunctionalInterface
+    private interface ElementWriter<T> {
+
+        /**
+         * Writes the canonical form of an element.
+         *
+         * @param out The stream receiving the canonical form
+         * @param element The element
+         * @throws IOException if the element cannot be serialized
+         */
+        void write(DataOutputStream out, T element) throws IOException;
+    }
+}
@@ -1,5 +1,7 @@
 package com.beassolution.rule.engine.cache;
 
+import com.beassolution.rule.engine.snapshot.BindingPlan;
+import com.beassolution.rule.engine.snapshot.InputSchema;
 import org.springframework.stereotype.Component;
 
 import java.io.Serializable;
@@ -38,6 +40,29 @@ public final class RuleCache {
      */
     private final ConcurrentMap<String, Serializable> cache = new ConcurrentHashMap<>();
 
+    /**
+     * Thread-safe map for storing the MVEL source of the compiled rules.
+     * 
+     * <p>The source is kept so that hot rules can be recompiled for the
+     * optimized execution tier.
+     */
+    private final ConcurrentMap<String, String> sources = new ConcurrentHashMap<>();
+
+    /**
+     * Thread-safe map for storing the binding plans of the compiled rules.
+     * 
+     * <p>The plan limits the variables bound to a rule to the ones its
+     * source and function libraries reference.
+     */
+    private final ConcurrentMap<String, BindingPlan> plans = new ConcurrentHashMap<>();
+
+    /**
+     * Thread-safe map for storing the input schemas of the compiled rules.
+     * 
+     * <p>Only rules declaring a typed input schema have an entry.
+     */
+    private final ConcurrentMap<String, InputSchema> schemas = new ConcurrentHashMap<>();
+
     /**
      * Stores a compiled rule expression in the cache.
      * 
@@ -48,6 +73,70 @@ public final class RuleCache {
         cache.put(key, instance);
     }
 
+    /**
+     * Stores the MVEL source a cached rule expression was compiled from.
+     * 
+     * @param key The rule name
+     * @param source The MVEL source of the rule
+     */
+    public void putSource(String key, String source) {
+        sources.put(key, source);
+    }
+
+    /**
+     * Retrieves the MVEL source of a cached rule expression.
+     * 
+     * @param key The rule name
+     * @return Optional containing the source if found
+     */
+    public Optional<String> getSource(String key) {
+        return Optional.ofNullable(sources.get(key));
+    }
+
+    /**
+     * Stores the binding plan of a cached rule expression.
+     * 
+     * @param key The rule name
+     * @param plan The variables the rule can reference
+     */
+    public void putPlan(String key, BindingPlan plan) {
+        plans.put(key, plan);
+    }
+
+    /**
+     * Retrieves the binding plan of a cached rule expression.
+     * 
+     * @param key The rule name
+     * @return The plan, {@link BindingPlan#ALL} if none is cached
+     */
+    public BindingPlan getPlan(String key) {
+        return plans.getOrDefault(key, BindingPlan.ALL);
+    }
+
+    /**
+     * Stores the input schema a cached rule expression was compiled against.
+     * 
+     * @param key The rule name
+     * @param schema The input schema, null if the rule declares none
+     */
+    public void putSchema(String key, InputSchema schema) {
+        if (schema == null) {
+            schemas.remove(key);
+        } else {
+            schemas.put(key, schema);
+        }
+    }
+
+    /**
+     * Retrieves the input schema of a cached rule expression.
+     * 
+     * @param key The rule name
+     * @return Optional containing the schema if the rule declares one
+     */
+    public Optional<InputSchema> getSchema(String key) {
+        return Optional.ofNullable(schemas.get(key));
+    }
+
     /**
      * Stores multiple compiled rule expressions in the cache.
      * 
@@ -74,6 +163,9 @@ public final class RuleCache {
      */
     public void remove(String key) {
         cache.remove(key);
+        sources.remove(key);
+        plans.remove(key);
+        schemas.remove(key);
     }
 
     /**
@@ -84,6 +176,9 @@ public final class RuleCache {
      */
     public void clear() {
         cache.clear();
+        sources.clear();
+        plans.clear();
+        schemas.clear();
     }
 
     /**
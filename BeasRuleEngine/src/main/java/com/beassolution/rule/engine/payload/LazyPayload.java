@@ -0,0 +1,241 @@
+package com.beassolution.rule.engine.payload;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * JSON object decoded on demand from the raw request body.
+ *
+ * <p>Instead of deserializing the whole payload into a map tree, the body
+ * is kept as a byte array and the object is scanned once for the offsets of
+ * its fields, without decoding any value. A field is only decoded when it is
+ * read, so a rule touching two fields of a large document only allocates
+ * those two values. Nested objects are handed out as lazy payloads over the
+ * same buffer, so {@code payload.customer.address.city} decodes nothing but
+ * the city. Arrays and scalars are decoded as a whole on first access.
+ * Decoded values are kept, so every access after the first is a map lookup.
+ *
+ * <p>The payload is safe to share between the rules of a rule set running
+ * in parallel. Iterating over its entries, as serialization and string
+ * conversion do, decodes every field. The result cache hashes the raw bytes
+ * of the object instead, see {@link #writeSource(OutputStream)}.
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class LazyPayload extends AbstractMap<String, Object> {
+
+    /**
+     * Marker for decoded JSON nulls, which the value cache cannot hold.
+     */
+    private static final Object NULL = new Object();
+
+    /**
+     * The raw request body.
+     */
+    private final byte[] buffer;
+
+    /**
+     * Reader decoding single values from the buffer.
+     */
+    private final ObjectReader valueReader;
+
+    /**
+     * Absolute buffer range of the object itself, braces included.
+     */
+    private final Range source;
+
+    /**
+     * Absolute buffer range of each field value, in document order.
+     */
+    private final Map<String, Range> offsets;
+
+    /**
+     * Values decoded so far, keyed by field name.
+     */
+    private final ConcurrentMap<String, Object> decoded = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a payload over an indexed object.
+     *
+     * @param buffer The raw request body
+     * @param source Absolute buffer range of the object
+     * @param offsets Absolute buffer range of each field value
+     * @param valueReader Reader decoding single values from the buffer
+     */
+    private LazyPayload(byte[] buffer, Range source, Map<String, Range> offsets, ObjectReader valueReader) {
+        this.buffer = buffer;
+        this.source = source;
+        this.valueReader = valueReader;
+        this.offsets = Collections.unmodifiableMap(offsets);
+    }
+
+    /**
+     * Scans the object starting at the given offset.
+     *
+     * @param buffer The raw request body
+     * @param start Offset of the opening brace of the object
+     * @param valueReader Reader decoding single values from the buffer
+     * @return The payload
+     * @throws IOException if the buffer holds no valid object at the offset
+     */
+    public static LazyPayload of(byte[] buffer, int start, ObjectReader valueReader) throws IOException {
+        try (JsonParser parser = valueReader.getFactory().createParser(buffer, start, buffer.length - start)) {
+            parser.nextToken();
+            // Token offsets are relative to the start of the parsed range
+            return of(parser, buffer, start, valueReader);
+        }
+    }
+
+    /**
+     * Indexes the object a parser is positioned at, leaving the parser on
+     * its closing brace.
+     *
+     * @param parser Parser over the buffer, positioned at the opening brace
+     * @param buffer The raw request body the parser reads
+     * @param base Buffer offset the parser started at
+     * @param valueReader Reader decoding single values from the buffer
+     * @return The payload
+     * @throws IOException if the parser is not positioned at a valid object
+     */
+    public static LazyPayload of(JsonParser parser, byte[] buffer, int base, ObjectReader valueReader)
+            throws IOException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new IOException("Payload at offset " + base + " is not a JSON object");
+        }
+        int objectStart = base + (int) parser.currentTokenLocation().getByteOffset();
+        Map<String, Range> offsets = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken token = parser.nextToken();
+            int start = base + (int) parser.currentTokenLocation().getByteOffset();
+            // Skips nested values without decoding them
+            parser.skipChildren();
+            // Strings are not decoded yet, so their end is unknown
+            int end = token == JsonToken.VALUE_STRING
+                    ? buffer.length
+                    : base + (int) parser.currentLocation().getByteOffset();
+            offsets.put(name, new Range(start, end));
+        }
+        if (parser.currentToken() != JsonToken.END_OBJECT) {
+            throw new IOException("Payload at offset " + base + " is not terminated");
+        }
+        Range source = new Range(objectStart, base + (int) parser.currentLocation().getByteOffset());
+        return new LazyPayload(buffer, source, offsets, valueReader);
+    }
+
+    /**
+     * Decodes a field on first access.
+     *
+     * @param key The field name
+     * @return The decoded value, a lazy payload for objects, null if absent
+     * @throws UncheckedIOException if the value is malformed
+     */
+    @Override
+    public Object get(Object key) {
+        Range range = offsets.get(key);
+        if (range == null) {
+            return null;
+        }
+        Object value = decoded.computeIfAbsent((String) key, name -> decode(range));
+        return value == NULL ? null : value;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return offsets.containsKey(key);
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return offsets.keySet();
+    }
+
+    @Override
+    public int size() {
+        return offsets.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return offsets.isEmpty();
+    }
+
+    /**
+     * Decodes every field and returns the entries in document order.
+     *
+     * @return Read-only entries of the decoded fields
+     */
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        Map<String, Object> entries = new LinkedHashMap<>();
+        for (String name : offsets.keySet()) {
+            entries.put(name, get(name));
+        }
+        return Collections.unmodifiableMap(entries).entrySet();
+    }
+
+    /**
+     * Returns the number of fields decoded so far.
+     *
+     * @return The number of decoded fields of this object, excluding nested ones
+     */
+    public int getDecodedCount() {
+        return decoded.size();
+    }
+
+    /**
+     * Writes the raw JSON of the object without decoding any field.
+     *
+     * <p>Objects that are equal but differ in field order or whitespace
+     * have different sources.
+     *
+     * @param out The stream receiving the bytes of the object, braces included
+     * @throws IOException if the stream fails
+     */
+    public void writeSource(OutputStream out) throws IOException {
+        out.write(buffer, source.start(), source.end() - source.start());
+    }
+
+    /**
+     * Decodes the value in a range.
+     *
+     * <p>Values are read as standalone documents, which must not be followed
+     * by a comma or brace when they are numbers, hence the ranges.
+     *
+     * @param range Absolute buffer range of the value
+     * @return The value, {@link #NULL} for a JSON null
+     */
+    private Object decode(Range range) {
+        try {
+            Object value = buffer[range.start()] == '{'
+                    ? of(buffer, range.start(), valueReader)
+                    : valueReader.readValue(buffer, range.start(), range.end() - range.start());
+            return value == null ? NULL : value;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Buffer range of a field value.
+     *
+     * @param start Offset of the first byte of the value
+     * @param end Offset after the last byte of the value, the buffer end for strings
+     */
+    private record Range(int start, int end) {
+    }
+}
@@ -0,0 +1,49 @@
+package com.beassolution.rule.engine.payload;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+
+import java.io.IOException;
+
+/**
+ * Deserializer of the payload of evaluation requests.
+ *
+ * <p>When the request is read by {@link LazyPayloadReader}, which passes
+ * the raw body as the {@link #SOURCE} attribute, an object payload is only
+ * indexed and bound as a {@link LazyPayload}. Otherwise, and for payloads
+ * that are no objects, the payload is deserialized as usual.
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class LazyPayloadDeserializer extends JsonDeserializer<Object> {
+
+    /**
+     * Deserialization attribute holding the {@link LazyPayloadReader.Source}
+     * of the request being read.
+     */
+    public static final String SOURCE = LazyPayloadDeserializer.class.getName() + ".source";
+
+    /**
+     * Deserializes a payload, lazily if the raw request body is available.
+     *
+     * @param parser The parser positioned at the payload
+     * @param context The deserialization context
+     * @return The payload
+     * @throws IOException if the payload is malformed
+     */
+    @Override
+    public Object deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        Object source = context.getAttribute(SOURCE);
+        // Buffered tokens have no byte offsets into the body
+        if (source instanceof LazyPayloadReader.Source body
+                && parser.currentToken() == JsonToken.START_OBJECT
+                && parser.currentTokenLocation().getByteOffset() >= 0) {
+            return LazyPayload.of(parser, body.buffer(), 0, body.valueReader());
+        }
+        return context.readValue(parser, Object.class);
+    }
+}
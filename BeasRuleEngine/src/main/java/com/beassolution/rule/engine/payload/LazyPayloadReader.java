@@ -0,0 +1,115 @@
+package com.beassolution.rule.engine.payload;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+/**
+ * Reader of evaluation requests that binds large payloads lazily.
+ *
+ * <p>Request bodies of at least {@code rule.evaluation.lazy-payload.min-bytes}
+ * are read with the raw body attached, so {@link LazyPayloadDeserializer}
+ * binds their payload as a {@link LazyPayload} that decodes only the fields
+ * a rule reads. Smaller bodies are deserialized as usual, as indexing does
+ * not pay off when a rule reads most of a small document. Lazy payloads are
+ * disabled unless {@code rule.evaluation.lazy-payload.enabled} is set.
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@Slf4j
+public class LazyPayloadReader {
+
+    /**
+     * Mapper reading requests.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Reader decoding single payload values.
+     */
+    private final ObjectReader valueReader;
+
+    /**
+     * Whether payloads are bound lazily.
+     */
+    private final boolean enabled;
+
+    /**
+     * Smallest request body, in bytes, whose payload is bound lazily.
+     */
+    private final int minBytes;
+
+    /**
+     * Creates the reader.
+     *
+     * @param objectMapper Mapper reading requests
+     * @param enabled Whether payloads are bound lazily
+     * @param minBytes Smallest request body, in bytes, whose payload is bound lazily
+     */
+    public LazyPayloadReader(ObjectMapper objectMapper,
+                             @Value("${rule.evaluation.lazy-payload.enabled:false}") boolean enabled,
+                             @Value("${rule.evaluation.lazy-payload.min-bytes:65536}") int minBytes) {
+        this.objectMapper = objectMapper;
+        this.valueReader = objectMapper.readerFor(Object.class);
+        this.enabled = enabled;
+        this.minBytes = minBytes;
+        if (enabled) {
+            log.info("Payloads of request bodies from {} bytes are bound lazily.", minBytes);
+        }
+    }
+
+    /**
+     * Checks whether lazy payloads are enabled.
+     *
+     * @return true if large payloads are bound lazily
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Checks whether the payload of a request body is bound lazily.
+     *
+     * @param length The length of the request body in bytes
+     * @return true if the body is large enough
+     */
+    public boolean isApplicable(int length) {
+        return enabled && length >= minBytes;
+    }
+
+    /**
+     * Reads a request, binding its payload lazily if the body is large enough.
+     *
+     * <p>The buffer is kept by the payload, so it must not be reused.
+     *
+     * @param body The raw request body
+     * @param type The request type, whose payload field uses {@link LazyPayloadDeserializer}
+     * @param <T> The request type
+     * @return The request
+     * @throws IOException if the body is malformed
+     */
+    public <T> T read(byte[] body, Class<T> type) throws IOException {
+        if (!isApplicable(body.length)) {
+            return objectMapper.readValue(body, type);
+        }
+        return objectMapper.readerFor(type)
+                .withAttribute(LazyPayloadDeserializer.SOURCE, new Source(body, valueReader))
+                .readValue(body);
+    }
+
+    /**
+     * Raw request body a payload is decoded from.
+     *
+     * @param buffer The raw request body
+     * @param valueReader Reader decoding single payload values
+     */
+    record Source(byte[] buffer, ObjectReader valueReader) {
+    }
+}
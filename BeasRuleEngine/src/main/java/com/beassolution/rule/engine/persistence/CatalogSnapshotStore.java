@@ -0,0 +1,293 @@
+package com.beassolution.rule.engine.persistence;
+
+import com.beassolution.rule.engine.cache.HelperJarCache;
+import com.beassolution.rule.exception.OperationException;
+import com.beassolution.rule.model.RuleHelper;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Store writing the compiled catalog to a local file for fast restarts.
+ *
+ * <p>After each successful synchronization the compiled rule expressions
+ * and the content hashes of the helper JARs are written to
+ * {@code rule.snapshot.persistence.directory}, keyed by content hashes; the
+ * JARs themselves stay in the {@link HelperJarCache}. When the node
+ * restarts, the first full synchronization memory-maps the file and hashes
+ * the documents it reads from the database: helpers and rules that still
+ * hash to a stored entry are restored from disk, everything else is fetched
+ * and compiled as usual. The database stays the source of truth;
+ * the file only saves the work of reproducing what it already describes.
+ *
+ * <p>The file is replaced atomically and read with a deserialization filter
+ * restricted to the catalog and MVEL classes. A missing, outdated or
+ * unreadable file only means that nothing is restored, and a failed write
+ * never fails the synchronization.
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@Slf4j
+public class CatalogSnapshotStore {
+
+    /**
+     * Name of the catalog file within the directory.
+     */
+    private static final String CATALOG_FILE = "catalog.snapshot";
+
+    /**
+     * Mapper producing the canonical JSON form of catalog documents.
+     */
+    private static final ObjectMapper CANONICAL_MAPPER = JsonMapper.builder()
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+            .build();
+
+    /**
+     * Filter restricting the catalog file to the catalog record and JDK classes.
+     */
+    private static final ObjectInputFilter CATALOG_FILTER =
+            ObjectInputFilter.Config.createFilter(PersistedCatalog.class.getName() + ";java.base/*;!*");
+
+    /**
+     * Whether the catalog is persisted and restored.
+     */
+    private final boolean enabled;
+
+    /**
+     * Directory holding the catalog file.
+     */
+    private final Path directory;
+
+    /**
+     * Cache holding the helper JARs the catalog refers to.
+     */
+    private final HelperJarCache helperJarCache;
+
+    /**
+     * Contents of the file as last loaded or written.
+     */
+    private final AtomicReference<PersistedCatalog> current = new AtomicReference<>();
+
+    /**
+     * Creates the store.
+     *
+     * @param enabled Whether the catalog is persisted and restored
+     * @param directory Directory holding the catalog file
+     * @param helperJarCache Cache holding the helper JARs the catalog refers to
+     */
+    public CatalogSnapshotStore(@Value("${rule.snapshot.persistence.enabled:false}") boolean enabled,
+                                @Value("${rule.snapshot.persistence.directory:snapshot}") String directory,
+                                HelperJarCache helperJarCache) {
+        this.enabled = enabled;
+        this.directory = Path.of(directory);
+        this.helperJarCache = helperJarCache;
+    }
+
+    /**
+     * Checks whether the catalog is persisted and restored.
+     *
+     * @return true if persistence is enabled
+     */
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Loads the persisted catalog.
+     *
+     * <p>The file is memory-mapped rather than read into a buffer, so its
+     * pages are loaded straight from the page cache as the catalog is read.
+     *
+     * @return The restored catalog, {@link RestoredCatalog#EMPTY} if
+     *         persistence is disabled or no usable file exists
+     */
+    public RestoredCatalog load() {
+        Path file = directory.resolve(CATALOG_FILE);
+        if (!enabled || !Files.isRegularFile(file)) {
+            return RestoredCatalog.EMPTY;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            try (ObjectInputStream in = new ObjectInputStream(new ByteBufferBackedInputStream(buffer))) {
+                in.setObjectInputFilter(CATALOG_FILTER);
+                PersistedCatalog catalog = (PersistedCatalog) in.readObject();
+                if (catalog.formatVersion() != PersistedCatalog.FORMAT_VERSION) {
+                    log.warn("Persisted catalog has format {}, expected {}; nothing is restored.",
+                            catalog.formatVersion(), PersistedCatalog.FORMAT_VERSION);
+                    return RestoredCatalog.EMPTY;
+                }
+                current.set(catalog);
+                log.info("Persisted catalog of {} loaded with {} expressions and {} helper JARs.",
+                        catalog.watermark(), catalog.expressions().size(), catalog.helperJars().size());
+                return new RestoredCatalog(catalog, helperJarCache);
+            }
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            log.warn("Persisted catalog couldn't be read, nothing is restored.", e);
+            return RestoredCatalog.EMPTY;
+        }
+    }
+
+    /**
+     * Writes the compiled catalog of a published snapshot.
+     *
+     * <p>Entries whose hash is already stored are carried over. New rule
+     * sources are compiled once more, as executed expressions hold accessors
+     * that cannot be serialized. Helpers are recorded with the hash of the
+     * JAR the helper JAR cache resolved for them. Entries that cannot be
+     * stored are skipped and simply not restored.
+     *
+     * @param watermark Watermark of the published snapshot
+     * @param helpers The staged helper documents
+     * @param sources The MVEL sources of the staged rules
+     * @param compiler Compiles a rule source the way the engine does
+     */
+    public void save(Date watermark, Collection<RuleHelper> helpers, Collection<String> sources,
+                     Function<String, Serializable> compiler) {
+        if (!enabled) {
+            return;
+        }
+
+        PersistedCatalog previous = current.get();
+        Map<String, byte[]> previousExpressions = previous != null ? previous.expressions() : Map.of();
+        try {
+            Files.createDirectories(directory);
+
+            Map<String, String> helperJars = new HashMap<>();
+            for (RuleHelper helper : helpers) {
+                helperJarCache.hashOf(helper).ifPresent(jarHash -> helperJars.put(hashDocument(helper), jarHash));
+            }
+
+            Map<String, byte[]> expressions = new HashMap<>();
+            for (String source : sources) {
+                String sourceHash = hashSource(source);
+                byte[] stored = previousExpressions.get(sourceHash);
+                if (stored == null) {
+                    stored = serialize(source, compiler);
+                }
+                if (stored != null) {
+                    expressions.put(sourceHash, stored);
+                }
+            }
+
+            PersistedCatalog catalog = new PersistedCatalog(PersistedCatalog.FORMAT_VERSION, watermark,
+                    expressions, helperJars);
+            write(catalog);
+            current.set(catalog);
+            log.info("Catalog of {} persisted with {} expressions and {} helper JARs.",
+                    watermark, expressions.size(), helperJars.size());
+        } catch (IOException e) {
+            log.warn("Catalog couldn't be persisted, the next restart compiles everything.", e);
+        }
+    }
+
+    /**
+     * Writes the catalog to a temporary file and moves it into place.
+     *
+     * @param catalog The catalog to write
+     * @throws IOException if the file cannot be written
+     */
+    private void write(PersistedCatalog catalog) throws IOException {
+        Path temp = Files.createTempFile(directory, CATALOG_FILE, ".tmp");
+        try {
+            try (ObjectOutputStream out = new ObjectOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                out.writeObject(catalog);
+            }
+            Files.move(temp, directory.resolve(CATALOG_FILE),
+                    StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Compiles a rule source and serializes the fresh expression.
+     *
+     * @param source The MVEL source
+     * @param compiler Compiles the source the way the engine does
+     * @return The serialized expression, null if it cannot be serialized
+     */
+    private byte[] serialize(String source, Function<String, Serializable> compiler) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(compiler.apply(source));
+        } catch (IOException | RuntimeException e) {
+            log.debug("Expression couldn't be persisted, the rule is compiled on restart: {}", e.getMessage());
+            return null;
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * Hashes a rule source.
+     *
+     * @param source The MVEL source
+     * @return The hex encoded SHA-256 hash
+     */
+    static String hashSource(String source) {
+        return HexFormat.of().formatHex(newDigest().digest(source.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    /**
+     * Hashes the canonical JSON form of a catalog document.
+     *
+     * @param document The catalog document
+     * @return The hex encoded SHA-256 hash
+     * @throws OperationException if the document cannot be serialized
+     */
+    static String hashDocument(Object document) {
+        try {
+            return HexFormat.of().formatHex(newDigest().digest(CANONICAL_MAPPER.writeValueAsBytes(document)));
+        } catch (JsonProcessingException e) {
+            throw new OperationException(e);
+        }
+    }
+
+    /**
+     * Creates a SHA-256 digest.
+     *
+     * @return A new digest
+     */
+    private static MessageDigest newDigest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
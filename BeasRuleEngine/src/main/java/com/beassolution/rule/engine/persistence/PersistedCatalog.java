@@ -0,0 +1,33 @@
+package com.beassolution.rule.engine.persistence;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Compiled catalog state written to the local snapshot file.
+ *
+ * <p>Entries are content addressed: compiled rule expressions are keyed by
+ * the SHA-256 hash of the MVEL source they were compiled from, and helper
+ * JARs by the hash of the helper document that referenced them. An entry is
+ * only reused when the catalog read from the database hashes to the same key.
+ *
+ * @param formatVersion Version of the file format
+ * @param watermark Watermark of the snapshot the file was written for
+ * @param expressions Serialized compiled expressions keyed by source hash
+ * @param helperJars SHA-256 hashes of the cached JAR files keyed by helper hash
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+public record PersistedCatalog(int formatVersion,
+                               Date watermark,
+                               Map<String, byte[]> expressions,
+                               Map<String, String> helperJars) implements Serializable {
+
+    /**
+     * Current version of the file format.
+     */
+    public static final int FORMAT_VERSION = 1;
+}
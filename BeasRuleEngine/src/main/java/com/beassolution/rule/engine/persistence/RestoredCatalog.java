@@ -0,0 +1,130 @@
+package com.beassolution.rule.engine.persistence;
+
+import com.beassolution.rule.engine.cache.HelperJarCache;
+import com.beassolution.rule.model.RuleHelper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.ObjectInputFilter;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.net.URL;
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Compiled catalog state loaded from the local snapshot file.
+ *
+ * <p>The catalog is consulted while the first full synchronization after a
+ * restart stages the documents read from the database. A compiled
+ * expression is only handed out for a rule whose MVEL source hashes to a
+ * stored entry, and a cached JAR only for a helper document that hashes to
+ * a stored entry and whose cached file still matches its recorded hash.
+ * Anything else is compiled or fetched as usual.
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Slf4j
+public final class RestoredCatalog {
+
+    /**
+     * Catalog without entries, used by synchronizations that reuse nothing.
+     */
+    public static final RestoredCatalog EMPTY = new RestoredCatalog(
+            new PersistedCatalog(PersistedCatalog.FORMAT_VERSION, null, Map.of(), Map.of()), null);
+
+    /**
+     * Filter restricting stored expressions to MVEL and JDK classes.
+     */
+    private static final ObjectInputFilter EXPRESSION_FILTER =
+            ObjectInputFilter.Config.createFilter("org.mvel2.**;java.base/*;!*");
+
+    /**
+     * The loaded file contents.
+     */
+    private final PersistedCatalog catalog;
+
+    /**
+     * Cache holding the helper JARs.
+     */
+    private final HelperJarCache helperJarCache;
+
+    /**
+     * Creates a restored catalog.
+     *
+     * @param catalog The loaded file contents
+     * @param helperJarCache Cache holding the helper JARs
+     */
+    RestoredCatalog(PersistedCatalog catalog, HelperJarCache helperJarCache) {
+        this.catalog = catalog;
+        this.helperJarCache = helperJarCache;
+    }
+
+    /**
+     * Returns the watermark of the snapshot the catalog was written for.
+     *
+     * @return The watermark, null for the empty catalog
+     */
+    public Date getWatermark() {
+        return catalog.watermark();
+    }
+
+    /**
+     * Checks whether the catalog has no entries.
+     *
+     * @return true if nothing can be reused
+     */
+    public boolean isEmpty() {
+        return catalog.expressions().isEmpty() && catalog.helperJars().isEmpty();
+    }
+
+    /**
+     * Returns the stored compiled expression of a rule source.
+     *
+     * @param source The MVEL source of the rule
+     * @return Optional containing the expression, empty if the source changed
+     *         or the stored expression cannot be read
+     */
+    public Optional<Serializable> expression(String source) {
+        if (catalog.expressions().isEmpty()) {
+            return Optional.empty();
+        }
+        byte[] stored = catalog.expressions().get(CatalogSnapshotStore.hashSource(source));
+        if (stored == null) {
+            return Optional.empty();
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(stored))) {
+            in.setObjectInputFilter(EXPRESSION_FILTER);
+            return Optional.of((Serializable) in.readObject());
+        } catch (IOException | ClassNotFoundException | ClassCastException e) {
+            log.warn("Stored expression couldn't be read, the rule is recompiled: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns the stored JAR of a helper.
+     *
+     * @param helper The helper document read from the database
+     * @return Optional containing the URL of the cached JAR, empty if the
+     *         helper changed or the file is missing or corrupt
+     */
+    public Optional<URL> helperJar(RuleHelper helper) {
+        if (catalog.helperJars().isEmpty()) {
+            return Optional.empty();
+        }
+        String jarHash = catalog.helperJars().get(CatalogSnapshotStore.hashDocument(helper));
+        if (jarHash == null) {
+            return Optional.empty();
+        }
+        Optional<URL> jar = helperJarCache.find(jarHash);
+        if (jar.isEmpty()) {
+            log.warn("Stored JAR of helper '{}' is missing or corrupt, it is fetched again.", helper.getName());
+        }
+        return jar;
+    }
+}
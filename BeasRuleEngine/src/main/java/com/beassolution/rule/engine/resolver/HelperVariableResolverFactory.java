@@ -0,0 +1,210 @@
+package com.beassolution.rule.engine.resolver;
+
+import org.mvel2.ImmutableElementException;
+import org.mvel2.UnresolveablePropertyException;
+import org.mvel2.integration.VariableResolver;
+import org.mvel2.integration.VariableResolverFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Read-only variable resolver factory holding the helper bindings of a rule.
+ *
+ * <p>The bindings also include the functions of the function libraries the
+ * rule references. These are compiled once per sync and shared by every rule
+ * referencing the library; a function call resolves the function here and
+ * runs it against the evaluation's own resolver chain.
+ *
+ * <p>The factory is built once per compiled rule when a snapshot is
+ * published and is shared by every evaluation of that rule. Each binding is
+ * resolved up front into its own resolver, so a lookup is a single map read.
+ * The factory is the last layer of the evaluation chain and never changes
+ * after construction: it has no next factory, ignores the tilt flag MVEL
+ * propagates down the chain and rejects any attempt to create or assign a
+ * variable, which makes it safe to share between threads.
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class HelperVariableResolverFactory implements VariableResolverFactory {
+
+    /**
+     * Pre-resolved helper bindings keyed by variable name.
+     */
+    private final Map<String, VariableResolver> resolvers;
+
+    /**
+     * Creates the factory from the helper bindings of a rule.
+     *
+     * @param variables The helper bindings keyed by variable name
+     */
+    public HelperVariableResolverFactory(Map<String, Object> variables) {
+        Map<String, VariableResolver> resolved = new HashMap<>();
+        variables.forEach((name, value) -> resolved.put(name, new ReadOnlyResolver(name, value)));
+        this.resolvers = Map.copyOf(resolved);
+    }
+
+    @Override
+    public VariableResolver createVariable(String name, Object value) {
+        throw readOnly(name);
+    }
+
+    @Override
+    public VariableResolver createIndexedVariable(int index, String name, Object value) {
+        throw readOnly(name);
+    }
+
+    @Override
+    public VariableResolver createVariable(String name, Object value, Class<?> type) {
+        throw readOnly(name);
+    }
+
+    @Override
+    public VariableResolver createIndexedVariable(int index, String name, Object value, Class<?> type) {
+        throw readOnly(name);
+    }
+
+    @Override
+    public VariableResolver setIndexedVariableResolver(int index, VariableResolver variableResolver) {
+        throw readOnly(variableResolver.getName());
+    }
+
+    @Override
+    public VariableResolverFactory getNextFactory() {
+        return null;
+    }
+
+    @Override
+    public VariableResolverFactory setNextFactory(VariableResolverFactory resolverFactory) {
+        throw new ImmutableElementException("Helper bindings cannot be chained to another factory");
+    }
+
+    @Override
+    public VariableResolver getVariableResolver(String name) {
+        VariableResolver resolver = resolvers.get(name);
+        if (resolver == null) {
+            throw new UnresolveablePropertyException("unable to resolve variable '" + name + "'");
+        }
+        return resolver;
+    }
+
+    @Override
+    public VariableResolver getIndexedVariableResolver(int index) {
+        throw new UnresolveablePropertyException("Helper bindings are not indexed");
+    }
+
+    @Override
+    public boolean isTarget(String name) {
+        return resolvers.containsKey(name);
+    }
+
+    @Override
+    public boolean isResolveable(String name) {
+        return resolvers.containsKey(name);
+    }
+
+    @Override
+    public Set<String> getKnownVariables() {
+        return resolvers.keySet();
+    }
+
+    @Override
+    public int variableIndexOf(String name) {
+        return -1;
+    }
+
+    @Override
+    public boolean isIndexedFactory() {
+        return false;
+    }
+
+    /**
+     * Always false; the flag is tracked by the per-request layers.
+     *
+     * @return false
+     */
+    @Override
+    public boolean tiltFlag() {
+        return false;
+    }
+
+    /**
+     * Ignores the flag so concurrent evaluations never affect each other.
+     *
+     * @param tilt The tilt flag
+     */
+    @Override
+    public void setTiltFlag(boolean tilt) {
+        // Shared between requests, the flag belongs to the per-request layers
+    }
+
+    /**
+     * Creates the exception thrown when a helper binding would be modified.
+     *
+     * @param name The variable name
+     * @return The exception to throw
+     */
+    private static ImmutableElementException readOnly(String name) {
+        return new ImmutableElementException("Helper binding '" + name + "' is read-only");
+    }
+
+    /**
+     * Resolver returning a fixed helper binding.
+     */
+    private static final class ReadOnlyResolver implements VariableResolver {
+
+        /**
+         * Name of the variable.
+         */
+        private final String name;
+
+        /**
+         * Bound value.
+         */
+        private final Object value;
+
+        /**
+         * Creates a resolver for a helper binding.
+         *
+         * @param name The variable name
+         * @param value The bound value
+         */
+        private ReadOnlyResolver(String name, Object value) {
+            this.name = name;
+            this.value = value;
+        }
+
+        @Override
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public Class getType() {
+            return Object.class;
+        }
+
+        @Override
+        public void setStaticType(Class type) {
+            throw readOnly(name);
+        }
+
+        @Override
+        public int getFlags() {
+            return 0;
+        }
+
+        @Override
+        public Object getValue() {
+            return value;
+        }
+
+        @Override
+        public void setValue(Object value) {
+            throw readOnly(name);
+        }
+    }
+}
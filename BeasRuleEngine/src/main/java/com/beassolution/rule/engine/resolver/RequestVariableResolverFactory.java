@@ -0,0 +1,119 @@
+package com.beassolution.rule.engine.resolver;
+
+import com.beassolution.rule.engine.ConfinedHelperInstances;
+import com.beassolution.rule.engine.Deadline;
+import com.beassolution.rule.engine.HelperLeases;
+import org.mvel2.integration.VariableResolver;
+import org.mvel2.integration.VariableResolverFactory;
+import org.mvel2.integration.impl.MapVariableResolver;
+import org.mvel2.integration.impl.MapVariableResolverFactory;
+import org.mvel2.integration.impl.SimpleValueResolver;
+
+import java.util.Map;
+
+/**
+ * Per-request variable layer of a rule evaluation.
+ *
+ * <p>The layer holds the request variables (query parameters, payload and
+ * parameters) and every variable the rule creates while it runs. Lookups
+ * that miss fall through to the shared {@link HelperVariableResolverFactory}
+ * of the rule, so the helper bindings are never copied per request. A rule
+ * assigning to a helper name shadows it in this layer instead of writing
+ * through to the shared bindings.
+ *
+ * <p>Every variable lookup and assignment also checks the deadline of the
+ * evaluation, so a rule looping past its deadline is aborted the next time
+ * it touches a variable.
+ *
+ * <p>Helpers that are not shared between evaluations are resolved to a
+ * view scoped to this evaluation, see {@link ConfinedHelperInstances}.
+ * Closing the layer gives the pooled helper instances the evaluation
+ * borrowed back to their pools.
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+public class RequestVariableResolverFactory extends MapVariableResolverFactory implements AutoCloseable {
+
+    /**
+     * Deadline of the evaluation.
+     */
+    private final Deadline deadline;
+
+    /**
+     * Pooled helper instances borrowed by the evaluation, null until the
+     * first one is resolved.
+     */
+    private HelperLeases leases;
+
+    /**
+     * Creates the request layer on top of the helper bindings without a deadline.
+     *
+     * @param variables The request variables, owned by this layer
+     * @param helpers The helper bindings of the rule
+     */
+    public RequestVariableResolverFactory(Map<String, Object> variables, VariableResolverFactory helpers) {
+        this(variables, helpers, Deadline.NONE);
+    }
+
+    /**
+     * Creates the request layer on top of the helper bindings.
+     *
+     * @param variables The request variables, owned by this layer
+     * @param helpers The helper bindings of the rule
+     * @param deadline The deadline of the evaluation
+     */
+    public RequestVariableResolverFactory(Map<String, Object> variables,
+                                          VariableResolverFactory helpers,
+                                          Deadline deadline) {
+        super(variables, helpers);
+        this.deadline = deadline;
+    }
+
+    @Override
+    public VariableResolver getVariableResolver(String name) {
+        deadline.check();
+        VariableResolver resolver = super.getVariableResolver(name);
+        if (resolver.getValue() instanceof ConfinedHelperInstances instances) {
+            // Resolved once per evaluation, later lookups hit the scoped view
+            if (leases == null) {
+                leases = new HelperLeases(deadline);
+            }
+            return addResolver(name, new SimpleValueResolver(instances.scopedTo(leases)));
+        }
+        return resolver;
+    }
+
+    @Override
+    public VariableResolver createVariable(String name, Object value) {
+        deadline.check();
+        if (variables.containsKey(name)) {
+            return super.createVariable(name, value);
+        }
+        VariableResolver resolver = addResolver(name, new MapVariableResolver(variables, name));
+        resolver.setValue(value);
+        return resolver;
+    }
+
+    @Override
+    public VariableResolver createVariable(String name, Object value, Class<?> type) {
+        deadline.check();
+        if (variables.containsKey(name)) {
+            return super.createVariable(name, value, type);
+        }
+        VariableResolver resolver = addResolver(name, new MapVariableResolver(variables, name, type));
+        resolver.setValue(value);
+        return resolver;
+    }
+
+    /**
+     * Gives the pooled helper instances borrowed by the evaluation back.
+     */
+    @Override
+    public void close() {
+        if (leases != null) {
+            leases.close();
+        }
+    }
+}
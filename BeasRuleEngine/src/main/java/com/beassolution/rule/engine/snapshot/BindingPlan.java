@@ -0,0 +1,194 @@
+package com.beassolution.rule.engine.snapshot;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Variables a compiled rule can reference, derived from its source.
+ *
+ * <p>A rule can only read a variable it names, either in its own source or
+ * in the body of a function it calls, as functions run against the
+ * evaluation's resolver chain. The plan collects the identifiers of those
+ * sources, skipping string literals, comments and member names following a
+ * dot, so it always covers every variable the rule can reference. Helpers,
+ * functions and request variables the rule does not name are not bound.
+ *
+ * <p>A plan without sources binds everything, for rules whose source is
+ * unknown.
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class BindingPlan {
+
+    /**
+     * Plan binding every variable.
+     */
+    public static final BindingPlan ALL = new BindingPlan(null);
+
+    /**
+     * Identifiers the sources reference, null to bind every variable.
+     */
+    private final Set<String> references;
+
+    /**
+     * Creates a plan.
+     *
+     * @param references Identifiers the sources reference, null to bind every variable
+     */
+    private BindingPlan(Set<String> references) {
+        this.references = references;
+    }
+
+    /**
+     * Creates the plan of a rule from its source and the code of the
+     * function libraries it is bound to.
+     *
+     * @param sources The MVEL sources, null entries are skipped
+     * @return The plan, {@link #ALL} if no source is given
+     */
+    public static BindingPlan of(Collection<String> sources) {
+        Set<String> references = new HashSet<>();
+        boolean known = false;
+        for (String source : sources) {
+            if (source != null) {
+                scan(source, references);
+                known = true;
+            }
+        }
+        return known ? new BindingPlan(Set.copyOf(references)) : ALL;
+    }
+
+    /**
+     * Checks whether the rule may reference a variable.
+     *
+     * @param name The variable name
+     * @return true if the variable has to be bound
+     */
+    public boolean references(String name) {
+        return references == null || references.contains(name);
+    }
+
+    /**
+     * Checks whether the plan binds every variable.
+     *
+     * @return true if the rule's sources are unknown
+     */
+    public boolean isUnrestricted() {
+        return references == null;
+    }
+
+    /**
+     * Copies the variables the rule may reference.
+     *
+     * @param variables The variables available to the rule
+     * @return New map holding the referenced variables
+     */
+    public Map<String, Object> select(Map<String, Object> variables) {
+        if (references == null) {
+            return new HashMap<>(variables);
+        }
+        Map<String, Object> selected = new HashMap<>();
+        if (variables.size() <= references.size()) {
+            variables.forEach((name, value) -> {
+                if (references.contains(name)) {
+                    selected.put(name, value);
+                }
+            });
+        } else {
+            for (String name : references) {
+                if (variables.containsKey(name)) {
+                    selected.put(name, variables.get(name));
+                }
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Collects the identifiers of an MVEL source.
+     *
+     * @param source The MVEL source
+     * @param references Set receiving the identifiers
+     */
+    private static void scan(String source, Set<String> references) {
+        int length = source.length();
+        int i = 0;
+        while (i < length) {
+            char c = source.charAt(i);
+            if (c == '"' || c == '\'') {
+                i = skipString(source, i);
+            } else if (source.startsWith("//", i)) {
+                int end = source.indexOf('\n', i);
+                i = end < 0 ? length : end + 1;
+            } else if (source.startsWith("/*", i)) {
+                int end = source.indexOf("*/", i + 2);
+                i = end < 0 ? length : end + 2;
+            } else if (Character.isJavaIdentifierStart(c)) {
+                int start = i;
+                while (i < length && Character.isJavaIdentifierPart(source.charAt(i))) {
+                    i++;
+                }
+                if (!isMember(source, start)) {
+                    references.add(source.substring(start, i));
+                }
+            } else {
+                i++;
+            }
+        }
+    }
+
+    /**
+     * Skips a string literal.
+     *
+     * @param source The MVEL source
+     * @param start Index of the opening quote
+     * @return Index after the closing quote
+     */
+    private static int skipString(String source, int start) {
+        char quote = source.charAt(start);
+        int i = start + 1;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            if (c == '\\') {
+                i += 2;
+            } else if (c == quote) {
+                return i + 1;
+            } else {
+                i++;
+            }
+        }
+        return source.length();
+    }
+
+    /**
+     * Checks whether an identifier is a member name following a dot.
+     *
+     * @param source The MVEL source
+     * @param start Index of the identifier
+     * @return true if the identifier names a property or method
+     */
+    private static boolean isMember(String source, int start) {
+        int i = start - 1;
+        while (i >= 0 && Character.isWhitespace(source.charAt(i))) {
+            i--;
+        }
+        return i >= 0 && source.charAt(i) == '.';
+    }
+
+    /**
+     * Returns a string representation of the plan.
+     *
+     * @return String containing the referenced identifiers
+     */
+    @Override
+    public String toString() {
+        return "BindingPlan{" +
+                "references=" + (references == null ? "*" : references) +
+                '}';
+    }
+}
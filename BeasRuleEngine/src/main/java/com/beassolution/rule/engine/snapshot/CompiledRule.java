@@ -0,0 +1,286 @@
+package com.beassolution.rule.engine.snapshot;
+
+import com.beassolution.rule.engine.Deadline;
+import com.beassolution.rule.engine.resolver.HelperVariableResolverFactory;
+import com.beassolution.rule.engine.resolver.RequestVariableResolverFactory;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import org.mvel2.integration.VariableResolverFactory;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Immutable pairing of a compiled rule expression and the variables bound to it.
+ *
+ * <p>The compiled expression and its variables are always published together
+ * as part of an {@link EngineSnapshot}, so an evaluation can never combine an
+ * expression from one sync with the helper bindings of another.
+ *
+ * <p>The variables are resolved once into a read-only resolver factory.
+ * Each evaluation only layers a small per-request factory on top of it
+ * instead of copying the helper bindings. The {@link BindingPlan} of the
+ * rule limits both layers to the variables the rule can reference; a rule
+ * bound to no helpers or functions gets no shared layer at all.
+ *
+ * <p>The expression starts out in the reflective tier. Once the rule has
+ * been invoked often enough, a second expression compiled from the same
+ * source is swapped in and executed with bytecode-generated accessors, see
+ * {@link com.beassolution.rule.engine.TieredRuleExecutor}. Only rules bound
+ * to no helpers or functions are promoted, so every generated class belongs
+ * to the rule. The tier is the only state of a compiled rule that changes
+ * after it was built.
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Getter
+public final class CompiledRule {
+
+    /**
+     * Name of the rule.
+     */
+    private final String name;
+
+    /**
+     * Compiled MVEL expression of the rule.
+     */
+    private final Serializable expression;
+
+    /**
+     * Read-only variables (helper instances and functions) bound to the rule.
+     */
+    private final Map<String, Object> variables;
+
+    /**
+     * Read-only resolver factory over the bound variables, shared by all
+     * evaluations, null if no variables are bound.
+     */
+    private final VariableResolverFactory helperFactory;
+
+    /**
+     * Variables the rule can reference.
+     */
+    private final BindingPlan plan;
+
+    /**
+     * Typed input schema the rule was compiled against, null if the payload
+     * is bound as deserialized.
+     */
+    private final InputSchema inputSchema;
+
+    /**
+     * Snapshot version in which the rule was last compiled.
+     *
+     * <p>The revision only changes when the rule is recompiled, so it
+     * identifies the exact expression and bindings results were computed with.
+     */
+    private final long revision;
+
+    /**
+     * Whether results of the rule may be cached.
+     */
+    private final boolean deterministic;
+
+    /**
+     * Execution timeout of the rule in milliseconds, 0 for the engine default.
+     */
+    private final long timeoutMillis;
+
+    /**
+     * MVEL source the expression was compiled from, null if unknown.
+     */
+    private final String source;
+
+    /**
+     * Number of invocations counted towards promotion.
+     */
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong invocations = new AtomicLong();
+
+    /**
+     * Expression of the optimized tier, null while the rule runs reflectively.
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile Serializable optimizedExpression;
+
+    /**
+     * Class loader the accessors of the optimized tier are generated below,
+     * null until the rule is promoted.
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile ClassLoader accessorLoader;
+
+    /**
+     * Creates a compiled rule entry, see {@link #builder()}.
+     *
+     * <p>Only the name and the expression are required. A rule built without
+     * the other properties is non-deterministic, has revision 0, the default
+     * timeout, binds every variable as deserialized and cannot be promoted.
+     *
+     * @param name The rule name
+     * @param expression The compiled MVEL expression
+     * @param variables The variables bound to the rule, copied defensively
+     *                  without the ones the plan does not reference
+     * @param revision Snapshot version in which the rule was last compiled
+     * @param deterministic Whether results of the rule may be cached
+     * @param timeoutMillis Execution timeout in milliseconds, 0 for the engine default
+     * @param source MVEL source of the expression, null if the rule cannot be promoted
+     * @param plan The variables the rule can reference, null to bind every variable
+     * @param inputSchema The input schema the expression was compiled against, null if none
+     */
+    @Builder
+    private CompiledRule(String name,
+                         Serializable expression,
+                         Map<String, Object> variables,
+                         long revision,
+                         boolean deterministic,
+                         long timeoutMillis,
+                         String source,
+                         BindingPlan plan,
+                         InputSchema inputSchema) {
+        this.name = Objects.requireNonNull(name, "name");
+        this.expression = Objects.requireNonNull(expression, "expression");
+        this.plan = plan == null ? BindingPlan.ALL : plan;
+        this.variables = variables == null ? Map.of() : Map.copyOf(this.plan.select(variables));
+        this.helperFactory = this.variables.isEmpty() ? null : new HelperVariableResolverFactory(this.variables);
+        this.revision = revision;
+        this.deterministic = deterministic;
+        this.timeoutMillis = timeoutMillis;
+        this.source = source;
+        this.inputSchema = inputSchema;
+    }
+
+    /**
+     * Counts an invocation of the rule in the reflective tier.
+     *
+     * <p>Counting stops once the threshold is reached, so a hot rule does not
+     * keep contending on the counter.
+     *
+     * @param threshold The number of invocations that makes the rule hot
+     * @return true for exactly the invocation reaching the threshold
+     */
+    public boolean recordInvocation(long threshold) {
+        return invocations.get() < threshold && invocations.incrementAndGet() == threshold;
+    }
+
+    /**
+     * Returns the number of invocations counted towards promotion.
+     *
+     * @return The invocation count, capped at the promotion threshold
+     */
+    public long getInvocations() {
+        return invocations.get();
+    }
+
+    /**
+     * Checks whether the rule may be promoted to the optimized tier.
+     *
+     * <p>A rule needs its source to be recompiled. Rules bound to helpers or
+     * functions stay reflective: accessors generated for them would link
+     * against classes and function bodies shared beyond the rule.
+     *
+     * @return true if the rule has a source and no bound variables
+     */
+    public boolean isPromotable() {
+        return source != null && variables.isEmpty();
+    }
+
+    /**
+     * Returns the expression of the optimized tier.
+     *
+     * @return The optimized expression, null while the rule runs reflectively
+     */
+    public Serializable getOptimizedExpression() {
+        return optimizedExpression;
+    }
+
+    /**
+     * Returns the class loader the accessors of the optimized tier are
+     * generated below.
+     *
+     * @return The loader, null if the rule was never promoted
+     */
+    public ClassLoader getAccessorLoader() {
+        return accessorLoader;
+    }
+
+    /**
+     * Swaps in the expression of the optimized tier.
+     *
+     * @param optimizedExpression A fresh expression compiled from the rule source
+     * @param accessorLoader The class loader the expression was compiled with
+     */
+    public void promote(Serializable optimizedExpression, ClassLoader accessorLoader) {
+        // Published before the expression, so a thread seeing the expression sees its loader
+        this.accessorLoader = accessorLoader;
+        this.optimizedExpression = optimizedExpression;
+    }
+
+    /**
+     * Returns the rule to the reflective tier for good.
+     *
+     * <p>The invocation count stays at the threshold, so the rule is not
+     * promoted again. The accessors generated for the optimized expression
+     * become unreachable with it; the loader they were defined below is kept
+     * and only references its parent.
+     */
+    public void demote() {
+        this.optimizedExpression = null;
+    }
+
+    /**
+     * Checks whether the rule runs in the optimized tier.
+     *
+     * @return true if the optimized expression is in use
+     */
+    public boolean isOptimized() {
+        return optimizedExpression != null;
+    }
+
+    /**
+     * Binds the request variables the rule can reference.
+     *
+     * <p>The payload of a rule with an input schema is deserialized into the
+     * schema's payload class.
+     *
+     * @param requestVariables The request variables, not modified
+     * @return New map holding the referenced request variables, owned by the evaluation
+     * @throws com.beassolution.rule.exception.OperationException if the
+     *         payload doesn't match the input schema
+     */
+    public Map<String, Object> bindInputs(Map<String, Object> requestVariables) {
+        Map<String, Object> inputs = plan.select(requestVariables);
+        return inputSchema == null ? inputs : inputSchema.bind(inputs);
+    }
+
+    /**
+     * Creates the variable resolver chain for a single evaluation.
+     *
+     * @param requestVariables The request variables, owned by the evaluation
+     * @return Per-request factory chained to the bound variables
+     */
+    public RequestVariableResolverFactory newEvaluationFactory(Map<String, Object> requestVariables) {
+        return newEvaluationFactory(requestVariables, Deadline.NONE);
+    }
+
+    /**
+     * Creates the variable resolver chain for a single evaluation that has
+     * to complete by the given deadline.
+     *
+     * <p>The chain has to be closed once the evaluation completes, so pooled
+     * helper instances it borrowed are given back.
+     *
+     * @param requestVariables The request variables, owned by the evaluation
+     * @param deadline The deadline checked on every variable access
+     * @return Per-request factory chained to the bound variables
+     */
+    public RequestVariableResolverFactory newEvaluationFactory(Map<String, Object> requestVariables,
+                                                               Deadline deadline) {
+        return new RequestVariableResolverFactory(requestVariables, helperFactory, deadline);
+    }
+}
@@ -0,0 +1,49 @@
+package com.beassolution.rule.engine.snapshot;
+
+import com.beassolution.rule.model.RuleSetStrategy;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Immutable view of a rule set as published in an {@link EngineSnapshot}.
+ *
+ * <p>The rule set only refers to its rules by name. The rules are resolved
+ * from the same snapshot at evaluation time, so a rule set and its rules
+ * always come from the same sync.
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Getter
+public final class CompiledRuleSet {
+
+    /**
+     * Name of the rule set.
+     */
+    private final String name;
+
+    /**
+     * Strategy used to evaluate the rules.
+     */
+    private final RuleSetStrategy strategy;
+
+    /**
+     * Names of the rules in declaration order.
+     */
+    private final List<String> rules;
+
+    /**
+     * Creates a rule set entry.
+     *
+     * @param name The rule set name
+     * @param strategy The evaluation strategy, {@link RuleSetStrategy#COLLECT_ALL} if null
+     * @param rules The rule names, copied defensively
+     */
+    public CompiledRuleSet(String name, RuleSetStrategy strategy, List<String> rules) {
+        this.name = name;
+        this.strategy = strategy == null ? RuleSetStrategy.COLLECT_ALL : strategy;
+        this.rules = rules == null ? List.of() : List.copyOf(rules);
+    }
+}
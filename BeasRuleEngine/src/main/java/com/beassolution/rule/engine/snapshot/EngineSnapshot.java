@@ -0,0 +1,181 @@
+package com.beassolution.rule.engine.snapshot;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Immutable, versioned view of the compiled rule catalog.
+ *
+ * <p>A snapshot is built off to the side during cache synchronization and
+ * published in a single step through {@link EngineSnapshotHolder}. Readers
+ * obtain the current snapshot once per evaluation and work against it without
+ * any locking, so they never observe an empty or partially built catalog.
+ * Each running evaluation holds a lease on its snapshot, so resources
+ * retired by a later snapshot are only closed once nothing uses them anymore.
+ *
+ * <p>Key components include:
+ * <ul>
+ *   <li>Monotonically increasing version number</li>
+ *   <li>Watermark of the last catalog change included</li>
+ *   <li>Compiled rules together with their bound variables</li>
+ *   <li>Rule sets grouping the compiled rules</li>
+ *   <li>Helper instances and function code used to build the rules</li>
+ * </ul>
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Getter
+public final class EngineSnapshot {
+
+    /**
+     * Snapshot served before the first successful synchronization.
+     */
+    private static final EngineSnapshot EMPTY = new EngineSnapshot(0L, null, Map.of(), Map.of(), Map.of(), Map.of());
+
+    /**
+     * Version of the snapshot, incremented on every publish.
+     */
+    private final long version;
+
+    /**
+     * Time up to which catalog changes are included in the snapshot.
+     *
+     * <p>Incremental synchronization fetches documents modified after this
+     * watermark. It is null until the first synchronization completes.
+     */
+    private final Date watermark;
+
+    /**
+     * Time at which the snapshot was built.
+     */
+    private final Instant createdAt;
+
+    /**
+     * Compiled rules keyed by rule name.
+     */
+    private final Map<String, CompiledRule> rules;
+
+    /**
+     * Rule sets keyed by rule set name.
+     */
+    private final Map<String, CompiledRuleSet> ruleSets;
+
+    /**
+     * Helper instances keyed by helper name.
+     */
+    private final Map<String, Map<String, Object>> helpers;
+
+    /**
+     * Function library code keyed by function library name.
+     */
+    private final Map<String, String> functions;
+
+    /**
+     * Number of leases held on the snapshot by running evaluations.
+     */
+    @Getter(AccessLevel.NONE)
+    private final AtomicInteger leases = new AtomicInteger();
+
+    /**
+     * Creates a snapshot from already built catalog maps.
+     *
+     * @param version The snapshot version
+     * @param watermark Time up to which catalog changes are included
+     * @param rules The compiled rules
+     * @param ruleSets The rule sets
+     * @param helpers The helper instances
+     * @param functions The function library code
+     */
+    public EngineSnapshot(long version,
+                          Date watermark,
+                          Map<String, CompiledRule> rules,
+                          Map<String, CompiledRuleSet> ruleSets,
+                          Map<String, Map<String, Object>> helpers,
+                          Map<String, String> functions) {
+        this.version = version;
+        this.watermark = watermark;
+        this.createdAt = Instant.now();
+        this.rules = Map.copyOf(rules);
+        this.ruleSets = Map.copyOf(ruleSets);
+        this.helpers = Map.copyOf(helpers);
+        this.functions = Map.copyOf(functions);
+    }
+
+    /**
+     * Returns the snapshot that is served before any synchronization.
+     *
+     * @return The empty snapshot
+     */
+    public static EngineSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * Retrieves a compiled rule from the snapshot.
+     *
+     * @param name The rule name
+     * @return Optional containing the compiled rule if found
+     */
+    public Optional<CompiledRule> getRule(String name) {
+        return Optional.ofNullable(rules.get(name));
+    }
+
+    /**
+     * Retrieves a rule set from the snapshot.
+     *
+     * @param name The rule set name
+     * @return Optional containing the rule set if found
+     */
+    public Optional<CompiledRuleSet> getRuleSet(String name) {
+        return Optional.ofNullable(ruleSets.get(name));
+    }
+
+    /**
+     * Takes a lease on the snapshot.
+     */
+    void retain() {
+        leases.incrementAndGet();
+    }
+
+    /**
+     * Returns a lease on the snapshot.
+     *
+     * @return The number of leases still held
+     */
+    int release() {
+        return leases.decrementAndGet();
+    }
+
+    /**
+     * Checks whether no evaluation holds a lease on the snapshot.
+     *
+     * @return true if no lease is held
+     */
+    boolean isIdle() {
+        return leases.get() == 0;
+    }
+
+    /**
+     * Returns a string representation of the snapshot.
+     *
+     * @return String containing snapshot statistics
+     */
+    @Override
+    public String toString() {
+        return "EngineSnapshot{" +
+                "version=" + version +
+                ", rules=" + rules.size() +
+                ", ruleSets=" + ruleSets.size() +
+                ", helpers=" + helpers.size() +
+                ", functions=" + functions.size() +
+                '}';
+    }
+}
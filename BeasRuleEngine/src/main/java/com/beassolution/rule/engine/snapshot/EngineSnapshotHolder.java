@@ -0,0 +1,166 @@
+package com.beassolution.rule.engine.snapshot;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holder for the currently published {@link EngineSnapshot}.
+ *
+ * <p>Publishing replaces the whole catalog with one atomic reference swap.
+ * Readers call {@link #current()} once and keep using the returned snapshot
+ * for the rest of the evaluation, which costs a single volatile read.
+ *
+ * <p>Evaluations that run code owned by the snapshot, such as helper
+ * instances, {@link #acquire()} it instead and {@link #release(EngineSnapshot)}
+ * it when they are done. Resources retired by a publish, such as the class
+ * loaders of replaced helpers, are closed once the replaced snapshot and
+ * every older one are no longer leased, never while an evaluation may still
+ * use them.
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@Slf4j
+public class EngineSnapshotHolder {
+
+    /**
+     * Reference to the published snapshot.
+     */
+    private final AtomicReference<EngineSnapshot> current = new AtomicReference<>(EngineSnapshot.empty());
+
+    /**
+     * Replaced snapshots, oldest first, with the resources retired when they were replaced.
+     */
+    private final Deque<Retirement> retirements = new ArrayDeque<>();
+
+    /**
+     * Returns the currently published snapshot.
+     *
+     * @return The current snapshot, never null
+     */
+    public EngineSnapshot current() {
+        return current.get();
+    }
+
+    /**
+     * Returns the currently published snapshot with a lease on it.
+     *
+     * <p>The lease is only kept if the snapshot is still current once it is
+     * taken, so resources retired by a concurrent publish are never handed out.
+     *
+     * @return The current snapshot, to be released with {@link #release(EngineSnapshot)}
+     */
+    public EngineSnapshot acquire() {
+        while (true) {
+            EngineSnapshot snapshot = current.get();
+            snapshot.retain();
+            if (snapshot == current.get()) {
+                return snapshot;
+            }
+            release(snapshot);
+        }
+    }
+
+    /**
+     * Takes another lease on a snapshot the caller already holds a lease on.
+     *
+     * @param snapshot The leased snapshot
+     */
+    public void retain(EngineSnapshot snapshot) {
+        snapshot.retain();
+    }
+
+    /**
+     * Returns a lease on a snapshot.
+     *
+     * <p>Returning the last lease on a replaced snapshot closes the
+     * resources that no snapshot still in use refers to.
+     *
+     * @param snapshot The leased snapshot
+     */
+    public void release(EngineSnapshot snapshot) {
+        if (snapshot.release() == 0 && snapshot != current.get()) {
+            reclaim();
+        }
+    }
+
+    /**
+     * Publishes a new snapshot, replacing the current one atomically.
+     *
+     * @param snapshot The snapshot to publish
+     * @return The snapshot that was replaced
+     */
+    public EngineSnapshot publish(EngineSnapshot snapshot) {
+        return publish(snapshot, List.of());
+    }
+
+    /**
+     * Publishes a new snapshot and retires resources only the replaced
+     * snapshots use.
+     *
+     * @param snapshot The snapshot to publish
+     * @param retired Resources to close once no replaced snapshot is leased anymore
+     * @return The snapshot that was replaced
+     */
+    public EngineSnapshot publish(EngineSnapshot snapshot, Collection<? extends AutoCloseable> retired) {
+        Objects.requireNonNull(snapshot, "snapshot cannot be null");
+        EngineSnapshot previous = current.getAndSet(snapshot);
+        log.info("Engine snapshot published. {} -> {}", previous, snapshot);
+        synchronized (this) {
+            retirements.addLast(new Retirement(previous, List.copyOf(retired)));
+        }
+        reclaim();
+        return previous;
+    }
+
+    /**
+     * Returns the number of replaced snapshots not reclaimed yet.
+     *
+     * @return The number of snapshots still leased or waiting on an older one
+     */
+    public synchronized int getRetiringCount() {
+        return retirements.size();
+    }
+
+    /**
+     * Closes the retired resources of every replaced snapshot that neither
+     * it nor any older snapshot is leased anymore.
+     */
+    private synchronized void reclaim() {
+        Iterator<Retirement> iterator = retirements.iterator();
+        while (iterator.hasNext()) {
+            Retirement retirement = iterator.next();
+            if (!retirement.snapshot().isIdle()) {
+                // Its evaluations may still use the resources retired by later publishes
+                return;
+            }
+            iterator.remove();
+            for (AutoCloseable resource : retirement.resources()) {
+                try {
+                    resource.close();
+                } catch (Exception e) {
+                    log.warn("Retired resource {} couldn't be closed: {}", resource, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Resources retired when a snapshot was replaced.
+     *
+     * @param snapshot The replaced snapshot
+     * @param resources Resources only the replaced snapshot and older ones use
+     */
+    private record Retirement(EngineSnapshot snapshot, List<AutoCloseable> resources) {
+    }
+}
@@ -0,0 +1,115 @@
+package com.beassolution.rule.engine.snapshot;
+
+import com.beassolution.rule.exception.OperationException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.HttpStatus;
+
+import java.util.Map;
+
+/**
+ * Typed input schema of a rule.
+ *
+ * <p>The schema lists the payload fields a rule reads together with their
+ * types, and owns the payload class generated from them; see
+ * {@link com.beassolution.rule.engine.InputSchemaRegistry}. The payload of an
+ * evaluation is deserialized into that class before the rule runs, so MVEL
+ * reads plain fields of a single class instead of looking up map entries,
+ * and the rule can be compiled with strong typing against it.
+ *
+ * <p>Rules declaring the same schema share the same instance and payload
+ * class.
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+public final class InputSchema {
+
+    /**
+     * Name of the variable the payload is bound to.
+     */
+    public static final String PAYLOAD = "payload";
+
+    /**
+     * Field types keyed by field name, in field name order.
+     */
+    private final Map<String, Class<?>> fields;
+
+    /**
+     * Class generated from the schema, with one public field per entry.
+     */
+    private final Class<?> payloadClass;
+
+    /**
+     * Mapper deserializing payloads into the payload class.
+     */
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Creates a schema.
+     *
+     * @param fields Field types keyed by field name
+     * @param payloadClass Class generated from the schema
+     * @param objectMapper Mapper deserializing payloads into the payload class
+     */
+    public InputSchema(Map<String, Class<?>> fields, Class<?> payloadClass, ObjectMapper objectMapper) {
+        this.fields = fields;
+        this.payloadClass = payloadClass;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Returns the field types of the schema.
+     *
+     * @return Field types keyed by field name
+     */
+    public Map<String, Class<?>> getFields() {
+        return fields;
+    }
+
+    /**
+     * Returns the class payloads are deserialized into.
+     *
+     * @return The generated payload class
+     */
+    public Class<?> getPayloadClass() {
+        return payloadClass;
+    }
+
+    /**
+     * Replaces the payload of an evaluation with an instance of the payload
+     * class.
+     *
+     * <p>Payloads that already are instances are kept. Fields the schema
+     * does not declare are dropped.
+     *
+     * @param inputs The request variables of the evaluation, owned by it
+     * @return The same map, holding the typed payload
+     * @throws OperationException if the payload doesn't match the schema
+     */
+    public Map<String, Object> bind(Map<String, Object> inputs) {
+        Object payload = inputs.get(PAYLOAD);
+        if (payload != null && !payloadClass.isInstance(payload)) {
+            try {
+                inputs.put(PAYLOAD, objectMapper.convertValue(payload, payloadClass));
+            } catch (IllegalArgumentException e) {
+                throw new OperationException("Payload doesn't match the input schema: " + e.getMessage(),
+                        HttpStatus.BAD_REQUEST, e);
+            }
+        }
+        return inputs;
+    }
+
+    /**
+     * Returns a string representation of the schema.
+     *
+     * @return String containing the payload class and the field types
+     */
+    @Override
+    public String toString() {
+        return "InputSchema{" +
+                "payloadClass=" + payloadClass.getName() +
+                ", fields=" + fields.keySet() +
+                '}';
+    }
+}
@@ -0,0 +1,221 @@
+package com.beassolution.rule.listener;
+
+import com.beassolution.rule.components.CacheController;
+import com.beassolution.rule.model.CatalogType;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.messaging.ChangeStreamRequest;
+import org.springframework.data.mongodb.core.messaging.DefaultMessageListenerContainer;
+import org.springframework.data.mongodb.core.messaging.MessageListenerContainer;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+/**
+ * Listener that keeps the engine in line with catalog changes as they happen.
+ *
+ * <p>When enabled, every node watches the rule, function library, helper and
+ * tombstone collections through MongoDB change streams and runs an
+ * incremental synchronization shortly after a change, so no one has to call
+ * the sync endpoint on each node. Change streams require a replica set or a
+ * sharded cluster; on a standalone server, or when the stream fails, the
+ * listener falls back to polling for changes at a fixed interval.
+ *
+ * <p>Key features include:
+ * <ul>
+ *   <li>Change stream subscriptions per catalog collection</li>
+ *   <li>Debouncing of change bursts into a single incremental sync</li>
+ *   <li>Polling fallback for standalone servers</li>
+ * </ul>
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@ConditionalOnProperty(prefix = "rule.sync.live", name = "enabled", havingValue = "true")
+@RequiredArgsConstructor
+@Slf4j
+public class CatalogChangeListener {
+
+    /**
+     * Collection the deletion tombstones are stored in.
+     */
+    private static final String TOMBSTONE_COLLECTION = "catalogTombstone";
+
+    /**
+     * MongoDB template used to open the change streams.
+     */
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * Cache controller running the incremental synchronization.
+     */
+    private final CacheController cacheController;
+
+    /**
+     * Scheduler for debounced syncs and polling.
+     */
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-change-listener");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Threads running the change stream subscriptions.
+     */
+    private final ExecutorService streamExecutor = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "catalog-change-stream");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Whether a debounced sync is already scheduled.
+     */
+    private final AtomicBoolean syncPending = new AtomicBoolean();
+
+    /**
+     * Whether the listener has fallen back to polling.
+     */
+    private final AtomicBoolean polling = new AtomicBoolean();
+
+    /**
+     * Delay used to coalesce bursts of changes into one sync.
+     */
+    @Value("${rule.sync.live.debounce-ms:200}")
+    private long debounceMs;
+
+    /**
+     * Interval between incremental syncs in polling mode.
+     */
+    @Value("${rule.sync.live.poll-interval-ms:5000}")
+    private long pollIntervalMs;
+
+    /**
+     * Container running the change stream subscriptions.
+     */
+    private MessageListenerContainer container;
+
+    /**
+     * Starts listening once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (supportsChangeStreams()) {
+            startChangeStreams();
+        } else {
+            startPolling();
+        }
+    }
+
+    /**
+     * Stops the change streams, their threads and the scheduler.
+     */
+    @PreDestroy
+    public void stop() {
+        if (container != null) {
+            container.stop();
+        }
+        streamExecutor.shutdownNow();
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Checks whether the connected deployment supports change streams.
+     *
+     * @return true for replica sets and sharded clusters
+     */
+    private boolean supportsChangeStreams() {
+        try {
+            Document hello = mongoTemplate.executeCommand(new Document("isMaster", 1));
+            return hello.containsKey("setName") || "isdbgrid".equals(hello.getString("msg"));
+        } catch (Exception e) {
+            log.warn("Deployment type couldn't be detected, change streams disabled.", e);
+            return false;
+        }
+    }
+
+    /**
+     * Subscribes to the change streams of all catalog collections.
+     */
+    private void startChangeStreams() {
+        container = new DefaultMessageListenerContainer(mongoTemplate, streamExecutor, this::onError);
+        Stream.concat(Arrays.stream(CatalogType.values()).map(CatalogType::getCollectionName), Stream.of(TOMBSTONE_COLLECTION))
+                .forEach(collection -> container.register(ChangeStreamRequest.builder()
+                        .collection(collection)
+                        .publishTo(message -> {
+                            log.debug("Catalog change on {}.", collection);
+                            scheduleSync();
+                        })
+                        .build(), Document.class));
+        container.start();
+        log.info("Catalog change streams started.");
+
+        // Picks up changes made between the last sync and the stream start
+        scheduleSync();
+    }
+
+    /**
+     * Starts polling for changes at a fixed interval.
+     */
+    private void startPolling() {
+        if (!polling.compareAndSet(false, true)) {
+            return;
+        }
+        scheduler.scheduleWithFixedDelay(this::syncChanges, 0, pollIntervalMs, TimeUnit.MILLISECONDS);
+        log.info("Catalog change polling started every {} ms.", pollIntervalMs);
+    }
+
+    /**
+     * Schedules an incremental sync unless one is already pending.
+     */
+    private void scheduleSync() {
+        if (syncPending.compareAndSet(false, true)) {
+            scheduler.schedule(() -> {
+                syncPending.set(false);
+                syncChanges();
+            }, debounceMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Runs an incremental sync on the scheduler thread, logging its failure.
+     *
+     * <p>The sync blocks the scheduler, so changes arriving meanwhile are
+     * coalesced into the next debounced sync and polls never overlap. A
+     * failure must not escape to the scheduler, which would cancel the
+     * polling for good.
+     */
+    private void syncChanges() {
+        try {
+            cacheController.syncChangesBlocking();
+        } catch (RuntimeException e) {
+            log.error("Incremental sync after a catalog change failed.", e);
+        }
+    }
+
+    /**
+     * Handles change stream failures by falling back to polling.
+     *
+     * @param throwable The change stream failure
+     */
+    private void onError(Throwable throwable) {
+        log.error("Catalog change stream failed, falling back to polling.", throwable);
+        startPolling();
+    }
+}
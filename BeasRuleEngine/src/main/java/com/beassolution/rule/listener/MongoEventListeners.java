@@ -1,11 +1,19 @@
 package com.beassolution.rule.listener;
 
 import com.beassolution.rule.crypto.Cryptography;
+import com.beassolution.rule.model.CatalogTombstone;
+import com.beassolution.rule.model.CatalogType;
 import com.beassolution.rule.model.base.BaseModel;
+import com.beassolution.rule.repository.CatalogTombstoneRepository;
 import com.beassolution.rule.service.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.mapping.event.*;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Component;
 
 import java.io.UnsupportedEncodingException;
@@ -13,8 +21,10 @@ import java.security.InvalidAlgorithmParameterException;
 import java.security.InvalidKeyException;
 import java.util.Calendar;
 import java.util.Date;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * MongoDB event listener for automatic field management and encryption.
@@ -29,6 +39,7 @@ import java.util.UUID;
  *   <li>Audit field population</li>
  *   <li>Field encryption</li>
  *   <li>User tracking</li>
+ *   <li>Tombstones for deleted catalog entities</li>
  * </ul>
  * 
  * @author Beas Solution Team
@@ -50,6 +61,23 @@ public class MongoEventListeners extends AbstractMongoEventListener<BaseModel> {
      */
     private final UserService userService;
 
+    /**
+     * Repository for deletion tombstones, resolved lazily because the
+     * repository itself depends on the template this listener is registered on.
+     */
+    private final ObjectProvider<CatalogTombstoneRepository> tombstoneRepository;
+
+    /**
+     * Template used to read the container of a catalog entity before it is
+     * deleted, resolved lazily for the same reason.
+     */
+    private final ObjectProvider<MongoTemplate> mongoTemplate;
+
+    /**
+     * Container names of catalog entities being deleted, keyed by entity ID.
+     */
+    private final Map<UUID, String> deletedContainers = new ConcurrentHashMap<>();
+
     /**
      * Handles before save events.
      * 
@@ -106,20 +134,50 @@ public class MongoEventListeners extends AbstractMongoEventListener<BaseModel> {
     /**
      * Handles before delete events.
      * 
+     * <p>Deleting a catalog entity by ID first reads its container name,
+     * which the delete query does not carry, for the tombstone.
+     * 
      * @param event The before delete event
      */
     @Override
     public void onBeforeDelete(BeforeDeleteEvent<BaseModel> event) {
+        CatalogType.of(event.getType()).ifPresent(catalogType -> {
+            if (event.getSource().get("_id") instanceof UUID entityId) {
+                Query query = Query.query(Criteria.where("_id").is(entityId));
+                query.fields().include("containerName");
+                Document entity = mongoTemplate.getObject().findOne(query, Document.class, event.getCollectionName());
+                if (entity != null && entity.getString("containerName") != null) {
+                    deletedContainers.put(entityId, entity.getString("containerName"));
+                }
+            }
+        });
         super.onBeforeDelete(event);
     }
 
     /**
      * Handles after delete events.
      * 
+     * <p>Deleting a rule, function library or helper records a
+     * {@link CatalogTombstone} for the container of the entity so incremental
+     * synchronization can drop the entity from the engine.
+     * 
      * @param event The after delete event
      */
     @Override
     public void onAfterDelete(AfterDeleteEvent<BaseModel> event) {
+        CatalogType.of(event.getType()).ifPresent(catalogType -> {
+            Object id = event.getSource().get("_id");
+            if (id instanceof UUID entityId) {
+                CatalogTombstone tombstone = new CatalogTombstone();
+                tombstone.setEntityId(entityId);
+                tombstone.setCatalogType(catalogType);
+                tombstone.setContainerName(deletedContainers.remove(entityId));
+                tombstoneRepository.getObject().save(tombstone);
+                log.info("Tombstone recorded for {} {}", catalogType, entityId);
+            } else {
+                log.warn("Tombstone skipped for {}, unsupported delete query: {}", catalogType, event.getSource());
+            }
+        });
         super.onAfterDelete(event);
     }
 
@@ -0,0 +1,89 @@
+package com.beassolution.rule.listener;
+
+import com.beassolution.rule.components.CacheController;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listener that synchronizes the catalog as soon as the node starts.
+ *
+ * <p>Without it a fresh node answers every evaluation with "Rule not found"
+ * until someone calls the sync endpoint. Once the application is ready, a
+ * full synchronization runs on a dedicated thread; it compiles on the
+ * bounded compilation pool, restores the persisted catalog if one exists and
+ * warms up the rules before the snapshot is published. A failed attempt,
+ * for example while the database is still unreachable, is retried after
+ * {@code rule.sync.startup.retry-interval-ms}.
+ *
+ * <p>The node reports itself not ready until the snapshot is published;
+ * see {@link com.beassolution.rule.engine.snapshot.SnapshotHealthIndicator}.
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Component
+@ConditionalOnProperty(prefix = "rule.sync.startup", name = "enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class StartupSyncListener {
+
+    /**
+     * Controller running the synchronization.
+     */
+    private final CacheController cacheController;
+
+    /**
+     * Thread running the startup synchronization and its retries.
+     */
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "startup-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * Delay between failed startup synchronization attempts.
+     */
+    @Value("${rule.sync.startup.retry-interval-ms:10000}")
+    private long retryIntervalMs;
+
+    /**
+     * Starts the startup synchronization once the application is ready.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        log.info("Startup sync started.");
+        scheduler.execute(this::attempt);
+    }
+
+    /**
+     * Stops pending retries.
+     */
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Runs a synchronization attempt and schedules a retry if it failed.
+     */
+    private void attempt() {
+        if (cacheController.syncInitial()) {
+            log.info("Startup sync completed, the node is ready.");
+            return;
+        }
+        log.warn("Startup sync failed, retrying in {} ms.", retryIntervalMs);
+        scheduler.schedule(this::attempt, retryIntervalMs, TimeUnit.MILLISECONDS);
+    }
+}
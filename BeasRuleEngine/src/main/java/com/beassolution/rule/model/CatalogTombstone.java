@@ -0,0 +1,44 @@
+package com.beassolution.rule.model;
+
+import com.beassolution.rule.model.base.BaseModel;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Marker recording the deletion of a catalog entity.
+ *
+ * <p>Tombstones are written whenever a rule, function library or helper is
+ * deleted. Incremental synchronization reads the tombstones created since its
+ * last watermark to remove the deleted entries from the engine without
+ * reloading the whole catalog. The audit fields of {@link BaseModel} carry
+ * the deletion time; the container name scopes the tombstone to the nodes
+ * serving the container of the deleted entity.
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@EqualsAndHashCode(callSuper = true)
+@Data
+@Document
+public class CatalogTombstone extends BaseModel implements Serializable {
+
+    /**
+     * Identifier of the deleted entity.
+     */
+    private UUID entityId;
+
+    /**
+     * Type of the deleted entity.
+     */
+    private CatalogType catalogType;
+
+    /**
+     * Container name of the deleted entity.
+     */
+    private String containerName;
+}
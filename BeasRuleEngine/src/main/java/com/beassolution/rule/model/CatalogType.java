@@ -0,0 +1,65 @@
+package com.beassolution.rule.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Arrays;
+import java.util.Optional;
+
+/**
+ * Types of catalog entities that are compiled into the rule engine.
+ *
+ * <p>Each type is bound to its domain class and the MongoDB collection
+ * the class is stored in, so change notifications and tombstones can be
+ * mapped back to the part of the engine they affect.
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@Getter
+@RequiredArgsConstructor
+public enum CatalogType {
+
+    /**
+     * Helper JAR definitions.
+     */
+    HELPER(RuleHelper.class, "ruleHelper"),
+
+    /**
+     * Function library definitions.
+     */
+    FUNCTION(FunctionLibrary.class, "functionLibrary"),
+
+    /**
+     * Rule definitions.
+     */
+    RULE(RuleLibrary.class, "ruleLibrary"),
+
+    /**
+     * Rule set definitions.
+     */
+    RULE_SET(RuleSet.class, "ruleSet");
+
+    /**
+     * Domain class of the catalog entity.
+     */
+    private final Class<?> domainClass;
+
+    /**
+     * MongoDB collection the entity is stored in.
+     */
+    private final String collectionName;
+
+    /**
+     * Resolves the catalog type of a domain class.
+     *
+     * @param domainClass The domain class
+     * @return Optional containing the catalog type if the class is a catalog entity
+     */
+    public static Optional<CatalogType> of(Class<?> domainClass) {
+        return Arrays.stream(values())
+                .filter(type -> type.domainClass.equals(domainClass))
+                .findFirst();
+    }
+}
@@ -0,0 +1,33 @@
+package com.beassolution.rule.model;
+
+/**
+ * Concurrency models of the classes of a rule helper.
+ *
+ * <p>The model decides how evaluations running at the same time share the
+ * instances of a helper's classes. Helper classes that keep state between
+ * calls, such as ones wrapping a {@code SimpleDateFormat} or a parser, should
+ * be thread-confined or pooled rather than made {@code synchronized}.
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+public enum HelperConcurrency {
+
+    /**
+     * One instance per class, shared by all evaluations. The classes must be
+     * thread-safe.
+     */
+    SHARED,
+
+    /**
+     * One instance per class and evaluation thread.
+     */
+    THREAD_CONFINED,
+
+    /**
+     * Instances borrowed from a bounded pool per class for the duration of
+     * an evaluation.
+     */
+    POOLED
+}
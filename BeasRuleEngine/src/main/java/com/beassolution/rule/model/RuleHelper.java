@@ -18,7 +18,9 @@ import java.io.Serializable;
  * <ul>
  *   <li>Helper name and description</li>
  *   <li>Package URL for JAR file location</li>
+ *   <li>Optional checksum of the JAR file</li>
  *   <li>Package path for class scanning</li>
+ *   <li>Concurrency model of the helper classes</li>
  *   <li>Container name for organization</li>
  * </ul>
  * 
@@ -54,6 +56,15 @@ public class RuleHelper extends BaseModel implements Serializable {
      * the helper classes. The URL can be a file://, http://, or https:// URL.
      */
     private String packageUrl;
+
+    /**
+     * Expected SHA-256 checksum of the JAR file, hex encoded.
+     * 
+     * <p>This optional field is verified against every download of the JAR.
+     * When it is set and a JAR with this checksum is already cached locally,
+     * the JAR is not downloaded at all.
+     */
+    private String packageChecksum;
     
     /**
      * Package path for scanning helper classes.
@@ -63,6 +74,20 @@ public class RuleHelper extends BaseModel implements Serializable {
      */
     private String packagePath;
     
+    /**
+     * Concurrency model of the helper classes.
+     * 
+     * <p>Defaults to {@link HelperConcurrency#SHARED} when not set.
+     */
+    private HelperConcurrency concurrency;
+    
+    /**
+     * Maximum number of instances per class of a pooled helper.
+     * 
+     * <p>When not set, {@code rule.helper.pool.default-size} applies.
+     */
+    private Integer poolSize;
+    
     /**
      * Container name for organizing rule helpers.
      * 
@@ -7,6 +7,7 @@ import org.springframework.data.mongodb.core.mapping.Document;
 
 import java.io.Serializable;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Entity representing a rule library in the Beas Rule Engine.
@@ -22,6 +23,9 @@ import java.util.List;
  *   <li>References to helper classes</li>
  *   <li>References to function libraries</li>
  *   <li>Container name for organization</li>
+ *   <li>Deterministic flag enabling result caching</li>
+ *   <li>Execution timeout</li>
+ *   <li>Warmup payloads</li>
  * </ul>
  * 
  * @author Beas Solution Team
@@ -81,4 +85,43 @@ public class RuleLibrary extends BaseModel implements Serializable {
      */
     private String containerName;
 
+    /**
+     * Whether the rule is a pure function of its input.
+     * 
+     * <p>Results of deterministic rules are cached per payload and
+     * parameters until the rule is recompiled. Only mark rules whose result
+     * depends on nothing but their input, not on time, randomness or
+     * helper state.
+     */
+    private boolean deterministic;
+
+    /**
+     * Execution timeout of the rule in milliseconds.
+     * 
+     * <p>An evaluation of the rule is aborted once it runs longer than this,
+     * or than the deadline sent by the caller if that is earlier. When not
+     * set, {@code rule.evaluation.default-timeout-ms} applies.
+     */
+    private Long timeoutMillis;
+
+    /**
+     * Sample payloads the rule is warmed up with before it goes live.
+     * 
+     * <p>Whenever the rule is compiled, each payload is evaluated
+     * {@code rule.warmup.iterations} times, bound as "payload", before the
+     * snapshot containing the rule is published. Results are discarded, but
+     * helpers are called as in a real evaluation.
+     */
+    private List<Object> warmupPayloads;
+
+    /**
+     * Types of the payload fields the rule reads, keyed by field name.
+     * 
+     * <p>When set, the payload is deserialized into a class generated from
+     * the schema instead of a map, and the rule is compiled against that
+     * class. Supported types are {@code string}, {@code int}, {@code long},
+     * {@code double}, {@code boolean}, {@code decimal}, {@code date},
+     * {@code datetime}, {@code list}, {@code map} and {@code object}.
+     */
+    private Map<String, String> inputSchema;
 }
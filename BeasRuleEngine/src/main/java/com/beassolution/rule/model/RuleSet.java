@@ -0,0 +1,75 @@
+package com.beassolution.rule.model;
+
+import com.beassolution.rule.model.base.BaseModel;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Entity representing a named group of rules in the Beas Rule Engine.
+ * 
+ * <p>This class groups rule libraries that are evaluated together against
+ * the same payload, such as all KYC checks. The payload is bound once and
+ * the rules of the set are evaluated in parallel according to the
+ * configured strategy.
+ * 
+ * <p>Key components include:
+ * <ul>
+ *   <li>Rule set name and description</li>
+ *   <li>Ordered list of rule names</li>
+ *   <li>Evaluation strategy</li>
+ *   <li>Container name for organization</li>
+ * </ul>
+ * 
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@EqualsAndHashCode(callSuper = true)
+@Data
+@Document
+public class RuleSet extends BaseModel implements Serializable {
+
+    /**
+     * Name of the rule set.
+     * 
+     * <p>This field contains a unique identifier for the rule set
+     * that is used for lookup and evaluation purposes.
+     */
+    private String name;
+
+    /**
+     * Description of the rule set.
+     * 
+     * <p>This field provides a human-readable description of what the
+     * rule set checks and its intended purpose.
+     */
+    private String description;
+
+    /**
+     * Names of the rule libraries in the set.
+     * 
+     * <p>The order of the list is the order in which matches are decided
+     * by the {@link RuleSetStrategy#FIRST_MATCH} and
+     * {@link RuleSetStrategy#ALL_MATCH} strategies.
+     */
+    private List<String> rules;
+
+    /**
+     * Strategy used to evaluate the rules of the set.
+     * 
+     * <p>Defaults to {@link RuleSetStrategy#COLLECT_ALL}.
+     */
+    private RuleSetStrategy strategy = RuleSetStrategy.COLLECT_ALL;
+
+    /**
+     * Container name for organizing rule sets.
+     * 
+     * <p>This field is used to group related rule sets together
+     * and can be used for filtering and organization purposes.
+     */
+    private String containerName;
+}
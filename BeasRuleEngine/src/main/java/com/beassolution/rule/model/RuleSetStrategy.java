@@ -0,0 +1,31 @@
+package com.beassolution.rule.model;
+
+/**
+ * Strategies for evaluating the rules of a rule set.
+ *
+ * <p>A rule matches when it returns {@code true}. The rules of a set are
+ * evaluated in parallel, but matching is decided in declaration order so the
+ * outcome does not depend on thread scheduling. Once the outcome is decided,
+ * rules that have not started yet are skipped.
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+public enum RuleSetStrategy {
+
+    /**
+     * Stops at the first rule, in declaration order, that matches.
+     */
+    FIRST_MATCH,
+
+    /**
+     * Requires every rule to match and stops at the first one that does not.
+     */
+    ALL_MATCH,
+
+    /**
+     * Evaluates every rule and collects all results.
+     */
+    COLLECT_ALL
+}
@@ -0,0 +1,12 @@
+package com.beassolution.rule.repository;
+
+import com.beassolution.rule.model.CatalogTombstone;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+public interface CatalogTombstoneRepository extends MongoRepository<CatalogTombstone, UUID> {
+    List<CatalogTombstone> findByContainerNameAndLastModifiedDateAfter(String containerName, Date lastModifiedDate);
+}
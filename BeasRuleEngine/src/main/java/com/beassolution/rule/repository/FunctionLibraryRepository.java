@@ -3,9 +3,12 @@ package com.beassolution.rule.repository;
 import com.beassolution.rule.model.FunctionLibrary;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.util.Date;
 import java.util.List;
 import java.util.UUID;
 
 public interface FunctionLibraryRepository extends MongoRepository<FunctionLibrary, UUID> {
     List<FunctionLibrary> findByContainerName(String containerName);
+
+    List<FunctionLibrary> findByContainerNameAndLastModifiedDateAfter(String containerName, Date lastModifiedDate);
 }
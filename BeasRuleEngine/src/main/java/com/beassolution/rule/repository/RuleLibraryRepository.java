@@ -3,9 +3,15 @@ package com.beassolution.rule.repository;
 import com.beassolution.rule.model.RuleLibrary;
 import org.springframework.data.mongodb.repository.MongoRepository;
 
+import java.util.Date;
 import java.util.List;
 import java.util.UUID;
+import java.util.stream.Stream;
 
 public interface RuleLibraryRepository extends MongoRepository<RuleLibrary, UUID> {
     List<RuleLibrary> findByContainerName(String containerName);
+
+    Stream<RuleLibrary> streamByContainerName(String containerName);
+
+    List<RuleLibrary> findByContainerNameAndLastModifiedDateAfter(String containerName, Date lastModifiedDate);
 }
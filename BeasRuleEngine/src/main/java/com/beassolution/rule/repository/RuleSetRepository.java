@@ -0,0 +1,14 @@
+package com.beassolution.rule.repository;
+
+import com.beassolution.rule.model.RuleSet;
+import org.springframework.data.mongodb.repository.MongoRepository;
+
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+public interface RuleSetRepository extends MongoRepository<RuleSet, UUID> {
+    List<RuleSet> findByContainerName(String containerName);
+
+    List<RuleSet> findByContainerNameAndLastModifiedDateAfter(String containerName, Date lastModifiedDate);
+}
@@ -0,0 +1,18 @@
+package com.beassolution.rule.service;
+
+import com.beassolution.rule.model.RuleSet;
+import com.beassolution.rule.repository.RuleSetRepository;
+import com.beassolution.rule.service.base.BaseService;
+import cz.jirutka.rsql.parser.RSQLParser;
+import org.modelmapper.ModelMapper;
+import org.springframework.data.mongodb.core.MongoTemplate;
+
+public abstract class RuleSetService extends BaseService<RuleSet> {
+
+    public RuleSetService(RSQLParser rsqlParser,
+                          RuleSetRepository repository,
+                          ModelMapper modelMapper,
+                          MongoTemplate mongoTemplate) {
+        super(rsqlParser, repository, modelMapper, mongoTemplate, RuleSet.class);
+    }
+}
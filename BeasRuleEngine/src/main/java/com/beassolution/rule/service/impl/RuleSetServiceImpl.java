@@ -0,0 +1,16 @@
+package com.beassolution.rule.service.impl;
+
+import com.beassolution.rule.repository.RuleSetRepository;
+import com.beassolution.rule.service.RuleSetService;
+import cz.jirutka.rsql.parser.RSQLParser;
+import org.modelmapper.ModelMapper;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Service;
+
+@Service
+public class RuleSetServiceImpl extends RuleSetService {
+
+    public RuleSetServiceImpl(RSQLParser rsqlParser, RuleSetRepository repository, MongoTemplate mongoTemplate, ModelMapper modelMapper) {
+        super(rsqlParser, repository, modelMapper, mongoTemplate);
+    }
+}
@@ -0,0 +1,163 @@
+package com.beassolution.rule.components.impl;
+
+import com.beassolution.rule.engine.RuleEngineManager;
+import com.beassolution.rule.engine.persistence.CatalogSnapshotStore;
+import com.beassolution.rule.engine.snapshot.EngineSnapshot;
+import com.beassolution.rule.engine.snapshot.EngineSnapshotHolder;
+import com.beassolution.rule.exception.OperationException;
+import com.beassolution.rule.repository.CatalogTombstoneRepository;
+import com.beassolution.rule.repository.FunctionLibraryRepository;
+import com.beassolution.rule.repository.RuleHelperRepository;
+import com.beassolution.rule.repository.RuleLibraryRepository;
+import com.beassolution.rule.repository.RuleSetRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the CacheControllerImpl class.
+ *
+ * <p>This test class covers the recovery of the staging caches:
+ * <ul>
+ *   <li>Full synchronization of empty catalogs</li>
+ *   <li>Full synchronization after a failed full synchronization</li>
+ *   <li>Full synchronization after a failed delta synchronization</li>
+ * </ul>
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@ExtendWith(MockitoExtension.class)
+class CacheControllerImplTest {
+
+    @Mock
+    private RuleHelperRepository ruleHelperRepository;
+
+    @Mock
+    private FunctionLibraryRepository functionLibraryRepository;
+
+    @Mock
+    private RuleLibraryRepository ruleLibraryRepository;
+
+    @Mock
+    private RuleEngineManager ruleEngineManager;
+
+    @Mock
+    private RuleSetRepository ruleSetRepository;
+
+    @Mock
+    private CatalogTombstoneRepository catalogTombstoneRepository;
+
+    @Mock
+    private EngineSnapshotHolder snapshotHolder;
+
+    @Mock
+    private CatalogSnapshotStore catalogSnapshotStore;
+
+    @InjectMocks
+    private CacheControllerImpl cacheController;
+
+    private EngineSnapshot snapshot;
+
+    /**
+     * Publishes a synchronized snapshot before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        snapshot = new EngineSnapshot(1L, new Date(), Map.of(), Map.of(), Map.of(), Map.of());
+        when(snapshotHolder.current()).thenReturn(snapshot);
+    }
+
+    /**
+     * Tests that a full sync restages catalogs without any entry.
+     *
+     * <p>This test verifies that deleting the last helper, function or rule
+     * set of a container clears its staging cache.
+     */
+    @Test
+    @DisplayName("Should restage empty catalogs on a full sync")
+    void testFullSyncRestagesEmptyCatalogs() {
+        // Given: A container without helpers, functions and rule sets
+        when(ruleEngineManager.publishSnapshot(any(), any())).thenReturn(snapshot);
+
+        // When: Run a full sync
+        cacheController.syncCache();
+
+        // Then: Every staging cache is rebuilt from the empty lists
+        verify(ruleEngineManager).cacheHelpers(eq(List.of()), any(), any());
+        verify(ruleEngineManager).cacheFunctions(List.of());
+        verify(ruleEngineManager).cacheRuleSets(List.of());
+    }
+
+
+    /**
+     * Tests that a failed full sync is followed by a full sync.
+     *
+     * <p>This test verifies that a delta is never applied on top of staging
+     * caches that were cleared and only partly rebuilt.
+     */
+    @Test
+    @DisplayName("Should run a full sync after a failed full sync")
+    void testFullSyncAfterFailedFullSync() {
+        // Given: A rule compilation failing once
+        when(ruleEngineManager.cacheRules(any(), any(), any()))
+                .thenThrow(new OperationException("Rule compilation failed"))
+                .thenReturn(0);
+        when(ruleEngineManager.publishSnapshot(any(), any())).thenReturn(snapshot);
+
+        // When: The full sync fails and the next delta sync runs
+        assertThrows(OperationException.class, () -> cacheController.syncCache());
+        cacheController.syncChanges();
+
+        // Then: The delta sync ran as a full sync and published
+        verify(ruleEngineManager, times(2)).cacheRules(any(), any(), any());
+        verify(ruleEngineManager, never()).applyChanges(anyList(), anyList(), anyList(), anyList(), anyList(), any());
+        verify(ruleEngineManager, times(1)).publishSnapshot(any(), any());
+
+        // When: Another delta sync runs
+        cacheController.syncChanges();
+
+        // Then: Staging is complete again, so only the changes are applied
+        verify(ruleEngineManager, times(1)).applyChanges(anyList(), anyList(), anyList(), anyList(), anyList(), any());
+        verify(ruleEngineManager, times(2)).cacheRules(any(), any(), any());
+    }
+
+    /**
+     * Tests that a failed delta sync is followed by a full sync.
+     *
+     * <p>This test verifies that changes applied to staging but never
+     * published are rebuilt instead of built upon.
+     */
+    @Test
+    @DisplayName("Should run a full sync after a failed delta sync")
+    void testFullSyncAfterFailedDeltaSync() {
+        // Given: Applying changes fails once
+        when(ruleEngineManager.applyChanges(anyList(), anyList(), anyList(), anyList(), anyList(), any()))
+                .thenThrow(new OperationException("Rule compilation failed"));
+        when(ruleEngineManager.publishSnapshot(any(), any())).thenReturn(snapshot);
+
+        // When: The delta sync fails and the next delta sync runs
+        assertThrows(OperationException.class, () -> cacheController.syncChanges());
+        cacheController.syncChanges();
+
+        // Then: The second delta sync ran as a full sync
+        verify(ruleEngineManager, times(1)).applyChanges(anyList(), anyList(), anyList(), anyList(), anyList(), any());
+        verify(ruleEngineManager, times(1)).cacheRules(any(), any(), any());
+        verify(ruleEngineManager, times(1)).publishSnapshot(any(), any());
+    }
+}
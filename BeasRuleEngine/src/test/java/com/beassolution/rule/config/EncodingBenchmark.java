@@ -0,0 +1,140 @@
+package com.beassolution.rule.config;
+
+import com.beassolution.rule.dto.request.RuleEvaluateRequest;
+import com.beassolution.rule.dto.response.RuleEvaluateResponse;
+import com.beassolution.rule.dto.response.base.BaseResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark of the JSON and Smile encodings of evaluation exchanges.
+ *
+ * <p>Every iteration runs one evaluation exchange as both sides see it: the
+ * caller encodes the request, the engine decodes it and encodes the
+ * response, and the caller decodes the response. Both formats use the
+ * mappers of {@link ObjectMapperConfig}; the payload is an order with
+ * {@value #ITEMS} line items. Reported are the CPU time of the exchange and
+ * the request and response sizes.
+ *
+ * <p>Not part of the regular build; run with:
+ * <pre>
+ *   mvn test -Dtest=EncodingBenchmark -Dbenchmark=true
+ * </pre>
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class EncodingBenchmark {
+
+    private static final int ITEMS = 200;
+    private static final int WARMUP_ITERATIONS = 5_000;
+    private static final int ITERATIONS = 20_000;
+
+    private RuleEvaluateRequest request;
+    private RuleEvaluateResponse response;
+
+    /**
+     * Builds the exchanged request and response.
+     */
+    @BeforeEach
+    void setUp() {
+        List<Map<String, Object>> items = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("sku", "SKU-" + (100_000 + i));
+            item.put("description", "Line item number " + i);
+            item.put("quantity", i % 7 + 1);
+            item.put("unitPrice", 9.99 + i);
+            item.put("discounted", i % 3 == 0);
+            item.put("tags", List.of("catalog", "category-" + i % 12));
+            items.add(item);
+        }
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("orderId", "ORD-2024-000123");
+        payload.put("customer", Map.of("id", 4711, "segment", "gold", "country", "DE"));
+        payload.put("items", items);
+
+        request = new RuleEvaluateRequest();
+        request.setRuleName("pricing");
+        request.setParameters(Map.of("currency", "EUR", "channel", "web"));
+        request.setPayload(payload);
+
+        response = new RuleEvaluateResponse();
+        response.setResponse(Map.of("approved", true, "total", 24_311.5, "items", items));
+        response.setStatus(new BaseResponse("OK", "Validation Executed"));
+    }
+
+    /**
+     * Measures the default JSON encoding.
+     */
+    @Test
+    @DisplayName("JSON encoding of evaluation exchanges")
+    void json() throws Exception {
+        run("json", new ObjectMapperConfig().objectMapper());
+    }
+
+    /**
+     * Measures the Smile binary encoding.
+     */
+    @Test
+    @DisplayName("Smile encoding of evaluation exchanges")
+    void smile() throws Exception {
+        run("smile", ObjectMapperConfig.smileMapper());
+    }
+
+    /**
+     * Runs the exchanges and reports CPU time per exchange and body sizes.
+     *
+     * @param format Name of the format
+     * @param mapper Mapper of the format
+     * @throws Exception if encoding or decoding fails
+     */
+    private void run(String format, ObjectMapper mapper) throws Exception {
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            exchange(mapper);
+        }
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        long cpuStart = threads.getCurrentThreadCpuTime();
+        int bytes = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            bytes = exchange(mapper);
+        }
+        long cpu = threads.getCurrentThreadCpuTime() - cpuStart;
+
+        System.out.printf("%-6s cpu=%7.1f us/exchange  request=%7d bytes  response=%7d bytes  total=%7d bytes%n",
+                format, cpu / 1e3 / ITERATIONS,
+                mapper.writeValueAsBytes(request).length, mapper.writeValueAsBytes(response).length, bytes);
+    }
+
+    /**
+     * Runs one exchange.
+     *
+     * @param mapper Mapper of the format
+     * @return Bytes sent in both directions
+     * @throws Exception if encoding or decoding fails
+     */
+    private int exchange(ObjectMapper mapper) throws Exception {
+        byte[] requestBody = mapper.writeValueAsBytes(request);
+        RuleEvaluateRequest received = mapper.readValue(requestBody, RuleEvaluateRequest.class);
+        assertEquals(request.getRuleName(), received.getRuleName());
+
+        byte[] responseBody = mapper.writeValueAsBytes(response);
+        RuleEvaluateResponse decoded = mapper.readValue(responseBody, RuleEvaluateResponse.class);
+        assertNotNull(decoded.getResponse());
+        return requestBody.length + responseBody.length;
+    }
+}
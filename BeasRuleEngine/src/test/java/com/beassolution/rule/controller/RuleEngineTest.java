@@ -1,31 +1,49 @@
 package com.beassolution.rule.controller;
 
 import com.beassolution.rule.components.CacheController;
+import com.beassolution.rule.config.EvaluationConfig;
+import com.beassolution.rule.config.ObjectMapperConfig;
 import com.beassolution.rule.dto.request.RuleEvaluateRequest;
 import com.beassolution.rule.dto.response.RuleEvaluateResponse;
 import com.beassolution.rule.dto.response.base.BaseResponse;
-import com.beassolution.rule.engine.cache.RuleCache;
-import com.beassolution.rule.engine.cache.VariableCache;
+import com.beassolution.rule.engine.RuleEvaluator;
+import com.beassolution.rule.engine.TieredRuleExecutor;
+import com.beassolution.rule.engine.cache.ResultCache;
+import com.beassolution.rule.engine.payload.LazyPayloadReader;
+import com.beassolution.rule.engine.snapshot.CompiledRule;
+import com.beassolution.rule.engine.snapshot.EngineSnapshot;
+import com.beassolution.rule.engine.snapshot.EngineSnapshotHolder;
 import com.beassolution.rule.exception.OperationException;
+import com.beassolution.rule.repository.CatalogTombstoneRepository;
+import com.beassolution.rule.repository.FunctionLibraryRepository;
+import com.beassolution.rule.repository.RuleHelperRepository;
+import com.beassolution.rule.repository.RuleLibraryRepository;
+import com.beassolution.rule.repository.RuleSetRepository;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mvel2.MVEL;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 
+import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.*;
@@ -41,6 +59,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * <ul>
  *   <li>Cache synchronization endpoint</li>
  *   <li>Rule evaluation endpoint</li>
+ *   <li>Batch evaluation endpoint</li>
+ *   <li>Stream evaluation endpoint</li>
  *   <li>Success scenarios</li>
  *   <li>Error handling scenarios</li>
  *   <li>Edge cases and validation</li>
@@ -52,6 +72,20 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  */
 
 @WebMvcTest(RuleEngine.class)
+@AutoConfigureMockMvc(addFilters = false)
+@TestPropertySource(properties = {
+        "APP_NAME=beasre-test",
+        "KEYCLOAK_URL=http://localhost:8080/auth",
+        "KEYCLOAK_REALM=test-realm",
+        "SERVER_PORT=0",
+        "SERVER_CONTEXT_PATH=/",
+        "MAX_FILE_SIZE=10MB",
+        "MAX_REQUEST_SIZE=10MB",
+        "RULE_CONTAINER_NAME=test-general"
+})
+@MockBean({RuleHelperRepository.class, FunctionLibraryRepository.class, RuleLibraryRepository.class,
+        RuleSetRepository.class, CatalogTombstoneRepository.class})
+@Import({RuleEvaluator.class, TieredRuleExecutor.class, ResultCache.class, EvaluationConfig.class, LazyPayloadReader.class})
 class RuleEngineTest {
 
     @Autowired
@@ -61,10 +95,10 @@ class RuleEngineTest {
     private CacheController cacheController;
 
     @MockBean
-    private RuleCache ruleCache;
+    private EngineSnapshotHolder snapshotHolder;
 
-    @MockBean
-    private VariableCache variableCache;
+    @MockBean(name = "mongoMappingContext")
+    private MongoMappingContext mongoMappingContext;
 
     private RuleEvaluateRequest validRequest;
     private Serializable compiledRule;
@@ -121,9 +155,8 @@ class RuleEngineTest {
     @Test
     @DisplayName("Should successfully evaluate rule with parameters")
     void testEvaluateRuleWithParameters() throws Exception {
-        // Given: Rule cache returns compiled rule
-        when(ruleCache.get("testRule")).thenReturn(Optional.of(compiledRule));
-        when(variableCache.get("testRule")).thenReturn(Optional.empty());
+        // Given: Snapshot contains compiled rule
+        givenPublishedRule("testRule", compiledRule, Map.of());
 
         // When & Then: Perform POST request to evaluate endpoint
         mockMvc.perform(post("/rule-engine/evaluate")
@@ -141,12 +174,11 @@ class RuleEngineTest {
                     """))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.response").value("testPayload processed"))
-                .andExpect(jsonPath("$.status.message").value("OK"))
-                .andExpect(jsonPath("$.status.status").value("Validation Executed"));
+                .andExpect(jsonPath("$.status.status").value("OK"))
+                .andExpect(jsonPath("$.status.message").value("Validation Executed"));
 
-        // Verify cache interactions
-        verify(ruleCache, times(1)).get("testRule");
-        verify(variableCache, times(1)).get("testRule");
+        // Verify snapshot interactions
+        verify(snapshotHolder, times(1)).acquire();
     }
 
     /**
@@ -158,9 +190,8 @@ class RuleEngineTest {
     @Test
     @DisplayName("Should successfully evaluate rule without parameters")
     void testEvaluateRuleWithoutParameters() throws Exception {
-        // Given: Rule cache returns compiled rule, no variables
-        when(ruleCache.get("testRule")).thenReturn(Optional.of(compiledRule));
-        when(variableCache.get("testRule")).thenReturn(Optional.empty());
+        // Given: Snapshot contains compiled rule, no variables
+        givenPublishedRule("testRule", compiledRule, Map.of());
 
         // When & Then: Perform POST request without parameters
         mockMvc.perform(post("/rule-engine/evaluate")
@@ -174,9 +205,37 @@ class RuleEngineTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.response").value("testPayload processed"));
 
-        // Verify cache interactions
-        verify(ruleCache, times(1)).get("testRule");
-        verify(variableCache, times(1)).get("testRule");
+        // Verify snapshot interactions
+        verify(snapshotHolder, times(1)).acquire();
+    }
+
+    /**
+     * Tests rule evaluation in the Smile binary format.
+     * 
+     * <p>This test verifies that requests and responses are encoded in
+     * Smile when the client sends and accepts it.
+     */
+    @Test
+    @DisplayName("Should evaluate rule in the Smile binary format")
+    void testEvaluateRuleWithSmile() throws Exception {
+        // Given: Snapshot contains compiled rule and a Smile encoded request
+        givenPublishedRule("testRule", compiledRule, Map.of());
+        ObjectMapper smileMapper = ObjectMapperConfig.smileMapper();
+        MediaType smile = MediaType.parseMediaType("application/x-jackson-smile");
+
+        // When: Perform POST request in Smile
+        byte[] body = mockMvc.perform(post("/rule-engine/evaluate")
+                .contentType(smile)
+                .accept(smile)
+                .content(smileMapper.writeValueAsBytes(validRequest)))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(smile))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        // Then: The response decodes to the same result as in JSON
+        RuleEvaluateResponse response = smileMapper.readValue(body, RuleEvaluateResponse.class);
+        assertEquals("testPayload processed", response.getResponse());
+        assertEquals("Validation Executed", response.getStatus().getMessage());
     }
 
     /**
@@ -188,12 +247,11 @@ class RuleEngineTest {
     @Test
     @DisplayName("Should evaluate rule with cached variables")
     void testEvaluateRuleWithCachedVariables() throws Exception {
-        // Given: Cached variables are available
+        // Given: Bound variables are available
         Map<String, Object> cachedVars = new HashMap<>();
         cachedVars.put("cachedVar", "cachedValue");
         
-        when(ruleCache.get("testRule")).thenReturn(Optional.of(compiledRule));
-        when(variableCache.get("testRule")).thenReturn(Optional.of(cachedVars));
+        givenPublishedRule("testRule", compiledRule, cachedVars);
 
         // When & Then: Perform POST request
         mockMvc.perform(post("/rule-engine/evaluate")
@@ -207,9 +265,8 @@ class RuleEngineTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.response").value("testPayload processed"));
 
-        // Verify cache interactions
-        verify(ruleCache, times(1)).get("testRule");
-        verify(variableCache, times(1)).get("testRule");
+        // Verify snapshot interactions
+        verify(snapshotHolder, times(1)).acquire();
     }
 
     /**
@@ -221,8 +278,8 @@ class RuleEngineTest {
     @Test
     @DisplayName("Should return error when rule is not found")
     void testEvaluateRuleNotFound() throws Exception {
-        // Given: Rule cache returns empty
-        when(ruleCache.get("nonExistentRule")).thenReturn(Optional.empty());
+        // Given: Snapshot is empty
+        when(snapshotHolder.acquire()).thenReturn(EngineSnapshot.empty());
 
         // When & Then: Perform POST request with non-existent rule
         mockMvc.perform(post("/rule-engine/evaluate")
@@ -233,10 +290,11 @@ class RuleEngineTest {
                         "payload": "testPayload"
                     }
                     """))
-                .andExpect(status().isNotFound());
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.status.errorCode").value(404));
 
-        // Verify cache was checked
-        verify(ruleCache, times(1)).get("nonExistentRule");
+        // Verify snapshot was checked
+        verify(snapshotHolder, times(1)).acquire();
     }
 
     /**
@@ -286,8 +344,7 @@ class RuleEngineTest {
     void testEvaluateComplexMvelExpression() throws Exception {
         // Given: Complex compiled rule
         Serializable complexRule = MVEL.compileExpression("payload.length() > 5 ? 'Long payload' : 'Short payload'");
-        when(ruleCache.get("complexRule")).thenReturn(Optional.of(complexRule));
-        when(variableCache.get("complexRule")).thenReturn(Optional.empty());
+        givenPublishedRule("complexRule", complexRule, Map.of());
 
         // When & Then: Perform POST request with complex rule
         mockMvc.perform(post("/rule-engine/evaluate")
@@ -301,8 +358,8 @@ class RuleEngineTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.response").value("Long payload"));
 
-        // Verify cache interactions
-        verify(ruleCache, times(1)).get("complexRule");
+        // Verify snapshot interactions
+        verify(snapshotHolder, times(1)).acquire();
     }
 
     /**
@@ -316,8 +373,7 @@ class RuleEngineTest {
     void testEvaluateRuleWithNumericOperations() throws Exception {
         // Given: Numeric operation rule
         Serializable numericRule = MVEL.compileExpression("param1 + param2 * 2");
-        when(ruleCache.get("numericRule")).thenReturn(Optional.of(numericRule));
-        when(variableCache.get("numericRule")).thenReturn(Optional.empty());
+        givenPublishedRule("numericRule", numericRule, Map.of());
 
         // When & Then: Perform POST request with numeric parameters
         mockMvc.perform(post("/rule-engine/evaluate")
@@ -334,8 +390,8 @@ class RuleEngineTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.response").value(20));
 
-        // Verify cache interactions
-        verify(ruleCache, times(1)).get("numericRule");
+        // Verify snapshot interactions
+        verify(snapshotHolder, times(1)).acquire();
     }
 
     /**
@@ -349,8 +405,7 @@ class RuleEngineTest {
     void testEvaluateRuleWithBooleanOperations() throws Exception {
         // Given: Boolean operation rule
         Serializable booleanRule = MVEL.compileExpression("param1 == 'value1' && param2 > 40");
-        when(ruleCache.get("booleanRule")).thenReturn(Optional.of(booleanRule));
-        when(variableCache.get("booleanRule")).thenReturn(Optional.empty());
+        givenPublishedRule("booleanRule", booleanRule, Map.of());
 
         // When & Then: Perform POST request with boolean logic
         mockMvc.perform(post("/rule-engine/evaluate")
@@ -367,8 +422,8 @@ class RuleEngineTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.response").value(true));
 
-        // Verify cache interactions
-        verify(ruleCache, times(1)).get("booleanRule");
+        // Verify snapshot interactions
+        verify(snapshotHolder, times(1)).acquire();
     }
 
     /**
@@ -380,10 +435,9 @@ class RuleEngineTest {
     @Test
     @DisplayName("Should evaluate rule with empty payload")
     void testEvaluateRuleWithEmptyPayload() throws Exception {
-        // Given: Rule that handles empty payload
-        Serializable emptyPayloadRule = MVEL.compileExpression("payload == null ? 'No payload' : 'Has payload'");
-        when(ruleCache.get("emptyPayloadRule")).thenReturn(Optional.of(emptyPayloadRule));
-        when(variableCache.get("emptyPayloadRule")).thenReturn(Optional.empty());
+        // Given: Rule that handles empty payload, which is not bound when absent
+        Serializable emptyPayloadRule = MVEL.compileExpression("isdef payload ? 'Has payload' : 'No payload'");
+        givenPublishedRule("emptyPayloadRule", emptyPayloadRule, Map.of());
 
         // When & Then: Perform POST request without payload
         mockMvc.perform(post("/rule-engine/evaluate")
@@ -396,7 +450,119 @@ class RuleEngineTest {
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.response").value("No payload"));
 
-        // Verify cache interactions
-        verify(ruleCache, times(1)).get("emptyPayloadRule");
+        // Verify snapshot interactions
+        verify(snapshotHolder, times(1)).acquire();
+    }
+
+    /**
+     * Tests batch evaluation with a failing item.
+     * 
+     * <p>This test verifies that batch results keep the request order and
+     * that an unknown rule only fails its own item.
+     */
+    @Test
+    @DisplayName("Should evaluate batch in order with per-item errors")
+    void testEvaluateBatchWithPerItemErrors() throws Exception {
+        // Given: Snapshot contains compiled rule
+        givenPublishedRule("testRule", compiledRule, Map.of());
+
+        // When & Then: Perform POST request with a known and an unknown rule
+        mockMvc.perform(post("/rule-engine/evaluate/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                    {
+                        "requests": [
+                            { "ruleName": "testRule", "payload": "first" },
+                            { "ruleName": "nonExistentRule", "payload": "second" },
+                            { "ruleName": "testRule", "payload": "third" }
+                        ]
+                    }
+                    """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.response[0].response").value("first processed"))
+                .andExpect(jsonPath("$.response[1].status.errorCode").value(404))
+                .andExpect(jsonPath("$.response[2].response").value("third processed"));
+
+        // Verify the batch used a single snapshot, retained by each known item, and released every reference
+        verify(snapshotHolder, times(1)).acquire();
+        verify(snapshotHolder, times(2)).retain(any());
+        verify(snapshotHolder, times(3)).release(any());
+    }
+
+    /**
+     * Tests streaming evaluation ending with a malformed record.
+     * 
+     * <p>This test verifies that the records before the malformed one are
+     * answered and that a final line with index -1 reports the parse error.
+     */
+    @Test
+    @DisplayName("Should report a malformed stream record at index -1")
+    void testEvaluateStreamWithMalformedRecord() throws Exception {
+        // Given: Snapshot contains compiled rule
+        givenPublishedRule("testRule", compiledRule, Map.of());
+
+        // When & Then: Stream a valid and a malformed record
+        String body = mockMvc.perform(post("/rule-engine/evaluate/stream/testRule")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content("\"first\"\n{\"broken\"\n"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("first processed"));
+        assertTrue(lines[1].contains("\"index\":-1"));
+        assertTrue(lines[1].contains("Malformed record"));
+    }
+
+    /**
+     * Tests streaming evaluation of a rule whose result cannot be serialized.
+     * 
+     * <p>This test verifies that a failure writing a result surfaces as a
+     * server error instead of being reported as malformed input.
+     */
+    @Test
+    @DisplayName("Should fail the stream when a result cannot be serialized")
+    void testEvaluateStreamWithUnserializableResult() {
+        // Given: A rule returning an object whose serialization fails
+        givenPublishedRule("testRule", MVEL.compileExpression("result"), Map.of("result", new Unserializable()));
+
+        // When & Then: The write failure escapes the endpoint
+        JsonMappingException exception = assertThrows(JsonMappingException.class, () ->
+                mockMvc.perform(post("/rule-engine/evaluate/stream/testRule")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("\"first\"\n")));
+        assertTrue(exception.getMessage().contains("Resource closed"));
+    }
+
+    /**
+     * Publishes a snapshot containing a single compiled rule.
+     *
+     * @param ruleName The rule name
+     * @param expression The compiled expression
+     * @param variables The variables bound to the rule
+     */
+    private void givenPublishedRule(String ruleName, Serializable expression, Map<String, Object> variables) {
+        CompiledRule rule = CompiledRule.builder()
+                .name(ruleName)
+                .expression(expression)
+                .variables(variables)
+                .build();
+        when(snapshotHolder.acquire()).thenReturn(new EngineSnapshot(1L, new java.util.Date(), Map.of(ruleName, rule), Map.of(), Map.of(), Map.of()));
+    }
+
+    /**
+     * Rule result whose serialization fails.
+     */
+    public static class Unserializable {
+
+        /**
+         * Fails like a getter touching a closed resource.
+         *
+         * @return Never returns
+         */
+        public String getValue() {
+            throw new IllegalStateException("Resource closed");
+        }
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,157 @@
+package com.beassolution.rule.engine;
+
+import com.beassolution.rule.config.EvaluationConfig;
+import com.beassolution.rule.dto.request.RuleEvaluateRequest;
+import com.beassolution.rule.engine.cache.ResultCache;
+import com.beassolution.rule.engine.snapshot.CompiledRule;
+import com.beassolution.rule.engine.snapshot.EngineSnapshot;
+import com.beassolution.rule.engine.snapshot.EngineSnapshotHolder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.mvel2.MVEL;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Benchmark of the evaluation threading models with blocking helpers.
+ *
+ * <p>Every request evaluates a rule whose helper blocks for
+ * {@value #HELPER_LATENCY_MILLIS} ms, as a lookup or HTTP call would. The
+ * platform model mirrors the default deployment: 200 request threads (the
+ * Tomcat default) handing off to an evaluation pool sized to the cores. The
+ * virtual model runs requests and evaluations on virtual threads and needs
+ * Java 21.
+ *
+ * <p>Not part of the regular build; run with:
+ * <pre>
+ *   mvn test -Dtest=EvaluationThreadingBenchmark -Dbenchmark=true
+ * </pre>
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class EvaluationThreadingBenchmark {
+
+    private static final int REQUESTS = 2_000;
+    private static final int TOMCAT_THREADS = 200;
+    private static final long HELPER_LATENCY_MILLIS = 20;
+
+    private EngineSnapshotHolder snapshotHolder;
+
+    /**
+     * Publishes a rule calling a blocking helper.
+     */
+    @BeforeEach
+    void setUp() {
+        snapshotHolder = new EngineSnapshotHolder();
+        snapshotHolder.publish(new EngineSnapshot(1L, new Date(), Map.of(
+                "lookup", CompiledRule.builder()
+                        .name("lookup")
+                        .expression(MVEL.compileExpression("directory.lookup(payload)"))
+                        .variables(Map.of("directory", new BlockingDirectory()))
+                        .build()),
+                Map.of(), Map.of(), Map.of()));
+    }
+
+    /**
+     * Measures the default platform thread model.
+     */
+    @Test
+    @DisplayName("Platform threads with blocking helpers")
+    void platformThreads() throws Exception {
+        ThreadPoolExecutor evaluationExecutor = EvaluationConfig.newPlatformExecutor(0, REQUESTS);
+        ExecutorService requestExecutor = Executors.newFixedThreadPool(TOMCAT_THREADS);
+        try {
+            run("platform", requestExecutor, evaluationExecutor);
+        } finally {
+            requestExecutor.shutdownNow();
+            evaluationExecutor.shutdownNow();
+        }
+    }
+
+    /**
+     * Measures the virtual thread model.
+     */
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    @DisplayName("Virtual threads with blocking helpers")
+    void virtualThreads() throws Exception {
+        run("virtual", new VirtualThreadTaskExecutor("request-"),
+                new VirtualThreadEvaluationExecutor("rule-evaluator-", REQUESTS));
+    }
+
+    /**
+     * Fires all requests at once and reports throughput and latency percentiles.
+     *
+     * @param model Name of the threading model
+     * @param requestExecutor Executor standing in for the request threads
+     * @param evaluationExecutor Executor running the evaluations
+     * @throws Exception if the run fails
+     */
+    private void run(String model, Executor requestExecutor, Executor evaluationExecutor) throws Exception {
+        RuleEvaluator evaluator = new RuleEvaluator(snapshotHolder, new ResultCache(1, Duration.ofMinutes(1)),
+                evaluationExecutor, new TieredRuleExecutor(0L), 0L);
+        RuleEvaluateRequest request = new RuleEvaluateRequest();
+        request.setRuleName("lookup");
+        request.setPayload("key");
+
+        long[] latencies = new long[REQUESTS];
+        List<CompletableFuture<Void>> futures = new ArrayList<>(REQUESTS);
+        long start = System.nanoTime();
+        for (int i = 0; i < REQUESTS; i++) {
+            int index = i;
+            futures.add(CompletableFuture.runAsync(() -> {
+                long requestStart = System.nanoTime();
+                assertEquals("value-key", evaluator.evaluate(Map.of(), request));
+                latencies[index] = System.nanoTime() - requestStart;
+            }, requestExecutor));
+        }
+        CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).get(5, TimeUnit.MINUTES);
+        long elapsed = System.nanoTime() - start;
+
+        Arrays.sort(latencies);
+        System.out.printf("%-8s throughput=%8.0f req/s  p50=%6d ms  p99=%6d ms  max=%6d ms%n", model,
+                REQUESTS / (elapsed / 1e9),
+                TimeUnit.NANOSECONDS.toMillis(latencies[REQUESTS / 2]),
+                TimeUnit.NANOSECONDS.toMillis(latencies[(int) (REQUESTS * 0.99)]),
+                TimeUnit.NANOSECONDS.toMillis(latencies[REQUESTS - 1]));
+    }
+
+    /**
+     * Helper blocking the way a remote lookup does.
+     */
+    public static class BlockingDirectory {
+
+        /**
+         * Looks up a key after a fixed delay.
+         *
+         * @param key The key
+         * @return The value of the key
+         * @throws InterruptedException if interrupted while blocked
+         */
+        public String lookup(Object key) throws InterruptedException {
+            Thread.sleep(HELPER_LATENCY_MILLIS);
+            return "value-" + key;
+        }
+    }
+}
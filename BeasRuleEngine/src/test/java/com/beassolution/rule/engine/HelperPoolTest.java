@@ -0,0 +1,114 @@
+package com.beassolution.rule.engine;
+
+import com.beassolution.rule.exception.OperationException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the HelperPool class.
+ *
+ * <p>This test class covers the instances of pooled helper classes:
+ * <ul>
+ *   <li>Reuse of instances given back</li>
+ *   <li>Borrows waiting for an instance to be given back</li>
+ *   <li>Borrows giving up at their deadline</li>
+ *   <li>One instance per evaluation through the leases</li>
+ * </ul>
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+class HelperPoolTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private AtomicInteger created;
+    private HelperPool pool;
+
+    /**
+     * Sets up a pool of at most two instances.
+     */
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        created = new AtomicInteger();
+        pool = new HelperPool("com.example.Parser", () -> "parser-" + created.incrementAndGet(), 2,
+                meterRegistry.timer("rule.helper.pool.wait"), meterRegistry.counter("rule.helper.pool.exhausted"));
+    }
+
+    /**
+     * Tests that instances given back are reused.
+     */
+    @Test
+    @DisplayName("Should reuse instances given back")
+    void testReuse() {
+        Object first = pool.borrow(Deadline.NONE);
+        pool.giveBack(first);
+
+        assertSame(first, pool.borrow(Deadline.NONE));
+        assertEquals(1, created.get());
+        assertEquals(1, pool.getBorrowedCount());
+    }
+
+    /**
+     * Tests that a borrow beyond the maximum size waits for a give back.
+     */
+    @Test
+    @DisplayName("Should wait for an instance when all are borrowed")
+    void testWaitForGiveBack() throws Exception {
+        // Given: Both instances borrowed
+        Object first = pool.borrow(Deadline.NONE);
+        pool.borrow(Deadline.NONE);
+
+        // When: A third borrow waits while the first instance is given back
+        CompletableFuture<Object> third = CompletableFuture.supplyAsync(() -> pool.borrow(Deadline.afterMillis(5000)));
+        Thread.sleep(50);
+        assertFalse(third.isDone());
+        pool.giveBack(first);
+
+        // Then: The waiting borrow gets that instance and the wait is recorded
+        assertSame(first, third.get(5, TimeUnit.SECONDS));
+        assertEquals(2, created.get());
+        assertEquals(1, meterRegistry.get("rule.helper.pool.wait").timer().count());
+    }
+
+    /**
+     * Tests that a borrow gives up at its deadline.
+     */
+    @Test
+    @DisplayName("Should give up at the deadline when all instances stay borrowed")
+    void testExhausted() {
+        pool.borrow(Deadline.NONE);
+        pool.borrow(Deadline.NONE);
+
+        assertThrows(OperationException.class, () -> pool.borrow(Deadline.afterMillis(20)));
+        assertEquals(1.0, meterRegistry.get("rule.helper.pool.exhausted").counter().count());
+        assertEquals(2, pool.getBorrowedCount());
+    }
+
+    /**
+     * Tests that an evaluation borrows one instance per class and gives it back.
+     */
+    @Test
+    @DisplayName("Should borrow one instance per evaluation and give it back on close")
+    void testLeases() {
+        Object borrowed;
+        try (HelperLeases leases = new HelperLeases(Deadline.NONE)) {
+            borrowed = leases.borrow(pool);
+            assertSame(borrowed, leases.borrow(pool));
+            assertEquals(1, pool.getBorrowedCount());
+        }
+
+        assertEquals(0, pool.getBorrowedCount());
+        assertEquals(1, pool.getIdleCount());
+        assertSame(borrowed, pool.borrow(Deadline.NONE));
+    }
+}
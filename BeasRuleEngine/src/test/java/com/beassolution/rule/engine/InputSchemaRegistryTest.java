@@ -0,0 +1,144 @@
+package com.beassolution.rule.engine;
+
+import com.beassolution.rule.engine.snapshot.InputSchema;
+import com.beassolution.rule.exception.OperationException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the InputSchemaRegistry class.
+ *
+ * <p>This test class covers the payload classes generated from input schemas:
+ * <ul>
+ *   <li>Public typed fields generated from the declared types</li>
+ *   <li>Payloads deserialized into the generated class</li>
+ *   <li>Schemas shared between rules declaring the same fields</li>
+ *   <li>Unsupported field names and types</li>
+ * </ul>
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+class InputSchemaRegistryTest {
+
+    private InputSchemaRegistry registry;
+
+    /**
+     * Sets up a registry with a plain object mapper.
+     */
+    @BeforeEach
+    void setUp() {
+        registry = new InputSchemaRegistry(new ObjectMapper());
+    }
+
+    /**
+     * Tests that the payload class has one typed public field per entry.
+     */
+    @Test
+    @DisplayName("Should generate a payload class with typed public fields")
+    void testGeneratesPayloadClass() throws Exception {
+        // Given: A schema with scalar and structured fields
+        InputSchema schema = registry.resolve(Map.of(
+                "age", "int", "name", "String", "amount", "decimal", "tags", "list")).orElseThrow();
+
+        // Then: The class has a field of the declared type for each entry
+        Class<?> payloadClass = schema.getPayloadClass();
+        assertTrue(Modifier.isPublic(payloadClass.getModifiers()));
+        assertEquals(int.class, payloadClass.getField("age").getType());
+        assertEquals(String.class, payloadClass.getField("name").getType());
+        assertEquals(BigDecimal.class, payloadClass.getField("amount").getType());
+        assertEquals(List.class, payloadClass.getField("tags").getType());
+        assertNotNull(payloadClass.getConstructor().newInstance());
+    }
+
+    /**
+     * Tests that payloads are deserialized into the payload class.
+     */
+    @Test
+    @DisplayName("Should bind the payload as an instance of the payload class")
+    void testBindsTypedPayload() throws Exception {
+        InputSchema schema = registry.resolve(Map.of("age", "int", "name", "string")).orElseThrow();
+        Map<String, Object> inputs = new HashMap<>();
+        inputs.put("payload", Map.of("age", 42, "name", "Ada", "ignored", true));
+        inputs.put("limit", 10);
+
+        schema.bind(inputs);
+
+        Object payload = inputs.get("payload");
+        assertInstanceOf(schema.getPayloadClass(), payload);
+        Field age = schema.getPayloadClass().getField("age");
+        assertEquals(42, age.getInt(payload));
+        assertEquals("Ada", schema.getPayloadClass().getField("name").get(payload));
+        assertEquals(10, inputs.get("limit"));
+
+        // Typed payloads are kept as they are
+        schema.bind(inputs);
+        assertSame(payload, inputs.get("payload"));
+    }
+
+    /**
+     * Tests that a payload of the wrong type is rejected.
+     */
+    @Test
+    @DisplayName("Should reject a payload that doesn't match the schema")
+    void testRejectsMismatchingPayload() {
+        InputSchema schema = registry.resolve(Map.of("age", "int")).orElseThrow();
+        Map<String, Object> inputs = new HashMap<>();
+        inputs.put("payload", Map.of("age", "forty-two"));
+
+        assertThrows(OperationException.class, () -> schema.bind(inputs));
+    }
+
+    /**
+     * Tests that identical schemas share one instance.
+     */
+    @Test
+    @DisplayName("Should share the schema between rules declaring the same fields")
+    void testSharesSchemas() {
+        InputSchema first = registry.resolve(Map.of("age", "int", "name", "string")).orElseThrow();
+        InputSchema second = registry.resolve(Map.of("name", "STRING", "age", "int")).orElseThrow();
+        InputSchema other = registry.resolve(Map.of("age", "long")).orElseThrow();
+
+        assertSame(first, second);
+        assertNotSame(first.getPayloadClass(), other.getPayloadClass());
+        assertEquals(2, registry.size());
+
+        // Another registry resolves the class already defined for the schema
+        InputSchema fromOther = new InputSchemaRegistry(new ObjectMapper())
+                .resolve(Map.of("age", "int", "name", "string")).orElseThrow();
+        assertSame(first.getPayloadClass(), fromOther.getPayloadClass());
+    }
+
+    /**
+     * Tests that rules without a schema resolve to none.
+     */
+    @Test
+    @DisplayName("Should resolve no schema when none is declared")
+    void testNoSchema() {
+        assertTrue(registry.resolve(null).isEmpty());
+        assertTrue(registry.resolve(Map.of()).isEmpty());
+        assertEquals(0, registry.size());
+    }
+
+    /**
+     * Tests that unsupported names and types are rejected.
+     */
+    @Test
+    @DisplayName("Should reject unsupported field names and types")
+    void testRejectsInvalidSchema() {
+        assertThrows(OperationException.class, () -> registry.resolve(Map.of("first-name", "string")));
+        assertThrows(OperationException.class, () -> registry.resolve(Map.of("age", "integer")));
+    }
+}
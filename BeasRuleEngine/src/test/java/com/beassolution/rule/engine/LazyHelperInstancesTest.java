@@ -0,0 +1,117 @@
+package com.beassolution.rule.engine;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the LazyHelperInstances class.
+ *
+ * <p>This test class covers instantiation on first access:
+ * <ul>
+ *   <li>Lookups by name that instantiate nothing</li>
+ *   <li>Single instantiation on repeated and concurrent access</li>
+ *   <li>Unknown variable names</li>
+ * </ul>
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+class LazyHelperInstancesTest {
+
+    private AtomicInteger created;
+    private LazyHelperInstances instances;
+
+    /**
+     * Sets up lazy instances of two helper classes.
+     */
+    @BeforeEach
+    void setUp() {
+        created = new AtomicInteger();
+        instances = new LazyHelperInstances(
+                Map.of("dateUtils", "com.example.DateUtils", "textUtils", "com.example.TextUtils"),
+                className -> {
+                    created.incrementAndGet();
+                    return new StringBuilder(className);
+                });
+    }
+
+    /**
+     * Tests that looking up names does not instantiate any class.
+     */
+    @Test
+    @DisplayName("Should resolve names without instantiating classes")
+    void testNamesWithoutInstantiation() {
+        assertTrue(instances.containsKey("dateUtils"));
+        assertFalse(instances.containsKey("other"));
+        assertEquals(2, instances.size());
+        assertEquals(2, instances.keySet().size());
+        assertNotNull(instances.toString());
+
+        assertEquals(0, created.get());
+        assertEquals(0, instances.getInstantiatedCount());
+    }
+
+    /**
+     * Tests that a class is instantiated once on first access.
+     */
+    @Test
+    @DisplayName("Should instantiate a class once on first access")
+    void testInstantiateOnFirstAccess() {
+        // When: One class is accessed twice
+        Object first = instances.get("dateUtils");
+        Object second = instances.get("dateUtils");
+
+        // Then: Only that class is instantiated, once
+        assertEquals("com.example.DateUtils", first.toString());
+        assertSame(first, second);
+        assertEquals(1, created.get());
+        assertEquals(1, instances.getInstantiatedCount());
+        assertNull(instances.get("other"));
+    }
+
+    /**
+     * Tests that concurrent first accesses share one instance.
+     */
+    @Test
+    @DisplayName("Should instantiate a class once under concurrent access")
+    void testConcurrentFirstAccess() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Callable<Object>> lookups = new ArrayList<>();
+            for (int i = 0; i < 32; i++) {
+                lookups.add(() -> instances.get("textUtils"));
+            }
+            Object expected = instances.get("textUtils");
+            for (Future<Object> result : executor.invokeAll(lookups)) {
+                assertSame(expected, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, created.get());
+    }
+
+    /**
+     * Tests that iterating over the entries instantiates every class.
+     */
+    @Test
+    @DisplayName("Should instantiate all classes when entries are iterated")
+    void testEntrySetMaterializes() {
+        assertEquals(2, instances.entrySet().size());
+        assertEquals(2, created.get());
+    }
+}
@@ -1,29 +1,57 @@
 package com.beassolution.rule.engine;
 
+import com.beassolution.rule.components.SyncMode;
+import com.beassolution.rule.engine.cache.DefinitionCache;
 import com.beassolution.rule.engine.cache.FunctionCache;
+import com.beassolution.rule.engine.cache.HelperJarCache;
 import com.beassolution.rule.engine.cache.InstanceCache;
+import com.beassolution.rule.engine.cache.ResultCache;
 import com.beassolution.rule.engine.cache.RuleCache;
 import com.beassolution.rule.engine.cache.VariableCache;
+import com.beassolution.rule.engine.persistence.CatalogSnapshotStore;
+import com.beassolution.rule.engine.persistence.RestoredCatalog;
+import com.beassolution.rule.engine.snapshot.CompiledRule;
+import com.beassolution.rule.engine.snapshot.EngineSnapshot;
+import com.beassolution.rule.engine.snapshot.EngineSnapshotHolder;
+import com.beassolution.rule.engine.snapshot.InputSchema;
 import com.beassolution.rule.exception.OperationException;
+import com.beassolution.rule.model.CatalogTombstone;
+import com.beassolution.rule.model.CatalogType;
 import com.beassolution.rule.model.FunctionLibrary;
 import com.beassolution.rule.model.RuleHelper;
 import com.beassolution.rule.model.RuleLibrary;
+import com.beassolution.rule.model.RuleSet;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.mvel2.MVEL;
 
+import java.io.Serializable;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -58,9 +86,36 @@ class RuleEngineManagerTest {
     @Mock
     private VariableCache variableCache;
 
+    @Spy
+    private DefinitionCache definitionCache = new DefinitionCache();
+
     @Mock
     private InstanceInitiator instanceInitiator;
 
+    @Mock
+    private EngineSnapshotHolder snapshotHolder;
+
+    @Mock
+    private ResultCache resultCache;
+
+    @Spy
+    private RuleWarmer ruleWarmer = new RuleWarmer(2, 0L);
+
+    @Mock
+    private CatalogSnapshotStore catalogSnapshotStore;
+
+    @Mock
+    private TieredRuleExecutor tieredRuleExecutor;
+
+    @Mock
+    private HelperJarCache helperJarCache;
+
+    @Spy
+    private HelperLoaderRegistry helperLoaderRegistry = new HelperLoaderRegistry(new SimpleMeterRegistry());
+
+    @Spy
+    private InputSchemaRegistry inputSchemaRegistry = new InputSchemaRegistry(new ObjectMapper());
+
     @InjectMocks
     private RuleEngineManager ruleEngineManager;
 
@@ -103,13 +158,15 @@ class RuleEngineManagerTest {
      */
     @Test
     @DisplayName("Should successfully cache helper instances")
-    void testCacheHelpers() {
-        // Given: Mock helper instances
+    void testCacheHelpers() throws Exception {
+        // Given: Mock helper instances loaded from the cached JAR
         Map<String, Object> helperInstances = new HashMap<>();
         helperInstances.put("instance1", new Object());
         helperInstances.put("instance2", new Object());
+        URL jar = new URL("file:/cache/helper.jar");
 
-        when(instanceInitiator.create(testHelper)).thenReturn(helperInstances);
+        when(helperJarCache.prefetch(List.of(testHelper))).thenReturn(Map.of("testHelper", jar));
+        when(instanceInitiator.create(testHelper, jar)).thenReturn(loaded(testHelper, jar, helperInstances));
         doNothing().when(helperCache).clear();
         doNothing().when(helperCache).put(anyString(), any());
 
@@ -118,8 +175,9 @@ class RuleEngineManagerTest {
 
         // Then: Verify cache operations
         verify(helperCache, times(1)).clear();
-        verify(instanceInitiator, times(1)).create(testHelper);
+        verify(instanceInitiator, times(1)).create(testHelper, jar);
         verify(helperCache, times(1)).put("testHelper", helperInstances);
+        verify(helperJarCache, times(1)).retain(List.of(testHelper));
     }
 
     /**
@@ -130,7 +188,7 @@ class RuleEngineManagerTest {
      */
     @Test
     @DisplayName("Should cache multiple helper instances")
-    void testCacheMultipleHelpers() {
+    void testCacheMultipleHelpers() throws Exception {
         // Given: Multiple test helpers
         RuleHelper helper1 = new RuleHelper();
         helper1.setName("helper1");
@@ -147,8 +205,12 @@ class RuleEngineManagerTest {
         Map<String, Object> instances2 = new HashMap<>();
         instances2.put("instance2", new Object());
 
-        when(instanceInitiator.create(helper1)).thenReturn(instances1);
-        when(instanceInitiator.create(helper2)).thenReturn(instances2);
+        URL jar1 = new URL("file:/cache/helper1.jar");
+        URL jar2 = new URL("file:/cache/helper2.jar");
+
+        when(helperJarCache.prefetch(List.of(helper1, helper2))).thenReturn(Map.of("helper1", jar1, "helper2", jar2));
+        when(instanceInitiator.create(helper1, jar1)).thenReturn(loaded(helper1, jar1, instances1));
+        when(instanceInitiator.create(helper2, jar2)).thenReturn(loaded(helper2, jar2, instances2));
         doNothing().when(helperCache).clear();
         doNothing().when(helperCache).put(anyString(), any());
 
@@ -157,12 +219,54 @@ class RuleEngineManagerTest {
 
         // Then: Verify all helpers were processed
         verify(helperCache, times(1)).clear();
-        verify(instanceInitiator, times(1)).create(helper1);
-        verify(instanceInitiator, times(1)).create(helper2);
+        verify(instanceInitiator, times(1)).create(helper1, jar1);
+        verify(instanceInitiator, times(1)).create(helper2, jar2);
         verify(helperCache, times(1)).put("helper1", instances1);
         verify(helperCache, times(1)).put("helper2", instances2);
     }
 
+    /**
+     * Tests that unchanged helpers keep their class loader across syncs.
+     * 
+     * <p>This test verifies that a helper resolving to the same cached JAR
+     * is not loaded again, while a helper with a new JAR is loaded into a
+     * fresh class loader and the replaced one is retired with the next publish.
+     */
+    @Test
+    @DisplayName("Should reuse unchanged helpers and retire replaced class loaders")
+    void testCacheHelpersReusesUnchangedHelpers() throws Exception {
+        // Given: A helper loaded by a first sync
+        URL jar = new URL("file:/cache/helper.jar");
+        URL newJar = new URL("file:/cache/helper-v2.jar");
+        LoadedHelper first = loaded(testHelper, jar, Map.of("instance", new Object()));
+        LoadedHelper second = loaded(testHelper, newJar, Map.of("instance", new Object()));
+
+        when(helperJarCache.prefetch(List.of(testHelper)))
+                .thenReturn(Map.of("testHelper", jar), Map.of("testHelper", jar), Map.of("testHelper", newJar));
+        when(instanceInitiator.create(testHelper, jar)).thenReturn(first);
+        when(instanceInitiator.create(testHelper, newJar)).thenReturn(second);
+        ruleEngineManager.cacheHelpers(List.of(testHelper));
+
+        // When: The helper resolves to the same JAR again
+        SyncReport report = new SyncReport(SyncMode.FULL);
+        ruleEngineManager.cacheHelpers(List.of(testHelper), RestoredCatalog.EMPTY, report);
+
+        // Then: Verify the loaded instances were reused
+        verify(instanceInitiator, times(1)).create(testHelper, jar);
+        verify(helperCache, times(2)).put("testHelper", first.getInstances());
+        assertEquals(1, report.getReusedHelpers().get());
+        assertEquals(0, helperLoaderRegistry.getRetiredCount());
+
+        // When: The helper resolves to a new JAR
+        ruleEngineManager.cacheHelpers(List.of(testHelper));
+
+        // Then: Verify the previous class loader was retired
+        verify(helperCache, times(1)).put("testHelper", second.getInstances());
+        assertEquals(1, helperLoaderRegistry.getLoadedCount());
+        assertEquals(1, helperLoaderRegistry.getRetiredCount());
+        assertEquals(1, helperLoaderRegistry.drainRetired().size());
+    }
+
     /**
      * Tests error handling when helpers list is null.
      * 
@@ -179,18 +283,24 @@ class RuleEngineManagerTest {
     }
 
     /**
-     * Tests error handling when helpers list is empty.
+     * Tests caching of an empty helpers list.
      * 
-     * <p>This test verifies that appropriate exceptions are thrown
-     * when an empty helper list is provided.
+     * <p>This test verifies that an empty helper list clears the staged
+     * helpers and their cached JARs instead of keeping deleted helpers.
      */
     @Test
-    @DisplayName("Should throw exception when helpers list is empty")
+    @DisplayName("Should clear helpers when helpers list is empty")
     void testCacheHelpersWithEmptyList() {
-        // When & Then: Verify exception is thrown
-        assertThrows(OperationException.class, () -> {
-            ruleEngineManager.cacheHelpers(Arrays.asList());
-        });
+        // Given: A helper staged by an earlier sync
+        definitionCache.put(CatalogType.HELPER, testHelper.getName(), testHelper);
+
+        // When: Caching an empty helper list
+        ruleEngineManager.cacheHelpers(Arrays.asList());
+
+        // Then: Verify staged helpers and cached JARs are cleared
+        verify(helperCache).clear();
+        verify(helperJarCache).retain(Arrays.asList());
+        assertTrue(definitionCache.getAll(CatalogType.HELPER).isEmpty());
     }
 
     /**
@@ -244,6 +354,39 @@ class RuleEngineManagerTest {
         verify(functionCache, times(1)).put("function2", function2.getMvlCode());
     }
 
+    /**
+     * Tests that function libraries are compiled into shared definitions.
+     * 
+     * <p>This test verifies that the functions declared by a library are
+     * cached once and can be called by a rule bound to them.
+     */
+    @Test
+    @DisplayName("Should compile function libraries into shared definitions")
+    void testCacheFunctionsCompilesDefinitions() {
+        // Given: A library declaring two functions
+        FunctionLibrary math = new FunctionLibrary();
+        math.setName("math");
+        math.setMvlCode("def twice(x) { x * 2 }\ndef inc(x) { x + 1 }");
+
+        // When: Cache the library
+        ruleEngineManager.cacheFunctions(Arrays.asList(math));
+
+        // Then: Verify both functions were cached and can be called by a rule
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Object>> definitions = ArgumentCaptor.forClass(Map.class);
+        verify(functionCache, times(1)).putDefinitions(eq("math"), definitions.capture());
+        assertEquals(Set.of("twice", "inc"), definitions.getValue().keySet());
+
+        CompiledRule rule = CompiledRule.builder()
+                .name("calc")
+                .expression(org.mvel2.MVEL.compileExpression("inc(twice(payload))"))
+                .variables(definitions.getValue())
+                .build();
+        Map<String, Object> vars = new HashMap<>();
+        vars.put("payload", 20);
+        assertEquals(41, org.mvel2.MVEL.executeExpression(rule.getExpression(), rule.newEvaluationFactory(vars)));
+    }
+
     /**
      * Tests error handling when functions list is null.
      * 
@@ -260,18 +403,44 @@ class RuleEngineManagerTest {
     }
 
     /**
-     * Tests error handling when functions list is empty.
+     * Tests caching of an empty functions list.
      * 
-     * <p>This test verifies that appropriate exceptions are thrown
-     * when empty function lists are provided.
+     * <p>This test verifies that an empty function list clears the staged
+     * function libraries instead of keeping deleted ones.
      */
     @Test
-    @DisplayName("Should throw exception when functions list is empty")
+    @DisplayName("Should clear functions when functions list is empty")
     void testCacheFunctionsWithEmptyList() {
-        // When & Then: Verify exception is thrown
-        assertThrows(OperationException.class, () -> {
-            ruleEngineManager.cacheFunctions(Arrays.asList());
-        });
+        // Given: A function library staged by an earlier sync
+        definitionCache.put(CatalogType.FUNCTION, testFunction.getName(), testFunction);
+
+        // When: Caching an empty function list
+        ruleEngineManager.cacheFunctions(Arrays.asList());
+
+        // Then: Verify staged functions are cleared
+        verify(functionCache).clear();
+        assertTrue(definitionCache.getAll(CatalogType.FUNCTION).isEmpty());
+    }
+
+    /**
+     * Tests caching of an empty rule sets list.
+     * 
+     * <p>This test verifies that an empty rule set list clears the staged
+     * rule sets instead of keeping deleted ones.
+     */
+    @Test
+    @DisplayName("Should clear rule sets when rule sets list is empty")
+    void testCacheRuleSetsWithEmptyList() {
+        // Given: A rule set staged by an earlier sync
+        RuleSet ruleSet = new RuleSet();
+        ruleSet.setName("testRuleSet");
+        definitionCache.put(CatalogType.RULE_SET, ruleSet.getName(), ruleSet);
+
+        // When: Caching an empty rule set list
+        ruleEngineManager.cacheRuleSets(Arrays.asList());
+
+        // Then: Verify staged rule sets are cleared
+        assertTrue(definitionCache.getAll(CatalogType.RULE_SET).isEmpty());
     }
 
     /**
@@ -288,10 +457,7 @@ class RuleEngineManagerTest {
         helperInstances.put("instance1", new Object());
 
         when(helperCache.get("testHelper")).thenReturn(java.util.Optional.of(helperInstances));
-        when(functionCache.get("testFunction")).thenReturn(java.util.Optional.of(testFunction.getMvlCode()));
-        doNothing().when(ruleCache).clear();
-        doNothing().when(ruleCache).put(anyString(), any());
-        doNothing().when(variableCache).put(anyString(), any());
+        when(functionCache.getDefinitions("testFunction")).thenReturn(java.util.Optional.of(Map.of()));
 
         // When: Cache rules
         ruleEngineManager.cacheRules(Arrays.asList(testRule));
@@ -299,9 +465,9 @@ class RuleEngineManagerTest {
         // Then: Verify cache operations
         verify(ruleCache, times(1)).clear();
         verify(helperCache, times(1)).get("testHelper");
-        verify(functionCache, times(1)).get("testFunction");
-        verify(ruleCache, times(1)).put("testRule", any());
-        verify(variableCache, times(1)).put("testRule", any());
+        verify(functionCache, times(1)).getDefinitions("testFunction");
+        verify(ruleCache, times(1)).put(eq("testRule"), any());
+        verify(variableCache, times(1)).put(eq("testRule"), any());
     }
 
     /**
@@ -320,17 +486,13 @@ class RuleEngineManagerTest {
         simpleRule.setHelpers(Arrays.asList());
         simpleRule.setFunctions(Arrays.asList());
 
-        doNothing().when(ruleCache).clear();
-        doNothing().when(ruleCache).put(anyString(), any());
-        doNothing().when(variableCache).put(anyString(), any());
-
         // When: Cache simple rule
         ruleEngineManager.cacheRules(Arrays.asList(simpleRule));
 
         // Then: Verify cache operations
         verify(ruleCache, times(1)).clear();
-        verify(ruleCache, times(1)).put("simpleRule", any());
-        verify(variableCache, times(1)).put("simpleRule", any());
+        verify(ruleCache, times(1)).put(eq("simpleRule"), any());
+        verify(variableCache, times(1)).put(eq("simpleRule"), any());
     }
 
     /**
@@ -343,18 +505,16 @@ class RuleEngineManagerTest {
     @DisplayName("Should cache rules with missing helpers")
     void testCacheRulesWithMissingHelpers() {
         // Given: Rule with missing helper
+        testRule.setHelpers(Arrays.asList("missingHelper"));
         when(helperCache.get("missingHelper")).thenReturn(java.util.Optional.empty());
-        when(functionCache.get("testFunction")).thenReturn(java.util.Optional.of(testFunction.getMvlCode()));
-        doNothing().when(ruleCache).clear();
-        doNothing().when(ruleCache).put(anyString(), any());
-        doNothing().when(variableCache).put(anyString(), any());
+        when(functionCache.getDefinitions("testFunction")).thenReturn(java.util.Optional.of(Map.of()));
 
         // When: Cache rule with missing helper
         ruleEngineManager.cacheRules(Arrays.asList(testRule));
 
         // Then: Verify rule is still cached despite missing helper
-        verify(ruleCache, times(1)).put("testRule", any());
-        verify(variableCache, times(1)).put("testRule", any());
+        verify(ruleCache, times(1)).put(eq("testRule"), any());
+        verify(variableCache, times(1)).put(eq("testRule"), any());
     }
 
     /**
@@ -370,18 +530,81 @@ class RuleEngineManagerTest {
         Map<String, Object> helperInstances = new HashMap<>();
         helperInstances.put("instance1", new Object());
 
+        testRule.setFunctions(Arrays.asList("missingFunction"));
         when(helperCache.get("testHelper")).thenReturn(java.util.Optional.of(helperInstances));
-        when(functionCache.get("missingFunction")).thenReturn(java.util.Optional.empty());
-        doNothing().when(ruleCache).clear();
-        doNothing().when(ruleCache).put(anyString(), any());
-        doNothing().when(variableCache).put(anyString(), any());
+        when(functionCache.getDefinitions("missingFunction")).thenReturn(java.util.Optional.empty());
 
         // When: Cache rule with missing function
         ruleEngineManager.cacheRules(Arrays.asList(testRule));
 
         // Then: Verify rule is still cached despite missing function
-        verify(ruleCache, times(1)).put("testRule", any());
-        verify(variableCache, times(1)).put("testRule", any());
+        verify(ruleCache, times(1)).put(eq("testRule"), any());
+        verify(variableCache, times(1)).put(eq("testRule"), any());
+    }
+
+    /**
+     * Tests that a rule is only bound to the helpers it references.
+     * 
+     * <p>This test verifies that helpers named by the rule document but not
+     * used by its source or function libraries are not bound.
+     */
+    @Test
+    @DisplayName("Should bind only the helpers a rule references")
+    void testCacheRulesBindsReferencedHelpers() {
+        // Given: A rule declaring two helpers and a library, calling one helper through the library
+        RuleLibrary rule = new RuleLibrary();
+        rule.setName("pricing");
+        rule.setMvlCode("discount(payload)");
+        rule.setHelpers(Arrays.asList("rates", "unused"));
+        rule.setFunctions(Arrays.asList("math"));
+        Map<String, Object> helperInstances = Map.of("table", new Object());
+
+        when(helperCache.get("rates")).thenReturn(java.util.Optional.of(helperInstances));
+        when(helperCache.get("unused")).thenReturn(java.util.Optional.of(helperInstances));
+        when(functionCache.getDefinitions("math")).thenReturn(java.util.Optional.of(Map.of("discount", "fn")));
+        when(functionCache.get("math")).thenReturn(java.util.Optional.of("def discount(p) { rates.table.lookup(p) }"));
+
+        // When: Cache the rule
+        ruleEngineManager.cacheRules(Arrays.asList(rule));
+
+        // Then: Only the referenced helper and function are bound
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<Map<String, Object>> vars = ArgumentCaptor.forClass(Map.class);
+        verify(variableCache, times(1)).put(eq("pricing"), vars.capture());
+        assertEquals(Set.of("rates", "discount"), vars.getValue().keySet());
+    }
+
+    /**
+     * Tests that a rule with an input schema is compiled against its payload class.
+     * 
+     * <p>This test verifies that the schema is staged with the rule and that
+     * the expression evaluates payloads bound as payload class instances.
+     */
+    @Test
+    @DisplayName("Should compile a rule against the payload class of its input schema")
+    void testCacheRulesWithInputSchema() {
+        // Given: A rule reading two typed payload fields
+        RuleLibrary rule = new RuleLibrary();
+        rule.setName("adult");
+        rule.setMvlCode("payload.age >= 18 && payload.country == 'DE'");
+        rule.setHelpers(Arrays.asList());
+        rule.setFunctions(Arrays.asList());
+        rule.setInputSchema(Map.of("age", "int", "country", "string"));
+
+        // When: Cache the rule
+        ruleEngineManager.cacheRules(Arrays.asList(rule));
+
+        // Then: The schema is staged and the expression reads the typed payload
+        ArgumentCaptor<InputSchema> schema = ArgumentCaptor.forClass(InputSchema.class);
+        verify(ruleCache, times(1)).putSchema(eq("adult"), schema.capture());
+        ArgumentCaptor<Serializable> expression = ArgumentCaptor.forClass(Serializable.class);
+        verify(ruleCache, times(1)).put(eq("adult"), expression.capture());
+
+        Map<String, Object> inputs = new HashMap<>();
+        inputs.put("payload", Map.of("age", 30, "country", "DE", "name", "Ada"));
+        schema.getValue().bind(inputs);
+        assertInstanceOf(schema.getValue().getPayloadClass(), inputs.get("payload"));
+        assertEquals(true, MVEL.executeExpression(expression.getValue(), inputs));
     }
 
     /**
@@ -406,19 +629,15 @@ class RuleEngineManagerTest {
         rule2.setHelpers(Arrays.asList());
         rule2.setFunctions(Arrays.asList());
 
-        doNothing().when(ruleCache).clear();
-        doNothing().when(ruleCache).put(anyString(), any());
-        doNothing().when(variableCache).put(anyString(), any());
-
         // When: Cache multiple rules
         ruleEngineManager.cacheRules(Arrays.asList(rule1, rule2));
 
         // Then: Verify all rules were processed
         verify(ruleCache, times(1)).clear();
-        verify(ruleCache, times(1)).put("rule1", any());
-        verify(ruleCache, times(1)).put("rule2", any());
-        verify(variableCache, times(1)).put("rule1", any());
-        verify(variableCache, times(1)).put("rule2", any());
+        verify(ruleCache, times(1)).put(eq("rule1"), any());
+        verify(ruleCache, times(1)).put(eq("rule2"), any());
+        verify(variableCache, times(1)).put(eq("rule1"), any());
+        verify(variableCache, times(1)).put(eq("rule2"), any());
     }
 
     /**
@@ -471,16 +690,330 @@ class RuleEngineManagerTest {
         helperInstances.put("instance1", new Object());
 
         when(helperCache.get("validHelper")).thenReturn(java.util.Optional.of(helperInstances));
-        doNothing().when(ruleCache).clear();
-        doNothing().when(ruleCache).put(anyString(), any());
-        doNothing().when(variableCache).put(anyString(), any());
 
         // When: Cache rule with empty helper name
         ruleEngineManager.cacheRules(Arrays.asList(ruleWithEmptyHelper));
 
         // Then: Verify rule is cached and only valid helper is processed
-        verify(ruleCache, times(1)).put("ruleWithEmptyHelper", any());
+        verify(ruleCache, times(1)).put(eq("ruleWithEmptyHelper"), any());
         verify(helperCache, times(1)).get("validHelper");
         verify(helperCache, never()).get("");
     }
-} 
\ No newline at end of file
+
+    /**
+     * Tests parallel compilation of rules streamed from the catalog.
+     * 
+     * <p>This test verifies that every streamed rule is compiled and that
+     * the compile timings are recorded in the sync report.
+     */
+    @Test
+    @DisplayName("Should compile streamed rules in parallel and report timings")
+    void testCacheRulesFromStream() {
+        // Given: More rules than compilation workers
+        int count = Runtime.getRuntime().availableProcessors() * 10;
+        SyncReport report = new SyncReport(SyncMode.FULL);
+
+        // When: Cache rules from a stream
+        int compiled = ruleEngineManager.cacheRules(IntStream.range(0, count).mapToObj(i -> {
+            RuleLibrary rule = new RuleLibrary();
+            rule.setName("rule" + i);
+            rule.setMvlCode("return " + i + ";");
+            rule.setHelpers(Arrays.asList());
+            rule.setFunctions(Arrays.asList());
+            return rule;
+        }), report);
+
+        // Then: Verify all rules were compiled and reported
+        assertEquals(count, compiled);
+        assertEquals(count, report.getCompiledRules().get());
+        assertEquals(Runtime.getRuntime().availableProcessors(), report.getParallelism());
+        verify(ruleCache, times(1)).clear();
+        verify(ruleCache, times(count)).put(anyString(), any());
+        verify(variableCache, times(count)).put(anyString(), any());
+    }
+
+    /**
+     * Tests restoring of unchanged rules from the persisted catalog.
+     * 
+     * <p>This test verifies that a rule whose stored expression is found is
+     * staged with that expression instead of being compiled again.
+     */
+    @Test
+    @DisplayName("Should stage stored expressions of unchanged rules")
+    void testCacheRulesRestoresUnchangedRule() {
+        // Given: A persisted catalog holding an expression for the rule source
+        testRule.setHelpers(Arrays.asList());
+        testRule.setFunctions(Arrays.asList());
+        Serializable stored = RuleEngineManager.compileRule("'stored'");
+        RestoredCatalog restored = mock(RestoredCatalog.class);
+        when(restored.expression(anyString())).thenReturn(Optional.of(stored));
+        SyncReport report = new SyncReport(SyncMode.RESTORE);
+
+        // When: Cache rules against the persisted catalog
+        int compiled = ruleEngineManager.cacheRules(List.of(testRule).stream(), report, restored);
+
+        // Then: Verify the stored expression was staged
+        assertEquals(1, compiled);
+        assertEquals(1, report.getRestoredRules().get());
+        verify(ruleCache, times(1)).put("testRule", stored);
+    }
+
+    /**
+     * Tests publishing of the staged caches as a snapshot.
+     * 
+     * <p>This test verifies that compiled rules are published together
+     * with their variables under the next snapshot version.
+     */
+    @Test
+    @DisplayName("Should publish staged caches as next snapshot version")
+    void testPublishSnapshot() {
+        // Given: Staged rule and variables, version 3 currently published
+        Serializable compiled = org.mvel2.MVEL.compileExpression("'ok'");
+        Map<String, Object> vars = new HashMap<>();
+        vars.put("testHelper", new HashMap<>());
+
+        when(snapshotHolder.current()).thenReturn(new EngineSnapshot(3L, null, Map.of(), Map.of(), Map.of(), Map.of()));
+        when(ruleCache.getAll()).thenReturn(Map.of("testRule", compiled));
+        when(variableCache.getAll()).thenReturn(Map.of("testRule", vars));
+        when(helperCache.getAll()).thenReturn(Map.of());
+        when(functionCache.getAll()).thenReturn(Map.of());
+
+        // When: Publish snapshot
+        EngineSnapshot snapshot = ruleEngineManager.publishSnapshot(new Date(), new SyncReport(SyncMode.FULL));
+
+        // Then: Verify version, rule and variables
+        assertEquals(4L, snapshot.getVersion());
+        assertSame(compiled, snapshot.getRule("testRule").orElseThrow().getExpression());
+        assertTrue(snapshot.getRule("testRule").orElseThrow().getVariables().containsKey("testHelper"));
+        verify(snapshotHolder, times(1)).publish(snapshot, List.of());
+    }
+
+    /**
+     * Tests that rules not recompiled since the previous snapshot are carried over.
+     * 
+     * <p>This test verifies that an unchanged rule keeps its entry, and with
+     * it its revision and execution tier, in the next snapshot.
+     */
+    @Test
+    @DisplayName("Should carry over unchanged rules with their execution tier")
+    void testPublishSnapshotKeepsUnchangedRule() {
+        // Given: A promoted rule in the current snapshot, still staged unchanged
+        Serializable compiled = org.mvel2.MVEL.compileExpression("'ok'");
+        CompiledRule published = CompiledRule.builder()
+                .name("testRule")
+                .expression(compiled)
+                .revision(3L)
+                .source("'ok'")
+                .build();
+        published.promote(org.mvel2.MVEL.compileExpression("'ok'"), getClass().getClassLoader());
+
+        when(snapshotHolder.current()).thenReturn(new EngineSnapshot(3L, null,
+                Map.of("testRule", published), Map.of(), Map.of(), Map.of()));
+        when(ruleCache.getAll()).thenReturn(Map.of("testRule", compiled));
+        when(variableCache.getAll()).thenReturn(Map.of());
+        when(helperCache.getAll()).thenReturn(Map.of());
+        when(functionCache.getAll()).thenReturn(Map.of());
+
+        // When: Publish snapshot
+        EngineSnapshot snapshot = ruleEngineManager.publishSnapshot(new Date(), new SyncReport(SyncMode.FULL));
+
+        // Then: Verify the rule entry is reused
+        CompiledRule rule = snapshot.getRule("testRule").orElseThrow();
+        assertSame(published, rule);
+        assertEquals(3L, rule.getRevision());
+        assertTrue(rule.isOptimized());
+    }
+
+    /**
+     * Tests that the accessors of a recompiled rule are released with the
+     * snapshot it was replaced in.
+     */
+    @Test
+    @DisplayName("Should release the accessors of replaced rules when their snapshot retires")
+    void testPublishSnapshotRetiresAccessorsOfReplacedRules() throws Exception {
+        // Given: A published rule that was recompiled since
+        CompiledRule published = CompiledRule.builder()
+                .name("testRule")
+                .expression(org.mvel2.MVEL.compileExpression("'old'"))
+                .build();
+        when(snapshotHolder.current()).thenReturn(new EngineSnapshot(3L, null,
+                Map.of("testRule", published), Map.of(), Map.of(), Map.of()));
+        when(ruleCache.getAll()).thenReturn(Map.of("testRule", org.mvel2.MVEL.compileExpression("'new'")));
+        when(variableCache.getAll()).thenReturn(Map.of());
+        when(helperCache.getAll()).thenReturn(Map.of());
+        when(functionCache.getAll()).thenReturn(Map.of());
+
+        // When: Publish snapshot and retire the replaced one
+        EngineSnapshot snapshot = ruleEngineManager.publishSnapshot(new Date(), new SyncReport(SyncMode.FULL));
+        ArgumentCaptor<Collection<? extends AutoCloseable>> retired = ArgumentCaptor.forClass(Collection.class);
+        verify(snapshotHolder).publish(eq(snapshot), retired.capture());
+        for (AutoCloseable resource : retired.getValue()) {
+            resource.close();
+        }
+
+        // Then: Verify the accessors were released
+        verify(tieredRuleExecutor).releaseRetiredAccessors();
+    }
+
+    /**
+     * Tests warmup of freshly compiled rules before the snapshot is published.
+     * 
+     * <p>This test verifies that a rule with warmup payloads is run against
+     * each payload the configured number of times and reported per rule.
+     */
+    @Test
+    @DisplayName("Should warm up freshly compiled rules before publishing")
+    void testPublishSnapshotWarmsUpRules() {
+        // Given: A staged rule with two warmup payloads, warmup of two iterations
+        RuleLibrary warmRule = new RuleLibrary();
+        warmRule.setName("warmRule");
+        warmRule.setWarmupPayloads(List.of(Map.of("amount", 10), Map.of("amount", 2000)));
+        definitionCache.put(CatalogType.RULE, "warmRule", warmRule);
+        Serializable compiled = org.mvel2.MVEL.compileExpression("payload.amount > 1000");
+
+        when(snapshotHolder.current()).thenReturn(EngineSnapshot.empty());
+        when(ruleCache.getAll()).thenReturn(Map.of("warmRule", compiled));
+        when(variableCache.getAll()).thenReturn(Map.of());
+        when(helperCache.getAll()).thenReturn(Map.of());
+        when(functionCache.getAll()).thenReturn(Map.of());
+        SyncReport report = new SyncReport(SyncMode.FULL);
+
+        // When: Publish snapshot
+        ruleEngineManager.publishSnapshot(new Date(), report);
+
+        // Then: Verify every payload ran twice and the rule was reported
+        assertEquals(4, report.getWarmupRuns().get());
+        assertTrue(report.getWarmupMillis().containsKey("warmRule"));
+        assertTrue(report.getStageMillis().containsKey("warmup"));
+    }
+
+    /**
+     * Tests incremental recompilation of rules depending on a changed function.
+     * 
+     * <p>This test verifies that a changed function library recompiles the
+     * rules that reference it, and nothing else.
+     */
+    @Test
+    @DisplayName("Should recompile dependent rules when a function changes")
+    void testApplyChangesRecompilesDependentRules() {
+        // Given: A staged function and a rule using it
+        testFunction.setId(UUID.randomUUID());
+        RuleLibrary dependentRule = new RuleLibrary();
+        dependentRule.setId(UUID.randomUUID());
+        dependentRule.setName("dependentRule");
+        dependentRule.setMvlCode("'dependent'");
+        dependentRule.setHelpers(Arrays.asList());
+        dependentRule.setFunctions(Arrays.asList("testFunction"));
+
+        when(functionCache.getDefinitions("testFunction")).thenReturn(Optional.of(Map.of()));
+        ruleEngineManager.cacheFunctions(Arrays.asList(testFunction));
+        ruleEngineManager.cacheRules(Arrays.asList(dependentRule));
+
+        // When: The function changes
+        boolean changed = ruleEngineManager.applyChanges(List.of(), List.of(testFunction), List.of(), List.of(), List.of(), new SyncReport(SyncMode.DELTA));
+
+        // Then: Verify the dependent rule was compiled again
+        assertTrue(changed);
+        verify(functionCache, times(2)).put("testFunction", testFunction.getMvlCode());
+        verify(ruleCache, times(2)).put(eq("dependentRule"), any());
+    }
+
+    /**
+     * Tests two consecutive delta syncs over the same window.
+     * 
+     * <p>This test verifies that entities returned again by the overlap of
+     * the next delta query are not restaged, so nothing is republished.
+     */
+    @Test
+    @DisplayName("Should not reapply changes returned again by the next delta sync")
+    void testApplyChangesSkipsUnchangedEntities() {
+        // Given: A rule and a rule set modified once
+        Date modified = new Date();
+        RuleLibrary changedRule = new RuleLibrary();
+        changedRule.setId(UUID.randomUUID());
+        changedRule.setLastModifiedDate(modified);
+        changedRule.setName("changedRule");
+        changedRule.setMvlCode("'changed'");
+        changedRule.setHelpers(Arrays.asList());
+        changedRule.setFunctions(Arrays.asList());
+        RuleSet ruleSet = new RuleSet();
+        ruleSet.setId(UUID.randomUUID());
+        ruleSet.setLastModifiedDate(modified);
+        ruleSet.setName("changedSet");
+
+        // When: Two delta syncs return the same documents
+        boolean first = ruleEngineManager.applyChanges(List.of(), List.of(), List.of(changedRule), List.of(ruleSet),
+                List.of(), new SyncReport(SyncMode.DELTA));
+        boolean second = ruleEngineManager.applyChanges(List.of(), List.of(), List.of(changedRule), List.of(ruleSet),
+                List.of(), new SyncReport(SyncMode.DELTA));
+
+        // Then: Verify only the first sync changed anything
+        assertTrue(first);
+        assertFalse(second);
+        verify(ruleCache, times(1)).put(eq("changedRule"), any());
+
+        // When: The rule is modified again
+        RuleLibrary modifiedRule = new RuleLibrary();
+        modifiedRule.setId(changedRule.getId());
+        modifiedRule.setLastModifiedDate(new Date(modified.getTime() + 1));
+        modifiedRule.setName("changedRule");
+        modifiedRule.setMvlCode("'modified'");
+        modifiedRule.setHelpers(Arrays.asList());
+        modifiedRule.setFunctions(Arrays.asList());
+        boolean third = ruleEngineManager.applyChanges(List.of(), List.of(), List.of(modifiedRule), List.of(ruleSet),
+                List.of(), new SyncReport(SyncMode.DELTA));
+
+        // Then: Verify the modification is applied
+        assertTrue(third);
+        verify(ruleCache, times(2)).put(eq("changedRule"), any());
+    }
+
+    /**
+     * Tests eviction of a deleted rule through its tombstone.
+     * 
+     * <p>This test verifies that a tombstone removes the rule it refers to
+     * and ignores tombstones of entities that are not cached.
+     */
+    @Test
+    @DisplayName("Should evict rules deleted since the last sync")
+    void testApplyChangesEvictsTombstonedRule() {
+        // Given: A staged rule and tombstones for it and an unknown entity
+        RuleLibrary simpleRule = new RuleLibrary();
+        simpleRule.setId(UUID.randomUUID());
+        simpleRule.setName("simpleRule");
+        simpleRule.setMvlCode("'simple'");
+        simpleRule.setHelpers(Arrays.asList());
+        simpleRule.setFunctions(Arrays.asList());
+        ruleEngineManager.cacheRules(Arrays.asList(simpleRule));
+
+        CatalogTombstone tombstone = new CatalogTombstone();
+        tombstone.setEntityId(simpleRule.getId());
+        tombstone.setCatalogType(CatalogType.RULE);
+        CatalogTombstone unknown = new CatalogTombstone();
+        unknown.setEntityId(UUID.randomUUID());
+        unknown.setCatalogType(CatalogType.HELPER);
+
+        // When: The tombstones are applied
+        boolean changed = ruleEngineManager.applyChanges(List.of(), List.of(), List.of(), List.of(), List.of(tombstone, unknown), new SyncReport(SyncMode.DELTA));
+
+        // Then: Verify only the rule was evicted
+        assertTrue(changed);
+        verify(ruleCache, times(1)).remove("simpleRule");
+        verify(variableCache, times(1)).remove("simpleRule");
+        verify(helperCache, never()).remove(anyString());
+        assertTrue(definitionCache.get(CatalogType.RULE, "simpleRule").isEmpty());
+    }
+
+    /**
+     * Creates a loaded helper without loading any classes.
+     * 
+     * @param helper The helper
+     * @param jar The URL of the cached JAR
+     * @param instances The helper instances
+     * @return The loaded helper
+     */
+    private static LoadedHelper loaded(RuleHelper helper, URL jar, Map<String, Object> instances) {
+        return new LoadedHelper(helper.getName(), jar, helper.getPackagePath(),
+                new URLClassLoader(new URL[]{jar}), instances);
+    }
+}
@@ -0,0 +1,315 @@
+package com.beassolution.rule.engine;
+
+import com.beassolution.rule.config.EvaluationConfig;
+import com.beassolution.rule.dto.request.RuleEvaluateRequest;
+import com.beassolution.rule.dto.request.RuleSetEvaluateRequest;
+import com.beassolution.rule.dto.response.RuleSetEvaluation;
+import com.beassolution.rule.engine.cache.ResultCache;
+import com.beassolution.rule.engine.snapshot.CompiledRule;
+import com.beassolution.rule.engine.snapshot.CompiledRuleSet;
+import com.beassolution.rule.engine.snapshot.EngineSnapshot;
+import com.beassolution.rule.engine.snapshot.EngineSnapshotHolder;
+import com.beassolution.rule.exception.OperationException;
+import com.beassolution.rule.model.RuleSetStrategy;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mvel2.MVEL;
+import org.springframework.http.HttpStatus;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the RuleEvaluator class.
+ * 
+ * <p>This test class covers rule set evaluation against a published
+ * snapshot:
+ * <ul>
+ *   <li>First-match, all-match and collect-all strategies</li>
+ *   <li>Short-circuiting once the outcome is decided</li>
+ *   <li>Per-rule error reporting</li>
+ *   <li>Snapshot leases held until executions have stopped</li>
+ * </ul>
+ * 
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+class RuleEvaluatorTest {
+
+    private EngineSnapshotHolder snapshotHolder;
+    private ThreadPoolExecutor evaluationExecutor;
+    private RuleEvaluator ruleEvaluator;
+
+    /**
+     * Publishes a snapshot with matching, non-matching and failing rules.
+     */
+    @BeforeEach
+    void setUp() {
+        Map<String, CompiledRule> rules = Map.of(
+                "isAdult", rule("isAdult", "payload.age >= 18"),
+                "isMinor", rule("isMinor", "payload.age < 18"),
+                "hasName", rule("hasName", "payload.name != null"),
+                "broken", rule("broken", "payload.missing.value"),
+                "spin", CompiledRule.builder()
+                        .name("spin")
+                        .expression(MVEL.compileExpression("i = 0; while (true) { i = i + 1; } return i;"))
+                        .timeoutMillis(100L)
+                        .build());
+
+        snapshotHolder = new EngineSnapshotHolder();
+        snapshotHolder.publish(new EngineSnapshot(1L, new Date(), rules, Map.of(
+                "first", new CompiledRuleSet("first", RuleSetStrategy.FIRST_MATCH, List.of("isMinor", "isAdult", "hasName")),
+                "all", new CompiledRuleSet("all", RuleSetStrategy.ALL_MATCH, List.of("isAdult", "isMinor", "hasName")),
+                "collect", new CompiledRuleSet("collect", RuleSetStrategy.COLLECT_ALL, List.of("isAdult", "broken", "hasName"))),
+                Map.of(), Map.of()));
+        evaluationExecutor = EvaluationConfig.newPlatformExecutor(2, 100);
+        ruleEvaluator = new RuleEvaluator(snapshotHolder, new ResultCache(100, Duration.ofMinutes(1)), evaluationExecutor,
+                new TieredRuleExecutor(0L), 0L);
+    }
+
+    /**
+     * Shuts down the evaluation pool after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        evaluationExecutor.shutdownNow();
+    }
+
+    /**
+     * Tests the first-match strategy.
+     * 
+     * <p>This test verifies that the first matching rule in declaration
+     * order decides and that later rules are not reported.
+     */
+    @Test
+    @DisplayName("Should stop at the first matching rule in declaration order")
+    void testFirstMatch() {
+        // When: Evaluate the first-match set
+        RuleSetEvaluation evaluation = ruleEvaluator.evaluateRuleSet(Map.of(), request("first"));
+
+        // Then: Verify the adult rule matched and the name rule was skipped
+        assertTrue(evaluation.getMatched());
+        assertEquals("isAdult", evaluation.getMatchedRule());
+        assertEquals(List.of("isMinor", "isAdult"), List.copyOf(evaluation.getResults().keySet()));
+    }
+
+    /**
+     * Tests the all-match strategy.
+     * 
+     * <p>This test verifies that the first non-matching rule fails the set.
+     */
+    @Test
+    @DisplayName("Should stop at the first non-matching rule")
+    void testAllMatch() {
+        // When: Evaluate the all-match set
+        RuleSetEvaluation evaluation = ruleEvaluator.evaluateRuleSet(Map.of(), request("all"));
+
+        // Then: Verify the set did not match at the minor rule
+        assertFalse(evaluation.getMatched());
+        assertEquals(List.of("isAdult", "isMinor"), List.copyOf(evaluation.getResults().keySet()));
+    }
+
+    /**
+     * Tests the collect-all strategy with a failing rule.
+     * 
+     * <p>This test verifies that every rule is evaluated and that a failure
+     * is reported without affecting the other rules.
+     */
+    @Test
+    @DisplayName("Should collect all results and per-rule errors")
+    void testCollectAll() {
+        // When: Evaluate the collect-all set
+        RuleSetEvaluation evaluation = ruleEvaluator.evaluateRuleSet(Map.of(), request("collect"));
+
+        // Then: Verify results and the error of the broken rule
+        assertNull(evaluation.getMatched());
+        assertEquals(true, evaluation.getResults().get("isAdult"));
+        assertEquals(true, evaluation.getResults().get("hasName"));
+        assertTrue(evaluation.getErrors().containsKey("broken"));
+    }
+
+    /**
+     * Tests evaluation of an unknown rule set.
+     */
+    @Test
+    @DisplayName("Should throw exception when rule set is not found")
+    void testUnknownRuleSet() {
+        // When & Then: Verify exception is thrown
+        assertThrows(OperationException.class, () -> ruleEvaluator.evaluateRuleSet(Map.of(), request("unknown")));
+    }
+
+    /**
+     * Tests that a rule running past its timeout is aborted.
+     *
+     * <p>This test verifies that the caller gets a timeout status and that
+     * the looping rule releases its worker.
+     */
+    @Test
+    @DisplayName("Should abort a rule running past its timeout")
+    void testRuleTimeout() {
+        // Given: A request for a rule that never terminates
+        RuleEvaluateRequest spin = new RuleEvaluateRequest();
+        spin.setRuleName("spin");
+
+        // When: Evaluate it on both workers
+        OperationException first = assertThrows(OperationException.class,
+                () -> ruleEvaluator.evaluate(Map.of(), spin));
+        OperationException second = assertThrows(OperationException.class,
+                () -> ruleEvaluator.evaluate(Map.of(), spin, Deadline.afterMillis(50)));
+
+        // Then: Verify both timed out and the workers are free again
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT.value(), first.getErrorCode());
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT.value(), second.getErrorCode());
+        assertEquals(true, ruleEvaluator.evaluateRuleSet(Map.of(), request("all"), Deadline.afterMillis(5000))
+                .getResults().get("isAdult"));
+    }
+
+    /**
+     * Tests streaming evaluation of one rule over many payloads.
+     *
+     * <p>This test verifies that every record is answered once with its
+     * index and that an unknown rule is rejected before reading the stream.
+     */
+    @Test
+    @DisplayName("Should answer every record of a payload stream")
+    void testEvaluateStream() {
+        // Given: A stream of 50 payloads and at most 2 records in flight
+        Iterator<Object> payloads = IntStream.range(0, 50)
+                .<Object>mapToObj(age -> Map.of("age", age))
+                .iterator();
+        Map<Long, Object> results = new ConcurrentHashMap<>();
+
+        // When: Evaluate the stream
+        long count = ruleEvaluator.evaluateStream(Map.of(), "isAdult", payloads, 2,
+                item -> results.put(item.getIndex(), item.getResponse()));
+
+        // Then: Verify each record was answered with its own result
+        assertEquals(50, count);
+        assertEquals(50, results.size());
+        assertEquals(false, results.get(17L));
+        assertEquals(true, results.get(18L));
+        assertThrows(OperationException.class, () -> ruleEvaluator.evaluateStream(Map.of(), "unknown",
+                payloads, 2, item -> { }));
+    }
+
+    /**
+     * Tests that stream results are handed to the sink on the calling thread.
+     *
+     * <p>This test verifies that a blocking sink, such as a servlet response,
+     * never runs on an evaluation thread.
+     */
+    @Test
+    @DisplayName("Should hand stream results to the sink on the calling thread")
+    void testEvaluateStreamSinkThread() {
+        // Given: A stream of 20 payloads
+        Iterator<Object> payloads = IntStream.range(0, 20)
+                .<Object>mapToObj(age -> Map.of("age", age))
+                .iterator();
+        Set<Thread> sinkThreads = ConcurrentHashMap.newKeySet();
+
+        // When: Evaluate the stream
+        long count = ruleEvaluator.evaluateStream(Map.of(), "isAdult", payloads, 4,
+                item -> sinkThreads.add(Thread.currentThread()));
+
+        // Then: Verify only the calling thread wrote results
+        assertEquals(20, count);
+        assertEquals(Set.of(Thread.currentThread()), sinkThreads);
+    }
+
+    /**
+     * Tests asynchronous evaluation of a single rule.
+     *
+     * <p>This test verifies that the future completes with the result and
+     * fails with the same exception as the blocking variant.
+     */
+    @Test
+    @DisplayName("Should evaluate a rule without blocking the caller")
+    void testEvaluateAsync() {
+        // Given: Requests for a known and an unknown rule
+        RuleEvaluateRequest adult = new RuleEvaluateRequest();
+        adult.setRuleName("isAdult");
+        adult.setPayload(Map.of("age", 30));
+        RuleEvaluateRequest unknown = new RuleEvaluateRequest();
+        unknown.setRuleName("unknown");
+
+        // When: Evaluate both asynchronously
+        CompletableFuture<Object> result = ruleEvaluator.evaluateAsync(Map.of(), adult, Deadline.NONE);
+        CompletableFuture<Object> missing = ruleEvaluator.evaluateAsync(Map.of(), unknown, Deadline.NONE);
+
+        // Then: Verify the result and the unwrapped failure
+        assertEquals(true, result.join());
+        CompletionException failure = assertThrows(CompletionException.class, missing::join);
+        assertInstanceOf(OperationException.class, failure.getCause());
+    }
+
+    /**
+     * Tests that retired resources outlive the executions using them.
+     *
+     * <p>This test verifies that completed evaluations return their leases
+     * and that a running rule keeps its snapshot leased until it has stopped,
+     * not just until its caller gave up on it.
+     */
+    @Test
+    @DisplayName("Should close retired resources once running rules have stopped")
+    void testLeasesReleased() throws InterruptedException {
+        // Given: Completed evaluations and a rule still running
+        ruleEvaluator.evaluateRuleSet(Map.of(), request("collect"));
+        RuleEvaluateRequest spin = new RuleEvaluateRequest();
+        spin.setRuleName("spin");
+        CompletableFuture<Object> running = ruleEvaluator.evaluateAsync(Map.of(), spin, Deadline.NONE);
+        AtomicInteger closed = new AtomicInteger();
+
+        // When: A new snapshot retires a resource
+        snapshotHolder.publish(new EngineSnapshot(2L, new Date(), Map.of(), Map.of(), Map.of(), Map.of()),
+                List.of(closed::incrementAndGet));
+
+        // Then: Verify the resource is closed after the running rule stopped
+        assertEquals(0, closed.get());
+        assertThrows(CompletionException.class, running::join);
+        long until = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (closed.get() == 0 && System.nanoTime() < until) {
+            Thread.sleep(10);
+        }
+        assertEquals(1, closed.get());
+    }
+
+    /**
+     * Creates a rule set evaluation request for an adult with a name.
+     *
+     * @param ruleSetName The rule set name
+     * @return The request
+     */
+    private RuleSetEvaluateRequest request(String ruleSetName) {
+        RuleSetEvaluateRequest request = new RuleSetEvaluateRequest();
+        request.setRuleSetName(ruleSetName);
+        request.setPayload(Map.of("age", 30, "name", "Ada"));
+        return request;
+    }
+
+    /**
+     * Compiles a rule without helper bindings.
+     *
+     * @param name The rule name
+     * @param expression The MVEL expression
+     * @return The compiled rule
+     */
+    private CompiledRule rule(String name, String expression) {
+        return CompiledRule.builder().name(name).expression(MVEL.compileExpression(expression)).build();
+    }
+}
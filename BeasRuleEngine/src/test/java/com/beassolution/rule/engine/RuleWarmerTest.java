@@ -0,0 +1,75 @@
+package com.beassolution.rule.engine;
+
+import com.beassolution.rule.engine.snapshot.CompiledRule;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mvel2.MVEL;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the RuleWarmer class.
+ *
+ * <p>This test class covers warmup runs of freshly compiled rules:
+ * <ul>
+ *   <li>Runs per payload and iteration</li>
+ *   <li>Stopping at the first failing run</li>
+ *   <li>Disabled warmup</li>
+ * </ul>
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+class RuleWarmerTest {
+
+    /**
+     * Tests that every payload is run the configured number of times.
+     */
+    @Test
+    @DisplayName("Should run every payload for every iteration")
+    void testRunsEveryPayload() {
+        RuleWarmer ruleWarmer = new RuleWarmer(3, 0L);
+        CompiledRule rule = CompiledRule.builder()
+                .name("isAdult")
+                .expression(MVEL.compileExpression("payload.age >= 18"))
+                .build();
+
+        int runs = ruleWarmer.warmup(rule, List.of(Map.of("age", 30), Map.of("age", 10)));
+
+        assertEquals(6, runs);
+    }
+
+    /**
+     * Tests that the warmup of a rule stops at its first failing run.
+     */
+    @Test
+    @DisplayName("Should stop warming up a rule at the first failure")
+    void testStopsAtFirstFailure() {
+        RuleWarmer ruleWarmer = new RuleWarmer(3, 0L);
+        CompiledRule rule = CompiledRule.builder()
+                .name("isAdult")
+                .expression(MVEL.compileExpression("payload.age >= 18"))
+                .build();
+
+        int runs = ruleWarmer.warmup(rule, Arrays.asList(Map.of("age", 30), null));
+
+        assertEquals(1, runs);
+    }
+
+    /**
+     * Tests that warmup only applies when enabled and payloads are present.
+     */
+    @Test
+    @DisplayName("Should only apply to rules with payloads when enabled")
+    void testIsApplicable() {
+        assertTrue(new RuleWarmer(1, 0L).isApplicable(List.of(Map.of())));
+        assertFalse(new RuleWarmer(1, 0L).isApplicable(List.of()));
+        assertFalse(new RuleWarmer(1, 0L).isApplicable(null));
+        assertFalse(new RuleWarmer(0, 0L).isApplicable(List.of(Map.of())));
+    }
+}
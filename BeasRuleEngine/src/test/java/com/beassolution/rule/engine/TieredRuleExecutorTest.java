@@ -0,0 +1,260 @@
+package com.beassolution.rule.engine;
+
+import com.beassolution.rule.engine.snapshot.CompiledRule;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mvel2.compiler.Accessor;
+import org.mvel2.compiler.ExecutableAccessor;
+import org.mvel2.optimizers.OptimizerFactory;
+import org.mvel2.optimizers.dynamic.DynamicGetAccessor;
+import org.mvel2.optimizers.dynamic.DynamicOptimizer;
+
+import java.lang.ref.WeakReference;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the TieredRuleExecutor class.
+ *
+ * <p>This test class covers promotion of rules between execution tiers:
+ * <ul>
+ *   <li>Cold rules running reflectively until the threshold</li>
+ *   <li>Background promotion of hot rules</li>
+ *   <li>Identical results in both tiers</li>
+ *   <li>Rules without source staying reflective</li>
+ *   <li>Rules bound to helpers staying reflective</li>
+ *   <li>Generated accessors released with their rule</li>
+ *   <li>MVEL's default optimizer left untouched</li>
+ * </ul>
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+class TieredRuleExecutorTest {
+
+    private static final String SOURCE = "payload.age >= 18";
+
+    private TieredRuleExecutor tieredRuleExecutor;
+
+    /**
+     * Creates an executor promoting rules after three executions.
+     */
+    @BeforeEach
+    void setUp() {
+        tieredRuleExecutor = new TieredRuleExecutor(3L);
+    }
+
+    /**
+     * Shuts down the promotion thread after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        tieredRuleExecutor.shutdown();
+    }
+
+    /**
+     * Tests that a rule is promoted once it reaches the threshold and keeps
+     * returning the same results in the optimized tier.
+     */
+    @Test
+    @DisplayName("Should promote a hot rule to the optimized tier")
+    void testPromotesHotRule() throws InterruptedException {
+        CompiledRule rule = promotableRule();
+
+        for (int i = 0; i < 2; i++) {
+            assertEquals(true, execute(rule, 30));
+        }
+        assertFalse(rule.isOptimized());
+
+        assertEquals(true, execute(rule, 30));
+        awaitPromotion(rule);
+
+        assertNotSame(rule.getExpression(), rule.getOptimizedExpression());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(true, execute(rule, 30));
+            assertEquals(false, execute(rule, 10));
+        }
+    }
+
+    /**
+     * Tests that a rule whose source is unknown is never promoted.
+     */
+    @Test
+    @DisplayName("Should keep rules without source in the reflective tier")
+    void testKeepsRuleWithoutSourceReflective() throws InterruptedException {
+        CompiledRule rule = CompiledRule.builder()
+                .name("isAdult")
+                .expression(RuleEngineManager.compileRule(SOURCE))
+                .build();
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(true, execute(rule, 30));
+        }
+        Thread.sleep(100);
+
+        assertFalse(rule.isOptimized());
+        assertEquals(0L, rule.getInvocations());
+    }
+
+    /**
+     * Tests that a rule bound to helpers is never promoted.
+     */
+    @Test
+    @DisplayName("Should keep rules bound to helpers in the reflective tier")
+    void testKeepsRuleWithHelpersReflective() throws InterruptedException {
+        CompiledRule rule = CompiledRule.builder()
+                .name("isAdult")
+                .expression(RuleEngineManager.compileRule(SOURCE))
+                .variables(Map.of("helper", new Object()))
+                .source(SOURCE)
+                .build();
+
+        for (int i = 0; i < 10; i++) {
+            execute(rule, 30);
+        }
+        Thread.sleep(100);
+
+        assertFalse(rule.isOptimized());
+        assertEquals(0L, rule.getInvocations());
+    }
+
+    /**
+     * Tests that the accessor classes generated for a promoted rule are
+     * released once the rule is retired.
+     *
+     * <p>This test verifies that the classes are defined below the rule's
+     * own class loader and that nothing but the rule keeps them alive.
+     */
+    @Test
+    @DisplayName("Should release the generated accessors of retired rules")
+    void testReleasesAccessorsOfRetiredRule() throws InterruptedException {
+        WeakReference<Class<?>> generated = generateAccessor();
+
+        tieredRuleExecutor.releaseRetiredAccessors();
+        for (int i = 0; i < 50 && generated.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+
+        assertNull(generated.get());
+    }
+
+    /**
+     * Tests that a demoted rule is not promoted again.
+     */
+    @Test
+    @DisplayName("Should not promote a demoted rule again")
+    void testDemotedRuleStaysReflective() throws InterruptedException {
+        CompiledRule rule = promotableRule();
+        for (int i = 0; i < 3; i++) {
+            execute(rule, 30);
+        }
+        awaitPromotion(rule);
+
+        rule.demote();
+        for (int i = 0; i < 10; i++) {
+            assertEquals(true, execute(rule, 30));
+        }
+        Thread.sleep(100);
+
+        assertFalse(rule.isOptimized());
+        assertEquals(3L, rule.getInvocations());
+    }
+
+    /**
+     * Tests that tiering leaves MVEL's process-wide optimizer untouched.
+     */
+    @Test
+    @DisplayName("Should not change MVEL's default optimizer")
+    void testKeepsDefaultOptimizer() throws InterruptedException {
+        CompiledRule rule = promotableRule();
+        for (int i = 0; i < 3; i++) {
+            execute(rule, 30);
+        }
+        awaitPromotion(rule);
+        execute(rule, 30);
+
+        assertInstanceOf(DynamicOptimizer.class, OptimizerFactory.getDefaultAccessorCompiler());
+        assertInstanceOf(DynamicOptimizer.class, OptimizerFactory.getThreadAccessorOptimizer());
+    }
+
+    /**
+     * Creates a rule that can be promoted to the optimized tier.
+     *
+     * @return The compiled rule with its source
+     */
+    private static CompiledRule promotableRule() {
+        return CompiledRule.builder()
+                .name("isAdult")
+                .expression(RuleEngineManager.compileRule(SOURCE))
+                .revision(1L)
+                .source(SOURCE)
+                .build();
+    }
+
+    /**
+     * Promotes a rule and runs it until MVEL generated the bytecode accessor
+     * of its payload access.
+     *
+     * @return Weak reference to the generated accessor class
+     */
+    private WeakReference<Class<?>> generateAccessor() throws InterruptedException {
+        CompiledRule rule = CompiledRule.builder()
+                .name("age")
+                .expression(RuleEngineManager.compileRule("payload.age"))
+                .revision(1L)
+                .source("payload.age")
+                .build();
+        for (int i = 0; i < 3; i++) {
+            execute(rule, 30);
+        }
+        awaitPromotion(rule);
+
+        long deadline = System.currentTimeMillis() + 5000;
+        Class<?> accessorClass = null;
+        while (accessorClass == null && System.currentTimeMillis() < deadline) {
+            // MVEL only generates bytecode for accessors that ran often in a short time
+            for (int i = 0; i < 100; i++) {
+                assertEquals(30, execute(rule, 30));
+            }
+            Accessor accessor = ((ExecutableAccessor) rule.getOptimizedExpression()).getNode().getAccessor();
+            Accessor tenured = ((DynamicGetAccessor) accessor).getAccessor();
+            if (tenured.getClass().getClassLoader().getParent() == rule.getAccessorLoader()) {
+                accessorClass = tenured.getClass();
+            }
+        }
+        assertNotNull(accessorClass);
+        return new WeakReference<>(accessorClass);
+    }
+
+    /**
+     * Executes a rule against a payload with the given age.
+     *
+     * @param rule The rule to execute
+     * @param age The age in the payload
+     * @return The result of the rule
+     */
+    private Object execute(CompiledRule rule, int age) {
+        Map<String, Object> vars = new HashMap<>();
+        vars.put("payload", Map.of("age", age));
+        return tieredRuleExecutor.execute(rule, rule.newEvaluationFactory(vars));
+    }
+
+    /**
+     * Waits until the background promotion of a rule completed.
+     *
+     * @param rule The rule being promoted
+     */
+    private static void awaitPromotion(CompiledRule rule) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!rule.isOptimized() && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertTrue(rule.isOptimized());
+    }
+}
@@ -0,0 +1,218 @@
+package com.beassolution.rule.engine.cache;
+
+import com.beassolution.rule.exception.OperationException;
+import com.beassolution.rule.model.RuleHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link HelperJarCache} class.
+ *
+ * <p>This test class covers the local cache of helper JARs:
+ * <ul>
+ *   <li>Content addressed storage and parallel prefetching</li>
+ *   <li>Reuse of unchanged JARs without downloading them again</li>
+ *   <li>Checksum verification and corrupt cached copies</li>
+ *   <li>Deletion of unused JARs</li>
+ * </ul>
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+class HelperJarCacheTest {
+
+    @TempDir
+    private Path directory;
+
+    private HelperJarCache helperJarCache;
+
+    /**
+     * Creates an empty cache before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        helperJarCache = newCache();
+    }
+
+    /**
+     * Shuts down the fetch threads of the cache.
+     */
+    @AfterEach
+    void tearDown() {
+        helperJarCache.shutdown();
+    }
+
+    /**
+     * Tests that JARs are stored under the hash of their contents.
+     */
+    @Test
+    @DisplayName("Should prefetch JARs into content addressed files")
+    void testPrefetch() throws Exception {
+        // Given: Two helpers with local JARs
+        RuleHelper first = helper("first", "first classes");
+        RuleHelper second = helper("second", "second classes");
+
+        // When: Prefetch both helpers
+        Map<String, URL> jars = helperJarCache.prefetch(List.of(first, second));
+
+        // Then: Each JAR is cached under its hash and the hash is indexed
+        assertEquals(Path.of(jars.get("first").toURI()).getFileName().toString(), sha256("first classes") + ".jar");
+        assertEquals(Path.of(jars.get("second").toURI()).getFileName().toString(), sha256("second classes") + ".jar");
+        assertEquals(sha256("first classes"), helperJarCache.hashOf(first).orElseThrow());
+
+        // And: A new cache instance reads the index from disk
+        HelperJarCache reloaded = newCache();
+        try {
+            assertEquals(sha256("second classes"), reloaded.hashOf(second).orElseThrow());
+        } finally {
+            reloaded.shutdown();
+        }
+    }
+
+    /**
+     * Tests that an unchanged JAR is served from the cache.
+     *
+     * <p>The source file is rewritten with its previous modification time,
+     * so only a download would pick up the new contents.
+     */
+    @Test
+    @DisplayName("Should reuse unchanged JARs without downloading them")
+    void testReuseUnchanged() throws Exception {
+        // Given: A cached JAR
+        RuleHelper helper = helper("helper", "helper classes");
+        URL cached = helperJarCache.fetch(helper);
+        Path source = directory.resolve("helper.jar");
+        FileTime modified = Files.getLastModifiedTime(source);
+
+        // When: The source changes without a new modification time
+        Files.writeString(source, "other classes");
+        Files.setLastModifiedTime(source, modified);
+
+        // Then: The cached copy is reused
+        assertEquals(cached, helperJarCache.fetch(helper));
+
+        // When: The source gets a new modification time
+        Files.setLastModifiedTime(source, FileTime.fromMillis(modified.toMillis() + 60_000L));
+
+        // Then: The new contents are downloaded
+        assertEquals(sha256("other classes"), Path.of(helperJarCache.fetch(helper).toURI()).getFileName()
+                .toString().replace(".jar", ""));
+    }
+
+    /**
+     * Tests that declared checksums are verified and short-circuit the fetch.
+     */
+    @Test
+    @DisplayName("Should verify declared checksums")
+    void testChecksum() throws Exception {
+        // Given: A helper declaring a wrong checksum
+        RuleHelper helper = helper("helper", "helper classes");
+        helper.setPackageChecksum(sha256("other classes"));
+
+        // Then: The download is rejected
+        assertThrows(OperationException.class, () -> helperJarCache.fetch(helper));
+
+        // When: The checksum is correct
+        helper.setPackageChecksum(sha256("helper classes").toUpperCase());
+        URL cached = helperJarCache.fetch(helper);
+
+        // Then: A cached JAR is found by checksum even if the source is gone
+        Files.delete(directory.resolve("helper.jar"));
+        assertEquals(cached, helperJarCache.fetch(helper));
+
+        // And: A checksum that is not a SHA-256 hash is rejected
+        helper.setPackageChecksum("not a hash");
+        assertThrows(OperationException.class, () -> helperJarCache.fetch(helper));
+    }
+
+    /**
+     * Tests that a corrupt cached copy is discarded.
+     */
+    @Test
+    @DisplayName("Should discard corrupt cached JARs")
+    void testCorruptCopy() throws Exception {
+        // Given: A cached JAR that is modified on disk
+        RuleHelper helper = helper("helper", "helper classes");
+        Path cached = Path.of(helperJarCache.fetch(helper).toURI());
+        Files.writeString(cached, "tampered");
+
+        // Then: The copy is not found and deleted
+        assertTrue(helperJarCache.find(sha256("helper classes")).isEmpty());
+        assertFalse(Files.exists(cached));
+        assertTrue(helperJarCache.find("../index").isEmpty());
+    }
+
+    /**
+     * Tests that JARs of removed helpers are deleted.
+     */
+    @Test
+    @DisplayName("Should delete JARs no helper uses")
+    void testRetain() throws Exception {
+        // Given: Two cached JARs
+        RuleHelper kept = helper("kept", "kept classes");
+        RuleHelper removed = helper("removed", "removed classes");
+        helperJarCache.prefetch(List.of(kept, removed));
+
+        // When: Only one helper is still in use
+        helperJarCache.retain(List.of(kept));
+
+        // Then: Only its JAR and index entry remain
+        assertTrue(helperJarCache.find(sha256("kept classes")).isPresent());
+        assertTrue(helperJarCache.find(sha256("removed classes")).isEmpty());
+        assertTrue(helperJarCache.hashOf(removed).isEmpty());
+    }
+
+    /**
+     * Creates a cache in the test directory.
+     *
+     * @return The cache
+     */
+    private HelperJarCache newCache() {
+        return new HelperJarCache(directory.resolve("cache").toString(), 2);
+    }
+
+    /**
+     * Creates a helper whose JAR is a local file.
+     *
+     * @param name The helper name, also used as file name
+     * @param contents The contents of the JAR file
+     * @return The helper
+     * @throws IOException if the file cannot be written
+     */
+    private RuleHelper helper(String name, String contents) throws IOException {
+        Path jar = Files.writeString(directory.resolve(name + ".jar"), contents);
+        RuleHelper helper = new RuleHelper();
+        helper.setName(name);
+        helper.setPackageUrl(jar.toUri().toString());
+        helper.setPackagePath("com.test");
+        return helper;
+    }
+
+    /**
+     * Hashes a string the way the cache hashes file contents.
+     *
+     * @param contents The contents
+     * @return The hex encoded SHA-256 hash
+     */
+    private static String sha256(String contents) throws Exception {
+        return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(contents.getBytes(StandardCharsets.UTF_8)));
+    }
+}
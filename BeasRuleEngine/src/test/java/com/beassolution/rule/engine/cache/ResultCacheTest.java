@@ -0,0 +1,256 @@
+package com.beassolution.rule.engine.cache;
+
+import com.beassolution.rule.engine.payload.LazyPayload;
+import com.beassolution.rule.engine.snapshot.BindingPlan;
+import com.beassolution.rule.engine.snapshot.CompiledRule;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mvel2.MVEL;
+
+import java.io.Serializable;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the {@link ResultCache} class.
+ *
+ * <p>This test class covers the memoization of rule results:
+ * <ul>
+ *   <li>Hits for equal payloads regardless of key order</li>
+ *   <li>Separation of values of different types</li>
+ *   <li>Hashing of the referenced variables only</li>
+ *   <li>Lazy payloads hashed without being decoded</li>
+ *   <li>Bypass for non-deterministic rules</li>
+ *   <li>Separation of rule revisions</li>
+ *   <li>Invalidation per rule</li>
+ *   <li>Rules evaluating rules through the cache</li>
+ * </ul>
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+class ResultCacheTest {
+
+    private final Serializable expression = MVEL.compileExpression("true");
+
+    private ResultCache resultCache;
+    private AtomicInteger evaluations;
+
+    /**
+     * Sets up an empty cache before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        resultCache = new ResultCache(100, Duration.ofMinutes(1));
+        evaluations = new AtomicInteger();
+    }
+
+    /**
+     * Tests that equal payloads share a cached result.
+     *
+     * <p>This test verifies that the hash does not depend on the order of
+     * map keys.
+     */
+    @Test
+    @DisplayName("Should serve equal payloads from the cache")
+    void testHitForEqualPayloads() {
+        // Given: A deterministic rule and two equal payloads in different key order
+        CompiledRule rule = rule(1L, true);
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("age", 20);
+        first.put("tags", List.of("a", "b"));
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("tags", List.of("a", "b"));
+        second.put("age", 20);
+
+        // When: Evaluate both
+        Object firstResult = resultCache.get(rule, Map.of("payload", first), this::evaluate);
+        Object secondResult = resultCache.get(rule, Map.of("payload", second), this::evaluate);
+
+        // Then: Verify the rule ran once
+        assertEquals(1, firstResult);
+        assertEquals(1, secondResult);
+        assertEquals(1, evaluations.get());
+        assertEquals(1L, resultCache.getStats().get("hitCount"));
+    }
+
+    /**
+     * Tests that values with equal JSON but different types don't share a
+     * cached result.
+     */
+    @Test
+    @DisplayName("Should not share results between values of different types")
+    void testTypesAreSeparated() {
+        // Given: A deterministic rule
+        CompiledRule rule = rule(1L, true);
+
+        // When: Evaluate values that serialize alike
+        List<Object> values = List.of(1, 1L, 1.0, "1", new Date(1L), List.of(1), Set.of(1));
+        for (Object value : values) {
+            resultCache.get(rule, Map.of("payload", Map.of("value", value)), this::evaluate);
+        }
+
+        // Then: Verify every value was evaluated
+        assertEquals(values.size(), evaluations.get());
+        assertEquals(0L, resultCache.getStats().get("hitCount"));
+    }
+
+    /**
+     * Tests that variables the rule doesn't reference are not part of the key.
+     */
+    @Test
+    @DisplayName("Should hash only the variables the rule references")
+    void testHashesReferencedVariablesOnly() {
+        // Given: A rule referencing the payload only
+        CompiledRule rule = CompiledRule.builder()
+                .name("rule")
+                .expression(expression)
+                .revision(1L)
+                .deterministic(true)
+                .plan(BindingPlan.of(List.of("payload.age >= 18")))
+                .build();
+
+        // When: Evaluate the same payload with different parameters
+        resultCache.get(rule, Map.of("payload", Map.of("age", 20), "parameters", Map.of("limit", 1)), this::evaluate);
+        Object result = resultCache.get(rule,
+                Map.of("payload", Map.of("age", 20), "parameters", Map.of("limit", 2)), this::evaluate);
+
+        // Then: Verify the second evaluation was served from the cache
+        assertEquals(1, result);
+        assertEquals(1, evaluations.get());
+    }
+
+    /**
+     * Tests that lazy payloads are hashed from their raw JSON.
+     */
+    @Test
+    @DisplayName("Should hash lazy payloads without decoding them")
+    void testLazyPayloadsStayEncoded() throws Exception {
+        // Given: Two lazy payloads over the same document
+        ObjectMapper objectMapper = new ObjectMapper();
+        byte[] body = "{\"age\": 20, \"tags\": [\"a\", \"b\"]}".getBytes(StandardCharsets.UTF_8);
+        LazyPayload first = LazyPayload.of(body, 0, objectMapper.readerFor(Object.class));
+        LazyPayload second = LazyPayload.of(body.clone(), 0, objectMapper.readerFor(Object.class));
+        CompiledRule rule = rule(1L, true);
+
+        // When: Evaluate both
+        resultCache.get(rule, Map.of("payload", first), this::evaluate);
+        Object result = resultCache.get(rule, Map.of("payload", second), this::evaluate);
+
+        // Then: Verify the second was served from the cache and nothing was decoded
+        assertEquals(1, result);
+        assertEquals(0, first.getDecodedCount());
+        assertEquals(0, second.getDecodedCount());
+    }
+
+    /**
+     * Tests that non-deterministic rules always run.
+     */
+    @Test
+    @DisplayName("Should bypass the cache for non-deterministic rules")
+    void testBypassForNonDeterministicRules() {
+        // Given: A non-deterministic rule
+        CompiledRule rule = rule(1L, false);
+
+        // When: Evaluate twice with the same payload
+        resultCache.get(rule, Map.of("payload", 1), this::evaluate);
+        resultCache.get(rule, Map.of("payload", 1), this::evaluate);
+
+        // Then: Verify the rule ran twice and nothing was cached
+        assertEquals(2, evaluations.get());
+        assertEquals(0L, resultCache.getStats().get("size"));
+    }
+
+    /**
+     * Tests that a recompiled rule never sees results of its previous revision.
+     */
+    @Test
+    @DisplayName("Should not share results between rule revisions")
+    void testRevisionsAreSeparated() {
+        // When: Evaluate two revisions of the same rule with the same payload
+        resultCache.get(rule(1L, true), Map.of("payload", 1), this::evaluate);
+        Object result = resultCache.get(rule(2L, true), Map.of("payload", 1), this::evaluate);
+
+        // Then: Verify the new revision was evaluated
+        assertEquals(2, result);
+    }
+
+    /**
+     * Tests invalidation of the results of a rule.
+     */
+    @Test
+    @DisplayName("Should drop the cached results of invalidated rules")
+    void testInvalidate() {
+        // Given: A cached result
+        CompiledRule rule = rule(1L, true);
+        resultCache.get(rule, Map.of("payload", 1), this::evaluate);
+
+        // When: Invalidate the rule and evaluate again
+        resultCache.invalidate(Set.of("rule"));
+        Object result = resultCache.get(rule, Map.of("payload", 1), this::evaluate);
+
+        // Then: Verify the rule ran again
+        assertEquals(2, result);
+    }
+
+    /**
+     * Tests a rule evaluating another rule through the cache.
+     *
+     * <p>This test verifies that evaluations run outside the cache, so a
+     * nested lookup does not fail with a recursive update.
+     */
+    @Test
+    @DisplayName("Should cache rules evaluated by other rules")
+    void testNestedEvaluation() {
+        // Given: An outer rule evaluating an inner rule with the same variables
+        CompiledRule outer = rule(1L, true);
+        CompiledRule inner = rule(2L, true);
+        Map<String, Object> vars = Map.of("payload", 1);
+
+        // When: Evaluate the outer rule twice
+        Object first = resultCache.get(outer, vars, () -> resultCache.get(inner, vars, this::evaluate));
+        Object second = resultCache.get(outer, vars, () -> resultCache.get(inner, vars, this::evaluate));
+
+        // Then: Verify both results are cached
+        assertEquals(1, first);
+        assertEquals(1, second);
+        assertEquals(1, evaluations.get());
+        assertEquals(2L, resultCache.getStats().get("size"));
+    }
+
+    /**
+     * Counts an evaluation and returns its sequence number.
+     *
+     * @return The number of evaluations so far
+     */
+    private Object evaluate() {
+        return evaluations.incrementAndGet();
+    }
+
+    /**
+     * Creates a compiled rule named "rule".
+     *
+     * @param revision The rule revision
+     * @param deterministic Whether the rule is deterministic
+     * @return The compiled rule
+     */
+    private CompiledRule rule(long revision, boolean deterministic) {
+        return CompiledRule.builder()
+                .name("rule")
+                .expression(expression)
+                .revision(revision)
+                .deterministic(deterministic)
+                .build();
+    }
+}
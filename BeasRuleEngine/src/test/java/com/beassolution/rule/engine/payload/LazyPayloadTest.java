@@ -0,0 +1,120 @@
+package com.beassolution.rule.engine.payload;
+
+import com.beassolution.rule.dto.request.RuleEvaluateRequest;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the LazyPayload class.
+ *
+ * <p>This test class covers payloads decoded on demand from the request body:
+ * <ul>
+ *   <li>Fields decoded only when read</li>
+ *   <li>Nested objects, arrays, escaped strings and nulls</li>
+ *   <li>Full decoding when the entries are iterated</li>
+ *   <li>Small bodies and disabled lazy binding</li>
+ * </ul>
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+class LazyPayloadTest {
+
+    private static final String BODY = """
+            {"parameters": {"limit": 5},
+             "payload": {"id": 7, "name": "A \\"quoted\\" name", "tags": ["a", {"b": 1}],
+                         "customer": {"address": {"city": "Berlin"}, "score": 1.5},
+                         "missing": null, "id": 8},
+             "ruleName": "pricing"}
+            """;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    /**
+     * Tests that fields are only decoded when read.
+     */
+    @Test
+    @DisplayName("Should decode only the fields that are read")
+    void testDecodesOnDemand() throws Exception {
+        // Given: A request read with lazy payloads enabled
+        RuleEvaluateRequest request = new LazyPayloadReader(objectMapper, true, 0)
+                .read(BODY.getBytes(StandardCharsets.UTF_8), RuleEvaluateRequest.class);
+
+        // Then: The envelope is bound as usual and the payload is indexed only
+        assertEquals("pricing", request.getRuleName());
+        assertEquals(Map.of("limit", 5), request.getParameters());
+        LazyPayload payload = assertInstanceOf(LazyPayload.class, request.getPayload());
+        assertEquals(List.of("id", "name", "tags", "customer", "missing"), List.copyOf(payload.keySet()));
+        assertEquals(0, payload.getDecodedCount());
+
+        // When: A nested path is read
+        Map<?, ?> customer = (Map<?, ?>) payload.get("customer");
+        Map<?, ?> address = (Map<?, ?>) customer.get("address");
+
+        // Then: Only the objects along the path are decoded
+        assertEquals("Berlin", address.get("city"));
+        assertEquals(1, payload.getDecodedCount());
+        assertEquals(1, ((LazyPayload) customer).getDecodedCount());
+        assertSame(customer, payload.get("customer"));
+    }
+
+    /**
+     * Tests the decoding of the different kinds of values.
+     */
+    @Test
+    @DisplayName("Should decode scalars, arrays, escaped strings and nulls")
+    void testDecodesValues() throws Exception {
+        LazyPayload payload = LazyPayload.of(BODY.getBytes(StandardCharsets.UTF_8), BODY.indexOf("{\"id\""),
+                objectMapper.readerFor(Object.class));
+
+        // Later duplicates win, as with eager deserialization
+        assertEquals(8, payload.get("id"));
+        assertEquals("A \"quoted\" name", payload.get("name"));
+        assertEquals(List.of("a", Map.of("b", 1)), payload.get("tags"));
+        assertTrue(payload.containsKey("missing"));
+        assertNull(payload.get("missing"));
+        assertNull(payload.get("absent"));
+        assertEquals(5, payload.size());
+    }
+
+    /**
+     * Tests that iterating over the entries decodes the whole payload.
+     */
+    @Test
+    @DisplayName("Should equal the eagerly deserialized payload")
+    void testEqualsEagerPayload() throws Exception {
+        byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+        RuleEvaluateRequest lazy = new LazyPayloadReader(objectMapper, true, 0).read(body, RuleEvaluateRequest.class);
+        RuleEvaluateRequest eager = objectMapper.readValue(body, RuleEvaluateRequest.class);
+
+        assertEquals(eager.getPayload(), lazy.getPayload());
+        assertEquals(objectMapper.writeValueAsString(eager.getPayload()),
+                objectMapper.writeValueAsString(lazy.getPayload()));
+    }
+
+    /**
+     * Tests that small bodies and disabled readers bind payloads eagerly.
+     */
+    @Test
+    @DisplayName("Should bind payloads eagerly below the threshold or when disabled")
+    void testEagerBinding() throws Exception {
+        byte[] body = BODY.getBytes(StandardCharsets.UTF_8);
+
+        Object small = new LazyPayloadReader(objectMapper, true, body.length + 1)
+                .read(body, RuleEvaluateRequest.class).getPayload();
+        Object disabled = new LazyPayloadReader(objectMapper, false, 0)
+                .read(body, RuleEvaluateRequest.class).getPayload();
+
+        assertFalse(small instanceof LazyPayload);
+        assertFalse(disabled instanceof LazyPayload);
+        assertEquals("Berlin", ((Map<?, ?>) ((Map<?, ?>) ((Map<?, ?>) small).get("customer")).get("address")).get("city"));
+    }
+}
@@ -0,0 +1,162 @@
+package com.beassolution.rule.engine.persistence;
+
+import com.beassolution.rule.engine.cache.HelperJarCache;
+import com.beassolution.rule.model.RuleHelper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the CatalogSnapshotStore class.
+ *
+ * <p>This test class covers persisting and restoring of the compiled catalog:
+ * <ul>
+ *   <li>Round trip of expressions and helper JARs</li>
+ *   <li>Changed documents and corrupt JARs not being restored</li>
+ *   <li>Stored entries carried over to the next file</li>
+ *   <li>Disabled persistence and unreadable files</li>
+ * </ul>
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+class CatalogSnapshotStoreTest {
+
+    private static final Function<String, Serializable> COMPILER = source -> "compiled:" + source;
+
+    @TempDir
+    private Path directory;
+
+    private HelperJarCache helperJarCache;
+
+    private RuleHelper helper;
+
+    /**
+     * Creates a helper whose JAR is a local file and fetches it into the cache.
+     */
+    @BeforeEach
+    void setUp() throws IOException {
+        Path jar = Files.writeString(directory.resolve("helper.jar"), "helper classes");
+        helper = new RuleHelper();
+        helper.setName("testHelper");
+        helper.setPackageUrl(jar.toUri().toString());
+        helper.setPackagePath("com.test");
+
+        helperJarCache = new HelperJarCache(directory.resolve("jars").toString(), 2);
+        helperJarCache.fetch(helper);
+    }
+
+    /**
+     * Shuts down the fetch threads of the cache.
+     */
+    @AfterEach
+    void tearDown() {
+        helperJarCache.shutdown();
+    }
+
+    /**
+     * Tests that a persisted catalog is restored by a new store.
+     */
+    @Test
+    @DisplayName("Should restore stored expressions and helper JARs")
+    void testRoundTrip() {
+        newStore(true).save(new Date(1000L), List.of(helper), List.of("a", "b"), COMPILER);
+
+        RestoredCatalog restored = newStore(true).load();
+
+        assertFalse(restored.isEmpty());
+        assertEquals(new Date(1000L), restored.getWatermark());
+        assertEquals(Optional.of("compiled:a"), restored.expression("a"));
+        assertEquals(Optional.of("compiled:b"), restored.expression("b"));
+        assertTrue(restored.expression("c").isEmpty());
+        assertTrue(restored.helperJar(helper).isPresent());
+    }
+
+    /**
+     * Tests that a changed helper document or a corrupt JAR is not restored.
+     */
+    @Test
+    @DisplayName("Should not restore changed helpers or corrupt JARs")
+    void testChangedHelperNotRestored() throws IOException {
+        newStore(true).save(new Date(), List.of(helper), List.of(), COMPILER);
+        RestoredCatalog restored = newStore(true).load();
+
+        Path jar = Path.of(restored.helperJar(helper).orElseThrow().getPath());
+        helper.setPackagePath("com.changed");
+        assertTrue(restored.helperJar(helper).isEmpty());
+
+        helper.setPackagePath("com.test");
+        Files.writeString(jar, "tampered");
+        assertTrue(restored.helperJar(helper).isEmpty());
+    }
+
+    /**
+     * Tests that stored entries are carried over without compiling them again.
+     */
+    @Test
+    @DisplayName("Should carry over stored entries to the next file")
+    void testCarriesOverStoredEntries() {
+        CatalogSnapshotStore store = newStore(true);
+        store.save(new Date(), List.of(helper), List.of("a"), COMPILER);
+
+        store.save(new Date(), List.of(helper), List.of("a", "b"), source -> {
+            if (source.equals("a")) {
+                throw new AssertionError("Stored expression compiled again");
+            }
+            return "compiled:" + source;
+        });
+
+        RestoredCatalog restored = newStore(true).load();
+        assertEquals(Optional.of("compiled:a"), restored.expression("a"));
+        assertEquals(Optional.of("compiled:b"), restored.expression("b"));
+    }
+
+    /**
+     * Tests that nothing is written or restored when persistence is disabled.
+     */
+    @Test
+    @DisplayName("Should neither write nor restore when disabled")
+    void testDisabled() {
+        newStore(false).save(new Date(), List.of(helper), List.of("a"), COMPILER);
+
+        assertFalse(Files.exists(directory.resolve("snapshot")));
+        assertSame(RestoredCatalog.EMPTY, newStore(false).load());
+        assertSame(RestoredCatalog.EMPTY, newStore(true).load());
+    }
+
+    /**
+     * Tests that an unreadable file restores nothing.
+     */
+    @Test
+    @DisplayName("Should restore nothing from an unreadable file")
+    void testUnreadableFile() throws IOException {
+        Files.createDirectories(directory.resolve("snapshot"));
+        Files.writeString(directory.resolve("snapshot").resolve("catalog.snapshot"), "not a catalog");
+
+        assertSame(RestoredCatalog.EMPTY, newStore(true).load());
+    }
+
+    /**
+     * Creates a store writing to the test directory.
+     *
+     * @param enabled Whether persistence is enabled
+     * @return The store
+     */
+    private CatalogSnapshotStore newStore(boolean enabled) {
+        return new CatalogSnapshotStore(enabled, directory.resolve("snapshot").toString(), helperJarCache);
+    }
+}
@@ -0,0 +1,190 @@
+package com.beassolution.rule.engine.resolver;
+
+import com.beassolution.rule.engine.ConfinedHelperInstances;
+import com.beassolution.rule.engine.Deadline;
+import com.beassolution.rule.engine.HelperPool;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mvel2.ImmutableElementException;
+import org.mvel2.MVEL;
+import org.mvel2.ParserContext;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the layered variable resolution of rule evaluations.
+ *
+ * <p>This test class covers the per-request layer chained to the shared,
+ * read-only helper layer:
+ * <ul>
+ *   <li>Resolution of helper and request variables</li>
+ *   <li>Isolation of rule assignments from the helper layer</li>
+ *   <li>Rejection of writes to the helper layer</li>
+ *   <li>Pooled helper instances borrowed per evaluation</li>
+ * </ul>
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+class RequestVariableResolverFactoryTest {
+
+    private HelperVariableResolverFactory helpers;
+
+    /**
+     * Sets up the shared helper layer before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        Map<String, Object> greeter = new HashMap<>();
+        greeter.put("prefix", "Hello ");
+        helpers = new HelperVariableResolverFactory(Map.of("greeter", greeter));
+    }
+
+    /**
+     * Tests resolution of helper and request variables through the chain.
+     *
+     * <p>This test verifies that a rule sees both layers without the helper
+     * bindings being copied into the request layer.
+     */
+    @Test
+    @DisplayName("Should resolve helper and request variables through the chain")
+    void testResolvesBothLayers() {
+        // Given: A rule using a helper and the payload
+        Serializable compiled = compile("greeter.prefix + payload");
+        Map<String, Object> requestVars = new HashMap<>();
+        requestVars.put("payload", "World");
+
+        // When: Evaluate with the layered factory
+        Object result = MVEL.executeExpression(compiled, new RequestVariableResolverFactory(requestVars, helpers));
+
+        // Then: Verify the result and that helpers stayed out of the request layer
+        assertEquals("Hello World", result);
+        assertFalse(requestVars.containsKey("greeter"));
+    }
+
+    /**
+     * Tests that rule assignments never reach the shared helper layer.
+     *
+     * <p>This test verifies that assigning to a helper name shadows it for
+     * the current evaluation only.
+     */
+    @Test
+    @DisplayName("Should shadow helper names in the request layer")
+    void testAssignmentShadowsHelper() {
+        // Given: A rule reassigning a helper name and returning early
+        Serializable compiled = compile("greeter = 'local'; result = greeter; return result;");
+
+        // When: Evaluate twice on the same helper layer
+        Object first = MVEL.executeExpression(compiled, new RequestVariableResolverFactory(new HashMap<>(), helpers));
+        Object helper = MVEL.executeExpression(compile("greeter.prefix"),
+                new RequestVariableResolverFactory(new HashMap<>(), helpers));
+
+        // Then: Verify the shared layer is untouched
+        assertEquals("local", first);
+        assertEquals("Hello ", helper);
+        assertFalse(helpers.tiltFlag());
+    }
+
+    /**
+     * Tests that the helper layer rejects writes.
+     *
+     * <p>This test verifies that the shared layer cannot be modified
+     * directly.
+     */
+    @Test
+    @DisplayName("Should reject writes to the helper layer")
+    void testHelperLayerIsReadOnly() {
+        // When & Then: Verify writes are rejected
+        assertThrows(ImmutableElementException.class, () -> helpers.createVariable("greeter", "other"));
+        assertThrows(ImmutableElementException.class, () -> helpers.getVariableResolver("greeter").setValue("other"));
+        assertThrows(ImmutableElementException.class, () -> helpers.setNextFactory(null));
+    }
+
+    /**
+     * Tests that an evaluation borrows a pooled helper instance once.
+     *
+     * <p>This test verifies that every access of the evaluation reaches the
+     * same borrowed instance and that closing the layer gives it back.
+     */
+    @Test
+    @DisplayName("Should borrow pooled helper instances for the evaluation")
+    void testPooledHelper() {
+        // Given: A helper whose buffer class is pooled
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        HelperPool pool = new HelperPool(Buffer.class.getName(), Buffer::new, 1,
+                meterRegistry.timer("wait"), meterRegistry.counter("exhausted"));
+        HelperVariableResolverFactory pooled = new HelperVariableResolverFactory(
+                Map.of("text", new ConfinedHelperInstances(Map.of("buffer", pool))));
+        Serializable compiled = compile("text.buffer.clear(); text.buffer.append(payload); "
+                + "text.buffer.append('!').text()");
+
+        // When: Evaluate twice, each with its own request layer
+        for (String payload : new String[]{"a", "b"}) {
+            Map<String, Object> requestVars = new HashMap<>();
+            requestVars.put("payload", payload);
+            try (RequestVariableResolverFactory factory = new RequestVariableResolverFactory(requestVars, pooled,
+                    Deadline.NONE)) {
+                // Then: Every access sees the one borrowed instance
+                assertEquals(payload + "!", MVEL.executeExpression(compiled, factory));
+                assertEquals(1, pool.getBorrowedCount());
+            }
+            assertEquals(0, pool.getBorrowedCount());
+        }
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    /**
+     * Compiles an expression the way the rule engine does.
+     *
+     * @param expression The MVEL expression
+     * @return The compiled expression
+     */
+    private Serializable compile(String expression) {
+        ParserContext context = new ParserContext();
+        context.setStrongTyping(false);
+        context.setRetainParserState(true);
+        return MVEL.compileExpression(expression, context);
+    }
+
+    /**
+     * Stateful helper that is not thread-safe, as pooled helpers are.
+     */
+    public static class Buffer {
+
+        private final StringBuilder content = new StringBuilder();
+
+        /**
+         * Empties the buffer.
+         */
+        public void clear() {
+            content.setLength(0);
+        }
+
+        /**
+         * Appends a value to the buffer.
+         *
+         * @param value The value
+         * @return This buffer
+         */
+        public Buffer append(Object value) {
+            content.append(value);
+            return this;
+        }
+
+        /**
+         * Returns the buffered text.
+         *
+         * @return The text
+         */
+        public String text() {
+            return content.toString();
+        }
+    }
+}
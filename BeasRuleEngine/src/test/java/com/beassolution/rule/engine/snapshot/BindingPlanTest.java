@@ -0,0 +1,92 @@
+package com.beassolution.rule.engine.snapshot;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the BindingPlan class.
+ *
+ * <p>This test class covers the variables a rule is bound to:
+ * <ul>
+ *   <li>Identifiers referenced by the rule and its function libraries</li>
+ *   <li>String literals, comments and member names that are ignored</li>
+ *   <li>Selection of the referenced variables</li>
+ *   <li>Rules without a known source binding everything</li>
+ * </ul>
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+class BindingPlanTest {
+
+    /**
+     * Tests that the identifiers of the rule and its libraries are referenced.
+     */
+    @Test
+    @DisplayName("Should reference the identifiers of the rule and its function libraries")
+    void testReferences() {
+        // Given: A rule calling a library function that uses a helper
+        BindingPlan plan = BindingPlan.of(List.of(
+                "(\nif (payload.age >= minAge) { discount(payload) } else { 0 }\n)",
+                "def discount(p) { pricing.rates.forAge(p.age) }"));
+
+        // Then: The rule's variables and the helper are referenced, members are not
+        assertTrue(plan.references("payload"));
+        assertTrue(plan.references("minAge"));
+        assertTrue(plan.references("discount"));
+        assertTrue(plan.references("pricing"));
+        assertFalse(plan.references("age"));
+        assertFalse(plan.references("rates"));
+        assertFalse(plan.references("otherHelper"));
+        assertFalse(plan.isUnrestricted());
+    }
+
+    /**
+     * Tests that literals and comments do not reference variables.
+     */
+    @Test
+    @DisplayName("Should ignore string literals and comments")
+    void testIgnoresLiteralsAndComments() {
+        BindingPlan plan = BindingPlan.of(List.of(
+                "// dateUtils is not used\n/* textUtils\n either */ 'it''s ' + \"quoted \\\" helper\" + payload . name"));
+
+        assertTrue(plan.references("payload"));
+        assertFalse(plan.references("dateUtils"));
+        assertFalse(plan.references("textUtils"));
+        assertFalse(plan.references("helper"));
+        assertFalse(plan.references("name"));
+    }
+
+    /**
+     * Tests that only the referenced variables are selected.
+     */
+    @Test
+    @DisplayName("Should select only the referenced variables")
+    void testSelect() {
+        BindingPlan plan = BindingPlan.of(List.of("payload.amount > limit"));
+
+        Map<String, Object> selected = plan.select(Map.of("payload", 1, "limit", 2, "channel", "web"));
+
+        assertEquals(Map.of("payload", 1, "limit", 2), selected);
+    }
+
+    /**
+     * Tests that a plan without sources binds everything.
+     */
+    @Test
+    @DisplayName("Should bind every variable when no source is known")
+    void testUnknownSource() {
+        BindingPlan plan = BindingPlan.of(Arrays.asList((String) null));
+
+        assertSame(BindingPlan.ALL, plan);
+        assertTrue(plan.references("anything"));
+        assertEquals(Map.of("a", 1), plan.select(Map.of("a", 1)));
+    }
+}
@@ -0,0 +1,105 @@
+package com.beassolution.rule.engine.snapshot;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the EngineSnapshotHolder class.
+ *
+ * <p>This test class covers the leases evaluations hold on snapshots:
+ * <ul>
+ *   <li>Retired resources closed right away when nothing is leased</li>
+ *   <li>Retired resources kept open while the replaced snapshot is leased</li>
+ *   <li>Retired resources kept open while an older snapshot is leased</li>
+ * </ul>
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+class EngineSnapshotHolderTest {
+
+    private EngineSnapshotHolder holder;
+    private AtomicInteger closed;
+
+    /**
+     * Sets up a holder serving a first snapshot.
+     */
+    @BeforeEach
+    void setUp() {
+        holder = new EngineSnapshotHolder();
+        holder.publish(snapshot(1L));
+        closed = new AtomicInteger();
+    }
+
+    /**
+     * Tests that resources are closed on publish if no evaluation runs.
+     */
+    @Test
+    @DisplayName("Should close retired resources right away when nothing is leased")
+    void testCloseWhenIdle() {
+        holder.publish(snapshot(2L), List.of(closed::incrementAndGet));
+
+        assertEquals(1, closed.get());
+        assertEquals(0, holder.getRetiringCount());
+    }
+
+    /**
+     * Tests that resources are closed once the last lease is returned.
+     */
+    @Test
+    @DisplayName("Should close retired resources once the replaced snapshot is released")
+    void testCloseAfterRelease() {
+        // Given: An evaluation leasing the current snapshot
+        EngineSnapshot leased = holder.acquire();
+        holder.retain(leased);
+
+        // When: A new snapshot retires a resource
+        holder.publish(snapshot(2L), List.of(closed::incrementAndGet));
+
+        // Then: The resource is closed with the last lease only
+        assertEquals(0, closed.get());
+        holder.release(leased);
+        assertEquals(0, closed.get());
+        holder.release(leased);
+        assertEquals(1, closed.get());
+        assertEquals(2L, holder.acquire().getVersion());
+    }
+
+    /**
+     * Tests that an older leased snapshot blocks the resources retired after it.
+     */
+    @Test
+    @DisplayName("Should keep retired resources open while an older snapshot is leased")
+    void testOlderLeaseBlocksClose() {
+        // Given: An evaluation leasing version 1 and a resource retired by version 3
+        EngineSnapshot oldest = holder.acquire();
+        holder.publish(snapshot(2L));
+        holder.publish(snapshot(3L), List.of(closed::incrementAndGet));
+
+        // Then: The resource stays open until version 1 is released
+        assertEquals(0, closed.get());
+        assertEquals(2, holder.getRetiringCount());
+        holder.release(oldest);
+        assertEquals(1, closed.get());
+        assertEquals(0, holder.getRetiringCount());
+    }
+
+    /**
+     * Creates an empty snapshot.
+     *
+     * @param version The snapshot version
+     * @return The snapshot
+     */
+    private static EngineSnapshot snapshot(long version) {
+        return new EngineSnapshot(version, new Date(), Map.of(), Map.of(), Map.of(), Map.of());
+    }
+}
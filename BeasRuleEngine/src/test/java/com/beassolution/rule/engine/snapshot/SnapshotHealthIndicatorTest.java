@@ -0,0 +1,54 @@
+package com.beassolution.rule.engine.snapshot;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.Status;
+
+import java.util.Date;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for the SnapshotHealthIndicator class.
+ *
+ * <p>This test class covers the readiness reported for the served catalog:
+ * <ul>
+ *   <li>Down before the first synchronization</li>
+ *   <li>Up with snapshot details once a snapshot is published</li>
+ * </ul>
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+class SnapshotHealthIndicatorTest {
+
+    /**
+     * Tests that the indicator is down while the empty snapshot is served.
+     */
+    @Test
+    @DisplayName("Should be down before the first snapshot is published")
+    void testDownBeforeFirstSync() {
+        SnapshotHealthIndicator indicator = new SnapshotHealthIndicator(new EngineSnapshotHolder());
+
+        assertEquals(Status.DOWN, indicator.health().getStatus());
+    }
+
+    /**
+     * Tests that the indicator is up once a snapshot is published.
+     */
+    @Test
+    @DisplayName("Should be up with snapshot details once a snapshot is published")
+    void testUpAfterPublish() {
+        EngineSnapshotHolder holder = new EngineSnapshotHolder();
+        holder.publish(new EngineSnapshot(1L, new Date(), Map.of(), Map.of(), Map.of(), Map.of()));
+
+        Health health = new SnapshotHealthIndicator(holder).health();
+
+        assertEquals(Status.UP, health.getStatus());
+        assertEquals(1L, health.getDetails().get("version"));
+        assertEquals(0, health.getDetails().get("rules"));
+    }
+}
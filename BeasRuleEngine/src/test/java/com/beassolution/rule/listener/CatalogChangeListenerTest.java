@@ -0,0 +1,162 @@
+package com.beassolution.rule.listener;
+
+import com.beassolution.rule.components.CacheController;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.ExecutorService;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the CatalogChangeListener class.
+ *
+ * <p>This test class covers the scheduling of incremental syncs:
+ * <ul>
+ *   <li>Debouncing of change bursts into a single sync</li>
+ *   <li>Polling fallback for standalone servers and failed change streams</li>
+ *   <li>Polling surviving failed syncs</li>
+ *   <li>Shutdown of all listener threads</li>
+ * </ul>
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@ExtendWith(MockitoExtension.class)
+class CatalogChangeListenerTest {
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    @Mock
+    private CacheController cacheController;
+
+    private CatalogChangeListener listener;
+
+    /**
+     * Creates a listener with short delays before each test.
+     */
+    @BeforeEach
+    void setUp() {
+        listener = new CatalogChangeListener(mongoTemplate, cacheController);
+        ReflectionTestUtils.setField(listener, "debounceMs", 100L);
+        ReflectionTestUtils.setField(listener, "pollIntervalMs", 20L);
+    }
+
+    /**
+     * Stops the listener after each test.
+     */
+    @AfterEach
+    void tearDown() {
+        listener.stop();
+    }
+
+    /**
+     * Tests that a burst of changes results in a single sync.
+     */
+    @Test
+    @DisplayName("Should coalesce a burst of changes into one sync")
+    void testDebouncesChanges() throws InterruptedException {
+        // When: Five changes arrive within the debounce delay
+        for (int i = 0; i < 5; i++) {
+            ReflectionTestUtils.invokeMethod(listener, "scheduleSync");
+        }
+
+        // Then: Verify one sync ran once the delay passed
+        verify(cacheController, timeout(2000)).syncChangesBlocking();
+        Thread.sleep(200);
+        verify(cacheController, times(1)).syncChangesBlocking();
+
+        // When: Another change arrives after the sync
+        ReflectionTestUtils.invokeMethod(listener, "scheduleSync");
+
+        // Then: Verify it is synced as well
+        verify(cacheController, timeout(2000).times(2)).syncChangesBlocking();
+    }
+
+    /**
+     * Tests that a standalone server is polled for changes.
+     */
+    @Test
+    @DisplayName("Should poll a server without change streams")
+    void testPollsStandaloneServer() {
+        // Given: A standalone server
+        when(mongoTemplate.executeCommand(any(Document.class))).thenReturn(new Document("ismaster", true));
+
+        // When: Start the listener
+        listener.start();
+
+        // Then: Verify syncs run repeatedly
+        verify(cacheController, timeout(2000).atLeast(3)).syncChangesBlocking();
+    }
+
+    /**
+     * Tests that a failed change stream falls back to polling once.
+     */
+    @Test
+    @DisplayName("Should fall back to polling when a change stream fails")
+    void testFallsBackToPollingOnStreamFailure() throws InterruptedException {
+        // Given: A polling interval long enough to count the polling tasks
+        ReflectionTestUtils.setField(listener, "pollIntervalMs", 60_000L);
+
+        // When: Two change streams fail
+        ReflectionTestUtils.invokeMethod(listener, "onError", new IllegalStateException("Stream closed"));
+        ReflectionTestUtils.invokeMethod(listener, "onError", new IllegalStateException("Stream closed"));
+
+        // Then: Verify a single polling task started
+        verify(cacheController, timeout(2000)).syncChangesBlocking();
+        Thread.sleep(200);
+        verify(cacheController, times(1)).syncChangesBlocking();
+    }
+
+    /**
+     * Tests that a failed sync does not end the polling.
+     */
+    @Test
+    @DisplayName("Should keep polling after a failed sync")
+    void testKeepsPollingAfterFailedSync() {
+        // Given: A standalone server and a sync failing once
+        when(mongoTemplate.executeCommand(any(Document.class))).thenReturn(new Document("ismaster", true));
+        doThrow(new IllegalStateException("Catalog unavailable")).doNothing().when(cacheController).syncChangesBlocking();
+
+        // When: Start the listener
+        listener.start();
+
+        // Then: Verify syncs continue after the failure
+        verify(cacheController, timeout(2000).atLeast(3)).syncChangesBlocking();
+    }
+
+    /**
+     * Tests that stopping the listener stops all of its threads.
+     */
+    @Test
+    @DisplayName("Should stop polling and change stream threads")
+    void testStopShutsDownThreads() throws InterruptedException {
+        // Given: A polling listener
+        when(mongoTemplate.executeCommand(any(Document.class))).thenReturn(new Document("ismaster", true));
+        listener.start();
+        verify(cacheController, timeout(2000).atLeastOnce()).syncChangesBlocking();
+
+        // When: Stop the listener
+        listener.stop();
+        Thread.sleep(100);
+        clearInvocations(cacheController);
+
+        // Then: Verify no sync runs anymore and all executors are shut down
+        Thread.sleep(100);
+        verify(cacheController, never()).syncChangesBlocking();
+        assertTrue(((ExecutorService) ReflectionTestUtils.getField(listener, "streamExecutor")).isShutdown());
+        assertTrue(((ExecutorService) ReflectionTestUtils.getField(listener, "scheduler")).isShutdown());
+    }
+}
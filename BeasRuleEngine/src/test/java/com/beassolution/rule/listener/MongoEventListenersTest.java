@@ -0,0 +1,114 @@
+package com.beassolution.rule.listener;
+
+import com.beassolution.rule.crypto.Cryptography;
+import com.beassolution.rule.model.CatalogTombstone;
+import com.beassolution.rule.model.CatalogType;
+import com.beassolution.rule.model.RuleLibrary;
+import com.beassolution.rule.model.base.BaseModel;
+import com.beassolution.rule.repository.CatalogTombstoneRepository;
+import com.beassolution.rule.service.UserService;
+import org.bson.Document;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.mapping.event.AfterDeleteEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeDeleteEvent;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for the MongoEventListeners class.
+ *
+ * <p>This test class covers the tombstones recorded for deleted catalog
+ * entities:
+ * <ul>
+ *   <li>Tombstones carrying the container of the deleted entity</li>
+ * </ul>
+ *
+ * @author Beas Solution Team
+ * @version 1.0
+ * @since 1.0
+ */
+@ExtendWith(MockitoExtension.class)
+class MongoEventListenersTest {
+
+    @Mock
+    private Cryptography cryptography;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private ObjectProvider<CatalogTombstoneRepository> tombstoneRepositoryProvider;
+
+    @Mock
+    private ObjectProvider<MongoTemplate> mongoTemplateProvider;
+
+    @Mock
+    private CatalogTombstoneRepository tombstoneRepository;
+
+    @Mock
+    private MongoTemplate mongoTemplate;
+
+    private MongoEventListeners listeners;
+
+    /**
+     * Creates the listeners with lazily resolved repository and template.
+     */
+    @BeforeEach
+    void setUp() {
+        listeners = new MongoEventListeners(cryptography, userService, tombstoneRepositoryProvider, mongoTemplateProvider);
+    }
+
+    /**
+     * Tests that the tombstone of a deleted rule records its container.
+     *
+     * <p>This test verifies that delta syncs can query the tombstones of
+     * their own container only.
+     */
+    @Test
+    @DisplayName("Should record the container of a deleted rule in its tombstone")
+    void testTombstoneCarriesContainerName() {
+        // Given: A stored rule of the container "general"
+        UUID id = UUID.randomUUID();
+        Document deleteQuery = new Document("_id", id);
+        when(mongoTemplateProvider.getObject()).thenReturn(mongoTemplate);
+        when(tombstoneRepositoryProvider.getObject()).thenReturn(tombstoneRepository);
+        when(mongoTemplate.findOne(any(Query.class), eq(Document.class), eq("ruleLibrary")))
+                .thenReturn(new Document("_id", id).append("containerName", "general"));
+
+        // When: The rule is deleted
+        listeners.onBeforeDelete(new BeforeDeleteEvent<BaseModel>(deleteQuery, cast(RuleLibrary.class), "ruleLibrary"));
+        listeners.onAfterDelete(new AfterDeleteEvent<BaseModel>(deleteQuery, cast(RuleLibrary.class), "ruleLibrary"));
+
+        // Then: The tombstone names the entity, its type and its container
+        ArgumentCaptor<CatalogTombstone> tombstone = ArgumentCaptor.forClass(CatalogTombstone.class);
+        verify(tombstoneRepository).save(tombstone.capture());
+        assertEquals(id, tombstone.getValue().getEntityId());
+        assertEquals(CatalogType.RULE, tombstone.getValue().getCatalogType());
+        assertEquals("general", tombstone.getValue().getContainerName());
+    }
+
+    /**
+     * Widens an entity class to the event type of the listeners.
+     *
+     * @param type The entity class
+     * @return The class typed as a base model class
+     */
+    @SuppressWarnings("unchecked")
+    private static Class<BaseModel> cast(Class<? extends BaseModel> type) {
+        return (Class<BaseModel>) type;
+    }
+}
@@ -4,6 +4,8 @@ import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+
 @Getter
 @Setter
 @ConfigurationProperties(prefix = "rule.engine")
@@ -13,6 +15,16 @@ public class RuleEngineProperties {
     private boolean enabled = true;
     private boolean useClientToken = false;
 
+    /**
+     * Default time budget of an evaluation, sent as the deadline header; null for none.
+     */
+    private Duration deadline;
+
+    /**
+     * Whether evaluations are exchanged in the Smile binary format instead of JSON.
+     */
+    private boolean useSmile = false;
+
     public String getBaseUrl() {
         return baseUrl;
     }
@@ -24,4 +36,12 @@ public class RuleEngineProperties {
     public boolean isUseClientToken() {
         return useClientToken;
     }
+
+    public Duration getDeadline() {
+        return deadline;
+    }
+
+    public boolean isUseSmile() {
+        return useSmile;
+    }
 }
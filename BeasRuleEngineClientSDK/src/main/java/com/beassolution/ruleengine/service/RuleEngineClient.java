@@ -12,9 +12,12 @@ import org.springframework.http.*;
 import org.springframework.web.client.RestTemplate;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.reactive.function.client.ClientResponse;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.time.Duration;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
@@ -28,6 +31,8 @@ import java.util.Objects;
  * <ul>
  *   <li>Token management (Keycloak or client credentials)</li>
  *   <li>Synchronous and asynchronous evaluate methods</li>
+ *   <li>Deadline propagation to the backend</li>
+ *   <li>Optional Smile binary encoding of requests and responses</li>
  *   <li>Spring dependency injection compatibility</li>
  *   <li>Detailed error handling and logging</li>
  * </ul>
@@ -48,6 +53,16 @@ public class RuleEngineClient {
 
     private static final org.slf4j.Logger log = org.slf4j.LoggerFactory.getLogger(RuleEngineClient.class);
     private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    /**
+     * Header carrying the remaining time budget of the caller in milliseconds.
+     */
+    public static final String DEADLINE_HEADER = "X-Rule-Deadline-Ms";
+
+    /**
+     * Media type of the Smile binary format, used instead of JSON when enabled.
+     */
+    public static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
     private final RestTemplate restTemplate;
     private final RuleEngineProperties properties;
     private final KeycloakAuthService keycloakAuthService;
@@ -102,6 +117,24 @@ public class RuleEngineClient {
      * @throws RuntimeException      if token retrieval fails or backend returns error
      */
     public ResponseEntity<RuleEvaluateResponse> evaluate(String ruleName, Map<String, Object> requestParameterMap, Map<String, Object> requestPayloadMap) {
+        return evaluate(ruleName, requestParameterMap, requestPayloadMap, properties.getDeadline());
+    }
+
+    /**
+     * Synchronously evaluates a rule within a deadline.
+     * <p>
+     * The remaining time is sent to the backend, which abandons the evaluation
+     * once the caller would no longer use its result.
+     *
+     * @param ruleName            The name of the rule to evaluate
+     * @param requestParameterMap Map of rule parameters
+     * @param requestPayloadMap   Map of payload data
+     * @param deadline            Remaining time budget of the caller, null for none
+     * @return ResponseEntity containing RuleEvaluateResponse from the backend
+     * @throws IllegalStateException if the client is disabled or token is missing
+     * @throws RuntimeException      if token retrieval fails or backend returns error
+     */
+    public ResponseEntity<RuleEvaluateResponse> evaluate(String ruleName, Map<String, Object> requestParameterMap, Map<String, Object> requestPayloadMap, Duration deadline) {
 
         if (!properties.isEnabled()) {
             throw new IllegalStateException("Rule Engine Client is disabled.");
@@ -124,8 +157,12 @@ public class RuleEngineClient {
         request.setParameters(requestParameterMap);
 
         HttpHeaders headers = new HttpHeaders();
-        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.setContentType(mediaType());
+        headers.setAccept(List.of(mediaType()));
         headers.set("Authorization", dynamicToken);
+        if (deadline != null) {
+            headers.set(DEADLINE_HEADER, String.valueOf(remainingMillis(deadline)));
+        }
 
 
         HttpEntity<RuleEvaluateRequest> entity = new HttpEntity<>(request, headers);
@@ -153,6 +190,22 @@ public class RuleEngineClient {
      * </ul>
      */
     public Mono<RuleEvaluateResponse> evaluateAsync(String ruleName, Map<String, Object> requestParameterMap, Map<String, Object> requestPayloadMap) {
+        return evaluateAsync(ruleName, requestParameterMap, requestPayloadMap, properties.getDeadline());
+    }
+
+    /**
+     * Asynchronously evaluates a rule within a deadline.
+     * <p>
+     * The remaining time is sent to the backend and the returned Mono fails
+     * with a TimeoutException once the deadline has passed.
+     *
+     * @param ruleName            The name of the rule to evaluate
+     * @param requestParameterMap Map of rule parameters
+     * @param requestPayloadMap   Map of payload data
+     * @param deadline            Remaining time budget of the caller, null for none
+     * @return Mono emitting RuleEvaluateResponse or error
+     */
+    public Mono<RuleEvaluateResponse> evaluateAsync(String ruleName, Map<String, Object> requestParameterMap, Map<String, Object> requestPayloadMap, Duration deadline) {
         if (!properties.isEnabled()) {
             return Mono.error(new IllegalStateException("Rule Engine Client is disabled."));
         }
@@ -170,20 +223,63 @@ public class RuleEngineClient {
         request.setPayload(Objects.isNull(requestPayloadMap) ? new DummyBody() : requestPayloadMap.get("requestPayloadMap"));
         request.setRuleName(ruleName);
         request.setParameters(requestParameterMap);
-        return webClient.post()
+        Mono<RuleEvaluateResponse> response = webClient.post()
                 .uri("/evaluate")
                 .header("Authorization", dynamicToken)
-                .contentType(MediaType.APPLICATION_JSON)
+                .headers(headers -> {
+                    if (deadline != null) {
+                        headers.set(DEADLINE_HEADER, String.valueOf(remainingMillis(deadline)));
+                    }
+                })
+                .contentType(mediaType())
+                .accept(mediaType())
                 .bodyValue(request)
                 .retrieve()
                 .onStatus(status -> !status.is2xxSuccessful(), clientResponse ->
-                        clientResponse.bodyToMono(String.class).flatMap(errorBody -> {
+                        errorBody(clientResponse).flatMap(errorBody -> {
                             log.error("Rule engine error: {}", errorBody);
                             return Mono.error(new RuntimeException("Rule engine error: " + errorBody));
                         })
                 )
-                .bodyToMono(RuleEvaluateResponse.class)
-                .doOnError(e -> log.error("Async evaluate error", e));
+                .bodyToMono(RuleEvaluateResponse.class);
+        if (deadline != null) {
+            response = response.timeout(deadline);
+        }
+        return response.doOnError(e -> log.error("Async evaluate error", e));
+    }
+
+    /**
+     * Returns the media type evaluations are exchanged in.
+     *
+     * @return Smile if enabled, JSON otherwise
+     */
+    private MediaType mediaType() {
+        return properties.isUseSmile() ? SMILE : MediaType.APPLICATION_JSON;
+    }
+
+    /**
+     * Reads the body of an error response as text.
+     * <p>
+     * Smile encoded errors are rendered as JSON, so they stay readable in logs.
+     *
+     * @param clientResponse The error response
+     * @return Mono emitting the error body
+     */
+    private static Mono<String> errorBody(ClientResponse clientResponse) {
+        if (clientResponse.headers().contentType().filter(SMILE::isCompatibleWith).isPresent()) {
+            return clientResponse.bodyToMono(JsonNode.class).map(JsonNode::toString);
+        }
+        return clientResponse.bodyToMono(String.class);
+    }
+
+    /**
+     * Converts a deadline into the header value, never negative.
+     *
+     * @param deadline Remaining time budget of the caller
+     * @return Remaining milliseconds
+     */
+    private static long remainingMillis(Duration deadline) {
+        return Math.max(0L, deadline.toMillis());
     }
 }
 